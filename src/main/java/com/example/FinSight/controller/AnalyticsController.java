@@ -0,0 +1,29 @@
+package com.example.FinSight.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.FinSight.dto.SpendingAnalytics;
+import com.example.FinSight.service.SpendingSketchService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+    
+    private final SpendingSketchService spendingSketchService;
+    
+    @GetMapping("/spending")
+    public ResponseEntity<SpendingAnalytics> getSpending(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String category) {
+        
+        SpendingAnalytics analytics = spendingSketchService.getAnalytics(userId, category);
+        return ResponseEntity.ok(analytics);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.FinSight.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.FinSight.dto.CacheStatistics;
+import com.example.FinSight.service.CacheStatisticsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+@RequiredArgsConstructor
+public class CacheAdminController {
+    
+    private final CacheStatisticsService cacheStatisticsService;
+    
+    @GetMapping("/statistics")
+    public ResponseEntity<CacheStatistics> getStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+    
+    @DeleteMapping("/statistics")
+    public ResponseEntity<Void> clearStatistics() {
+        cacheStatisticsService.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
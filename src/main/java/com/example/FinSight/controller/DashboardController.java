@@ -1,15 +1,19 @@
 package com.example.FinSight.controller;
 
 import java.time.LocalDate;
+import java.util.Locale;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.FinSight.dto.DashboardSummary;
+import com.example.FinSight.dto.TrendGranularity;
 import com.example.FinSight.service.DashboardService;
 
 import lombok.RequiredArgsConstructor;
@@ -22,12 +26,49 @@ public class DashboardController {
     private final DashboardService dashboardService;
     
     @GetMapping("/summary")
-    public ResponseEntity<DashboardSummary> getSummary(
+    public ResponseEntity<?> getSummary(
             @RequestParam Long userId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "auto") String granularity,
+            @RequestParam(defaultValue = "366") int maxPoints,
+            WebRequest request) {
         
-        DashboardSummary summary = dashboardService.getSummary(userId, startDate, endDate);
-        return ResponseEntity.ok(summary);
+        TrendGranularity trendGranularity;
+        try {
+            trendGranularity = TrendGranularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("Unknown granularity: " + granularity));
+        }
+        // Downsampling keeps at least the first and last points
+        if (maxPoints < 2) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("maxPoints must be at least 2"));
+        }
+        String eTag = dashboardService.getSummaryETag(userId, startDate, endDate, trendGranularity, maxPoints);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        
+        DashboardSummary summary = dashboardService.getSummary(userId, startDate, endDate, trendGranularity, maxPoints);
+        return ResponseEntity.ok().eTag(eTag).body(summary);
+    }
+    
+    // Simple error response class
+    private static class ErrorResponse {
+        private String message;
+        
+        public ErrorResponse(String message) {
+            this.message = message;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
     }
 }
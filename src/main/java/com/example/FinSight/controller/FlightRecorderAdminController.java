@@ -0,0 +1,94 @@
+package com.example.FinSight.controller;
+
+import java.nio.file.Path;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.FinSight.dto.FlightRecordingStatus;
+import com.example.FinSight.service.FlightRecorderService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/recording")
+@RequiredArgsConstructor
+public class FlightRecorderAdminController {
+    
+    private final FlightRecorderService flightRecorderService;
+    
+    @GetMapping
+    public ResponseEntity<FlightRecordingStatus> getStatus() {
+        return ResponseEntity.ok(flightRecorderService.getStatus());
+    }
+    
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(required = false) String settings) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(flightRecorderService.start(settings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Downloads what the running recording holds so far; it keeps running.
+     */
+    @PostMapping("/dump")
+    public ResponseEntity<?> dump() {
+        try {
+            return download(flightRecorderService.dump());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    /**
+     * Stops the running recording and downloads it.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop() {
+        try {
+            return download(flightRecorderService.stop());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    // The file stays in finsight.jfr.directory until finsight.jfr.max-dumps newer ones replace it
+    private ResponseEntity<FileSystemResource> download(Path file) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+            .body(new FileSystemResource(file));
+    }
+    
+    // Simple error response class
+    private static class ErrorResponse {
+        private String message;
+        
+        public ErrorResponse(String message) {
+            this.message = message;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
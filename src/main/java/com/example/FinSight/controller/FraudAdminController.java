@@ -0,0 +1,106 @@
+package com.example.FinSight.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.FinSight.dto.FraudRuleSetInfo;
+import com.example.FinSight.dto.FraudScoringStatistics;
+import com.example.FinSight.dto.ShadowScoringReport;
+import com.example.FinSight.service.FraudRule;
+import com.example.FinSight.service.FraudRuleEngine;
+import com.example.FinSight.service.FraudRuleLoader;
+import com.example.FinSight.service.FraudRuleMetrics;
+import com.example.FinSight.service.ShadowScoringService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/fraud")
+@RequiredArgsConstructor
+public class FraudAdminController {
+    
+    private final FraudRuleMetrics fraudRuleMetrics;
+    private final FraudRuleLoader fraudRuleLoader;
+    private final ShadowScoringService shadowScoringService;
+    
+    @GetMapping("/statistics")
+    public ResponseEntity<FraudScoringStatistics> getStatistics() {
+        return ResponseEntity.ok(fraudRuleMetrics.getStatistics());
+    }
+    
+    @DeleteMapping("/statistics")
+    public ResponseEntity<Void> clearStatistics() {
+        fraudRuleMetrics.clear();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/rules")
+    public ResponseEntity<FraudRuleSetInfo> getRules() {
+        return ResponseEntity.ok(toInfo(fraudRuleLoader.current()));
+    }
+    
+    @PostMapping("/rules/reload")
+    public ResponseEntity<?> reloadRules() {
+        try {
+            return ResponseEntity.ok(toInfo(fraudRuleLoader.reload()));
+        } catch (IllegalArgumentException e) {
+            // The previous rules stay in use
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("Failed to reload fraud rules: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/shadow")
+    public ResponseEntity<ShadowScoringReport> getShadowReport() {
+        return ResponseEntity.ok(shadowScoringService.getReport());
+    }
+    
+    @DeleteMapping("/shadow")
+    public ResponseEntity<Void> clearShadowReport() {
+        shadowScoringService.clear();
+        return ResponseEntity.noContent().build();
+    }
+    
+    @PostMapping("/shadow/reload")
+    public ResponseEntity<?> reloadShadowRules() {
+        try {
+            shadowScoringService.reloadCandidate();
+            return ResponseEntity.ok(shadowScoringService.getReport());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("Failed to reload candidate rules: " + e.getMessage()));
+        }
+    }
+    
+    private FraudRuleSetInfo toInfo(FraudRuleEngine engine) {
+        FraudRuleSetInfo info = new FraudRuleSetInfo();
+        info.setVersion(engine.getVersion());
+        info.setLoadedAt(fraudRuleLoader.getLoadedAt());
+        info.setFraudThreshold(engine.getFraudThreshold());
+        info.setMediumThreshold(engine.getMediumThreshold());
+        info.setRules(engine.getRules().stream().map(FraudRule::name).toList());
+        return info;
+    }
+    
+    // Simple error response class
+    private static class ErrorResponse {
+        private String message;
+        
+        public ErrorResponse(String message) {
+            this.message = message;
+        }
+        
+        public String getMessage() {
+            return message;
+        }
+        
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.FinSight.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.FinSight.dto.SqlStatementStatistics;
+import com.example.FinSight.service.SqlStatementMetrics;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/admin/sql")
+@RequiredArgsConstructor
+public class SqlAdminController {
+    
+    private final SqlStatementMetrics sqlStatementMetrics;
+    
+    @GetMapping("/statistics")
+    public ResponseEntity<SqlStatementStatistics> getStatistics() {
+        return ResponseEntity.ok(sqlStatementMetrics.getStatistics());
+    }
+    
+    @DeleteMapping("/statistics")
+    public ResponseEntity<Void> clearStatistics() {
+        sqlStatementMetrics.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
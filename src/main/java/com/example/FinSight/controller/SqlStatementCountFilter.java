@@ -0,0 +1,67 @@
+package com.example.FinSight.controller;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.example.FinSight.service.SqlStatementCounter;
+import com.example.FinSight.service.SqlStatementMetrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements each request runs, including lazy loads while the response
+ * is serialized, and records them per endpoint in {@link SqlStatementMetrics}.
+ *
+ * With {@code finsight.sql.statement-count-header} (on in the dev profile) the count is
+ * also returned in an {@value #HEADER} header. The response is then buffered so the
+ * header can follow the body's statements; leave it off in production.
+ */
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final SqlStatementMetrics sqlStatementMetrics;
+    private final boolean header;
+
+    public SqlStatementCountFilter(SqlStatementMetrics sqlStatementMetrics,
+                                   @Value("${finsight.sql.statement-count-header:false}") boolean header) {
+        this.sqlStatementMetrics = sqlStatementMetrics;
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!sqlStatementMetrics.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper buffered = header ? new ContentCachingResponseWrapper(response) : null;
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            chain.doFilter(request, buffered != null ? buffered : response);
+
+            // Requests no controller handled, such as the H2 console, are not recorded
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                sqlStatementMetrics.recordRequest(request.getMethod() + " " + pattern, scope.getCount());
+            }
+            if (buffered != null) {
+                buffered.setHeader(HEADER, Long.toString(scope.getCount()));
+            }
+        } finally {
+            if (buffered != null) {
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+}
@@ -12,11 +12,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.FinSight.dto.SubscriptionDto;
 import com.example.FinSight.model.Subscription;
 import com.example.FinSight.model.SubscriptionStatus;
 import com.example.FinSight.repository.SubscriptionRepository;
-import com.example.FinSight.repository.UserRepository;
 import com.example.FinSight.service.SubscriptionDetectorService;
+import com.example.FinSight.service.UserReferenceCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,50 +28,69 @@ public class SubscriptionController {
     
     private final SubscriptionDetectorService subscriptionDetectorService;
     private final SubscriptionRepository subscriptionRepository;
-    private final UserRepository userRepository;
+    private final UserReferenceCache userReferenceCache;
     
     @PostMapping("/detect")
-    public ResponseEntity<List<Subscription>> detectSubscriptions(@RequestBody DetectRequest request) {
+    public ResponseEntity<List<SubscriptionDto>> detectSubscriptions(@RequestBody DetectRequest request) {
         List<Subscription> subscriptions = subscriptionDetectorService.detectSubscriptions(request.getUserId());
-        return ResponseEntity.ok(subscriptions);
+        return ResponseEntity.ok(mapToDtos(subscriptions));
     }
     
     @GetMapping
-    public ResponseEntity<List<Subscription>> getSubscriptions(
+    public ResponseEntity<List<SubscriptionDto>> getSubscriptions(
             @RequestParam Long userId,
             @RequestParam(required = false) String status) {
         
-        var user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!userReferenceCache.exists(userId)) {
+            throw new RuntimeException("User not found");
+        }
         
         List<Subscription> subscriptions;
         if (status != null) {
-            subscriptions = subscriptionRepository.findByUserAndStatus(user, SubscriptionStatus.valueOf(status));
+            subscriptions = subscriptionRepository.findByUserIdAndStatus(userId, SubscriptionStatus.valueOf(status));
         } else {
-            subscriptions = subscriptionRepository.findByUser(user);
+            subscriptions = subscriptionRepository.findByUserId(userId);
         }
         
-        return ResponseEntity.ok(subscriptions);
+        return ResponseEntity.ok(mapToDtos(subscriptions));
     }
     
     @PutMapping("/{id}/ignore")
-    public ResponseEntity<Subscription> ignoreSubscription(@PathVariable Long id) {
+    public ResponseEntity<SubscriptionDto> ignoreSubscription(@PathVariable Long id) {
         Subscription subscription = subscriptionRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Subscription not found"));
         
         subscription.setStatus(SubscriptionStatus.IGNORED);
         Subscription saved = subscriptionRepository.save(subscription);
         
-        return ResponseEntity.ok(saved);
+        return ResponseEntity.ok(mapToDto(saved));
     }
     
     @GetMapping("/due-soon")
-    public ResponseEntity<List<Subscription>> getDueSoon(
+    public ResponseEntity<List<SubscriptionDto>> getDueSoon(
             @RequestParam Long userId,
             @RequestParam(defaultValue = "7") int days) {
         
         List<Subscription> dueSoon = subscriptionDetectorService.findDueSoon(userId, days);
-        return ResponseEntity.ok(dueSoon);
+        return ResponseEntity.ok(mapToDtos(dueSoon));
+    }
+    
+    // Entities are never serialized, so the response cannot reach the lazy user
+    private List<SubscriptionDto> mapToDtos(List<Subscription> subscriptions) {
+        return subscriptions.stream().map(this::mapToDto).toList();
+    }
+    
+    private SubscriptionDto mapToDto(Subscription subscription) {
+        SubscriptionDto dto = new SubscriptionDto();
+        dto.setId(subscription.getId());
+        dto.setUserId(subscription.getUser().getId());
+        dto.setMerchant(subscription.getMerchant());
+        dto.setAvgAmount(subscription.getAvgAmount());
+        dto.setLastPaidDate(subscription.getLastPaidDate());
+        dto.setNextDueDate(subscription.getNextDueDate());
+        dto.setStatus(subscription.getStatus());
+        dto.setCreatedAt(subscription.getCreatedAt());
+        return dto;
     }
     
     // Inner class for request body
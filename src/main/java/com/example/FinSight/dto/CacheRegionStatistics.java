@@ -0,0 +1,50 @@
+package com.example.FinSight.dto;
+
+public class CacheRegionStatistics {
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long elementCountInMemory;
+
+    public CacheRegionStatistics() {
+    }
+
+    public CacheRegionStatistics(long hitCount, long missCount, long putCount, long elementCountInMemory) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        this.elementCountInMemory = elementCountInMemory;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public void setHitCount(long hitCount) {
+        this.hitCount = hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public void setMissCount(long missCount) {
+        this.missCount = missCount;
+    }
+
+    public long getPutCount() {
+        return putCount;
+    }
+
+    public void setPutCount(long putCount) {
+        this.putCount = putCount;
+    }
+
+    public long getElementCountInMemory() {
+        return elementCountInMemory;
+    }
+
+    public void setElementCountInMemory(long elementCountInMemory) {
+        this.elementCountInMemory = elementCountInMemory;
+    }
+}
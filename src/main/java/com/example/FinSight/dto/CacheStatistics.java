@@ -0,0 +1,90 @@
+package com.example.FinSight.dto;
+
+import java.util.Map;
+
+public class CacheStatistics {
+    private boolean statisticsEnabled;
+    private long secondLevelCacheHitCount;
+    private long secondLevelCacheMissCount;
+    private long secondLevelCachePutCount;
+    private long queryCacheHitCount;
+    private long queryCacheMissCount;
+    private long queryCachePutCount;
+    private long queryExecutionCount;
+    private Map<String, CacheRegionStatistics> regions;
+
+    public CacheStatistics() {
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    public long getSecondLevelCacheHitCount() {
+        return secondLevelCacheHitCount;
+    }
+
+    public void setSecondLevelCacheHitCount(long secondLevelCacheHitCount) {
+        this.secondLevelCacheHitCount = secondLevelCacheHitCount;
+    }
+
+    public long getSecondLevelCacheMissCount() {
+        return secondLevelCacheMissCount;
+    }
+
+    public void setSecondLevelCacheMissCount(long secondLevelCacheMissCount) {
+        this.secondLevelCacheMissCount = secondLevelCacheMissCount;
+    }
+
+    public long getSecondLevelCachePutCount() {
+        return secondLevelCachePutCount;
+    }
+
+    public void setSecondLevelCachePutCount(long secondLevelCachePutCount) {
+        this.secondLevelCachePutCount = secondLevelCachePutCount;
+    }
+
+    public long getQueryCacheHitCount() {
+        return queryCacheHitCount;
+    }
+
+    public void setQueryCacheHitCount(long queryCacheHitCount) {
+        this.queryCacheHitCount = queryCacheHitCount;
+    }
+
+    public long getQueryCacheMissCount() {
+        return queryCacheMissCount;
+    }
+
+    public void setQueryCacheMissCount(long queryCacheMissCount) {
+        this.queryCacheMissCount = queryCacheMissCount;
+    }
+
+    public long getQueryCachePutCount() {
+        return queryCachePutCount;
+    }
+
+    public void setQueryCachePutCount(long queryCachePutCount) {
+        this.queryCachePutCount = queryCachePutCount;
+    }
+
+    public long getQueryExecutionCount() {
+        return queryExecutionCount;
+    }
+
+    public void setQueryExecutionCount(long queryExecutionCount) {
+        this.queryExecutionCount = queryExecutionCount;
+    }
+
+    public Map<String, CacheRegionStatistics> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(Map<String, CacheRegionStatistics> regions) {
+        this.regions = regions;
+    }
+}
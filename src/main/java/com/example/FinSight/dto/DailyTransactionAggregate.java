@@ -0,0 +1,101 @@
+package com.example.FinSight.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.example.FinSight.model.TransactionType;
+
+/**
+ * One (day, type, category) group of a user's transactions, as returned by
+ * {@code TransactionRepository.findDailyAggregatesByUserId}.
+ */
+public class DailyTransactionAggregate {
+    private LocalDate day;
+    private TransactionType type;
+    private String category;
+    private BigDecimal amount;
+    private long transactionCount;
+    private long flaggedCount;
+    private double fraudScoreSum;
+    private long fraudScoreCount;
+
+    public DailyTransactionAggregate() {
+    }
+
+    public DailyTransactionAggregate(LocalDate day, TransactionType type, String category, BigDecimal amount,
+                                     Long transactionCount, Long flaggedCount,
+                                     Double fraudScoreSum, Long fraudScoreCount) {
+        this.day = day;
+        this.type = type;
+        this.category = category;
+        this.amount = amount;
+        this.transactionCount = transactionCount != null ? transactionCount : 0L;
+        this.flaggedCount = flaggedCount != null ? flaggedCount : 0L;
+        this.fraudScoreSum = fraudScoreSum != null ? fraudScoreSum : 0.0;
+        this.fraudScoreCount = fraudScoreCount != null ? fraudScoreCount : 0L;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public void setType(TransactionType type) {
+        this.type = type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getFlaggedCount() {
+        return flaggedCount;
+    }
+
+    public void setFlaggedCount(long flaggedCount) {
+        this.flaggedCount = flaggedCount;
+    }
+
+    public double getFraudScoreSum() {
+        return fraudScoreSum;
+    }
+
+    public void setFraudScoreSum(double fraudScoreSum) {
+        this.fraudScoreSum = fraudScoreSum;
+    }
+
+    public long getFraudScoreCount() {
+        return fraudScoreCount;
+    }
+
+    public void setFraudScoreCount(long fraudScoreCount) {
+        this.fraudScoreCount = fraudScoreCount;
+    }
+}
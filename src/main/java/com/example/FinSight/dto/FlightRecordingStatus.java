@@ -0,0 +1,75 @@
+package com.example.FinSight.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the application's Java Flight Recorder recording.
+ */
+public class FlightRecordingStatus {
+    private boolean running;
+    private String settings; // JFR configuration name, e.g. "default" or "profile"
+    private LocalDateTime startedAt;
+    private long maxAgeSeconds;
+    private long maxSizeBytes;
+    private long sizeBytes; // recorded so far, 0 when not running
+    private String directory; // where dumps are written
+
+    public FlightRecordingStatus() {
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public String getSettings() {
+        return settings;
+    }
+
+    public void setSettings(String settings) {
+        this.settings = settings;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public long getMaxAgeSeconds() {
+        return maxAgeSeconds;
+    }
+
+    public void setMaxAgeSeconds(long maxAgeSeconds) {
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public void setMaxSizeBytes(long maxSizeBytes) {
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.FinSight.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The fraud rule set currently used for scoring.
+ */
+public class FraudRuleSetInfo {
+    private String version;
+    private LocalDateTime loadedAt;
+    private double fraudThreshold;
+    private double mediumThreshold;
+    private List<String> rules; // evaluation order
+
+    public FraudRuleSetInfo() {
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public void setLoadedAt(LocalDateTime loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    public double getFraudThreshold() {
+        return fraudThreshold;
+    }
+
+    public void setFraudThreshold(double fraudThreshold) {
+        this.fraudThreshold = fraudThreshold;
+    }
+
+    public double getMediumThreshold() {
+        return mediumThreshold;
+    }
+
+    public void setMediumThreshold(double mediumThreshold) {
+        this.mediumThreshold = mediumThreshold;
+    }
+
+    public List<String> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<String> rules) {
+        this.rules = rules;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.FinSight.dto;
+
+/**
+ * Evaluation counters of one fraud rule since startup or the last reset.
+ */
+public class FraudRuleStatistics {
+    private String rule;
+    private long evaluated;
+    private long triggered;
+    private long failed;
+    private long timedOut;
+    private long rejected;
+    private long skipped;
+
+    public FraudRuleStatistics() {
+    }
+
+    public String getRule() {
+        return rule;
+    }
+
+    public void setRule(String rule) {
+        this.rule = rule;
+    }
+
+    public long getEvaluated() {
+        return evaluated;
+    }
+
+    public void setEvaluated(long evaluated) {
+        this.evaluated = evaluated;
+    }
+
+    public long getTriggered() {
+        return triggered;
+    }
+
+    public void setTriggered(long triggered) {
+        this.triggered = triggered;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(long timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(long rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.FinSight.dto;
+
+import java.util.List;
+
+/**
+ * Fraud scoring counters since startup or the last reset.
+ */
+public class FraudScoringStatistics {
+    private long scoredTransactions;
+    private long parallelScoredTransactions;
+    private long deadlinesExceeded;
+    private List<FraudRuleStatistics> rules;
+
+    public FraudScoringStatistics() {
+    }
+
+    public long getScoredTransactions() {
+        return scoredTransactions;
+    }
+
+    public void setScoredTransactions(long scoredTransactions) {
+        this.scoredTransactions = scoredTransactions;
+    }
+
+    public long getParallelScoredTransactions() {
+        return parallelScoredTransactions;
+    }
+
+    public void setParallelScoredTransactions(long parallelScoredTransactions) {
+        this.parallelScoredTransactions = parallelScoredTransactions;
+    }
+
+    public long getDeadlinesExceeded() {
+        return deadlinesExceeded;
+    }
+
+    public void setDeadlinesExceeded(long deadlinesExceeded) {
+        this.deadlinesExceeded = deadlinesExceeded;
+    }
+
+    public List<FraudRuleStatistics> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<FraudRuleStatistics> rules) {
+        this.rules = rules;
+    }
+}
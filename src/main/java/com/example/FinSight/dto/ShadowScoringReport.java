@@ -0,0 +1,132 @@
+package com.example.FinSight.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How the candidate fraud rules compare with the live rules since startup, the last
+ * candidate reload or the last reset. Risk levels are counted as live level to
+ * candidate level; a transaction is flagged when its level is HIGH.
+ */
+public class ShadowScoringReport {
+    private boolean enabled;
+    private String candidateVersion;
+    private long submitted;
+    private long dropped;
+    private long scored;
+    private long failed;
+    private long divergent;
+    private long flaggedByBoth;
+    private long flaggedByLiveOnly;
+    private long flaggedByCandidateOnly;
+    private long flaggedByNeither;
+    private Map<String, Map<String, Long>> riskLevels;
+    private List<FraudRuleStatistics> candidateRules;
+
+    public ShadowScoringReport() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCandidateVersion() {
+        return candidateVersion;
+    }
+
+    public void setCandidateVersion(String candidateVersion) {
+        this.candidateVersion = candidateVersion;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getScored() {
+        return scored;
+    }
+
+    public void setScored(long scored) {
+        this.scored = scored;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getDivergent() {
+        return divergent;
+    }
+
+    public void setDivergent(long divergent) {
+        this.divergent = divergent;
+    }
+
+    public long getFlaggedByBoth() {
+        return flaggedByBoth;
+    }
+
+    public void setFlaggedByBoth(long flaggedByBoth) {
+        this.flaggedByBoth = flaggedByBoth;
+    }
+
+    public long getFlaggedByLiveOnly() {
+        return flaggedByLiveOnly;
+    }
+
+    public void setFlaggedByLiveOnly(long flaggedByLiveOnly) {
+        this.flaggedByLiveOnly = flaggedByLiveOnly;
+    }
+
+    public long getFlaggedByCandidateOnly() {
+        return flaggedByCandidateOnly;
+    }
+
+    public void setFlaggedByCandidateOnly(long flaggedByCandidateOnly) {
+        this.flaggedByCandidateOnly = flaggedByCandidateOnly;
+    }
+
+    public long getFlaggedByNeither() {
+        return flaggedByNeither;
+    }
+
+    public void setFlaggedByNeither(long flaggedByNeither) {
+        this.flaggedByNeither = flaggedByNeither;
+    }
+
+    public Map<String, Map<String, Long>> getRiskLevels() {
+        return riskLevels;
+    }
+
+    public void setRiskLevels(Map<String, Map<String, Long>> riskLevels) {
+        this.riskLevels = riskLevels;
+    }
+
+    public List<FraudRuleStatistics> getCandidateRules() {
+        return candidateRules;
+    }
+
+    public void setCandidateRules(List<FraudRuleStatistics> candidateRules) {
+        this.candidateRules = candidateRules;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.FinSight.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Sketch-based spending statistics for a user, overall or for one category.
+ * Quantiles and distinct counts are estimates; amounts are null when there is no spending.
+ */
+public class SpendingAnalytics {
+    private String category;
+    private long transactionCount;
+    private BigDecimal minAmount;
+    private BigDecimal medianAmount;
+    private BigDecimal p90Amount;
+    private BigDecimal p99Amount;
+    private BigDecimal maxAmount;
+    private long distinctMerchants;
+    private long distinctLocations;
+
+    public SpendingAnalytics() {
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public void setMinAmount(BigDecimal minAmount) {
+        this.minAmount = minAmount;
+    }
+
+    public BigDecimal getMedianAmount() {
+        return medianAmount;
+    }
+
+    public void setMedianAmount(BigDecimal medianAmount) {
+        this.medianAmount = medianAmount;
+    }
+
+    public BigDecimal getP90Amount() {
+        return p90Amount;
+    }
+
+    public void setP90Amount(BigDecimal p90Amount) {
+        this.p90Amount = p90Amount;
+    }
+
+    public BigDecimal getP99Amount() {
+        return p99Amount;
+    }
+
+    public void setP99Amount(BigDecimal p99Amount) {
+        this.p99Amount = p99Amount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public void setMaxAmount(BigDecimal maxAmount) {
+        this.maxAmount = maxAmount;
+    }
+
+    public long getDistinctMerchants() {
+        return distinctMerchants;
+    }
+
+    public void setDistinctMerchants(long distinctMerchants) {
+        this.distinctMerchants = distinctMerchants;
+    }
+
+    public long getDistinctLocations() {
+        return distinctLocations;
+    }
+
+    public void setDistinctLocations(long distinctLocations) {
+        this.distinctLocations = distinctLocations;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.FinSight.dto;
+
+/**
+ * SQL statements run by requests to one endpoint since startup or the last reset.
+ */
+public class SqlEndpointStatistics {
+    private String endpoint; // HTTP method and path pattern
+    private long requests;
+    private long statements;
+    private double meanStatements; // per request
+    private long maxStatements; // in any one request
+
+    public SqlEndpointStatistics() {
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public void setStatements(long statements) {
+        this.statements = statements;
+    }
+
+    public double getMeanStatements() {
+        return meanStatements;
+    }
+
+    public void setMeanStatements(double meanStatements) {
+        this.meanStatements = meanStatements;
+    }
+
+    public long getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(long maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.FinSight.dto;
+
+/**
+ * SQL statements executed by one repository method, or by the nearest application
+ * method for statements run outside one, since startup or the last reset.
+ */
+public class SqlMethodStatistics {
+    private String method;
+    private long statements; // executions; a batch counts once
+    private long rows; // batched rows, 1 per plain statement
+    private long slowStatements;
+    private double totalMillis;
+    private double meanMillis;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+
+    public SqlMethodStatistics() {
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public void setStatements(long statements) {
+        this.statements = statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public long getSlowStatements() {
+        return slowStatements;
+    }
+
+    public void setSlowStatements(long slowStatements) {
+        this.slowStatements = slowStatements;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public double getMeanMillis() {
+        return meanMillis;
+    }
+
+    public void setMeanMillis(double meanMillis) {
+        this.meanMillis = meanMillis;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public void setP50Millis(double p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public void setP95Millis(double p95Millis) {
+        this.p95Millis = p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public void setP99Millis(double p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+}
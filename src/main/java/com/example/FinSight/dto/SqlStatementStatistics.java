@@ -0,0 +1,66 @@
+package com.example.FinSight.dto;
+
+import java.util.List;
+
+/**
+ * SQL statement counters since startup or the last reset.
+ */
+public class SqlStatementStatistics {
+    private boolean enabled;
+    private long slowThresholdMillis;
+    private long statements;
+    private long slowStatements;
+    private List<SqlMethodStatistics> methods; // busiest first
+    private List<SqlEndpointStatistics> endpoints; // most statements per request first
+
+    public SqlStatementStatistics() {
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getSlowThresholdMillis() {
+        return slowThresholdMillis;
+    }
+
+    public void setSlowThresholdMillis(long slowThresholdMillis) {
+        this.slowThresholdMillis = slowThresholdMillis;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public void setStatements(long statements) {
+        this.statements = statements;
+    }
+
+    public long getSlowStatements() {
+        return slowStatements;
+    }
+
+    public void setSlowStatements(long slowStatements) {
+        this.slowStatements = slowStatements;
+    }
+
+    public List<SqlMethodStatistics> getMethods() {
+        return methods;
+    }
+
+    public void setMethods(List<SqlMethodStatistics> methods) {
+        this.methods = methods;
+    }
+
+    public List<SqlEndpointStatistics> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(List<SqlEndpointStatistics> endpoints) {
+        this.endpoints = endpoints;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.FinSight.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.FinSight.model.SubscriptionStatus;
+
+import lombok.Data;
+
+/**
+ * A detected subscription as returned by the API; the owner is given by id only.
+ */
+@Data
+public class SubscriptionDto {
+    private Long id;
+    private Long userId;
+    private String merchant;
+    private BigDecimal avgAmount;
+    private LocalDate lastPaidDate;
+    private LocalDate nextDueDate;
+    private SubscriptionStatus status;
+    private LocalDateTime createdAt;
+    
+    // Explicit getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getMerchant() {
+        return merchant;
+    }
+    
+    public void setMerchant(String merchant) {
+        this.merchant = merchant;
+    }
+    
+    public BigDecimal getAvgAmount() {
+        return avgAmount;
+    }
+    
+    public void setAvgAmount(BigDecimal avgAmount) {
+        this.avgAmount = avgAmount;
+    }
+    
+    public LocalDate getLastPaidDate() {
+        return lastPaidDate;
+    }
+    
+    public void setLastPaidDate(LocalDate lastPaidDate) {
+        this.lastPaidDate = lastPaidDate;
+    }
+    
+    public LocalDate getNextDueDate() {
+        return nextDueDate;
+    }
+    
+    public void setNextDueDate(LocalDate nextDueDate) {
+        this.nextDueDate = nextDueDate;
+    }
+    
+    public SubscriptionStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(SubscriptionStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -3,19 +3,23 @@ package com.example.FinSight.dto;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.example.FinSight.model.TransactionType;
+
 import lombok.Data;
 
 @Data
 public class TransactionResponse {
     private Long id;
     private BigDecimal amount;
-    private String type;
+    private TransactionType type;
     private String category;
     private String description;
     private String location;
     private LocalDateTime transactionDate;
     private boolean fraudulent;
     private Double fraudScore;
+    private boolean shortCircuited; // score covers only the rules that ran
+    private String fraudRuleVersion;
     private String riskLevel; // LOW, MEDIUM, HIGH
     private String status;
     
@@ -36,11 +40,11 @@ public class TransactionResponse {
         this.amount = amount;
     }
     
-    public String getType() {
+    public TransactionType getType() {
         return type;
     }
     
-    public void setType(String type) {
+    public void setType(TransactionType type) {
         this.type = type;
     }
     
@@ -92,6 +96,22 @@ public class TransactionResponse {
         this.fraudScore = fraudScore;
     }
     
+    public boolean isShortCircuited() {
+        return shortCircuited;
+    }
+    
+    public void setShortCircuited(boolean shortCircuited) {
+        this.shortCircuited = shortCircuited;
+    }
+    
+    public String getFraudRuleVersion() {
+        return fraudRuleVersion;
+    }
+    
+    public void setFraudRuleVersion(String fraudRuleVersion) {
+        this.fraudRuleVersion = fraudRuleVersion;
+    }
+    
     public String getRiskLevel() {
         return riskLevel;
     }
@@ -0,0 +1,92 @@
+package com.example.FinSight.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.example.FinSight.model.RiskLevel;
+import com.example.FinSight.model.TransactionType;
+
+/**
+ * The columns of a transaction that a {@link TransactionResponse} shows, selected by the
+ * listing queries instead of whole entities. Read-only: rows are not managed, so they
+ * carry no dirty-checking snapshot and never load the transaction's user.
+ */
+public class TransactionRow {
+    private final Long id;
+    private final BigDecimal amount;
+    private final TransactionType type;
+    private final String category;
+    private final String description;
+    private final String location;
+    private final LocalDateTime transactionDate;
+    private final boolean fraudulent;
+    private final Double fraudScore;
+    private final boolean shortCircuited;
+    private final RiskLevel riskLevel;
+    private final String fraudRuleVersion;
+
+    public TransactionRow(Long id, BigDecimal amount, TransactionType type, String category, String description,
+                          String location, LocalDateTime transactionDate, boolean fraudulent, Double fraudScore,
+                          boolean shortCircuited, RiskLevel riskLevel, String fraudRuleVersion) {
+        this.id = id;
+        this.amount = amount;
+        this.type = type;
+        this.category = category;
+        this.description = description;
+        this.location = location;
+        this.transactionDate = transactionDate;
+        this.fraudulent = fraudulent;
+        this.fraudScore = fraudScore;
+        this.shortCircuited = shortCircuited;
+        this.riskLevel = riskLevel;
+        this.fraudRuleVersion = fraudRuleVersion;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public boolean isFraudulent() {
+        return fraudulent;
+    }
+
+    public Double getFraudScore() {
+        return fraudScore;
+    }
+
+    public boolean isShortCircuited() {
+        return shortCircuited;
+    }
+
+    public RiskLevel getRiskLevel() {
+        return riskLevel;
+    }
+
+    public String getFraudRuleVersion() {
+        return fraudRuleVersion;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.FinSight.dto;
+
+public enum TrendGranularity {
+    DAY,   // One point per day with spending
+    WEEK,  // ISO weeks, labelled with the Monday
+    MONTH, // Calendar months, labelled with the first of the month
+    AUTO   // Daily points, downsampled to maxPoints when there are more
+}
@@ -0,0 +1,174 @@
+package com.example.FinSight.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Running amount statistics for one user and category: count, sum, Welford mean and
+ * sum of squared deviations, and their exponentially decayed counterparts. The empty
+ * category holds the statistics over all of the user's transactions.
+ */
+@Entity
+@Table(name = "amount_statistics", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_amount_statistics_user_category", columnNames = {"user_id", "category"})
+})
+@Data
+public class AmountStatistics {
+    @Id
+    @PooledSequence("amount_statistics_seq")
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(nullable = false, length = 50)
+    private String category;
+    
+    @Column(nullable = false)
+    private long transactionCount;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amountSum;
+    
+    @Column(nullable = false)
+    private double mean;
+    
+    @Column(nullable = false)
+    private double m2;
+    
+    @Column(nullable = false)
+    private double decayedWeight;
+    
+    @Column(nullable = false)
+    private double decayedMean;
+    
+    @Column(nullable = false)
+    private double decayedM2;
+    
+    private LocalDateTime latestDate;
+    
+    private Long halfLifeSeconds;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Explicit getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+    
+    public BigDecimal getAmountSum() {
+        return amountSum;
+    }
+    
+    public void setAmountSum(BigDecimal amountSum) {
+        this.amountSum = amountSum;
+    }
+    
+    public double getMean() {
+        return mean;
+    }
+    
+    public void setMean(double mean) {
+        this.mean = mean;
+    }
+    
+    public double getM2() {
+        return m2;
+    }
+    
+    public void setM2(double m2) {
+        this.m2 = m2;
+    }
+    
+    public double getDecayedWeight() {
+        return decayedWeight;
+    }
+    
+    public void setDecayedWeight(double decayedWeight) {
+        this.decayedWeight = decayedWeight;
+    }
+    
+    public double getDecayedMean() {
+        return decayedMean;
+    }
+    
+    public void setDecayedMean(double decayedMean) {
+        this.decayedMean = decayedMean;
+    }
+    
+    public double getDecayedM2() {
+        return decayedM2;
+    }
+    
+    public void setDecayedM2(double decayedM2) {
+        this.decayedM2 = decayedM2;
+    }
+    
+    public LocalDateTime getLatestDate() {
+        return latestDate;
+    }
+    
+    public void setLatestDate(LocalDateTime latestDate) {
+        this.latestDate = latestDate;
+    }
+    
+    public Long getHalfLifeSeconds() {
+        return halfLifeSeconds;
+    }
+    
+    public void setHalfLifeSeconds(Long halfLifeSeconds) {
+        this.halfLifeSeconds = halfLifeSeconds;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
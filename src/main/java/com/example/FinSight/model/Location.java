@@ -0,0 +1,43 @@
+package com.example.FinSight.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Dictionary of distinct transaction location names. Transactions store the small
+ * integer id; rows are only ever added, through {@code TransactionDictionary} when a
+ * transaction is persisted.
+ */
+@Entity
+@Table(name = "locations")
+@Data
+public class Location {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+    
+    @Column(nullable = false, unique = true, length = 100)
+    private String name;
+    
+    // Explicit getters and setters
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+}
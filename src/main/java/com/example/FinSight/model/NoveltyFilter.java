@@ -0,0 +1,101 @@
+package com.example.FinSight.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Serialized Bloom filters of the categories, merchants (descriptions) and locations
+ * one user has had transactions with.
+ */
+@Entity
+@Table(name = "novelty_filters", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_novelty_filters_user", columnNames = {"user_id"})
+})
+@Data
+public class NoveltyFilter {
+    @Id
+    @PooledSequence("novelty_filters_seq")
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Lob
+    @Column(nullable = false)
+    private byte[] categoryFilter;
+    
+    @Lob
+    @Column(nullable = false)
+    private byte[] merchantFilter;
+    
+    @Lob
+    @Column(nullable = false)
+    private byte[] locationFilter;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Explicit getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public byte[] getCategoryFilter() {
+        return categoryFilter;
+    }
+    
+    public void setCategoryFilter(byte[] categoryFilter) {
+        this.categoryFilter = categoryFilter;
+    }
+    
+    public byte[] getMerchantFilter() {
+        return merchantFilter;
+    }
+    
+    public void setMerchantFilter(byte[] merchantFilter) {
+        this.merchantFilter = merchantFilter;
+    }
+    
+    public byte[] getLocationFilter() {
+        return locationFilter;
+    }
+    
+    public void setLocationFilter(byte[] locationFilter) {
+        this.locationFilter = locationFilter;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.FinSight.model;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Generates identifiers from a database sequence using the pooled-lo optimizer.
+ * The allocation size is read from the {@code finsight.id.allocation-size}
+ * Hibernate setting so it can be tuned without touching the entities.
+ */
+@IdGeneratorType(PooledSequenceGenerator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface PooledSequence {
+
+    /**
+     * Name of the backing database sequence.
+     */
+    String value();
+}
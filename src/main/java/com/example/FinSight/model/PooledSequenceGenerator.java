@@ -0,0 +1,48 @@
+package com.example.FinSight.model;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.OptimizableGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+
+/**
+ * Sequence generator backing {@link PooledSequence}.
+ * 
+ * Each sequence call reserves a block of {@code allocation-size} identifiers that
+ * are handed out in memory, so inserts no longer need a round trip to learn their
+ * key and Hibernate is free to batch them.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator implements AnnotationBasedGenerator<PooledSequence> {
+
+    public static final String ALLOCATION_SIZE_SETTING = "finsight.id.allocation-size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private String sequenceName;
+
+    @Override
+    public void initialize(PooledSequence annotation, Member member, GeneratorCreationContext context) {
+        this.sequenceName = annotation.value();
+    }
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) {
+        ConfigurationService configuration = creationContext.getServiceRegistry()
+            .requireService(ConfigurationService.class);
+        int allocationSize = configuration.getSetting(
+            ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        
+        parameters.setProperty(SEQUENCE_PARAM, sequenceName);
+        parameters.setProperty(OptimizableGenerator.INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OptimizableGenerator.OPT_PARAM,
+            allocationSize > 1 ? StandardOptimizerDescriptor.POOLED_LO.getExternalName()
+                               : StandardOptimizerDescriptor.NONE.getExternalName());
+        
+        super.configure(creationContext, parameters);
+    }
+}
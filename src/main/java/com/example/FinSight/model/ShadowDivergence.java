@@ -0,0 +1,138 @@
+package com.example.FinSight.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A transaction the candidate fraud rules placed in a different risk level than the
+ * live rules. Only ids, versions and outcomes are kept; the transaction itself holds
+ * the details.
+ */
+@Entity
+@Table(name = "shadow_divergences", indexes = {
+    @Index(name = "idx_shadow_divergences_candidate", columnList = "candidate_version, created_at")
+})
+@Data
+public class ShadowDivergence {
+    @Id
+    @PooledSequence("shadow_divergences_seq")
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long transactionId;
+    
+    @Column(nullable = false)
+    private Long userId;
+    
+    @Column(length = 64)
+    private String liveVersion;
+    
+    @Column(nullable = false, length = 64)
+    private String candidateVersion;
+    
+    @Column(nullable = false)
+    private double liveScore;
+    
+    @Column(nullable = false)
+    private double candidateScore;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RiskLevel liveRiskLevel;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RiskLevel candidateRiskLevel;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Explicit getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public String getLiveVersion() {
+        return liveVersion;
+    }
+    
+    public void setLiveVersion(String liveVersion) {
+        this.liveVersion = liveVersion;
+    }
+    
+    public String getCandidateVersion() {
+        return candidateVersion;
+    }
+    
+    public void setCandidateVersion(String candidateVersion) {
+        this.candidateVersion = candidateVersion;
+    }
+    
+    public double getLiveScore() {
+        return liveScore;
+    }
+    
+    public void setLiveScore(double liveScore) {
+        this.liveScore = liveScore;
+    }
+    
+    public double getCandidateScore() {
+        return candidateScore;
+    }
+    
+    public void setCandidateScore(double candidateScore) {
+        this.candidateScore = candidateScore;
+    }
+    
+    public RiskLevel getLiveRiskLevel() {
+        return liveRiskLevel;
+    }
+    
+    public void setLiveRiskLevel(RiskLevel liveRiskLevel) {
+        this.liveRiskLevel = liveRiskLevel;
+    }
+    
+    public RiskLevel getCandidateRiskLevel() {
+        return candidateRiskLevel;
+    }
+    
+    public void setCandidateRiskLevel(RiskLevel candidateRiskLevel) {
+        this.candidateRiskLevel = candidateRiskLevel;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
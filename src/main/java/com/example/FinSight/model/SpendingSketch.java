@@ -0,0 +1,123 @@
+package com.example.FinSight.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Lob;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Serialized spending sketches for one user and category: a KLL quantile sketch of
+ * expense amounts and HyperLogLog sketches of distinct merchants and locations.
+ */
+@Entity
+@Table(name = "spending_sketches", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_spending_sketches_user_category", columnNames = {"user_id", "category"})
+})
+@Data
+public class SpendingSketch {
+    @Id
+    @PooledSequence("spending_sketches_seq")
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Column(nullable = false, length = 50)
+    private String category;
+    
+    @Column(nullable = false)
+    private long transactionCount;
+    
+    @Lob
+    @Column(nullable = false)
+    private byte[] amountSketch;
+    
+    @Lob
+    @Column(nullable = false)
+    private byte[] merchantSketch;
+    
+    @Lob
+    @Column(nullable = false)
+    private byte[] locationSketch;
+    
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Explicit getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public String getCategory() {
+        return category;
+    }
+    
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+    
+    public byte[] getAmountSketch() {
+        return amountSketch;
+    }
+    
+    public void setAmountSketch(byte[] amountSketch) {
+        this.amountSketch = amountSketch;
+    }
+    
+    public byte[] getMerchantSketch() {
+        return merchantSketch;
+    }
+    
+    public void setMerchantSketch(byte[] merchantSketch) {
+        this.merchantSketch = merchantSketch;
+    }
+    
+    public byte[] getLocationSketch() {
+        return locationSketch;
+    }
+    
+    public void setLocationSketch(byte[] locationSketch) {
+        this.locationSketch = locationSketch;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -3,46 +3,61 @@ package com.example.FinSight.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
+import com.example.FinSight.service.TransactionCacheInvalidationListener;
+import com.example.FinSight.service.TransactionDictionary;
+
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Entity
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date DESC"),
     @Index(name = "idx_transactions_fraudulent", columnList = "user_id, fraudulent"),
-    @Index(name = "idx_transactions_category", columnList = "user_id, category")
+    @Index(name = "idx_transactions_category", columnList = "user_id, category_id")
 })
+@EntityListeners({TransactionDictionary.Registrar.class, TransactionCacheInvalidationListener.class})
 @Data
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence("transactions_seq")
     private Long id;
     
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
     
-    @Column(nullable = false, length = 20)
-    private String type;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private TransactionType type;
     
-    @Column(nullable = false, length = 50)
+    // Stored as ids into the categories and locations dictionary tables
+    @Convert(converter = TransactionDictionary.CategoryConverter.class)
+    @Column(name = "category_id", nullable = false)
     private String category;
     
     @Column(length = 255)
     private String description;
     
-    @Column(length = 100)
+    @Convert(converter = TransactionDictionary.LocationConverter.class)
+    @Column(name = "location_id")
     private String location;
     
     @Column(nullable = false)
@@ -54,6 +69,18 @@ public class Transaction {
     @Column
     private Double fraudScore;
     
+    // Whether scoring stopped before every rule ran, so the score covers only those that did
+    @Column(nullable = false)
+    private boolean shortCircuited = false;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private RiskLevel riskLevel;
+    
+    // Version of the fraud rule set that produced the score
+    @Column(length = 64)
+    private String fraudRuleVersion;
+    
     @Column(nullable = false)
     private LocalDateTime createdAt;
     
@@ -82,11 +109,11 @@ public class Transaction {
         this.amount = amount;
     }
     
-    public String getType() {
+    public TransactionType getType() {
         return type;
     }
     
-    public void setType(String type) {
+    public void setType(TransactionType type) {
         this.type = type;
     }
     
@@ -138,6 +165,30 @@ public class Transaction {
         this.fraudScore = fraudScore;
     }
     
+    public boolean isShortCircuited() {
+        return shortCircuited;
+    }
+    
+    public void setShortCircuited(boolean shortCircuited) {
+        this.shortCircuited = shortCircuited;
+    }
+    
+    public RiskLevel getRiskLevel() {
+        return riskLevel;
+    }
+    
+    public void setRiskLevel(RiskLevel riskLevel) {
+        this.riskLevel = riskLevel;
+    }
+    
+    public String getFraudRuleVersion() {
+        return fraudRuleVersion;
+    }
+    
+    public void setFraudRuleVersion(String fraudRuleVersion) {
+        this.fraudRuleVersion = fraudRuleVersion;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
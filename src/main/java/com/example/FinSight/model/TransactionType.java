@@ -0,0 +1,6 @@
+package com.example.FinSight.model;
+
+public enum TransactionType {
+    INCOME,
+    EXPENSE
+}
@@ -0,0 +1,13 @@
+package com.example.FinSight.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.FinSight.model.AmountStatistics;
+
+@Repository
+public interface AmountStatisticsRepository extends JpaRepository<AmountStatistics, Long> {
+    List<AmountStatistics> findByUserId(Long userId);
+}
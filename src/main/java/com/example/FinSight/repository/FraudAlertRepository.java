@@ -1,17 +1,28 @@
 package com.example.FinSight.repository;
 
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.example.FinSight.model.FraudAlert;
 import com.example.FinSight.model.User;
 
 public interface FraudAlertRepository extends JpaRepository<FraudAlert, Long> {
-    List<FraudAlert> findByUserOrderByCreatedAtDesc(User user);
     List<FraudAlert> findByUser(User user);
     List<FraudAlert> findByUserAndResolvedFalse(User user);
-    List<FraudAlert> findByUserAndResolvedOrderByCreatedAtDesc(User user, boolean resolved);
-    List<FraudAlert> findByUserAndSeverityOrderByCreatedAtDesc(User user, String severity);
-    List<FraudAlert> findByUserAndResolvedAndSeverityOrderByCreatedAtDesc(User user, boolean resolved, String severity);
-}
\ No newline at end of file
+    
+    // Listings are converted with their transaction, so fetch it in the same query
+    @EntityGraph(FraudAlert.WITH_TRANSACTION)
+    List<FraudAlert> findByUserIdOrderByCreatedAtDesc(Long userId);
+    @EntityGraph(FraudAlert.WITH_TRANSACTION)
+    List<FraudAlert> findByUserIdAndResolvedOrderByCreatedAtDesc(Long userId, boolean resolved);
+    @EntityGraph(FraudAlert.WITH_TRANSACTION)
+    List<FraudAlert> findByUserIdAndSeverityOrderByCreatedAtDesc(Long userId, String severity);
+    @EntityGraph(FraudAlert.WITH_TRANSACTION)
+    List<FraudAlert> findByUserIdAndResolvedAndSeverityOrderByCreatedAtDesc(Long userId, boolean resolved, String severity);
+    @EntityGraph(FraudAlert.WITH_TRANSACTION)
+    Optional<FraudAlert> findWithTransactionById(Long id);
+    Optional<FraudAlert> findByTransactionId(Long transactionId);
+}
@@ -0,0 +1,13 @@
+package com.example.FinSight.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.FinSight.model.NoveltyFilter;
+
+@Repository
+public interface NoveltyFilterRepository extends JpaRepository<NoveltyFilter, Long> {
+    Optional<NoveltyFilter> findByUserId(Long userId);
+}
@@ -0,0 +1,11 @@
+package com.example.FinSight.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.FinSight.model.ShadowDivergence;
+
+@Repository
+public interface ShadowDivergenceRepository extends JpaRepository<ShadowDivergence, Long> {
+    long countByCandidateVersion(String candidateVersion);
+}
@@ -0,0 +1,16 @@
+package com.example.FinSight.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.example.FinSight.model.SpendingSketch;
+
+@Repository
+public interface SpendingSketchRepository extends JpaRepository<SpendingSketch, Long> {
+    List<SpendingSketch> findByUserId(Long userId);
+    
+    Optional<SpendingSketch> findByUserIdAndCategory(Long userId, String category);
+}
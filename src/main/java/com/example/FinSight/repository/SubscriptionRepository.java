@@ -3,25 +3,32 @@ package com.example.FinSight.repository;
 import java.time.LocalDate;
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.example.FinSight.model.Subscription;
 import com.example.FinSight.model.SubscriptionStatus;
-import com.example.FinSight.model.User;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
-    List<Subscription> findByUser(User user);
+    List<Subscription> findByUserId(Long userId);
     
-    List<Subscription> findByUserAndStatus(User user, SubscriptionStatus status);
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "subscriptions-by-status")
+    })
+    List<Subscription> findByUserIdAndStatus(Long userId, SubscriptionStatus status);
     
-    @Query("SELECT s FROM Subscription s WHERE s.user = :user " +
+    @Query("SELECT s FROM Subscription s WHERE s.user.id = :userId " +
            "AND s.status = 'ACTIVE' " +
            "AND s.nextDueDate BETWEEN :start AND :end")
-    List<Subscription> findDueSoon(@Param("user") User user, 
+    List<Subscription> findDueSoon(@Param("userId") Long userId, 
                                    @Param("start") LocalDate start,
                                    @Param("end") LocalDate end);
 }
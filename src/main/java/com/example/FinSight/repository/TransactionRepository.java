@@ -7,19 +7,38 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import com.example.FinSight.dto.DailyTransactionAggregate;
+import com.example.FinSight.dto.TransactionRow;
 import com.example.FinSight.model.Transaction;
 import com.example.FinSight.model.User;
 
+import jakarta.persistence.QueryHint;
+
 public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
-    List<Transaction> findByUser(User user);
-    List<Transaction> findByUserAndFraudulentTrue(User user);
+    String TRANSACTION_ROW_COLUMNS = "t.id, t.amount, t.type, t.category, t.description, t.location, " +
+        "t.transactionDate, t.fraudulent, t.fraudScore, t.shortCircuited, t.riskLevel, t.fraudRuleVersion";
+    
     List<Transaction> findByUserAndTransactionDateAfter(User user, LocalDateTime date);
-    List<Transaction> findByUserOrderByTransactionDateDesc(User user);
+    
+    List<Transaction> findByUserId(Long userId);
+    List<Transaction> findByUserIdAndFraudulentTrue(Long userId);
+    List<Transaction> findByUserIdOrderByTransactionDateDesc(Long userId);
+    
+    // Listings select only the response columns; see TransactionRow
+    @Query("SELECT new com.example.FinSight.dto.TransactionRow(" + TRANSACTION_ROW_COLUMNS + ") " +
+           "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.transactionDate DESC")
+    List<TransactionRow> findRowsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT new com.example.FinSight.dto.TransactionRow(" + TRANSACTION_ROW_COLUMNS + ") " +
+           "FROM Transaction t WHERE t.user.id = :userId AND t.fraudulent = true")
+    List<TransactionRow> findFraudulentRowsByUserId(@Param("userId") Long userId);
     
     Optional<Transaction> findTopByUserOrderByTransactionDateDesc(User user);
     
@@ -28,9 +47,70 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
     @Query("SELECT AVG(t.amount) FROM Transaction t WHERE t.user = :user")
     BigDecimal calculateAverageAmount(@Param("user") User user);
     
+    // Amounts to build running statistics from; a null category means all
+    @Query("SELECT t.amount, t.transactionDate FROM Transaction t WHERE t.user = :user " +
+           "AND (:category IS NULL OR t.category = :category) ORDER BY t.transactionDate")
+    List<Object[]> findAmountsByUser(@Param("user") User user, @Param("category") String category);
+    
     @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user = :user")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "transaction-categories")
+    })
     List<String> findDistinctCategoriesByUser(@Param("user") User user);
     
+    @Query("SELECT DISTINCT t.description FROM Transaction t WHERE t.user = :user AND t.description IS NOT NULL")
+    List<String> findDistinctDescriptionsByUser(@Param("user") User user);
+    
+    @Query("SELECT DISTINCT t.location FROM Transaction t WHERE t.user = :user AND t.location IS NOT NULL")
+    List<String> findDistinctLocationsByUser(@Param("user") User user);
+    
+    // Exact checks behind the novelty filters' positive answers
+    boolean existsByUserAndCategory(User user, String category);
+    
+    boolean existsByUserAndDescription(User user, String description);
+    
+    boolean existsByUserAndLocation(User user, String location);
+    
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.user = :user AND t.transactionDate BETWEEN :start AND :end")
     long countByUserAndTransactionDateBetween(@Param("user") User user, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+    
+    // History as it stood when a transaction was created, for scoring it again later
+    Optional<Transaction> findTopByUserAndCreatedAtBeforeOrderByTransactionDateDesc(User user, LocalDateTime asOf);
+    
+    @Query("SELECT AVG(t.amount) FROM Transaction t WHERE t.user = :user AND t.createdAt < :asOf")
+    BigDecimal calculateAverageAmountAsOf(@Param("user") User user, @Param("asOf") LocalDateTime asOf);
+    
+    @Query("SELECT t.amount, t.transactionDate FROM Transaction t WHERE t.user = :user AND t.createdAt < :asOf " +
+           "AND (:category IS NULL OR t.category = :category) ORDER BY t.transactionDate")
+    List<Object[]> findAmountsByUserAsOf(@Param("user") User user, @Param("category") String category,
+                                         @Param("asOf") LocalDateTime asOf);
+    
+    @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user = :user AND t.createdAt < :asOf")
+    List<String> findDistinctCategoriesByUserAsOf(@Param("user") User user, @Param("asOf") LocalDateTime asOf);
+    
+    boolean existsByUserAndDescriptionAndCreatedAtBefore(User user, String description, LocalDateTime asOf);
+    
+    boolean existsByUserAndLocationAndCreatedAtBefore(User user, String location, LocalDateTime asOf);
+    
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.user = :user AND t.transactionDate BETWEEN :start AND :end " +
+           "AND t.createdAt < :asOf")
+    long countByUserAndTransactionDateBetweenAsOf(@Param("user") User user, @Param("start") LocalDateTime start,
+                                                  @Param("end") LocalDateTime end, @Param("asOf") LocalDateTime asOf);
+    
+    @Query("SELECT new com.example.FinSight.dto.DailyTransactionAggregate(" +
+           "CAST(t.transactionDate AS LocalDate), t.type, t.category, SUM(t.amount), COUNT(t), " +
+           "SUM(CASE WHEN t.fraudulent = true THEN 1 ELSE 0 END), SUM(t.fraudScore), COUNT(t.fraudScore)) " +
+           "FROM Transaction t WHERE t.user.id = :userId " +
+           "GROUP BY CAST(t.transactionDate AS LocalDate), t.type, t.category " +
+           "ORDER BY CAST(t.transactionDate AS LocalDate)")
+    List<DailyTransactionAggregate> findDailyAggregatesByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT t.transactionDate, t.amount, t.type, t.category, t.location, t.fraudulent, t.fraudScore " +
+           "FROM Transaction t WHERE t.user.id = :userId ORDER BY t.transactionDate")
+    List<Object[]> findColumnsByUserId(@Param("userId") Long userId);
+    
+    @Query("SELECT t.id, t.transactionDate, t.amount, t.category, t.description, t.location " +
+           "FROM Transaction t WHERE t.user.id = :userId")
+    List<Object[]> findEventsByUserId(@Param("userId") Long userId);
+}
@@ -4,12 +4,22 @@ package com.example.FinSight.repository;
 
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.example.FinSight.model.User;
 
+import jakarta.persistence.QueryHint;
+
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "users-by-username")
+    })
     Optional<User> findByUsername(String username);
+    
     boolean existsByEmail(String email);
 }
\ No newline at end of file
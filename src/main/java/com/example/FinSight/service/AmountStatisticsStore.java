@@ -0,0 +1,310 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.model.AmountStatistics;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps each user's running amount statistics, overall and per category, so fraud
+ * rules read a mean and variance instead of aggregating the user's whole history.
+ *
+ * Statistics are {@link RunningStatistics}, updated one transaction at a time as
+ * transactions are inserted and written back to {@code amount_statistics} in the same
+ * transaction; the decayed variant uses {@code finsight.fraud.amount-stats.half-life}.
+ * Writers hold the user's {@link UserCommitLocks} lock until they complete and update
+ * copies, which replace the in-memory statistics only once they commit. Recently used
+ * users are kept in memory, and a user without stored rows, or with rows kept under
+ * another half-life, is rebuilt from their transactions and stored by the next insert.
+ */
+@Component
+public class AmountStatisticsStore {
+
+    // Category of the row over all of a user's transactions
+    private static final String ALL = "";
+
+    private final AmountStatisticsRepository amountStatisticsRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserCommitLocks userCommitLocks;
+    private final boolean enabled;
+    private final Duration halfLife;
+    private final Cache<Long, UserStatistics> cache;
+
+    public AmountStatisticsStore(AmountStatisticsRepository amountStatisticsRepository,
+                                 TransactionRepository transactionRepository,
+                                 UserCommitLocks userCommitLocks,
+                                 @Value("${finsight.fraud.amount-stats.enabled:true}") boolean enabled,
+                                 @Value("${finsight.fraud.amount-stats.half-life:30d}") Duration halfLife,
+                                 @Value("${finsight.fraud.amount-stats.maximum-size:100000}") long maximumSize,
+                                 @Value("${finsight.fraud.amount-stats.expire-after-access:30m}") Duration expireAfterAccess) {
+        if (halfLife.isNegative() || halfLife.isZero() || halfLife.toSeconds() == 0) {
+            throw new IllegalArgumentException("Amount statistics half-life must be at least a second");
+        }
+        this.amountStatisticsRepository = amountStatisticsRepository;
+        this.transactionRepository = transactionRepository;
+        this.userCommitLocks = userCommitLocks;
+        this.enabled = enabled;
+        this.halfLife = halfLife;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    /**
+     * Answers a history's average amount, and its amount statistics without a half-life
+     * or with the configured one, from the user's stored statistics; everything else is
+     * left to {@code history}. Statistics are loaded on the first such question.
+     *
+     * @return The wrapped history, or {@code history} itself when disabled
+     */
+    public TransactionHistory wrap(User user, TransactionHistory history) {
+        return enabled ? new StatisticsHistory(user, history) : history;
+    }
+
+    /**
+     * Adds a saved transaction to its owner's statistics. Must be called after the
+     * transaction has been saved, in the same database transaction.
+     */
+    @Transactional
+    public void record(Transaction transaction) {
+        recordAll(List.of(transaction));
+    }
+
+    /**
+     * Adds saved transactions to their owners' statistics.
+     */
+    @Transactional
+    public void recordAll(List<Transaction> transactions) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, List<Transaction>> byUser = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getAmount() != null) {
+                byUser.computeIfAbsent(transaction.getUser().getId(), id -> new ArrayList<>()).add(transaction);
+            }
+        }
+
+        for (List<Transaction> userTransactions : byUser.values()) {
+            User user = userTransactions.get(0).getUser();
+            Long userId = user.getId();
+            userCommitLocks.lock(userId, () -> cache.invalidate(userId));
+            Loaded loaded = load(user);
+
+            UserStatistics statistics = loaded.statistics();
+            synchronized (statistics) {
+                Map<String, RunningStatistics> changed = new HashMap<>();
+                // A backfill query already saw these rows
+                if (!loaded.backfilled()) {
+                    for (Transaction transaction : userTransactions) {
+                        changed.computeIfAbsent(ALL, c -> statistics.all.copy())
+                            .add(transaction.getAmount(), transaction.getTransactionDate());
+                        if (transaction.getCategory() != null) {
+                            changed.computeIfAbsent(transaction.getCategory(), c -> {
+                                RunningStatistics current = statistics.byCategory.get(c);
+                                return current != null ? current.copy() : new RunningStatistics(halfLife);
+                            }).add(transaction.getAmount(), transaction.getTransactionDate());
+                        }
+                    }
+                }
+                Map<String, RunningStatistics> written = new HashMap<>(changed);
+                if (!statistics.stored) {
+                    statistics.byCategory.forEach(written::putIfAbsent);
+                    written.putIfAbsent(ALL, statistics.all);
+                }
+                save(user, written);
+                afterCommit(() -> publish(statistics, changed));
+            }
+        }
+    }
+
+    /**
+     * Drops every in-memory statistic; the next access reloads from the stored rows.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Never writes: statistics rebuilt from transactions are stored by the next insert
+    private Loaded load(User user) {
+        Long userId = user.getId();
+        UserStatistics cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return new Loaded(cached, false);
+        }
+
+        UserStatistics statistics = new UserStatistics();
+        boolean backfilled = false;
+        List<AmountStatistics> rows = amountStatisticsRepository.findByUserId(userId);
+        if (!rows.isEmpty() && rows.stream().allMatch(this::matchesHalfLife)) {
+            for (AmountStatistics row : rows) {
+                RunningStatistics restored = restore(row);
+                if (ALL.equals(row.getCategory())) {
+                    statistics.all = restored;
+                } else {
+                    statistics.byCategory.put(row.getCategory(), restored);
+                }
+            }
+            statistics.stored = true;
+        } else {
+            // findColumnsByUserId: transactionDate, amount, type, category, ...
+            for (Object[] row : transactionRepository.findColumnsByUserId(userId)) {
+                if (row[1] != null) {
+                    statistics.add((String) row[3], (BigDecimal) row[1], (LocalDateTime) row[0]);
+                }
+            }
+            backfilled = true;
+        }
+
+        UserStatistics existing = cache.asMap().putIfAbsent(userId, statistics);
+        if (existing != null) {
+            return new Loaded(existing, false);
+        }
+        return new Loaded(statistics, backfilled);
+    }
+
+    private boolean matchesHalfLife(AmountStatistics row) {
+        return row.getHalfLifeSeconds() != null && row.getHalfLifeSeconds() == halfLife.toSeconds();
+    }
+
+    private RunningStatistics restore(AmountStatistics row) {
+        return RunningStatistics.restore(halfLife, row.getTransactionCount(), row.getAmountSum(), row.getMean(),
+            row.getM2(), row.getDecayedWeight(), row.getDecayedMean(), row.getDecayedM2(), row.getLatestDate());
+    }
+
+    private void save(User user, Map<String, RunningStatistics> changed) {
+        Map<String, AmountStatistics> rows = new HashMap<>();
+        for (AmountStatistics row : amountStatisticsRepository.findByUserId(user.getId())) {
+            rows.put(row.getCategory(), row);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AmountStatistics> saved = new ArrayList<>();
+        for (Map.Entry<String, RunningStatistics> entry : changed.entrySet()) {
+            AmountStatistics row = rows.get(entry.getKey());
+            if (row == null) {
+                row = new AmountStatistics();
+                row.setUser(user);
+                row.setCategory(entry.getKey());
+            }
+            RunningStatistics statistics = entry.getValue();
+            row.setTransactionCount(statistics.getCount());
+            row.setAmountSum(statistics.getSum());
+            row.setMean(statistics.getMean());
+            row.setM2(statistics.getM2());
+            row.setDecayedWeight(statistics.getDecayedWeight());
+            row.setDecayedMean(statistics.getDecayedMean());
+            row.setDecayedM2(statistics.getDecayedM2());
+            row.setLatestDate(statistics.getLatest());
+            row.setHalfLifeSeconds(halfLife.toSeconds());
+            row.setUpdatedAt(now);
+            saved.add(row);
+        }
+        amountStatisticsRepository.saveAll(saved);
+    }
+
+    private void publish(UserStatistics statistics, Map<String, RunningStatistics> changed) {
+        synchronized (statistics) {
+            for (Map.Entry<String, RunningStatistics> entry : changed.entrySet()) {
+                if (ALL.equals(entry.getKey())) {
+                    statistics.all = entry.getValue();
+                } else {
+                    statistics.byCategory.put(entry.getKey(), entry.getValue());
+                }
+            }
+            statistics.stored = true;
+        }
+    }
+
+    // Runs before the user's lock is released, so the next writer starts from it
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Loaded(UserStatistics statistics, boolean backfilled) {
+    }
+
+    private final class UserStatistics {
+        private RunningStatistics all = new RunningStatistics(halfLife);
+        private final Map<String, RunningStatistics> byCategory = new HashMap<>();
+        // Whether amount_statistics holds every category under this half-life
+        private boolean stored;
+
+        private void add(String category, BigDecimal amount, LocalDateTime transactionDate) {
+            all.add(amount, transactionDate);
+            if (category != null) {
+                byCategory.computeIfAbsent(category, c -> new RunningStatistics(halfLife))
+                    .add(amount, transactionDate);
+            }
+        }
+    }
+
+    private final class StatisticsHistory extends ForwardingTransactionHistory {
+        private final User user;
+
+        private StatisticsHistory(User user, TransactionHistory history) {
+            super(history);
+            this.user = user;
+        }
+
+        @Override
+        public BigDecimal averageAmount() {
+            UserStatistics statistics = load(user).statistics();
+            synchronized (statistics) {
+                if (statistics.all.getCount() == 0) {
+                    return null;
+                }
+                return statistics.all.getSum()
+                    .divide(BigDecimal.valueOf(statistics.all.getCount()), 10, RoundingMode.HALF_UP);
+            }
+        }
+
+        @Override
+        public RunningStatistics amountStatistics(String category, Duration requested) {
+            if (requested != null && !requested.equals(halfLife)) {
+                return history.amountStatistics(category, requested);
+            }
+            UserStatistics statistics = load(user).statistics();
+            synchronized (statistics) {
+                RunningStatistics stored = category == null ? statistics.all : statistics.byCategory.get(category);
+                return stored == null ? new RunningStatistics(halfLife) : stored.copy();
+            }
+        }
+    }
+}
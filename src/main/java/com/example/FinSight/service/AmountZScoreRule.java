@@ -0,0 +1,95 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Triggers when the amount lies more than a number of standard deviations above the
+ * user's mean amount.
+ *
+ * The mean and deviation are those of the transaction's category once it has enough
+ * transactions, so salary does not mask unusual groceries, and of all the user's
+ * transactions otherwise. With a half-life they are exponentially decayed, so recent
+ * spending outweighs old history. The deviation is floored at 5% of the mean so that
+ * near-constant amounts do not make every small change an outlier.
+ */
+public class AmountZScoreRule implements FraudRule {
+    
+    private static final double MIN_RELATIVE_DEVIATION = 0.05;
+    
+    private final double weight;
+    private final double zScore;
+    private final long minCount;
+    private final Duration halfLife;
+    
+    /**
+     * @param halfLife Half-life of the decayed statistics, or null to weigh all history equally
+     */
+    public AmountZScoreRule(double weight, double zScore, long minCount, Duration halfLife) {
+        if (zScore <= 0) {
+            throw new IllegalArgumentException("Z-score must be positive");
+        }
+        if (minCount < 2) {
+            throw new IllegalArgumentException("Minimum count must be at least 2");
+        }
+        if (halfLife != null && (halfLife.isNegative() || halfLife.isZero())) {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+        this.weight = weight;
+        this.zScore = zScore;
+        this.minCount = minCount;
+        this.halfLife = halfLife;
+    }
+    
+    @Override
+    public String name() {
+        return halfLife == null ? "amount z-score" : "decayed amount z-score";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public int estimatedCost() {
+        // Stored running statistics; scans history only when they are not kept
+        return 1;
+    }
+    
+    @Override
+    public String reason() {
+        return "Amount more than " + BigDecimal.valueOf(zScore).stripTrailingZeros().toPlainString()
+            + " standard deviations above user " + (halfLife == null ? "mean" : "recent mean");
+    }
+    
+    @Override
+    public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+        BigDecimal amount = transaction.getAmount();
+        if (amount == null) {
+            return false;
+        }
+        
+        RunningStatistics statistics = null;
+        if (transaction.getCategory() != null) {
+            statistics = history.amountStatistics(transaction.getCategory(), halfLife);
+        }
+        if (statistics == null || statistics.getCount() < minCount) {
+            statistics = history.amountStatistics(null, halfLife);
+        }
+        if (statistics == null || statistics.getCount() < minCount) {
+            return false; // Too little history to judge
+        }
+        
+        double mean = halfLife == null ? statistics.getMean() : statistics.getDecayedMean();
+        double deviation = halfLife == null
+            ? statistics.getStandardDeviation() : statistics.getDecayedStandardDeviation();
+        deviation = Math.max(deviation, MIN_RELATIVE_DEVIATION * Math.abs(mean));
+        if (deviation == 0) {
+            return false;
+        }
+        return (amount.doubleValue() - mean) / deviation > zScore;
+    }
+}
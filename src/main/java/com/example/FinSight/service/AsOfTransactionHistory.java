@@ -0,0 +1,79 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.TransactionRepository;
+
+/**
+ * {@link TransactionHistory} of the transactions created before a point in time, so a
+ * transaction can be scored again after it, and later ones, were saved and still see
+ * the history it was first scored against.
+ */
+final class AsOfTransactionHistory implements TransactionHistory {
+    
+    private final TransactionRepository transactionRepository;
+    private final User user;
+    private final LocalDateTime asOf;
+    private volatile Optional<Transaction> latest;
+    
+    AsOfTransactionHistory(TransactionRepository transactionRepository, User user, LocalDateTime asOf) {
+        this.transactionRepository = transactionRepository;
+        this.user = user;
+        this.asOf = asOf;
+    }
+    
+    @Override
+    public BigDecimal averageAmount() {
+        return transactionRepository.calculateAverageAmountAsOf(user, asOf);
+    }
+    
+    @Override
+    public RunningStatistics amountStatistics(String category, Duration halfLife) {
+        return RunningStatistics.of(transactionRepository.findAmountsByUserAsOf(user, category, asOf), halfLife);
+    }
+    
+    @Override
+    public long countBetween(LocalDateTime from, LocalDateTime to) {
+        return transactionRepository.countByUserAndTransactionDateBetweenAsOf(user, from, to, asOf);
+    }
+    
+    @Override
+    public LocalDateTime latestTransactionDate() {
+        return latest().map(Transaction::getTransactionDate).orElse(null);
+    }
+    
+    @Override
+    public String latestLocation() {
+        return latest().map(Transaction::getLocation).orElse(null);
+    }
+    
+    @Override
+    public boolean hasCategory(String category) {
+        List<String> categories = transactionRepository.findDistinctCategoriesByUserAsOf(user, asOf);
+        // Without an answer, do not treat the category as new
+        return categories == null || categories.contains(category);
+    }
+    
+    @Override
+    public boolean hasMerchant(String merchant) {
+        return transactionRepository.existsByUserAndDescriptionAndCreatedAtBefore(user, merchant, asOf);
+    }
+    
+    @Override
+    public boolean hasLocation(String location) {
+        return transactionRepository.existsByUserAndLocationAndCreatedAtBefore(user, location, asOf);
+    }
+    
+    private Optional<Transaction> latest() {
+        if (latest == null) {
+            latest = transactionRepository.findTopByUserAndCreatedAtBeforeOrderByTransactionDateDesc(user, asOf);
+        }
+        return latest;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.FinSight.service;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A Bloom filter of strings: {@link #mightContain} never misses an added value and
+ * wrongly reports other values at about the false-positive rate it was sized for, as
+ * long as no more than its capacity of distinct values are added.
+ *
+ * Not thread-safe. Serialized by {@link #toBytes()} as capacity, count, hash count and
+ * the bit words.
+ */
+public final class BloomFilter {
+
+    private final int capacity;
+    private final int hashes;
+    private final long[] words;
+    private int count;
+
+    private BloomFilter(int capacity, int hashes, long[] words, int count) {
+        this.capacity = capacity;
+        this.hashes = hashes;
+        this.words = words;
+        this.count = count;
+    }
+
+    /**
+     * @param capacity Distinct values the filter is sized for
+     * @param falsePositiveRate Target rate of wrong positives at capacity, in (0, 1)
+     */
+    public static BloomFilter withCapacity(int capacity, double falsePositiveRate) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long bits = Math.max(64, (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+        int hashes = Math.max(1, (int) Math.round((double) words * 64 / capacity * ln2));
+        return new BloomFilter(capacity, Math.min(hashes, 16), new long[words], 0);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the bytes are not a serialized filter
+     */
+    public static BloomFilter fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < 16) {
+            throw new IllegalArgumentException("Invalid Bloom filter");
+        }
+        int capacity = buffer.getInt();
+        int count = buffer.getInt();
+        int hashes = buffer.getInt();
+        int length = buffer.getInt();
+        if (capacity < 1 || count < 0 || hashes < 1 || length < 1 || buffer.remaining() != length * 8L) {
+            throw new IllegalArgumentException("Invalid Bloom filter");
+        }
+        long[] words = new long[length];
+        buffer.asLongBuffer().get(words);
+        return new BloomFilter(capacity, hashes, words, count);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(16 + words.length * 8);
+        buffer.putInt(capacity).putInt(count).putInt(hashes).putInt(words.length);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Whether the value was new to the filter, i.e. set at least one bit
+     */
+    public boolean add(String value) {
+        long hash = hash(value);
+        long h1 = mix(hash);
+        long h2 = mix(hash ^ 0x9E3779B97F4A7C15L) | 1;
+        long bits = (long) words.length * 64;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                changed = true;
+            }
+        }
+        if (changed) {
+            count++;
+        }
+        return changed;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Values that were new when added; slightly undercounts distinct values
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * @return Whether more values were added than the filter was sized for
+     */
+    public boolean isOverCapacity() {
+        return count > capacity;
+    }
+
+    public int sizeInBytes() {
+        return words.length * 8;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Murmur3 finalizer
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
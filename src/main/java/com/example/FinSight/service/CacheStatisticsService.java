@@ -0,0 +1,64 @@
+package com.example.FinSight.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import com.example.FinSight.dto.CacheStatistics;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class CacheStatisticsService {
+    
+    private final Statistics statistics;
+    
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    /**
+     * Snapshots Hibernate second-level and query cache statistics, overall and per region.
+     * All counters stay at zero unless finsight.cache.statistics.enabled is set.
+     * 
+     * @return Current cache statistics
+     */
+    public CacheStatistics getStatistics() {
+        CacheStatistics result = new CacheStatistics();
+        result.setStatisticsEnabled(statistics.isStatisticsEnabled());
+        result.setSecondLevelCacheHitCount(statistics.getSecondLevelCacheHitCount());
+        result.setSecondLevelCacheMissCount(statistics.getSecondLevelCacheMissCount());
+        result.setSecondLevelCachePutCount(statistics.getSecondLevelCachePutCount());
+        result.setQueryCacheHitCount(statistics.getQueryCacheHitCount());
+        result.setQueryCacheMissCount(statistics.getQueryCacheMissCount());
+        result.setQueryCachePutCount(statistics.getQueryCachePutCount());
+        result.setQueryExecutionCount(statistics.getQueryExecutionCount());
+        
+        Map<String, com.example.FinSight.dto.CacheRegionStatistics> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.put(regionName, new com.example.FinSight.dto.CacheRegionStatistics(
+                    region.getHitCount(),
+                    region.getMissCount(),
+                    region.getPutCount(),
+                    region.getElementCountInMemory()
+                ));
+            }
+        }
+        result.setRegions(regions);
+        
+        return result;
+    }
+    
+    /**
+     * Resets all Hibernate statistics counters.
+     */
+    public void clear() {
+        statistics.clear();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.FinSight.service;
+
+import java.util.Locale;
+
+import org.apache.datasketches.hll.HllSketch;
+import org.apache.datasketches.hll.Union;
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.apache.datasketches.memory.Memory;
+
+import com.example.FinSight.model.SpendingSketch;
+
+/**
+ * In-memory spending sketches for one user and category, or the merge of several.
+ * 
+ * KLL with k=200 keeps quantile rank error around 1.3%; HLL with lgK=12 keeps
+ * distinct-count error around 1.6% in a few kilobytes. Both merge losslessly with
+ * other sketches of the same configuration, so user-wide figures are the union of
+ * the per-category sketches.
+ */
+final class CategorySketches {
+    
+    static final int KLL_K = 200;
+    static final int HLL_LG_K = 12;
+    
+    private final KllDoublesSketch amounts;
+    private final HllSketch merchants;
+    private final HllSketch locations;
+    private long transactionCount;
+    
+    CategorySketches() {
+        this(KllDoublesSketch.newHeapInstance(KLL_K), new HllSketch(HLL_LG_K), new HllSketch(HLL_LG_K), 0L);
+    }
+    
+    private CategorySketches(KllDoublesSketch amounts, HllSketch merchants, HllSketch locations, long transactionCount) {
+        this.amounts = amounts;
+        this.merchants = merchants;
+        this.locations = locations;
+        this.transactionCount = transactionCount;
+    }
+    
+    static CategorySketches fromEntity(SpendingSketch entity) {
+        return new CategorySketches(
+            KllDoublesSketch.heapify(Memory.wrap(entity.getAmountSketch())),
+            HllSketch.heapify(entity.getMerchantSketch()),
+            HllSketch.heapify(entity.getLocationSketch()),
+            entity.getTransactionCount());
+    }
+    
+    void writeTo(SpendingSketch entity) {
+        entity.setAmountSketch(amounts.toByteArray());
+        entity.setMerchantSketch(merchants.toCompactByteArray());
+        entity.setLocationSketch(locations.toCompactByteArray());
+        entity.setTransactionCount(transactionCount);
+    }
+    
+    /**
+     * Adds one expense. The description stands in for the merchant, as transactions
+     * carry no separate merchant field.
+     */
+    void update(double amount, String merchant, String location) {
+        amounts.update(amount);
+        if (merchant != null && !merchant.isBlank()) {
+            merchants.update(merchant.trim().toLowerCase(Locale.ROOT));
+        }
+        if (location != null && !location.isBlank()) {
+            locations.update(location.trim().toLowerCase(Locale.ROOT));
+        }
+        transactionCount++;
+    }
+    
+    static CategorySketches merge(Iterable<CategorySketches> parts) {
+        KllDoublesSketch amounts = KllDoublesSketch.newHeapInstance(KLL_K);
+        Union merchants = new Union(HLL_LG_K);
+        Union locations = new Union(HLL_LG_K);
+        long count = 0;
+        for (CategorySketches part : parts) {
+            amounts.merge(part.amounts);
+            merchants.update(part.merchants);
+            locations.update(part.locations);
+            count += part.transactionCount;
+        }
+        return new CategorySketches(amounts, merchants.getResult(), locations.getResult(), count);
+    }
+    
+    long getTransactionCount() {
+        return transactionCount;
+    }
+    
+    boolean isEmpty() {
+        return amounts.isEmpty();
+    }
+    
+    double quantile(double rank) {
+        return amounts.getQuantile(rank);
+    }
+    
+    double minAmount() {
+        return amounts.getMinItem();
+    }
+    
+    double maxAmount() {
+        return amounts.getMaxItem();
+    }
+    
+    long distinctMerchants() {
+        return Math.round(merchants.getEstimate());
+    }
+    
+    long distinctLocations() {
+        return Math.round(locations.getEstimate());
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between amounts and the whole cents that the dashboard ledger and the
+ * in-memory transaction columns sum as {@code long}.
+ */
+final class Cents {
+
+    private Cents() {
+    }
+
+    /**
+     * Converts an amount to whole cents, rounding half-up past the second decimal
+     * like the two-decimal amount column does.
+     */
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.dto.DailyTransactionAggregate;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded cache of {@link DailyLedgerIndex} per user.
+ * 
+ * Indexes are built lazily, from the user's in-memory columns when the
+ * {@link TransactionColumnStore} holds them and from the per-day SQL aggregates
+ * otherwise, and evicted by size and idle time. A committed insert is appended to the cached index in place; updates,
+ * deletes, rollbacks and inserts that race with other writes or with a rebuild evict
+ * it instead, so the next read rebuilds from the database.
+ */
+@Component
+public class DailyLedgerCache {
+    
+    private final TransactionRepository transactionRepository;
+    private final TransactionColumnStore transactionColumnStore;
+    private final Cache<Long, CachedIndex> cache;
+    private final UserGenerations generations = new UserGenerations();
+    
+    public DailyLedgerCache(TransactionRepository transactionRepository,
+                            TransactionColumnStore transactionColumnStore,
+                            @Value("${finsight.cache.ledger.maximum-size:10000}") long maximumSize,
+                            @Value("${finsight.cache.ledger.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.transactionColumnStore = transactionColumnStore;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+    
+    /**
+     * Runs a read against the user's index, building it first if it is not cached.
+     * 
+     * @param userId The user ID
+     * @param reader Query to run against the index
+     * @return The reader's result
+     */
+    public <T> T read(Long userId, Function<DailyLedgerIndex, T> reader) {
+        CachedIndex cached = cache.getIfPresent(userId);
+        if (cached == null) {
+            long generation = generation(userId);
+            DashboardStageEvent event = DashboardStageEvent.begin(userId, DashboardStageEvent.LEDGER_BUILD);
+            long[] rows = new long[1];
+            DailyLedgerIndex index = transactionColumnStore.getIfPresent(userId)
+                .map(columns -> {
+                    rows[0] = columns.size();
+                    return columns.toLedgerIndex();
+                })
+                .orElseGet(() -> {
+                    List<DailyTransactionAggregate> aggregates =
+                        transactionRepository.findDailyAggregatesByUserId(userId);
+                    rows[0] = aggregates.size();
+                    return DailyLedgerIndex.build(aggregates);
+                });
+            event.commit(rows[0], false);
+            cached = new CachedIndex(index, generation);
+            // A write during the build may or may not be included; use the index once
+            // but do not cache it
+            if (generation(userId) == generation) {
+                CachedIndex existing = cache.asMap().putIfAbsent(userId, cached);
+                if (existing != null) {
+                    cached = existing;
+                }
+            }
+        }
+        
+        synchronized (cached) {
+            return reader.apply(cached.index);
+        }
+    }
+    
+    /**
+     * Records a newly persisted transaction. It is appended to the cached index once
+     * the surrounding transaction commits.
+     */
+    public void recordInsert(Transaction transaction) {
+        Long userId = transaction.getUser().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+        
+        long before = bump(userId) - 1;
+        long epochDay = transaction.getTransactionDate().toLocalDate().toEpochDay();
+        TransactionType type = transaction.getType();
+        String category = transaction.getCategory();
+        long amountCents = Cents.toCents(transaction.getAmount());
+        long flagged = transaction.isFraudulent() ? 1 : 0;
+        Double fraudScore = transaction.getFraudScore();
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                long after = bump(userId);
+                cache.asMap().computeIfPresent(userId, (id, cached) -> {
+                    synchronized (cached) {
+                        // Only append when nothing else touched this user in between
+                        if (status == STATUS_COMMITTED && cached.generation == before && after == before + 2
+                                && cached.index.add(epochDay, type, category, amountCents, 1, flagged,
+                                    fraudScore != null ? fraudScore : 0.0, fraudScore != null ? 1 : 0)) {
+                            cached.generation = after;
+                            return cached;
+                        }
+                        return null;
+                    }
+                });
+            }
+        });
+    }
+    
+    /**
+     * Evicts a user's index. When called inside a transaction it is evicted again
+     * after commit, so a concurrent rebuild cannot cache the pre-commit state.
+     * 
+     * @param userId The user ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        
+        bump(userId);
+        cache.invalidate(userId);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(userId);
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Evicts every cached index.
+     */
+    public void invalidateAll() {
+        generations.bumpAll();
+        cache.invalidateAll();
+    }
+    
+    private long generation(Long userId) {
+        return generations.get(userId);
+    }
+    
+    private long bump(Long userId) {
+        return generations.bump(userId);
+    }
+    
+    private static final class CachedIndex {
+        private final DailyLedgerIndex index;
+        private long generation;
+        
+        CachedIndex(DailyLedgerIndex index, long generation) {
+            this.index = index;
+            this.generation = generation;
+        }
+    }
+}
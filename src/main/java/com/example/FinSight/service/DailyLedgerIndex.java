@@ -0,0 +1,369 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.FinSight.dto.DailyTransactionAggregate;
+import com.example.FinSight.dto.DashboardSummary;
+import com.example.FinSight.dto.TimeSeriesPoint;
+import com.example.FinSight.dto.TrendGranularity;
+import com.example.FinSight.model.TransactionType;
+
+/**
+ * Per-user prefix sums over daily transaction aggregates.
+ *
+ * Slot {@code i} of every column holds the running total of all days before
+ * {@code firstDay + i}, so the total over any {@code [startDate, endDate]} is one
+ * subtraction. Income, expenses, flagged counts and fraud scores answer in O(1);
+ * category breakdowns in O(categories) and trends in O(buckets in range).
+ * Appending a day at or after the last one is amortised O(1); a back-dated day
+ * costs a suffix update, and a day before the first one is rejected so the caller
+ * can rebuild. Not thread-safe; {@link DailyLedgerCache} serialises access.
+ */
+public final class DailyLedgerIndex {
+
+    private static final int INITIAL_DAYS = 64;
+
+    private long firstDay;
+    private int days;
+    private int capacity = INITIAL_DAYS;
+
+    private final LongPrefix incomeCents = new LongPrefix(capacity);
+    private final LongPrefix expenseCents = new LongPrefix(capacity);
+    private final LongPrefix expenseCount = new LongPrefix(capacity);
+    private final LongPrefix flaggedCount = new LongPrefix(capacity);
+    private final LongPrefix fraudScoreCount = new LongPrefix(capacity);
+    private final DoublePrefix fraudScoreSum = new DoublePrefix(capacity);
+
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+    private final List<String> categoryNames = new ArrayList<>();
+    private final List<LongPrefix> categoryExpenseCents = new ArrayList<>();
+    private final List<LongPrefix> categoryExpenseCount = new ArrayList<>();
+    private final List<LongPrefix> categoryFlaggedCount = new ArrayList<>();
+
+    /**
+     * Builds an index from a user's daily aggregates, in any order.
+     */
+    public static DailyLedgerIndex build(List<DailyTransactionAggregate> aggregates) {
+        DailyLedgerIndex index = new DailyLedgerIndex();
+        if (aggregates.isEmpty()) {
+            return index;
+        }
+
+        // Start at the earliest day so every row is an append
+        long earliest = Long.MAX_VALUE;
+        for (DailyTransactionAggregate aggregate : aggregates) {
+            earliest = Math.min(earliest, aggregate.getDay().toEpochDay());
+        }
+        index.firstDay = earliest;
+        index.days = 1;
+
+        for (DailyTransactionAggregate aggregate : aggregates) {
+            index.add(aggregate.getDay().toEpochDay(),
+                aggregate.getType(),
+                aggregate.getCategory(),
+                Cents.toCents(aggregate.getAmount()),
+                aggregate.getTransactionCount(),
+                aggregate.getFlaggedCount(),
+                aggregate.getFraudScoreSum(),
+                aggregate.getFraudScoreCount());
+        }
+        return index;
+    }
+
+    /**
+     * Adds a group of transactions on one day.
+     *
+     * @return false when the day precedes the first indexed day; the index is unchanged
+     *         and must be rebuilt to include it
+     */
+    public boolean add(long epochDay, TransactionType type, String category, long amountCents, long transactionCount,
+                       long flagged, double scoreSum, long scoreCount) {
+        if (days == 0) {
+            firstDay = epochDay;
+            days = 1;
+        }
+        if (epochDay < firstDay) {
+            return false;
+        }
+
+        int day = Math.toIntExact(epochDay - firstDay);
+        if (day >= days) {
+            extendTo(day + 1);
+        }
+
+        boolean expense = type == TransactionType.EXPENSE;
+        if (expense) {
+            expenseCents.add(day, days, amountCents);
+            expenseCount.add(day, days, transactionCount);
+        } else if (type == TransactionType.INCOME) {
+            incomeCents.add(day, days, amountCents);
+        }
+        flaggedCount.add(day, days, flagged);
+        fraudScoreSum.add(day, days, scoreSum);
+        fraudScoreCount.add(day, days, scoreCount);
+
+        if (expense || flagged > 0) {
+            int categoryId = categoryId(category);
+            if (expense) {
+                categoryExpenseCents.get(categoryId).add(day, days, amountCents);
+                categoryExpenseCount.get(categoryId).add(day, days, transactionCount);
+            }
+            categoryFlaggedCount.get(categoryId).add(day, days, flagged);
+        }
+        return true;
+    }
+
+    /**
+     * Total income in cents over an inclusive date range; null bounds are open.
+     */
+    public long incomeCents(LocalDate startDate, LocalDate endDate) {
+        int[] range = range(startDate, endDate);
+        return range == null ? 0L : incomeCents.sum(range[0], range[1]);
+    }
+
+    /**
+     * Total expenses in cents over an inclusive date range; null bounds are open.
+     */
+    public long expenseCents(LocalDate startDate, LocalDate endDate) {
+        int[] range = range(startDate, endDate);
+        return range == null ? 0L : expenseCents.sum(range[0], range[1]);
+    }
+
+    /**
+     * Number of flagged transactions over an inclusive date range; null bounds are open.
+     */
+    public long flaggedCount(LocalDate startDate, LocalDate endDate) {
+        int[] range = range(startDate, endDate);
+        return range == null ? 0L : flaggedCount.sum(range[0], range[1]);
+    }
+
+    /**
+     * Builds the full dashboard summary for an inclusive date range, with one trend
+     * point per day.
+     */
+    public DashboardSummary summarize(LocalDate startDate, LocalDate endDate) {
+        return summarize(startDate, endDate, TrendGranularity.DAY, 0);
+    }
+
+    /**
+     * Builds the full dashboard summary for an inclusive date range.
+     *
+     * @param granularity Width of each spending trend bucket
+     * @param maxPoints Upper bound on trend points, enforced by LTTB downsampling; 0 for none
+     */
+    public DashboardSummary summarize(LocalDate startDate, LocalDate endDate,
+                                      TrendGranularity granularity, int maxPoints) {
+        int[] range = range(startDate, endDate);
+        Map<String, BigDecimal> spendingByCategory = new HashMap<>();
+        Map<String, Long> fraudByCategory = new HashMap<>();
+
+        if (range == null) {
+            return new DashboardSummary(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, 0L, 0.0,
+                spendingByCategory, fraudByCategory, new ArrayList<>());
+        }
+        int from = range[0];
+        int to = range[1];
+
+        BigDecimal totalIncome = Cents.fromCents(incomeCents.sum(from, to));
+        BigDecimal totalExpenses = Cents.fromCents(expenseCents.sum(from, to));
+
+        for (int id = 0; id < categoryNames.size(); id++) {
+            if (categoryExpenseCount.get(id).sum(from, to) > 0) {
+                spendingByCategory.put(categoryNames.get(id),
+                    Cents.fromCents(categoryExpenseCents.get(id).sum(from, to)));
+            }
+            long flagged = categoryFlaggedCount.get(id).sum(from, to);
+            if (flagged > 0) {
+                fraudByCategory.put(categoryNames.get(id), flagged);
+            }
+        }
+
+        List<TimeSeriesPoint> spendingTrends = TrendDownsampler.largestTriangleThreeBuckets(
+            spendingTrends(from, to, granularity), maxPoints);
+
+        return new DashboardSummary(
+            totalIncome,
+            totalExpenses,
+            totalIncome.subtract(totalExpenses),
+            flaggedCount.sum(from, to),
+            averageFraudScore(fraudScoreSum.sum(from, to), fraudScoreCount.sum(from, to)),
+            spendingByCategory,
+            fraudByCategory,
+            spendingTrends
+        );
+    }
+
+    /**
+     * Sums daily expenses into buckets; each bucket is one prefix-sum subtraction.
+     * Buckets without any expense are omitted, as days without expenses always were.
+     */
+    private List<TimeSeriesPoint> spendingTrends(int from, int to, TrendGranularity granularity) {
+        List<TimeSeriesPoint> points = new ArrayList<>();
+        int bucketStart = from;
+        while (bucketStart <= to) {
+            LocalDate label = LocalDate.ofEpochDay(firstDay + bucketStart);
+            LocalDate next;
+            switch (granularity) {
+                case WEEK:
+                    label = label.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                    next = label.plusWeeks(1);
+                    break;
+                case MONTH:
+                    label = label.withDayOfMonth(1);
+                    next = label.plusMonths(1);
+                    break;
+                default:
+                    next = label.plusDays(1);
+                    break;
+            }
+            int bucketEnd = (int) Math.min(to, next.toEpochDay() - 1 - firstDay);
+
+            if (expenseCount.sum(bucketStart, bucketEnd) > 0) {
+                points.add(new TimeSeriesPoint(label,
+                    Cents.fromCents(expenseCents.sum(bucketStart, bucketEnd))));
+            }
+            bucketStart = bucketEnd + 1;
+        }
+        return points;
+    }
+
+    private static Double averageFraudScore(double sum, long count) {
+        if (count == 0) {
+            return 0.0;
+        }
+        return BigDecimal.valueOf(sum / count)
+            .setScale(2, RoundingMode.HALF_UP)
+            .doubleValue();
+    }
+
+    /**
+     * Maps a date range onto inclusive day slots, or null when it misses the index.
+     */
+    private int[] range(LocalDate startDate, LocalDate endDate) {
+        if (days == 0) {
+            return null;
+        }
+        long lastDay = firstDay + days - 1;
+        long from = startDate != null ? Math.max(startDate.toEpochDay(), firstDay) : firstDay;
+        long to = endDate != null ? Math.min(endDate.toEpochDay(), lastDay) : lastDay;
+        if (from > to) {
+            return null;
+        }
+        return new int[] {(int) (from - firstDay), (int) (to - firstDay)};
+    }
+
+    private int categoryId(String category) {
+        Integer id = categoryIds.get(category);
+        if (id != null) {
+            return id;
+        }
+        int next = categoryNames.size();
+        categoryIds.put(category, next);
+        categoryNames.add(category);
+        categoryExpenseCents.add(new LongPrefix(capacity).extend(0, days));
+        categoryExpenseCount.add(new LongPrefix(capacity).extend(0, days));
+        categoryFlaggedCount.add(new LongPrefix(capacity).extend(0, days));
+        return next;
+    }
+
+    private void extendTo(int newDays) {
+        if (newDays > capacity) {
+            capacity = Math.max(capacity * 2, newDays);
+            incomeCents.grow(capacity);
+            expenseCents.grow(capacity);
+            expenseCount.grow(capacity);
+            flaggedCount.grow(capacity);
+            fraudScoreCount.grow(capacity);
+            fraudScoreSum.grow(capacity);
+            for (int id = 0; id < categoryNames.size(); id++) {
+                categoryExpenseCents.get(id).grow(capacity);
+                categoryExpenseCount.get(id).grow(capacity);
+                categoryFlaggedCount.get(id).grow(capacity);
+            }
+        }
+        incomeCents.extend(days, newDays);
+        expenseCents.extend(days, newDays);
+        expenseCount.extend(days, newDays);
+        flaggedCount.extend(days, newDays);
+        fraudScoreCount.extend(days, newDays);
+        fraudScoreSum.extend(days, newDays);
+        for (int id = 0; id < categoryNames.size(); id++) {
+            categoryExpenseCents.get(id).extend(days, newDays);
+            categoryExpenseCount.get(id).extend(days, newDays);
+            categoryFlaggedCount.get(id).extend(days, newDays);
+        }
+        days = newDays;
+    }
+
+    /**
+     * Prefix sums where {@code prefix[i]} is the total of days {@code [0, i)}.
+     */
+    private static final class LongPrefix {
+        private long[] prefix;
+
+        LongPrefix(int capacity) {
+            this.prefix = new long[capacity + 1];
+        }
+
+        void grow(int capacity) {
+            prefix = Arrays.copyOf(prefix, capacity + 1);
+        }
+
+        // Carries the running total into newly opened day slots
+        LongPrefix extend(int days, int newDays) {
+            Arrays.fill(prefix, days + 1, newDays + 1, prefix[days]);
+            return this;
+        }
+
+        void add(int day, int days, long delta) {
+            if (delta == 0) {
+                return;
+            }
+            for (int i = day + 1; i <= days; i++) {
+                prefix[i] += delta;
+            }
+        }
+
+        long sum(int from, int to) {
+            return prefix[to + 1] - prefix[from];
+        }
+    }
+
+    private static final class DoublePrefix {
+        private double[] prefix;
+
+        DoublePrefix(int capacity) {
+            this.prefix = new double[capacity + 1];
+        }
+
+        void grow(int capacity) {
+            prefix = Arrays.copyOf(prefix, capacity + 1);
+        }
+
+        void extend(int days, int newDays) {
+            Arrays.fill(prefix, days + 1, newDays + 1, prefix[days]);
+        }
+
+        void add(int day, int days, double delta) {
+            if (delta == 0) {
+                return;
+            }
+            for (int i = day + 1; i <= days; i++) {
+                prefix[i] += delta;
+            }
+        }
+
+        double sum(int from, int to) {
+            return prefix[to + 1] - prefix[from];
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.FinSight.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a step of building a dashboard summary: the whole
+ * summary, building a user's {@link DailyLedgerIndex}, and summarizing a range of it.
+ */
+@Name("finsight.DashboardStage")
+@Label("Dashboard Stage")
+@Category({"FinSight", "Dashboard"})
+@Description("A step of building a dashboard summary")
+@StackTrace(false)
+final class DashboardStageEvent extends Event {
+
+    static final String SUMMARY = "summary";
+    static final String LEDGER_BUILD = "ledger build";
+    static final String SUMMARIZE = "summarize";
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Rows")
+    @Description("Daily aggregates or transactions read, or trend points produced")
+    long rows;
+
+    @Label("Cache Hit")
+    @Description("The summary or index was already cached")
+    boolean cacheHit;
+
+    static DashboardStageEvent begin(Long userId, String stage) {
+        DashboardStageEvent event = new DashboardStageEvent();
+        event.userId = userId != null ? userId : 0;
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    void commit(long rows, boolean cacheHit) {
+        if (shouldCommit()) {
+            this.rows = rows;
+            this.cacheHit = cacheHit;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.dto.DashboardSummary;
+import com.example.FinSight.dto.TrendGranularity;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded, TTL-evicting cache of {@link DashboardSummary} per user and query
+ * (date range, trend granularity and point limit).
+ * 
+ * Each user has a generation counter ({@link UserGenerations}) that is bumped whenever
+ * one of their transactions is written. Cached summaries remember the generation they were computed from and are
+ * discarded on read once it is stale, so invalidating a user is O(1) regardless of how
+ * many date ranges are cached for them. The generation also backs the dashboard ETag.
+ */
+@Component
+public class DashboardSummaryCache {
+    
+    // Distinguishes ETags issued before a restart, when generations start over
+    private final long epoch = System.currentTimeMillis();
+    
+    private final Cache<SummaryKey, CachedSummary> cache;
+    private final UserGenerations generations = new UserGenerations();
+    
+    public DashboardSummaryCache(@Value("${finsight.cache.dashboard.maximum-size:10000}") long maximumSize,
+                                 @Value("${finsight.cache.dashboard.expire-after-write:5m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .build();
+    }
+    
+    /**
+     * Returns the cached summary for the range, computing and caching it when absent
+     * or stale.
+     * 
+     * @param userId The user ID
+     * @param startDate Optional start date
+     * @param endDate Optional end date
+     * @param granularity Trend granularity
+     * @param maxPoints Trend point limit
+     * @param loader Computes the summary on a miss
+     * @return The summary
+     */
+    public DashboardSummary get(Long userId, LocalDate startDate, LocalDate endDate,
+                                TrendGranularity granularity, int maxPoints, Supplier<DashboardSummary> loader) {
+        SummaryKey key = new SummaryKey(userId, startDate, endDate, granularity, maxPoints);
+        // Read the generation before loading, so a write that races with the load
+        // leaves the entry already stale
+        long generation = generation(userId);
+        
+        CachedSummary cached = cache.getIfPresent(key);
+        if (cached != null && cached.generation() == generation) {
+            return cached.summary();
+        }
+        
+        DashboardSummary summary = loader.get();
+        cache.put(key, new CachedSummary(generation, summary));
+        return summary;
+    }
+    
+    /**
+     * Builds the ETag for a user's dashboard query. It changes whenever the user's
+     * transactions change, without the summary having to be computed.
+     */
+    public String eTag(Long userId, LocalDate startDate, LocalDate endDate,
+                       TrendGranularity granularity, int maxPoints) {
+        return "\"" + epoch + "-" + userId + "-" + generation(userId) + "-" + startDate + "-" + endDate
+            + "-" + granularity + "-" + maxPoints + "\"";
+    }
+    
+    /**
+     * Marks every cached summary of a user stale. When called inside a transaction the
+     * user is invalidated again after commit, so a concurrent reader cannot cache a
+     * summary computed from the pre-commit state.
+     * 
+     * @param userId The user ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        
+        bump(userId);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(userId);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Evicts every cached summary.
+     */
+    public void invalidateAll() {
+        generations.bumpAll();
+        cache.invalidateAll();
+    }
+    
+    private long generation(Long userId) {
+        return generations.get(userId);
+    }
+    
+    private void bump(Long userId) {
+        generations.bump(userId);
+    }
+    
+    private record SummaryKey(Long userId, LocalDate startDate, LocalDate endDate,
+                              TrendGranularity granularity, int maxPoints) {
+    }
+    
+    private record CachedSummary(long generation, DashboardSummary summary) {
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.TransactionRepository;
 import com.example.FinSight.repository.UserRepository;
@@ -27,6 +28,9 @@ public class DemoDataService {
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final FraudDetectionService fraudDetectionService;
+    private final SpendingSketchService spendingSketchService;
+    private final NoveltyFilterStore noveltyFilterStore;
+    private final AmountStatisticsStore amountStatisticsStore;
     
     /**
      * Seeds demo transactions for a user if they have zero transactions.
@@ -57,10 +61,15 @@ public class DemoDataService {
             FraudDetectionResult result = fraudDetectionService.analyzeTransaction(txn);
             txn.setFraudulent(result.isFraudulent());
             txn.setFraudScore(result.getFraudScore());
+            txn.setShortCircuited(!result.isComplete());
+            txn.setRiskLevel(result.getRiskLevel());
+            txn.setFraudRuleVersion(result.getRuleVersion());
         }
         
         transactionRepository.saveAll(demoTransactions);
-    
+        spendingSketchService.recordAll(demoTransactions);
+        noveltyFilterStore.recordAll(demoTransactions);
+        amountStatisticsStore.recordAll(demoTransactions);
         
         log.info("Generated {} demo transactions for user {}", demoTransactions.size(), userId);
         
@@ -112,7 +121,7 @@ public class DemoDataService {
             txn.setAmount(amount);
             
             // Set type based on category
-            txn.setType(category.equals("salary") ? "INCOME" : "EXPENSE");
+            txn.setType(category.equals("salary") ? TransactionType.INCOME : TransactionType.EXPENSE);
             
             txn.setDescription("Demo " + category);
             txn.setLocation("Demo Location " + (random.nextInt(5) + 1));
@@ -0,0 +1,200 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps {@link UserEventTimeline}s for event-time fraud scoring, loaded on first use
+ * and bounded by the total number of cached transactions. Does nothing unless
+ * {@code finsight.fraud.event-time.enabled} is set.
+ *
+ * Committed inserts are placed on the timeline in the same way as
+ * {@link TransactionColumnStore} appends them. Updates that leave the date, amount,
+ * category and location alone (re-scoring) keep the timeline; other updates, deletes
+ * and racing writes evict the user.
+ */
+@Component
+public class EventTimelineStore {
+
+    private final TransactionRepository transactionRepository;
+    private final boolean enabled;
+    private final int maxRescored;
+    private final Cache<Long, Cached> cache;
+    private final UserGenerations generations = new UserGenerations();
+
+    public EventTimelineStore(TransactionRepository transactionRepository,
+                              @Value("${finsight.fraud.event-time.enabled:false}") boolean enabled,
+                              @Value("${finsight.fraud.event-time.max-rescored:100}") int maxRescored,
+                              @Value("${finsight.fraud.event-time.maximum-transactions:5000000}") long maximumTransactions,
+                              @Value("${finsight.fraud.event-time.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.enabled = enabled;
+        this.maxRescored = maxRescored;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumTransactions)
+            .weigher((Long userId, Cached cached) -> Math.max(1, cached.timeline.size()))
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+
+    /**
+     * @return Whether transactions are scored in event time
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Most transactions re-scored after one back-dated arrival
+     */
+    public int getMaxRescored() {
+        return maxRescored;
+    }
+
+    /**
+     * Returns a user's timeline, loading it if needed.
+     */
+    public UserEventTimeline get(Long userId) {
+        Cached cached = cache.getIfPresent(userId);
+        return cached != null ? cached.timeline : load(userId);
+    }
+
+    /**
+     * Places a newly persisted transaction on its owner's timeline once the surrounding
+     * transaction commits.
+     */
+    public void recordInsert(Transaction transaction) {
+        if (!enabled) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+
+        long before = bump(userId) - 1;
+        long id = transaction.getId();
+        LocalDateTime transactionDate = transaction.getTransactionDate();
+        BigDecimal amount = transaction.getAmount();
+        String category = transaction.getCategory();
+        String merchant = transaction.getDescription();
+        String location = transaction.getLocation();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                long after = bump(userId);
+                cache.asMap().computeIfPresent(userId, (key, cached) -> {
+                    // Only add when nothing else touched this user in between
+                    if (status == STATUS_COMMITTED && cached.generation == before && after == before + 2) {
+                        cached.timeline.add(id, transactionDate, amount, category, merchant, location);
+                        cached.generation = after;
+                        return cached;
+                    }
+                    return null;
+                });
+            }
+        });
+    }
+
+    /**
+     * Keeps the timeline when an update did not move the transaction, otherwise evicts
+     * the user.
+     */
+    public void recordUpdate(Transaction transaction) {
+        if (!enabled) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        Cached cached = cache.getIfPresent(userId);
+        if (cached != null && transaction.getId() != null
+                && cached.timeline.contains(transaction.getId(), transaction.getTransactionDate(),
+                    transaction.getAmount(), transaction.getCategory(), transaction.getDescription(),
+                    transaction.getLocation())) {
+            return;
+        }
+        invalidate(userId);
+    }
+
+    /**
+     * Evicts a user. When called inside a transaction the user is evicted again after
+     * commit, so a concurrent load cannot cache the pre-commit state.
+     */
+    public void invalidate(Long userId) {
+        if (!enabled || userId == null) {
+            return;
+        }
+
+        bump(userId);
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(userId);
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts every user.
+     */
+    public void invalidateAll() {
+        generations.bumpAll();
+        cache.invalidateAll();
+    }
+
+    private UserEventTimeline load(Long userId) {
+        long generation = generation(userId);
+        List<Object[]> rows = transactionRepository.findEventsByUserId(userId);
+        UserEventTimeline timeline = new UserEventTimeline();
+        for (Object[] row : rows) {
+            timeline.add((Long) row[0], (LocalDateTime) row[1], (BigDecimal) row[2], (String) row[3], (String) row[4],
+                (String) row[5]);
+        }
+
+        // A write during the load may or may not be included; use the timeline once
+        // but do not cache it
+        if (generation(userId) != generation) {
+            return timeline;
+        }
+        Cached existing = cache.asMap().putIfAbsent(userId, new Cached(timeline, generation));
+        return existing != null ? existing.timeline : timeline;
+    }
+
+    private long generation(Long userId) {
+        return generations.get(userId);
+    }
+
+    private long bump(Long userId) {
+        return generations.bump(userId);
+    }
+
+    private static final class Cached {
+        private final UserEventTimeline timeline;
+        // Generation the timeline is current as of
+        private long generation;
+
+        private Cached(UserEventTimeline timeline, long generation) {
+            this.timeline = timeline;
+            this.generation = generation;
+        }
+    }
+}
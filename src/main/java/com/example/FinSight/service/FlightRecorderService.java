@@ -0,0 +1,189 @@
+package com.example.FinSight.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.example.FinSight.dto.FlightRecordingStatus;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Starts, dumps and stops a Java Flight Recorder recording of the running application,
+ * so latency outliers in production can be attributed without a redeploy or JVM flags.
+ *
+ * A recording uses one of the JDK's configurations ("default" for low overhead,
+ * "profile" for allocation samples and more) with the FinSight events
+ * ({@link TransactionStageEvent}, {@link FraudRuleEvent}, {@link DashboardStageEvent})
+ * always enabled. It keeps at most {@code finsight.jfr.max-age} and
+ * {@code finsight.jfr.max-size} of data; dumps are written to
+ * {@code finsight.jfr.directory}, where only the newest {@code finsight.jfr.max-dumps}
+ * are kept. Only one recording runs at a time.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final String FILE_PREFIX = "finsight-";
+    private static final String FILE_SUFFIX = ".jfr";
+
+    private final Path directory;
+    private final String defaultSettings;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final int maxDumps;
+
+    private Recording recording;
+    private String settings;
+    private LocalDateTime startedAt;
+
+    public FlightRecorderService(@Value("${finsight.jfr.directory:${java.io.tmpdir}}") Path directory,
+                                 @Value("${finsight.jfr.settings:profile}") String defaultSettings,
+                                 @Value("${finsight.jfr.max-age:15m}") Duration maxAge,
+                                 @Value("${finsight.jfr.max-size:250MB}") DataSize maxSize,
+                                 @Value("${finsight.jfr.max-dumps:3}") int maxDumps) {
+        if (maxDumps < 1) {
+            throw new IllegalArgumentException("finsight.jfr.max-dumps must be at least 1");
+        }
+        this.directory = directory;
+        this.defaultSettings = defaultSettings;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.maxDumps = maxDumps;
+    }
+
+    /**
+     * Starts a recording.
+     *
+     * @param settings JFR configuration name, or null for {@code finsight.jfr.settings}
+     * @return The new recording's status
+     * @throws IllegalArgumentException if there is no such configuration
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized FlightRecordingStatus start(String settings) {
+        if (isRunning()) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        String name = settings == null || settings.isBlank() ? defaultSettings : settings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + name, e);
+        }
+
+        Recording started = new Recording(configuration);
+        started.setName("finsight");
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        started.setToDisk(true);
+        started.enable(TransactionStageEvent.class);
+        started.enable(FraudRuleEvent.class);
+        started.enable(DashboardStageEvent.class);
+        started.start();
+
+        this.recording = started;
+        this.settings = name;
+        this.startedAt = LocalDateTime.now();
+        return getStatus();
+    }
+
+    /**
+     * Writes what the running recording holds so far to a new file; it keeps running.
+     *
+     * @return The file written
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized Path dump() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        return dumpTo(recording);
+    }
+
+    /**
+     * Stops the running recording and writes it to a new file.
+     *
+     * @return The file written
+     * @throws IllegalStateException if no recording is running
+     */
+    public synchronized Path stop() {
+        if (!isRunning()) {
+            throw new IllegalStateException("No recording is running");
+        }
+        Recording stopped = recording;
+        recording = null;
+        try {
+            stopped.stop();
+            return dumpTo(stopped);
+        } finally {
+            stopped.close();
+        }
+    }
+
+    public synchronized FlightRecordingStatus getStatus() {
+        FlightRecordingStatus status = new FlightRecordingStatus();
+        boolean running = isRunning();
+        status.setRunning(running);
+        status.setSettings(running ? settings : defaultSettings);
+        status.setStartedAt(running ? startedAt : null);
+        status.setMaxAgeSeconds(maxAge.toSeconds());
+        status.setMaxSizeBytes(maxSize.toBytes());
+        status.setSizeBytes(running ? recording.getSize() : 0);
+        status.setDirectory(directory.toAbsolutePath().toString());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private Path dumpTo(Recording source) {
+        try {
+            Files.createDirectories(directory);
+            Path file = directory.resolve(FILE_PREFIX + LocalDateTime.now().format(FILE_TIMESTAMP) + FILE_SUFFIX);
+            source.dump(file);
+            deleteOldDumps();
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write recording to " + directory, e);
+        }
+    }
+
+    // Timestamped names sort oldest first; a download already streaming keeps its open file
+    private void deleteOldDumps() throws IOException {
+        List<Path> dumps = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+            }).sorted().forEach(dumps::add);
+        }
+        for (Path old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+            Files.deleteIfExists(old);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * {@link TransactionHistory} that passes every question to another history, for
+ * wrappers that answer only some of them themselves.
+ */
+abstract class ForwardingTransactionHistory implements TransactionHistory {
+    
+    protected final TransactionHistory history;
+    
+    protected ForwardingTransactionHistory(TransactionHistory history) {
+        this.history = history;
+    }
+    
+    @Override
+    public BigDecimal averageAmount() {
+        return history.averageAmount();
+    }
+    
+    @Override
+    public RunningStatistics amountStatistics(String category, Duration halfLife) {
+        return history.amountStatistics(category, halfLife);
+    }
+    
+    @Override
+    public long countBetween(LocalDateTime from, LocalDateTime to) {
+        return history.countBetween(from, to);
+    }
+    
+    @Override
+    public LocalDateTime latestTransactionDate() {
+        return history.latestTransactionDate();
+    }
+    
+    @Override
+    public String latestLocation() {
+        return history.latestLocation();
+    }
+    
+    @Override
+    public boolean hasCategory(String category) {
+        return history.hasCategory(category);
+    }
+    
+    @Override
+    public boolean hasMerchant(String merchant) {
+        return history.hasMerchant(merchant);
+    }
+    
+    @Override
+    public boolean hasLocation(String location) {
+        return history.hasLocation(location);
+    }
+}
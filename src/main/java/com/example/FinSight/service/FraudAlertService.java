@@ -12,9 +12,7 @@ import com.example.FinSight.dto.FraudAlertDto;
 import com.example.FinSight.dto.TransactionResponse;
 import com.example.FinSight.model.FraudAlert;
 import com.example.FinSight.model.Transaction;
-import com.example.FinSight.model.User;
 import com.example.FinSight.repository.FraudAlertRepository;
-import com.example.FinSight.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,7 +23,8 @@ public class FraudAlertService {
     private static final Logger log = LoggerFactory.getLogger(FraudAlertService.class);
     
     private final FraudAlertRepository fraudAlertRepository;
-    private final UserRepository userRepository;
+    private final UserReferenceCache userReferenceCache;
+    private final FraudRuleLoader fraudRuleLoader;
 
     
     /**
@@ -35,10 +34,9 @@ public class FraudAlertService {
      * @return List of fraud alert DTOs with transaction details
      */
     public List<FraudAlertDto> findByUser(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        requireUser(userId);
         
-        List<FraudAlert> alerts = fraudAlertRepository.findByUserOrderByCreatedAtDesc(user);
+        List<FraudAlert> alerts = fraudAlertRepository.findByUserIdOrderByCreatedAtDesc(userId);
         
         return alerts.stream()
             .map(this::convertToDto)
@@ -53,10 +51,9 @@ public class FraudAlertService {
      * @return List of filtered fraud alert DTOs
      */
     public List<FraudAlertDto> findByUserAndResolved(Long userId, boolean resolved) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        requireUser(userId);
         
-        List<FraudAlert> alerts = fraudAlertRepository.findByUserAndResolvedOrderByCreatedAtDesc(user, resolved);
+        List<FraudAlert> alerts = fraudAlertRepository.findByUserIdAndResolvedOrderByCreatedAtDesc(userId, resolved);
         
         return alerts.stream()
             .map(this::convertToDto)
@@ -71,10 +68,9 @@ public class FraudAlertService {
      * @return List of filtered fraud alert DTOs
      */
     public List<FraudAlertDto> findByUserAndSeverity(Long userId, String severity) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        requireUser(userId);
         
-        List<FraudAlert> alerts = fraudAlertRepository.findByUserAndSeverityOrderByCreatedAtDesc(user, severity);
+        List<FraudAlert> alerts = fraudAlertRepository.findByUserIdAndSeverityOrderByCreatedAtDesc(userId, severity);
         
         return alerts.stream()
             .map(this::convertToDto)
@@ -90,10 +86,9 @@ public class FraudAlertService {
      * @return List of filtered fraud alert DTOs
      */
     public List<FraudAlertDto> findByUserAndResolvedAndSeverity(Long userId, boolean resolved, String severity) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + userId));
+        requireUser(userId);
         
-        List<FraudAlert> alerts = fraudAlertRepository.findByUserAndResolvedAndSeverityOrderByCreatedAtDesc(user, resolved, severity);
+        List<FraudAlert> alerts = fraudAlertRepository.findByUserIdAndResolvedAndSeverityOrderByCreatedAtDesc(userId, resolved, severity);
         
         return alerts.stream()
             .map(this::convertToDto)
@@ -108,7 +103,7 @@ public class FraudAlertService {
      */
     @Transactional
     public FraudAlertDto resolveAlert(Long alertId) {
-        FraudAlert alert = fraudAlertRepository.findById(alertId)
+        FraudAlert alert = fraudAlertRepository.findWithTransactionById(alertId)
             .orElseThrow(() -> new IllegalArgumentException("Fraud alert not found with id: " + alertId));
         
         alert.setResolved(true);
@@ -121,7 +116,19 @@ public class FraudAlertService {
     }
     
     /**
-     * Converts a FraudAlert entity to a FraudAlertDto with transaction details.
+     * Verifies the user exists without loading it on every call.
+     * 
+     * @param userId The user ID
+     */
+    private void requireUser(Long userId) {
+        if (!userReferenceCache.exists(userId)) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+    }
+    
+    /**
+     * Converts a FraudAlert entity to a FraudAlertDto with transaction details. The
+     * alert must have been loaded with its transaction; the user is read by id only.
      * 
      * @param alert The fraud alert entity
      * @return The fraud alert DTO
@@ -160,16 +167,13 @@ public class FraudAlertService {
         response.setTransactionDate(transaction.getTransactionDate());
         response.setFraudulent(transaction.isFraudulent());
         response.setFraudScore(transaction.getFraudScore());
+        response.setFraudRuleVersion(transaction.getFraudRuleVersion());
         
-        // Set risk level based on fraud score
-        if (transaction.getFraudScore() != null) {
-            if (transaction.getFraudScore() >= 70) {
-                response.setRiskLevel("HIGH");
-            } else if (transaction.getFraudScore() >= 40) {
-                response.setRiskLevel("MEDIUM");
-            } else {
-                response.setRiskLevel("LOW");
-            }
+        // Set the stored risk level, or derive it from the fraud score
+        if (transaction.getRiskLevel() != null) {
+            response.setRiskLevel(transaction.getRiskLevel().name());
+        } else if (transaction.getFraudScore() != null) {
+            response.setRiskLevel(fraudRuleLoader.current().riskLevel(transaction.getFraudScore()).name());
         }
         
         response.setStatus(transaction.isFraudulent() ? "FLAGGED" : "COMPLETED");
@@ -9,12 +9,27 @@ public class FraudDetectionResult {
     private double fraudScore; // 0-100
     private RiskLevel riskLevel;
     private List<String> reasons;
+    private String ruleVersion; // version of the rule set that produced the score
+    private boolean complete = true; // whether every rule ran, rather than the score short-circuiting
+    private List<String> missedRules = List.of(); // rules that missed the parallel deadline
     
     public FraudDetectionResult(boolean fraudulent, double fraudScore, RiskLevel riskLevel, List<String> reasons) {
+        this(fraudulent, fraudScore, riskLevel, reasons, null);
+    }
+    
+    public FraudDetectionResult(boolean fraudulent, double fraudScore, RiskLevel riskLevel, List<String> reasons,
+                                String ruleVersion) {
         this.fraudulent = fraudulent;
         this.fraudScore = fraudScore;
         this.riskLevel = riskLevel;
         this.reasons = reasons;
+        this.ruleVersion = ruleVersion;
+    }
+    
+    public FraudDetectionResult(boolean fraudulent, double fraudScore, RiskLevel riskLevel, List<String> reasons,
+                                String ruleVersion, boolean complete) {
+        this(fraudulent, fraudScore, riskLevel, reasons, ruleVersion);
+        this.complete = complete;
     }
     
     public boolean isFraudulent() {
@@ -48,4 +63,32 @@ public class FraudDetectionResult {
     public void setReasons(List<String> reasons) {
         this.reasons = reasons;
     }
+    
+    public String getRuleVersion() {
+        return ruleVersion;
+    }
+    
+    public void setRuleVersion(String ruleVersion) {
+        this.ruleVersion = ruleVersion;
+    }
+    
+    public boolean isComplete() {
+        return complete;
+    }
+    
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+    
+    /**
+     * @return Rules whose outcome is unknown because they missed the deadline, so the
+     *         risk level may be understated; empty unless rules were scored in parallel
+     */
+    public List<String> getMissedRules() {
+        return missedRules;
+    }
+    
+    public void setMissedRules(List<String> missedRules) {
+        this.missedRules = missedRules;
+    }
 }
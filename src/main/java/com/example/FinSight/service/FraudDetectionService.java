@@ -1,12 +1,19 @@
 package com.example.FinSight.service;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.example.FinSight.model.RiskLevel;
@@ -14,200 +21,184 @@ import com.example.FinSight.model.Transaction;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.TransactionRepository;
 
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 
 @Service
-@RequiredArgsConstructor
 public class FraudDetectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudDetectionService.class);
+
     private final TransactionRepository transactionRepository;
+    private final TransactionColumnStore transactionColumnStore;
+    private final EventTimelineStore eventTimelineStore;
+    private final NoveltyFilterStore noveltyFilterStore;
+    private final AmountStatisticsStore amountStatisticsStore;
+    private final FraudRuleLoader fraudRuleLoader;
+    private final boolean fullExplanation;
+    // Only set when database lookups are fanned out in parallel
+    private final ThreadPoolExecutor ruleExecutor;
+    // Connections rule tasks may hold at once, on top of those of request threads
+    private final Semaphore ruleConnections;
+    private final Duration deadline;
+
+    public FraudDetectionService(TransactionRepository transactionRepository,
+                                 TransactionColumnStore transactionColumnStore,
+                                 EventTimelineStore eventTimelineStore,
+                                 NoveltyFilterStore noveltyFilterStore,
+                                 AmountStatisticsStore amountStatisticsStore,
+                                 FraudRuleLoader fraudRuleLoader,
+                                 @Value("${finsight.fraud.full-explanation:false}") boolean fullExplanation,
+                                 @Value("${finsight.fraud.parallel.enabled:false}") boolean parallel,
+                                 @Value("${finsight.fraud.parallel.threads:8}") int threads,
+                                 @Value("${finsight.fraud.parallel.connections:4}") int connections,
+                                 @Value("${finsight.fraud.parallel.deadline:250ms}") Duration deadline) {
+        this.transactionRepository = transactionRepository;
+        this.transactionColumnStore = transactionColumnStore;
+        this.eventTimelineStore = eventTimelineStore;
+        this.noveltyFilterStore = noveltyFilterStore;
+        this.amountStatisticsStore = amountStatisticsStore;
+        this.fraudRuleLoader = fraudRuleLoader;
+        this.fullExplanation = fullExplanation;
+        if (connections < 1) {
+            throw new IllegalArgumentException("finsight.fraud.parallel.connections must be at least 1");
+        }
+        this.ruleExecutor = parallel ? newRuleExecutor(threads) : null;
+        this.ruleConnections = new Semaphore(connections);
+        this.deadline = deadline;
+    }
 
     /**
      * Analyzes a transaction and computes fraud score using rule-based algorithm.
-     * 
-     * Rules:
-     * - High amount anomaly (>3x avg): +30 points
-     * - Rapid-fire activity (5+ in 10 min): +25 points
-     * - Geographical anomaly (different location < 2 hours): +25 points
-     * - Unusual category (never used): +20 points
-     * 
+     * The rules, their weights and the risk thresholds come from the rule document
+     * (see {@link FraudRuleLoader}); the result carries the version that scored it.
+     *
+     * Rules run cheapest-first and stop once the fraudulent flag and risk level are
+     * settled, unless {@code finsight.fraud.full-explanation} is set; the score and
+     * reasons then cover only the rules that ran. With
+     * {@code finsight.fraud.parallel.enabled}, database-backed lookups run concurrently
+     * under a per-transaction deadline, on at most {@code finsight.fraud.parallel.connections}
+     * extra connections; a rule that cannot get one runs on the request thread. Rules
+     * that miss the deadline are reported as missed, and the score is short-circuited.
+     * With {@code finsight.fraud.event-time.enabled}, the transaction is scored at its
+     * place on the user's {@link UserEventTimeline}, so a backdated one is compared with
+     * its true predecessor. Otherwise "never seen" checks for categories, merchants and
+     * locations are answered by the user's {@link NoveltyFilterStore} filters, and
+     * amount averages and statistics by their {@link AmountStatisticsStore} rows.
+     *
      * @param transaction The transaction to analyze
      * @return FraudDetectionResult with score, risk level, and reasons
      */
     public FraudDetectionResult analyzeTransaction(Transaction transaction) {
-        double score = 0.0;
-        List<String> reasons = new ArrayList<>();
-        
         if (transaction == null || transaction.getUser() == null) {
-            return new FraudDetectionResult(false, 0.0, RiskLevel.LOW, reasons);
+            return new FraudDetectionResult(false, 0.0, RiskLevel.LOW, new ArrayList<>());
         }
-        
+
         User user = transaction.getUser();
-        
-        // Rule 1: High Amount Anomaly (>3x average) adds 30 points
-        try {
-            if (hasHighAmountAnomaly(user, transaction.getAmount())) {
-                score += 30;
-                reasons.add("Amount exceeds 3x user average");
-            }
-        } catch (Exception e) {
-            // Log but continue with other rules
-            System.err.println("Error in high amount anomaly check: " + e.getMessage());
-        }
-        
-        // Rule 2: Rapid-Fire Activity (5+ in 10 min) adds 25 points
-        try {
-            if (transaction.getTransactionDate() != null && hasRapidFireActivity(user, transaction.getTransactionDate())) {
-                score += 25;
-                reasons.add("5+ transactions in 10 minutes");
-            }
-        } catch (Exception e) {
-            System.err.println("Error in rapid-fire activity check: " + e.getMessage());
+        FraudRuleEngine ruleEngine = fraudRuleLoader.current();
+        if (eventTimelineStore.isEnabled() && transaction.getTransactionDate() != null) {
+            TransactionHistory history = eventTimelineStore.get(user.getId())
+                .asOf(transaction.getId(), transaction.getTransactionDate(), null);
+            return ruleEngine.evaluate(transaction, history, fullExplanation);
         }
-        
-        // Rule 3: Geographical Anomaly (different location < 2 hours) adds 25 points
-        try {
-            if (transaction.getTransactionDate() != null && hasGeographicalAnomaly(user, transaction.getLocation(), transaction.getTransactionDate())) {
-                score += 25;
-                reasons.add("Different location within 2 hours");
-            }
-        } catch (Exception e) {
-            System.err.println("Error in geographical anomaly check: " + e.getMessage());
-        }
-        
-        // Rule 4: Unusual Category (never used) adds 20 points
-        try {
-            if (transaction.getCategory() != null && isUnusualCategory(user, transaction.getCategory())) {
-                score += 20;
-                reasons.add("New category for user");
+
+        // Hot users are scored from their in-memory columns, everyone else from the database
+        TransactionHistory base = transactionColumnStore.find(user.getId())
+            .<TransactionHistory>map(columns -> new ForwardingTransactionHistory(columns) {
+                // Columns keep no descriptions
+                @Override
+                public boolean hasMerchant(String merchant) {
+                    return transactionRepository.existsByUserAndDescription(user, merchant);
+                }
+            })
+            .orElseGet(() -> new RepositoryTransactionHistory(transactionRepository, user));
+        TransactionHistory history = amountStatisticsStore.wrap(user, noveltyFilterStore.wrap(user, base));
+
+        if (ruleExecutor != null && base instanceof RepositoryTransactionHistory) {
+            FraudDetectionResult result = ruleEngine.evaluate(transaction, history, fullExplanation,
+                this::executeRule, deadline);
+            if (!result.getMissedRules().isEmpty()) {
+                log.warn("Transaction {} of user {} scored without {}: deadline of {} exceeded",
+                    transaction.getId(), user.getId(), result.getMissedRules(), deadline);
             }
-        } catch (Exception e) {
-            System.err.println("Error in unusual category check: " + e.getMessage());
+            return result;
         }
-        
-        RiskLevel riskLevel = calculateRiskLevel(score);
-        boolean fraudulent = score >= 70;
-        
-        return new FraudDetectionResult(fraudulent, score, riskLevel, reasons);
+        return ruleEngine.evaluate(transaction, history, fullExplanation);
     }
-    
-    /**
-     * Rule 1: Checks if transaction amount exceeds 3x user's average.
-     */
-    private boolean hasHighAmountAnomaly(User user, BigDecimal amount) {
-        if (amount == null) {
-            return false;
-        }
-        
-        BigDecimal userAvg = calculateUserAverage(user);
-        if (userAvg == null || userAvg.compareTo(BigDecimal.ZERO) == 0) {
-            return false; // No average to compare against
-        }
-        
-        BigDecimal threshold = userAvg.multiply(BigDecimal.valueOf(3));
-        return amount.compareTo(threshold) > 0;
-    }
-    
+
     /**
-     * Calculates user's average transaction amount.
+     * Finds the transactions whose score may change now that {@code saved} sits before
+     * them in event time: its successor and those within the longest rule window, at
+     * most {@code finsight.fraud.event-time.max-rescored} of them, nearest first.
+     * Empty unless event-time scoring is enabled, and for the usual in-order arrival.
+     *
+     * @param saved A newly saved transaction
+     * @return Ids of the transactions to re-score
      */
-    private BigDecimal calculateUserAverage(User user) {
-        if (user == null) {
-            return null;
-        }
-        try {
-            return transactionRepository.calculateAverageAmount(user);
-        } catch (Exception e) {
-            System.err.println("Error calculating average amount: " + e.getMessage());
-            return null;
-        }
+    public List<Long> findEventTimeNeighbours(Transaction saved) {
+        if (!eventTimelineStore.isEnabled() || saved.getUser() == null || saved.getId() == null
+                || saved.getTransactionDate() == null) {
+            return List.of();
+        }
+        return eventTimelineStore.get(saved.getUser().getId())
+            .successorsWithin(saved.getId(), saved.getTransactionDate(), fraudRuleLoader.current().getLookback(),
+                eventTimelineStore.getMaxRescored());
     }
-    
+
     /**
-     * Rule 2: Checks for rapid-fire transactions (5+ in 10 minutes).
+     * Scores an existing transaction again in event time, counting {@code saved} as
+     * part of its history even before the timeline holds it.
+     *
+     * @param neighbour The transaction to re-score
+     * @param saved The newly saved transaction that may affect it
+     * @return FraudDetectionResult with score, risk level, and reasons
      */
-    private boolean hasRapidFireActivity(User user, LocalDateTime transactionTime) {
-        if (user == null || transactionTime == null) {
-            return false;
-        }
-        
-        try {
-            LocalDateTime tenMinutesAgo = transactionTime.minusMinutes(10);
-            long recentCount = transactionRepository.countByUserAndTransactionDateBetween(
-                user, tenMinutesAgo, transactionTime
-            );
-            return recentCount >= 5;
-        } catch (Exception e) {
-            System.err.println("Error checking rapid-fire activity: " + e.getMessage());
-            return false;
-        }
+    public FraudDetectionResult rescore(Transaction neighbour, Transaction saved) {
+        UserEventTimeline.Event pending = new UserEventTimeline.Event(saved.getId(), saved.getTransactionDate(),
+            saved.getAmount(), saved.getCategory(), saved.getDescription(), saved.getLocation());
+        TransactionHistory history = eventTimelineStore.get(neighbour.getUser().getId())
+            .asOf(neighbour.getId(), neighbour.getTransactionDate(), pending);
+        return fraudRuleLoader.current().evaluate(neighbour, history, fullExplanation);
     }
-    
-    /**
-     * Rule 3: Checks for geographical anomalies (different location within 2 hours).
-     */
-    private boolean hasGeographicalAnomaly(User user, String location, LocalDateTime transactionTime) {
-        if (user == null || location == null || location.trim().isEmpty() || transactionTime == null) {
-            return false; // No location to compare
-        }
-        
-        try {
-            Optional<Transaction> lastTransaction = transactionRepository.findTopByUserOrderByTransactionDateDesc(user);
-            if (lastTransaction.isEmpty()) {
-                return false; // No previous transaction to compare
-            }
-            
-            Transaction last = lastTransaction.get();
-            if (last.getLocation() == null || last.getLocation().trim().isEmpty()) {
-                return false; // No previous location to compare
-            }
-            
-            if (last.getTransactionDate() == null) {
-                return false;
-            }
-            
-            long hoursBetween = ChronoUnit.HOURS.between(last.getTransactionDate(), transactionTime);
-            
-            // Different location AND less than 2 hours apart
-            return hoursBetween < 2 && !location.equalsIgnoreCase(last.getLocation());
-        } catch (Exception e) {
-            System.err.println("Error checking geographical anomaly: " + e.getMessage());
-            return false;
+
+    @PreDestroy
+    public void shutdown() {
+        if (ruleExecutor != null) {
+            ruleExecutor.shutdownNow();
         }
     }
-    
-    /**
-     * Rule 4: Checks if category is new for user.
-     */
-    private boolean isUnusualCategory(User user, String category) {
-        if (user == null || category == null || category.trim().isEmpty()) {
-            return false;
+
+    // A rule task holds a connection permit from submission until it finishes, even
+    // after missing the deadline, so rule tasks never wait on the connection pool for
+    // connections the request threads need. Without a permit the rule is rejected and
+    // the engine runs it on the request thread.
+    private void executeRule(Runnable rule) {
+        if (!ruleConnections.tryAcquire()) {
+            throw new RejectedExecutionException("No connection left for fraud rules");
         }
-        
         try {
-            List<String> userCategories = transactionRepository.findDistinctCategoriesByUser(user);
-            if (userCategories == null) {
-                return false;
-            }
-            return !userCategories.contains(category);
-        } catch (Exception e) {
-            System.err.println("Error checking unusual category: " + e.getMessage());
-            return false;
+            ruleExecutor.execute(() -> {
+                try {
+                    rule.run();
+                } finally {
+                    ruleConnections.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            ruleConnections.release();
+            throw e;
         }
     }
-    
-    /**
-     * Converts fraud score to risk level.
-     * LOW: 0-39
-     * MEDIUM: 40-69
-     * HIGH: 70-100
-     */
-    private RiskLevel calculateRiskLevel(double score) {
-        if (score >= 70) {
-            return RiskLevel.HIGH;
-        } else if (score >= 40) {
-            return RiskLevel.MEDIUM;
-        } else {
-            return RiskLevel.LOW;
-        }
+
+    // A full queue rejects rather than blocking the request thread
+    private static ThreadPoolExecutor newRuleExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * 16), runnable -> {
+                Thread thread = new Thread(runnable, "fraud-rule-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
-}
\ No newline at end of file
+}
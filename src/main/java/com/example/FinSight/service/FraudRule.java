@@ -0,0 +1,46 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * One fraud check. Each rule adds its weight to the fraud score when it triggers.
+ * The {@link FraudRuleEngine} runs rules cheapest-first, so the estimated cost only
+ * needs to be right relative to the other rules.
+ */
+public interface FraudRule {
+    
+    /**
+     * @return Short identifier used in logs
+     */
+    String name();
+    
+    /**
+     * @return Points added to the fraud score when the rule triggers; never negative
+     */
+    double weight();
+    
+    /**
+     * @return Relative cost of one evaluation, e.g. the number and weight of queries
+     */
+    int estimatedCost();
+    
+    /**
+     * @return How far back in event time the rule looks; a transaction placed this far
+     *         before another can change the other's outcome
+     */
+    default Duration lookback() {
+        return Duration.ZERO;
+    }
+    
+    /**
+     * @return Reason reported when the rule triggers
+     */
+    String reason();
+    
+    /**
+     * Evaluates the rule against the user's history, excluding the transaction itself.
+     */
+    boolean isTriggered(Transaction transaction, TransactionHistory history);
+}
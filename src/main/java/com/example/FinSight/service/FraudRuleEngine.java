@@ -0,0 +1,289 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.example.FinSight.model.RiskLevel;
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Scores a transaction by running {@link FraudRule}s cheapest-first. An engine is an
+ * immutable, versioned rule set, compiled by {@link FraudRuleLoader}; reloading the
+ * rules swaps in a new engine rather than changing this one.
+ *
+ * Unless every reason is needed, evaluation stops as soon as the remaining rules
+ * cannot change the outcome: once the score is high, or once even all remaining
+ * weight could not lift it into the next risk level. The score and reasons are then
+ * those of the rules that ran, and the result is marked incomplete so the stored score
+ * is flagged as short-circuited. A rule that throws counts as not triggered. Each rule
+ * that runs is timed as a {@link FraudRuleEvent} when a flight recording is running.
+ */
+public class FraudRuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(FraudRuleEngine.class);
+
+    private final String version;
+    private final List<FraudRule> rules;
+    // remainingWeight[i] is the total weight of rules i..n-1
+    private final double[] remainingWeight;
+    private final double fraudThreshold;
+    private final double mediumThreshold;
+    private final Duration lookback;
+    private final FraudRuleMetrics metrics;
+
+    public FraudRuleEngine(String version, List<FraudRule> rules, double fraudThreshold, double mediumThreshold,
+                           FraudRuleMetrics metrics) {
+        if (mediumThreshold > fraudThreshold) {
+            throw new IllegalArgumentException("Medium threshold must not exceed the fraud threshold");
+        }
+        this.version = version;
+        List<FraudRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt(FraudRule::estimatedCost));
+        this.rules = List.copyOf(ordered);
+        this.remainingWeight = new double[ordered.size() + 1];
+        for (int i = ordered.size() - 1; i >= 0; i--) {
+            remainingWeight[i] = remainingWeight[i + 1] + ordered.get(i).weight();
+        }
+        this.fraudThreshold = fraudThreshold;
+        this.mediumThreshold = mediumThreshold;
+        this.lookback = ordered.stream().map(FraudRule::lookback).max(Comparator.naturalOrder()).orElse(Duration.ZERO);
+        this.metrics = metrics;
+    }
+
+    /**
+     * @return Version of the rule document this engine was compiled from
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    public double getFraudThreshold() {
+        return fraudThreshold;
+    }
+
+    public double getMediumThreshold() {
+        return mediumThreshold;
+    }
+
+    /**
+     * @return The longest event-time window of any rule
+     */
+    public Duration getLookback() {
+        return lookback;
+    }
+
+    /**
+     * @return The rules in evaluation order
+     */
+    public List<FraudRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Scores a transaction against the user's history.
+     *
+     * @param transaction The transaction to score
+     * @param history The user's past transactions
+     * @param fullExplanation Whether to run every rule, so that the score and reasons are complete
+     * @return FraudDetectionResult with score, risk level, and reasons
+     */
+    public FraudDetectionResult evaluate(Transaction transaction, TransactionHistory history, boolean fullExplanation) {
+        metrics.scored(false);
+        boolean[] triggered = new boolean[rules.size()];
+        double score = 0.0;
+        boolean complete = true;
+
+        for (int i = 0; i < rules.size(); i++) {
+            FraudRule rule = rules.get(i);
+            if (!fullExplanation && isDecided(score, remainingWeight[i])) {
+                metrics.skipped(rule);
+                complete = false;
+                continue;
+            }
+
+            FraudRuleEvent event = FraudRuleEvent.begin(userId(transaction), rule, version);
+            try {
+                triggered[i] = rule.isTriggered(transaction, history);
+                metrics.evaluated(rule, triggered[i]);
+                event.commit(triggered[i], false);
+            } catch (Exception e) {
+                // Log but continue with other rules
+                metrics.failed(rule);
+                event.commit(false, true);
+                log.warn("Error in {} check: {}", rule.name(), e.getMessage());
+            }
+            if (triggered[i]) {
+                score += rule.weight();
+            }
+        }
+
+        return toResult(triggered, complete);
+    }
+
+    /**
+     * Scores a transaction with every rule started at once on the executor, so the
+     * latency is that of the slowest lookup rather than the sum. Rules the executor
+     * rejects, because it is saturated or out of connections, run on the calling thread
+     * instead. Rules still running at the deadline are left to finish in the background
+     * and reported as missed, and the result is incomplete. Once the outcome is settled
+     * the remaining rules are cancelled.
+     *
+     * @param transaction The transaction to score
+     * @param history The user's past transactions; must be safe to use from several threads
+     * @param fullExplanation Whether to wait for every rule, up to the deadline
+     * @param executor Executor the rules run on
+     * @param deadline Time budget for the rules on the executor
+     * @return FraudDetectionResult with score, risk level, reasons and missed rules
+     */
+    public FraudDetectionResult evaluate(Transaction transaction, TransactionHistory history, boolean fullExplanation,
+                                         Executor executor, Duration deadline) {
+        metrics.scored(true);
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        boolean[] triggered = new boolean[rules.size()];
+
+        ExecutorCompletionService<Boolean> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<Boolean>, Integer> running = new HashMap<>();
+        List<Integer> rejected = new ArrayList<>();
+        double pendingWeight = 0.0;
+        for (int i = 0; i < rules.size(); i++) {
+            FraudRule rule = rules.get(i);
+            try {
+                running.put(completion.submit(() -> timed(rule, transaction, history)), i);
+                pendingWeight += rule.weight();
+            } catch (RejectedExecutionException e) {
+                metrics.rejected(rule);
+                rejected.add(i);
+            }
+        }
+
+        // Rejected rules run here while the submitted ones are in flight
+        double score = 0.0;
+        for (int i : rejected) {
+            FraudRule rule = rules.get(i);
+            try {
+                triggered[i] = timed(rule, transaction, history);
+                metrics.evaluated(rule, triggered[i]);
+            } catch (Exception e) {
+                metrics.failed(rule);
+                log.warn("Error in {} check: {}", rule.name(), e.getMessage());
+            }
+            if (triggered[i]) {
+                score += rule.weight();
+            }
+        }
+
+        boolean deadlineExceeded = false;
+        try {
+            while (!running.isEmpty() && (fullExplanation || !isDecided(score, pendingWeight))) {
+                Future<Boolean> future = completion.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (future == null) {
+                    deadlineExceeded = true;
+                    break;
+                }
+
+                int i = running.remove(future);
+                FraudRule rule = rules.get(i);
+                pendingWeight -= rule.weight();
+                try {
+                    triggered[i] = future.get();
+                    metrics.evaluated(rule, triggered[i]);
+                } catch (ExecutionException e) {
+                    metrics.failed(rule);
+                    log.warn("Error in {} check: {}", rule.name(), e.getCause().getMessage());
+                }
+                if (triggered[i]) {
+                    score += rule.weight();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (deadlineExceeded) {
+            metrics.deadlineExceeded();
+        }
+        // Not interrupted: an interrupt can abort the rule's JDBC call and poison its
+        // pooled connection. A rule that has started runs to completion.
+        List<String> missed = new ArrayList<>();
+        for (Map.Entry<Future<Boolean>, Integer> entry : running.entrySet()) {
+            entry.getKey().cancel(false);
+            FraudRule rule = rules.get(entry.getValue());
+            if (deadlineExceeded) {
+                metrics.timedOut(rule);
+                missed.add(rule.name());
+            } else {
+                metrics.skipped(rule);
+            }
+        }
+
+        FraudDetectionResult result = toResult(triggered, running.isEmpty());
+        result.setMissedRules(missed);
+        return result;
+    }
+
+    /**
+     * Converts fraud score to risk level: HIGH from the fraud threshold, MEDIUM from
+     * the medium threshold, LOW below it or when the transaction was never scored.
+     */
+    public RiskLevel riskLevel(Double score) {
+        if (score == null) {
+            return RiskLevel.LOW;
+        }
+        if (score >= fraudThreshold) {
+            return RiskLevel.HIGH;
+        } else if (score >= mediumThreshold) {
+            return RiskLevel.MEDIUM;
+        } else {
+            return RiskLevel.LOW;
+        }
+    }
+
+    // Times a rule on whichever thread runs it, including one that missed the deadline
+    private boolean timed(FraudRule rule, Transaction transaction, TransactionHistory history) {
+        FraudRuleEvent event = FraudRuleEvent.begin(userId(transaction), rule, version);
+        boolean failed = true;
+        boolean triggered = false;
+        try {
+            triggered = rule.isTriggered(transaction, history);
+            failed = false;
+            return triggered;
+        } finally {
+            event.commit(triggered, failed);
+        }
+    }
+
+    private static Long userId(Transaction transaction) {
+        return transaction.getUser() != null ? transaction.getUser().getId() : null;
+    }
+
+    // Reasons are reported in rule order, however the rules finished
+    private FraudDetectionResult toResult(boolean[] triggered, boolean complete) {
+        double score = 0.0;
+        List<String> reasons = new ArrayList<>();
+        for (int i = 0; i < rules.size(); i++) {
+            if (triggered[i]) {
+                score += rules.get(i).weight();
+                reasons.add(rules.get(i).reason());
+            }
+        }
+        return new FraudDetectionResult(score >= fraudThreshold, score, riskLevel(score), reasons, version, complete);
+    }
+
+    // Scores only grow, and the fraudulent flag follows the HIGH level
+    private boolean isDecided(double score, double remaining) {
+        return riskLevel(score) == riskLevel(score + remaining);
+    }
+}
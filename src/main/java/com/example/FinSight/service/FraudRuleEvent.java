@@ -0,0 +1,53 @@
+package com.example.FinSight.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one {@link FraudRule} evaluated by a {@link FraudRuleEngine},
+ * on the request thread or a rule executor thread.
+ */
+@Name("finsight.FraudRule")
+@Label("Fraud Rule")
+@Category({"FinSight", "Fraud Detection"})
+@Description("Evaluation of one fraud rule against a transaction")
+@StackTrace(false)
+final class FraudRuleEvent extends Event {
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Rule")
+    String rule;
+
+    @Label("Rule Version")
+    String version;
+
+    @Label("Triggered")
+    boolean triggered;
+
+    @Label("Failed")
+    @Description("The rule threw, and counted as not triggered")
+    boolean failed;
+
+    static FraudRuleEvent begin(Long userId, FraudRule rule, String version) {
+        FraudRuleEvent event = new FraudRuleEvent();
+        event.userId = userId != null ? userId : 0;
+        event.rule = rule.name();
+        event.version = version;
+        event.begin();
+        return event;
+    }
+
+    void commit(boolean triggered, boolean failed) {
+        if (shouldCommit()) {
+            this.triggered = triggered;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.FinSight.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+/**
+ * Compiles the fraud rule document into a {@link FraudRuleEngine} and holds the one
+ * currently in use.
+ *
+ * The document is YAML (or JSON, which YAML accepts), read from
+ * {@code finsight.fraud.rules.location}:
+ * <pre>
+ * version: "2024-06-01"
+ * thresholds:
+ *   fraud: 70
+ *   medium: 40
+ * rules:
+ *   - type: high-amount
+ *     weight: 30
+ *     multiplier: 3
+ *   - type: rapid-fire
+ *     weight: 25
+ *     count: 5
+ *     window: 10m
+ *   - type: geo-velocity
+ *     weight: 25
+ *     max-speed-kmh: 800
+ *     min-distance-km: 100
+ * </pre>
+ * Rules may be switched off with {@code enabled: false}. Scoring reads the current
+ * engine once per transaction and never locks; {@link #reload()} compiles the
+ * document aside and publishes it with a single volatile write, so a transaction is
+ * always scored by exactly one version. An invalid document leaves the current rules
+ * in place.
+ */
+@Component
+public class FraudRuleLoader {
+
+    private static final Set<String> RULE_KEYS = Set.of("type", "enabled", "weight", "multiplier", "count", "window",
+        "max-speed-kmh", "min-distance-km", "z-score", "min-count", "half-life");
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+    private final FraudRuleMetrics metrics;
+    private final Gazetteer gazetteer;
+
+    private volatile Loaded current;
+
+    public FraudRuleLoader(ResourceLoader resourceLoader,
+                           FraudRuleMetrics metrics,
+                           Gazetteer gazetteer,
+                           @Value("${finsight.fraud.rules.location:classpath:fraud-rules.yml}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+        this.metrics = metrics;
+        this.gazetteer = gazetteer;
+        reload();
+    }
+
+    /**
+     * @return The rule set new transactions are scored with
+     */
+    public FraudRuleEngine current() {
+        return current.engine;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return current.loadedAt;
+    }
+
+    /**
+     * Re-reads and compiles the rule document, then swaps it in.
+     *
+     * @return The rule set now in use
+     * @throws IllegalArgumentException if the document is invalid, or reuses the
+     *         current version for different rules
+     */
+    public synchronized FraudRuleEngine reload() {
+        String document = read();
+        Loaded previous = current;
+        if (previous != null && previous.document.equals(document)) {
+            return previous.engine;
+        }
+
+        FraudRuleEngine engine = compile(document, metrics, gazetteer);
+        if (previous != null && previous.engine.getVersion().equals(engine.getVersion())) {
+            throw new IllegalArgumentException(
+                "Fraud rule version " + engine.getVersion() + " is already loaded with different rules");
+        }
+        current = new Loaded(document, engine, LocalDateTime.now());
+        return engine;
+    }
+
+    /**
+     * Compiles a rule document into an engine.
+     *
+     * @throws IllegalArgumentException if the document is invalid
+     */
+    static FraudRuleEngine compile(String document, FraudRuleMetrics metrics, Gazetteer gazetteer) {
+        Map<?, ?> root;
+        try {
+            Object parsed = new Yaml(new SafeConstructor(new LoaderOptions())).load(document);
+            root = asMap(parsed, "document");
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException("Invalid fraud rule document: " + e.getMessage(), e);
+        }
+
+        Object version = root.get("version");
+        if (version == null || version.toString().isBlank()) {
+            throw new IllegalArgumentException("Fraud rule document needs a version");
+        }
+        if (version.toString().length() > 64) {
+            throw new IllegalArgumentException("Fraud rule version is longer than 64 characters");
+        }
+
+        Map<?, ?> thresholds = asMap(root.get("thresholds"), "thresholds");
+        double fraudThreshold = number(thresholds, "fraud", "thresholds").doubleValue();
+        double mediumThreshold = number(thresholds, "medium", "thresholds").doubleValue();
+
+        Object ruleList = root.get("rules");
+        if (!(ruleList instanceof List<?> ruleConfigs)) {
+            throw new IllegalArgumentException("Fraud rule document needs a list of rules");
+        }
+        List<FraudRule> rules = new ArrayList<>();
+        for (Object ruleConfig : ruleConfigs) {
+            Map<?, ?> config = asMap(ruleConfig, "rule");
+            for (Object key : config.keySet()) {
+                if (!RULE_KEYS.contains(String.valueOf(key))) {
+                    throw new IllegalArgumentException("Unknown fraud rule setting: " + key);
+                }
+            }
+            if (Boolean.FALSE.equals(config.get("enabled"))) {
+                continue;
+            }
+            rules.add(compileRule(config, gazetteer));
+        }
+
+        return new FraudRuleEngine(version.toString(), rules, fraudThreshold, mediumThreshold, metrics);
+    }
+
+    private static FraudRule compileRule(Map<?, ?> config, Gazetteer gazetteer) {
+        String type = String.valueOf(config.get("type"));
+        double weight = number(config, "weight", type).doubleValue();
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight of " + type + " must not be negative");
+        }
+
+        switch (type) {
+            case "high-amount":
+                return new HighAmountRule(weight, new BigDecimal(number(config, "multiplier", type).toString()));
+            case "rapid-fire":
+                return new RapidFireRule(weight, number(config, "count", type).intValue(),
+                    duration(config, "window", type));
+            case "amount-zscore":
+                return new AmountZScoreRule(weight, number(config, "z-score", type).doubleValue(),
+                    number(config, "min-count", type).longValue(),
+                    config.containsKey("half-life") ? duration(config, "half-life", type) : null);
+            case "geo-velocity":
+                return new GeoVelocityRule(weight, number(config, "max-speed-kmh", type).doubleValue(),
+                    number(config, "min-distance-km", type).doubleValue(), gazetteer);
+            case "unusual-category":
+                return new UnusualCategoryRule(weight);
+            case "unusual-merchant":
+                return new UnusualMerchantRule(weight);
+            case "unusual-location":
+                return new UnusualLocationRule(weight);
+            default:
+                throw new IllegalArgumentException("Unknown fraud rule type: " + type);
+        }
+    }
+
+    private static Map<?, ?> asMap(Object value, String what) {
+        if (!(value instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("Fraud rule " + what + " must be a mapping");
+        }
+        return map;
+    }
+
+    private static Number number(Map<?, ?> config, String key, String what) {
+        if (!(config.get(key) instanceof Number value)) {
+            throw new IllegalArgumentException(what + " needs a numeric " + key);
+        }
+        return value;
+    }
+
+    private static Duration duration(Map<?, ?> config, String key, String what) {
+        Object value = config.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException(what + " needs a " + key);
+        }
+        try {
+            return DurationStyle.detectAndParse(value.toString());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(what + " has an invalid " + key + ": " + value, e);
+        }
+    }
+
+    private String read() {
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read fraud rules from " + location, e);
+        }
+    }
+
+    private static final class Loaded {
+        private final String document;
+        private final FraudRuleEngine engine;
+        private final LocalDateTime loadedAt;
+
+        Loaded(String document, FraudRuleEngine engine, LocalDateTime loadedAt) {
+            this.document = document;
+            this.engine = engine;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
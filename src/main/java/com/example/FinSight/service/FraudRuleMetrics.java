@@ -0,0 +1,104 @@
+package com.example.FinSight.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import com.example.FinSight.dto.FraudRuleStatistics;
+import com.example.FinSight.dto.FraudScoringStatistics;
+
+/**
+ * Counts how fraud rules were evaluated: triggered, failed, timed out against the
+ * per-transaction deadline, rejected by a saturated executor, or skipped because the
+ * outcome was already settled.
+ */
+@Component
+public class FraudRuleMetrics {
+
+    private final LongAdder scored = new LongAdder();
+    private final LongAdder parallelScored = new LongAdder();
+    private final LongAdder deadlinesExceeded = new LongAdder();
+    private final Map<String, RuleCounters> rules = new ConcurrentHashMap<>();
+
+    void scored(boolean parallel) {
+        scored.increment();
+        if (parallel) {
+            parallelScored.increment();
+        }
+    }
+
+    void deadlineExceeded() {
+        deadlinesExceeded.increment();
+    }
+
+    void evaluated(FraudRule rule, boolean triggered) {
+        RuleCounters counters = counters(rule);
+        counters.evaluated.increment();
+        if (triggered) {
+            counters.triggered.increment();
+        }
+    }
+
+    void failed(FraudRule rule) {
+        counters(rule).failed.increment();
+    }
+
+    void timedOut(FraudRule rule) {
+        counters(rule).timedOut.increment();
+    }
+
+    void rejected(FraudRule rule) {
+        counters(rule).rejected.increment();
+    }
+
+    void skipped(FraudRule rule) {
+        counters(rule).skipped.increment();
+    }
+
+    public FraudScoringStatistics getStatistics() {
+        FraudScoringStatistics statistics = new FraudScoringStatistics();
+        statistics.setScoredTransactions(scored.sum());
+        statistics.setParallelScoredTransactions(parallelScored.sum());
+        statistics.setDeadlinesExceeded(deadlinesExceeded.sum());
+
+        List<FraudRuleStatistics> ruleStatistics = new ArrayList<>();
+        rules.forEach((name, counters) -> {
+            FraudRuleStatistics rule = new FraudRuleStatistics();
+            rule.setRule(name);
+            rule.setEvaluated(counters.evaluated.sum());
+            rule.setTriggered(counters.triggered.sum());
+            rule.setFailed(counters.failed.sum());
+            rule.setTimedOut(counters.timedOut.sum());
+            rule.setRejected(counters.rejected.sum());
+            rule.setSkipped(counters.skipped.sum());
+            ruleStatistics.add(rule);
+        });
+        ruleStatistics.sort((a, b) -> a.getRule().compareTo(b.getRule()));
+        statistics.setRules(ruleStatistics);
+        return statistics;
+    }
+
+    public void clear() {
+        scored.reset();
+        parallelScored.reset();
+        deadlinesExceeded.reset();
+        rules.clear();
+    }
+
+    private RuleCounters counters(FraudRule rule) {
+        return rules.computeIfAbsent(rule.name(), name -> new RuleCounters());
+    }
+
+    private static final class RuleCounters {
+        private final LongAdder evaluated = new LongAdder();
+        private final LongAdder triggered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder timedOut = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.FinSight.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Resolves transaction location strings to coordinates.
+ *
+ * Places come from a bundled CSV file ({@code name,latitude,longitude,aliases}, aliases
+ * separated by {@code |}) read from {@code finsight.fraud.gazetteer.location}. A
+ * location resolves when it is, ignoring case and extra whitespace:
+ * <ul>
+ *   <li>a place name or alias, e.g. {@code "new york"};</li>
+ *   <li>a place followed by a region after a comma, e.g. {@code "Paris, France"};</li>
+ *   <li>{@code "latitude,longitude"}, snapped to the nearest place within
+ *       {@code snap-distance} so it compares equal to the place's name.</li>
+ * </ul>
+ * Anything else, such as {@code "Demo Location 1"}, does not resolve. Places are kept
+ * in a k-d tree over their unit vectors for nearest-place lookups, and results are
+ * cached per distinct location string, so scoring a known location is one hash lookup.
+ */
+@Component
+public class Gazetteer {
+
+    private static final Pattern COORDINATES =
+        Pattern.compile("([-+]?\\d{1,3}(?:\\.\\d+)?)\\s*,\\s*([-+]?\\d{1,3}(?:\\.\\d+)?)");
+
+    private final Map<String, GeoPoint> byName = new HashMap<>();
+    // Implicit k-d tree: the median of each range is its root, split on axis depth % 3
+    private final GeoPoint[] tree;
+    private final double snapChord;
+    private final Cache<String, Optional<GeoPoint>> resolved;
+
+    public Gazetteer(ResourceLoader resourceLoader,
+                     @Value("${finsight.fraud.gazetteer.location:classpath:gazetteer.csv}") String location,
+                     @Value("${finsight.fraud.gazetteer.snap-distance-km:50}") double snapDistanceKm,
+                     @Value("${finsight.fraud.gazetteer.cache-size:100000}") long cacheSize) {
+        List<GeoPoint> places = read(resourceLoader.getResource(location), location);
+        this.tree = places.toArray(new GeoPoint[0]);
+        build(0, tree.length, 0);
+        this.snapChord = GeoPoint.kmToChord(snapDistanceKm);
+        this.resolved = Caffeine.newBuilder().maximumSize(cacheSize).build();
+    }
+
+    /**
+     * @return Number of places
+     */
+    public int size() {
+        return tree.length;
+    }
+
+    List<GeoPoint> places() {
+        return List.of(tree);
+    }
+
+    /**
+     * Resolves a transaction location.
+     *
+     * @return The place or coordinates, or null if the location is blank or unknown
+     */
+    public GeoPoint resolve(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        return resolved.get(location, this::lookup).orElse(null);
+    }
+
+    /**
+     * @return The place closest to a point, or null if there are no places
+     */
+    public GeoPoint nearest(GeoPoint point) {
+        if (tree.length == 0) {
+            return null;
+        }
+        return tree[nearest(point, 0, tree.length, 0, -1)];
+    }
+
+    private Optional<GeoPoint> lookup(String location) {
+        String key = normalize(location);
+        GeoPoint place = byName.get(key);
+        if (place != null) {
+            return Optional.of(place);
+        }
+
+        Matcher coordinates = COORDINATES.matcher(key);
+        if (coordinates.matches()) {
+            GeoPoint point;
+            try {
+                point = new GeoPoint(null, Double.parseDouble(coordinates.group(1)),
+                    Double.parseDouble(coordinates.group(2)));
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            GeoPoint nearest = nearest(point);
+            return Optional.of(nearest != null && nearest.chord(point) <= snapChord ? nearest : point);
+        }
+
+        int comma = key.indexOf(',');
+        if (comma > 0) {
+            return Optional.ofNullable(byName.get(key.substring(0, comma).trim()));
+        }
+        return Optional.empty();
+    }
+
+    private void build(int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        int axis = depth % 3;
+        Arrays.sort(tree, from, to, Comparator.comparingDouble(point -> point.coordinate(axis)));
+        int median = (from + to) >>> 1;
+        build(from, median, depth + 1);
+        build(median + 1, to, depth + 1);
+    }
+
+    private int nearest(GeoPoint target, int from, int to, int depth, int best) {
+        if (from >= to) {
+            return best;
+        }
+        int median = (from + to) >>> 1;
+        if (best < 0 || tree[median].chord(target) < tree[best].chord(target)) {
+            best = median;
+        }
+
+        int axis = depth % 3;
+        double offset = target.coordinate(axis) - tree[median].coordinate(axis);
+        boolean lowerFirst = offset < 0;
+        best = lowerFirst
+            ? nearest(target, from, median, depth + 1, best)
+            : nearest(target, median + 1, to, depth + 1, best);
+        // The other half can only hold a closer place if the splitting plane is closer
+        if (Math.abs(offset) < tree[best].chord(target)) {
+            best = lowerFirst
+                ? nearest(target, median + 1, to, depth + 1, best)
+                : nearest(target, from, median, depth + 1, best);
+        }
+        return best;
+    }
+
+    private List<GeoPoint> read(Resource resource, String location) {
+        List<GeoPoint> places = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("name,")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length < 3) {
+                    throw new IllegalArgumentException("Invalid gazetteer line " + lineNumber + " in " + location);
+                }
+                GeoPoint place;
+                try {
+                    place = new GeoPoint(fields[0].trim(), Double.parseDouble(fields[1].trim()),
+                        Double.parseDouble(fields[2].trim()));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        "Invalid gazetteer line " + lineNumber + " in " + location + ": " + e.getMessage(), e);
+                }
+                places.add(place);
+                byName.put(normalize(place.getName()), place);
+                if (fields.length > 3) {
+                    for (String alias : fields[3].split("\\|")) {
+                        if (!alias.isBlank()) {
+                            byName.put(normalize(alias), place);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read gazetteer from " + location, e);
+        }
+        return places;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.FinSight.service;
+
+/**
+ * A point on the earth's surface, with the unit vector used for distances precomputed.
+ */
+public final class GeoPoint {
+
+    static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final String name;
+    private final double latitude;
+    private final double longitude;
+    private final double x;
+    private final double y;
+    private final double z;
+
+    /**
+     * @param name The gazetteer place, or null for bare coordinates
+     * @throws IllegalArgumentException if the coordinates are out of range
+     */
+    public GeoPoint(String name, double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Invalid coordinates: " + latitude + "," + longitude);
+        }
+        this.name = name;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        this.x = Math.cos(phi) * Math.cos(lambda);
+        this.y = Math.cos(phi) * Math.sin(lambda);
+        this.z = Math.sin(phi);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * @return Great-circle distance in kilometres
+     */
+    public double distanceKm(GeoPoint other) {
+        return chordToKm(chord(other));
+    }
+
+    // Straight-line distance between the unit vectors; grows with the great-circle distance
+    double chord(GeoPoint other) {
+        double dx = x - other.x;
+        double dy = y - other.y;
+        double dz = z - other.z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    double coordinate(int axis) {
+        return axis == 0 ? x : axis == 1 ? y : z;
+    }
+
+    static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    static double kmToChord(double km) {
+        return 2 * Math.sin(Math.min(Math.PI / 2, km / (2 * EARTH_RADIUS_KM)));
+    }
+
+    @Override
+    public String toString() {
+        return (name != null ? name + " " : "") + "(" + latitude + "," + longitude + ")";
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Triggers when getting from the user's previous transaction to this one would need
+ * travelling faster than a maximum speed.
+ *
+ * Both locations are resolved through the {@link Gazetteer}; the rule does not
+ * trigger when either is unknown, or when they are less than a minimum distance
+ * apart, which covers places in the same city and imprecise coordinates.
+ */
+public class GeoVelocityRule implements FraudRule {
+    
+    private final double weight;
+    private final double maxSpeedKmh;
+    private final double minDistanceKm;
+    private final Gazetteer gazetteer;
+    
+    public GeoVelocityRule(double weight, double maxSpeedKmh, double minDistanceKm, Gazetteer gazetteer) {
+        if (maxSpeedKmh <= 0) {
+            throw new IllegalArgumentException("Maximum speed must be positive");
+        }
+        this.weight = weight;
+        this.maxSpeedKmh = maxSpeedKmh;
+        this.minDistanceKm = minDistanceKm;
+        this.gazetteer = gazetteer;
+    }
+    
+    @Override
+    public String name() {
+        return "geo-velocity";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public int estimatedCost() {
+        // Single row from the user/date index; locations resolve from the cache
+        return 2;
+    }
+    
+    @Override
+    public String reason() {
+        return "Travel faster than " + Math.round(maxSpeedKmh) + " km/h since previous transaction";
+    }
+    
+    @Override
+    public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+        LocalDateTime transactionTime = transaction.getTransactionDate();
+        GeoPoint here = gazetteer.resolve(transaction.getLocation());
+        if (here == null || transactionTime == null) {
+            return false; // No location to compare
+        }
+        
+        LocalDateTime lastDate = history.latestTransactionDate();
+        if (lastDate == null) {
+            return false; // No previous transaction to compare
+        }
+        
+        GeoPoint there = gazetteer.resolve(history.latestLocation());
+        if (there == null) {
+            return false; // No previous location to compare
+        }
+        
+        double distanceKm = here.distanceKm(there);
+        if (distanceKm < minDistanceKm) {
+            return false;
+        }
+        double hours = Math.abs(Duration.between(lastDate, transactionTime).toMillis()) / 3_600_000.0;
+        return distanceKm > maxSpeedKmh * hours;
+    }
+}
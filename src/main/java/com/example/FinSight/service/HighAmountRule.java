@@ -0,0 +1,55 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Triggers when the amount exceeds a multiple of the user's average amount.
+ */
+public class HighAmountRule implements FraudRule {
+    
+    private final double weight;
+    private final BigDecimal multiplier;
+    
+    public HighAmountRule(double weight, BigDecimal multiplier) {
+        this.weight = weight;
+        this.multiplier = multiplier;
+    }
+    
+    @Override
+    public String name() {
+        return "high amount anomaly";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public int estimatedCost() {
+        // Aggregates over every transaction of the user
+        return 4;
+    }
+    
+    @Override
+    public String reason() {
+        return "Amount exceeds " + multiplier.stripTrailingZeros().toPlainString() + "x user average";
+    }
+    
+    @Override
+    public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+        BigDecimal amount = transaction.getAmount();
+        if (amount == null) {
+            return false;
+        }
+        
+        BigDecimal userAvg = history.averageAmount();
+        if (userAvg == null || userAvg.compareTo(BigDecimal.ZERO) == 0) {
+            return false; // No average to compare against
+        }
+        
+        return amount.compareTo(userAvg.multiply(multiplier)) > 0;
+    }
+}
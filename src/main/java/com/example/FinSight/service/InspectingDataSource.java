@@ -0,0 +1,186 @@
+package com.example.FinSight.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source whose statements report their SQL, the shapes of their bound parameters
+ * and their execution time to {@link SqlStatementMetrics}. Connections and statements
+ * are JDK proxies over the pool's own, so only {@code execute*} calls are timed; a
+ * statement's {@code getConnection} returns the inspecting connection, not the pool's.
+ *
+ * Parameter shapes are the Java types of the bound values, with string lengths, never
+ * the values themselves: {@code [Long, String(8), LocalDateTime, null]}.
+ */
+final class InspectingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementMetrics metrics;
+
+    InspectingDataSource(DataSource target, SqlStatementMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new ConnectionHandler(target));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result = InspectingDataSource.invoke(target, method, args);
+            Connection connection = (Connection) proxy;
+            if (result instanceof CallableStatement statement) {
+                return statement(statement, CallableStatement.class, connection, (String) args[0]);
+            } else if (result instanceof PreparedStatement statement) {
+                return statement(statement, PreparedStatement.class, connection, (String) args[0]);
+            } else if (result instanceof Statement statement) {
+                return statement(statement, Statement.class, connection, null);
+            }
+            return result;
+        }
+
+        private Object statement(Statement target, Class<?> type, Connection connection, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                new StatementHandler(target, connection, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final Connection connection;
+        private final String sql;
+        private final Map<Integer, String> parameters = new TreeMap<>();
+        private String batchSql;
+        private String batchParameters;
+        private int batchSize;
+
+        private StatementHandler(Statement target, Connection connection, String sql) {
+            this.target = target;
+            this.connection = connection;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            switch (name) {
+                case "unwrap":
+                    return ((Class<?>) args[0]).isInstance(proxy) ? proxy : target.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return ((Class<?>) args[0]).isInstance(proxy) || target.isWrapperFor((Class<?>) args[0]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "getConnection":
+                    return connection;
+                case "addBatch":
+                    // The first row stands for the batch; rows of one statement share a shape
+                    if (batchSize++ == 0) {
+                        batchSql = args != null ? (String) args[0] : sql;
+                        batchParameters = parameters.isEmpty() ? null : parameters.values().toString();
+                    }
+                    break;
+                case "clearBatch":
+                    clearBatch();
+                    break;
+                case "clearParameters":
+                    parameters.clear();
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, shape(name, args[1]));
+                    }
+                    break;
+            }
+            return InspectingDataSource.invoke(target, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            boolean batch = method.getName().endsWith("Batch");
+            String statementSql = batch ? batchSql
+                : args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            String shapes = batch ? batchParameters : parameters.isEmpty() ? null : parameters.values().toString();
+            int rows = batch ? batchSize : 1;
+            long start = System.nanoTime();
+            try {
+                return InspectingDataSource.invoke(target, method, args);
+            } finally {
+                metrics.record(statementSql, shapes, rows, System.nanoTime() - start);
+                if (batch) {
+                    clearBatch();
+                }
+            }
+        }
+
+        private void clearBatch() {
+            batchSize = 0;
+            batchSql = null;
+            batchParameters = null;
+        }
+
+        private static String shape(String setter, Object value) {
+            if (setter.equals("setNull") || value == null) {
+                return "null";
+            }
+            if (value instanceof String text) {
+                return "String(" + text.length() + ")";
+            }
+            return value.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.FinSight.model.NoveltyFilter;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Answers "has this user ever used this category, merchant or location?" for fraud
+ * scoring from per-user {@link BloomFilter}s, instead of a query per question.
+ *
+ * A negative answer is final: the value was never added, so it is new. A positive
+ * answer may be one of the filter's false positives, so it is confirmed with an exact
+ * indexed query unless {@code finsight.fraud.novelty.verify-positives} is switched
+ * off; values of deleted transactions are caught the same way. Merchants are
+ * transaction descriptions.
+ *
+ * Filters are sized small and rebuilt four times larger from the user's distinct
+ * values once they fill up. They are updated as transactions are inserted and written
+ * back to {@code novelty_filters} in the same transaction, under the user's
+ * {@link UserCommitLocks} lock; recently used users are kept in memory, and a user
+ * without a stored row is built from their transactions.
+ */
+@Component
+public class NoveltyFilterStore {
+
+    private static final Logger log = LoggerFactory.getLogger(NoveltyFilterStore.class);
+
+    private final NoveltyFilterRepository noveltyFilterRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserCommitLocks userCommitLocks;
+    private final boolean enabled;
+    private final boolean verifyPositives;
+    private final double falsePositiveRate;
+    private final Cache<Long, UserFilters> cache;
+
+    public NoveltyFilterStore(NoveltyFilterRepository noveltyFilterRepository,
+                              TransactionRepository transactionRepository,
+                              UserCommitLocks userCommitLocks,
+                              @Value("${finsight.fraud.novelty.enabled:true}") boolean enabled,
+                              @Value("${finsight.fraud.novelty.verify-positives:true}") boolean verifyPositives,
+                              @Value("${finsight.fraud.novelty.false-positive-rate:0.01}") double falsePositiveRate,
+                              @Value("${finsight.fraud.novelty.maximum-size:100000}") long maximumSize,
+                              @Value("${finsight.fraud.novelty.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.noveltyFilterRepository = noveltyFilterRepository;
+        this.transactionRepository = transactionRepository;
+        this.userCommitLocks = userCommitLocks;
+        this.enabled = enabled;
+        this.verifyPositives = verifyPositives;
+        this.falsePositiveRate = falsePositiveRate;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Answers a history's category, merchant and location questions from the user's
+     * filters; everything else is left to {@code history}. Filters are loaded on the
+     * first such question.
+     *
+     * @return The wrapped history, or {@code history} itself when disabled
+     */
+    public TransactionHistory wrap(User user, TransactionHistory history) {
+        return enabled ? new FilteredHistory(user, history) : history;
+    }
+
+    /**
+     * Adds a saved transaction to its owner's filters. Must be called after the
+     * transaction has been saved, in the same database transaction.
+     */
+    @Transactional
+    public void record(Transaction transaction) {
+        recordAll(List.of(transaction));
+    }
+
+    /**
+     * Adds saved transactions to their owners' filters.
+     */
+    @Transactional
+    public void recordAll(List<Transaction> transactions) {
+        if (!enabled) {
+            return;
+        }
+        Map<Long, List<Transaction>> byUser = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            byUser.computeIfAbsent(transaction.getUser().getId(), id -> new ArrayList<>()).add(transaction);
+        }
+
+        for (List<Transaction> userTransactions : byUser.values()) {
+            User user = userTransactions.get(0).getUser();
+            Long userId = user.getId();
+            userCommitLocks.lock(userId, () -> cache.invalidate(userId));
+            UserFilters filters = load(user);
+            synchronized (filters) {
+                for (Transaction transaction : userTransactions) {
+                    add(filters, Field.CATEGORY, transaction.getCategory(), user);
+                    add(filters, Field.MERCHANT, transaction.getDescription(), user);
+                    add(filters, Field.LOCATION, transaction.getLocation(), user);
+                }
+                save(user, filters);
+            }
+        }
+    }
+
+    /**
+     * Drops every in-memory filter; the next access reloads from the stored rows.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * @return Bytes of filter bits held for the user, loading them if needed
+     */
+    public int sizeInBytes(User user) {
+        UserFilters filters = load(user);
+        synchronized (filters) {
+            int size = 0;
+            for (BloomFilter filter : filters.byField) {
+                size += filter.sizeInBytes();
+            }
+            return size;
+        }
+    }
+
+    private UserFilters load(User user) {
+        return cache.get(user.getId(), userId -> {
+            UserFilters filters = new UserFilters();
+            NoveltyFilter row = noveltyFilterRepository.findByUserId(userId).orElse(null);
+            for (Field field : Field.values()) {
+                BloomFilter filter = null;
+                if (row != null) {
+                    try {
+                        filter = BloomFilter.fromBytes(field.bytes(row));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Rebuilding unreadable {} novelty filter for user {}", field, userId, e);
+                    }
+                }
+                filters.byField[field.ordinal()] = filter != null ? filter : build(field, user, field.initialCapacity);
+            }
+            return filters;
+        });
+    }
+
+    private void add(UserFilters filters, Field field, String value, User user) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        BloomFilter filter = filters.byField[field.ordinal()];
+        if (filter.add(value) && filter.isOverCapacity()) {
+            // The transaction is saved, so the query already includes the value
+            filters.byField[field.ordinal()] = build(field, user, filter.getCapacity() * 4);
+        }
+    }
+
+    private BloomFilter build(Field field, User user, int minimumCapacity) {
+        List<String> values = field.distinct(transactionRepository, user);
+        int capacity = Math.max(minimumCapacity, values == null ? 0 : values.size() * 2);
+        BloomFilter filter = BloomFilter.withCapacity(capacity, falsePositiveRate);
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isEmpty()) {
+                    filter.add(value);
+                }
+            }
+        }
+        return filter;
+    }
+
+    private void save(User user, UserFilters filters) {
+        NoveltyFilter row = noveltyFilterRepository.findByUserId(user.getId())
+            .orElseGet(() -> {
+                NoveltyFilter created = new NoveltyFilter();
+                created.setUser(user);
+                return created;
+            });
+        row.setCategoryFilter(filters.byField[Field.CATEGORY.ordinal()].toBytes());
+        row.setMerchantFilter(filters.byField[Field.MERCHANT.ordinal()].toBytes());
+        row.setLocationFilter(filters.byField[Field.LOCATION.ordinal()].toBytes());
+        row.setUpdatedAt(LocalDateTime.now());
+        noveltyFilterRepository.save(row);
+    }
+
+    private enum Field {
+        CATEGORY(16),
+        MERCHANT(64),
+        LOCATION(64);
+
+        private final int initialCapacity;
+
+        Field(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+        }
+
+        private byte[] bytes(NoveltyFilter row) {
+            switch (this) {
+                case CATEGORY:
+                    return row.getCategoryFilter();
+                case MERCHANT:
+                    return row.getMerchantFilter();
+                default:
+                    return row.getLocationFilter();
+            }
+        }
+
+        private List<String> distinct(TransactionRepository repository, User user) {
+            switch (this) {
+                case CATEGORY:
+                    return repository.findDistinctCategoriesByUser(user);
+                case MERCHANT:
+                    return repository.findDistinctDescriptionsByUser(user);
+                default:
+                    return repository.findDistinctLocationsByUser(user);
+            }
+        }
+
+        private boolean exists(TransactionRepository repository, User user, String value) {
+            switch (this) {
+                case CATEGORY:
+                    return repository.existsByUserAndCategory(user, value);
+                case MERCHANT:
+                    return repository.existsByUserAndDescription(user, value);
+                default:
+                    return repository.existsByUserAndLocation(user, value);
+            }
+        }
+    }
+
+    private static final class UserFilters {
+        private final BloomFilter[] byField = new BloomFilter[Field.values().length];
+    }
+
+    private final class FilteredHistory extends ForwardingTransactionHistory {
+        private final User user;
+
+        private FilteredHistory(User user, TransactionHistory history) {
+            super(history);
+            this.user = user;
+        }
+
+        @Override
+        public boolean hasCategory(String category) {
+            return seen(Field.CATEGORY, category);
+        }
+
+        @Override
+        public boolean hasMerchant(String merchant) {
+            return seen(Field.MERCHANT, merchant);
+        }
+
+        @Override
+        public boolean hasLocation(String location) {
+            return seen(Field.LOCATION, location);
+        }
+
+        private boolean seen(Field field, String value) {
+            if (value == null || value.isEmpty()) {
+                return true;
+            }
+            UserFilters filters = load(user);
+            boolean mightContain;
+            synchronized (filters) {
+                mightContain = filters.byField[field.ordinal()].mightContain(value);
+            }
+            return mightContain && (!verifyPositives || field.exists(transactionRepository, user, value));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Triggers when the user already has many transactions within a short window
+ * before this one.
+ */
+public class RapidFireRule implements FraudRule {
+    
+    private final double weight;
+    private final int count;
+    private final Duration window;
+    
+    public RapidFireRule(double weight, int count, Duration window) {
+        this.weight = weight;
+        this.count = count;
+        this.window = window;
+    }
+    
+    @Override
+    public String name() {
+        return "rapid-fire activity";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public int estimatedCost() {
+        // Indexed range count
+        return 3;
+    }
+    
+    @Override
+    public Duration lookback() {
+        return window;
+    }
+    
+    @Override
+    public String reason() {
+        return count + "+ transactions in " + window.toMinutes() + " minutes";
+    }
+    
+    @Override
+    public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+        LocalDateTime transactionTime = transaction.getTransactionDate();
+        if (transactionTime == null) {
+            return false;
+        }
+        
+        return history.countBetween(transactionTime.minus(window), transactionTime) >= count;
+    }
+}
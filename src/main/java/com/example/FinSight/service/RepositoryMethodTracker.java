@@ -0,0 +1,42 @@
+package com.example.FinSight.service;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Tracks which Spring Data repository method the current thread is running, so SQL
+ * statements can be attributed to it. Added as advice to every repository proxy by
+ * {@link SqlStatementInspector}; nested calls are attributed to the innermost method.
+ */
+final class RepositoryMethodTracker implements MethodInterceptor {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final String repository;
+
+    RepositoryMethodTracker(Class<?> repositoryInterface) {
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    /**
+     * @return {@code Repository.method} running on this thread, or null outside repository calls
+     */
+    static String current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        String previous = CURRENT.get();
+        CURRENT.set(repository + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
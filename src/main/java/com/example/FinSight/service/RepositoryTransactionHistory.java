@@ -0,0 +1,77 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.TransactionRepository;
+
+/**
+ * {@link TransactionHistory} answered by one aggregate query per question, used for
+ * users whose history is not held in the {@link TransactionColumnStore}. Questions are
+ * independent, so rules may ask them from different threads.
+ */
+final class RepositoryTransactionHistory implements TransactionHistory {
+    
+    private final TransactionRepository transactionRepository;
+    private final User user;
+    private volatile Optional<Transaction> latest;
+    
+    RepositoryTransactionHistory(TransactionRepository transactionRepository, User user) {
+        this.transactionRepository = transactionRepository;
+        this.user = user;
+    }
+    
+    @Override
+    public BigDecimal averageAmount() {
+        return transactionRepository.calculateAverageAmount(user);
+    }
+    
+    @Override
+    public RunningStatistics amountStatistics(String category, Duration halfLife) {
+        return RunningStatistics.of(transactionRepository.findAmountsByUser(user, category), halfLife);
+    }
+    
+    @Override
+    public long countBetween(LocalDateTime from, LocalDateTime to) {
+        return transactionRepository.countByUserAndTransactionDateBetween(user, from, to);
+    }
+    
+    @Override
+    public LocalDateTime latestTransactionDate() {
+        return latest().map(Transaction::getTransactionDate).orElse(null);
+    }
+    
+    @Override
+    public String latestLocation() {
+        return latest().map(Transaction::getLocation).orElse(null);
+    }
+    
+    @Override
+    public boolean hasCategory(String category) {
+        List<String> categories = transactionRepository.findDistinctCategoriesByUser(user);
+        // Without an answer, do not treat the category as new
+        return categories == null || categories.contains(category);
+    }
+    
+    @Override
+    public boolean hasMerchant(String merchant) {
+        return transactionRepository.existsByUserAndDescription(user, merchant);
+    }
+    
+    @Override
+    public boolean hasLocation(String location) {
+        return transactionRepository.existsByUserAndLocation(user, location);
+    }
+    
+    private Optional<Transaction> latest() {
+        if (latest == null) {
+            latest = transactionRepository.findTopByUserOrderByTransactionDateDesc(user);
+        }
+        return latest;
+    }
+}
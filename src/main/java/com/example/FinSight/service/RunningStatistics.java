@@ -0,0 +1,173 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Mean and variance of a stream of amounts, updated one amount at a time.
+ *
+ * The plain statistics use Welford's algorithm, which stays accurate where summing
+ * squares would cancel out. With a half-life, an exponentially decayed mean and
+ * variance are kept alongside (West's weighted form of the same update): an amount
+ * counts half as much for every half-life it is older than the latest one, so recent
+ * spending dominates. Amounts may arrive out of date order. Not thread-safe.
+ */
+public final class RunningStatistics {
+
+    private final Duration halfLife;
+    private final double halfLifeSeconds;
+
+    private long count;
+    private BigDecimal sum = BigDecimal.ZERO;
+    private double mean;
+    private double m2;
+
+    private double decayedWeight;
+    private double decayedMean;
+    private double decayedM2;
+    // Date the decayed weights are relative to, the latest seen; null while empty
+    private LocalDateTime latest;
+
+    /**
+     * @param halfLife Half-life of the decayed statistics, or null to keep only the plain ones
+     */
+    public RunningStatistics(Duration halfLife) {
+        if (halfLife != null && (halfLife.isNegative() || halfLife.isZero())) {
+            throw new IllegalArgumentException("Half-life must be positive");
+        }
+        this.halfLife = halfLife;
+        this.halfLifeSeconds = halfLife == null ? 0 : halfLife.toMillis() / 1000.0;
+    }
+
+    /**
+     * Restores statistics saved from the getters.
+     */
+    public static RunningStatistics restore(Duration halfLife, long count, BigDecimal sum, double mean, double m2,
+                                            double decayedWeight, double decayedMean, double decayedM2,
+                                            LocalDateTime latest) {
+        RunningStatistics statistics = new RunningStatistics(halfLife);
+        statistics.count = count;
+        statistics.sum = sum;
+        statistics.mean = mean;
+        statistics.m2 = m2;
+        statistics.decayedWeight = decayedWeight;
+        statistics.decayedMean = decayedMean;
+        statistics.decayedM2 = decayedM2;
+        statistics.latest = latest;
+        return statistics;
+    }
+
+    /**
+     * Builds statistics from {@code [amount, transactionDate]} rows.
+     */
+    public static RunningStatistics of(List<Object[]> rows, Duration halfLife) {
+        RunningStatistics statistics = new RunningStatistics(halfLife);
+        if (rows != null) {
+            for (Object[] row : rows) {
+                if (row[0] != null) {
+                    statistics.add((BigDecimal) row[0], (LocalDateTime) row[1]);
+                }
+            }
+        }
+        return statistics;
+    }
+
+    public RunningStatistics copy() {
+        return restore(halfLife, count, sum, mean, m2, decayedWeight, decayedMean, decayedM2, latest);
+    }
+
+    public void add(BigDecimal amount, LocalDateTime transactionDate) {
+        double x = amount.doubleValue();
+        count++;
+        sum = sum.add(amount);
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+
+        if (halfLife == null || transactionDate == null) {
+            return;
+        }
+        double weight = 1;
+        if (latest == null) {
+            latest = transactionDate;
+        } else if (transactionDate.isAfter(latest)) {
+            // Age everything so far relative to the new latest date
+            double decay = decay(latest, transactionDate);
+            decayedWeight *= decay;
+            decayedM2 *= decay;
+            latest = transactionDate;
+        } else {
+            weight = decay(transactionDate, latest);
+        }
+        decayedWeight += weight;
+        double decayedDelta = x - decayedMean;
+        decayedMean += weight / decayedWeight * decayedDelta;
+        decayedM2 += weight * decayedDelta * (x - decayedMean);
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public BigDecimal getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getM2() {
+        return m2;
+    }
+
+    /**
+     * @return Sample variance, 0 for fewer than two amounts
+     */
+    public double getVariance() {
+        return count < 2 ? 0 : m2 / (count - 1);
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    public double getDecayedWeight() {
+        return decayedWeight;
+    }
+
+    public double getDecayedMean() {
+        return decayedMean;
+    }
+
+    public double getDecayedM2() {
+        return decayedM2;
+    }
+
+    /**
+     * @return Weighted variance of the decayed amounts
+     */
+    public double getDecayedVariance() {
+        return decayedWeight <= 0 ? 0 : Math.max(0, decayedM2 / decayedWeight);
+    }
+
+    public double getDecayedStandardDeviation() {
+        return Math.sqrt(getDecayedVariance());
+    }
+
+    public LocalDateTime getLatest() {
+        return latest;
+    }
+
+    private double decay(LocalDateTime from, LocalDateTime to) {
+        double seconds = to.toEpochSecond(ZoneOffset.UTC) - from.toEpochSecond(ZoneOffset.UTC);
+        return Math.pow(0.5, seconds / halfLifeSeconds);
+    }
+}
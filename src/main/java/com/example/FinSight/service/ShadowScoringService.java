@@ -0,0 +1,255 @@
+package com.example.FinSight.service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.dto.ShadowScoringReport;
+import com.example.FinSight.model.RiskLevel;
+import com.example.FinSight.model.ShadowDivergence;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.repository.ShadowDivergenceRepository;
+import com.example.FinSight.repository.TransactionRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Scores new transactions a second time with a candidate rule document, without
+ * affecting the stored score, the fraudulent flag or alerts.
+ *
+ * The request thread only copies the transaction and offers it to a bounded queue;
+ * when the queue is full the transaction is dropped and counted. A single worker
+ * scores it against the history as it stood when the transaction was created, then
+ * counts the live and candidate risk levels and records each disagreement in
+ * {@code shadow_divergences}.
+ */
+@Service
+public class ShadowScoringService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShadowScoringService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final ShadowDivergenceRepository shadowDivergenceRepository;
+    // Both null when shadow scoring is disabled
+    private final FraudRuleLoader candidateRules;
+    private final FraudRuleMetrics candidateMetrics;
+    private final ThreadPoolExecutor executor;
+
+    private volatile Counters counters = new Counters();
+
+    public ShadowScoringService(TransactionRepository transactionRepository,
+                                ShadowDivergenceRepository shadowDivergenceRepository,
+                                ResourceLoader resourceLoader,
+                                Gazetteer gazetteer,
+                                @Value("${finsight.fraud.shadow.enabled:false}") boolean enabled,
+                                @Value("${finsight.fraud.shadow.rules-location:classpath:fraud-rules-candidate.yml}") String location,
+                                @Value("${finsight.fraud.shadow.queue-capacity:1000}") int queueCapacity) {
+        this.transactionRepository = transactionRepository;
+        this.shadowDivergenceRepository = shadowDivergenceRepository;
+        if (enabled) {
+            // Separate metrics, so candidate rules do not show up in the live statistics
+            this.candidateMetrics = new FraudRuleMetrics();
+            this.candidateRules = new FraudRuleLoader(resourceLoader, candidateMetrics, gazetteer, location);
+            this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "fraud-shadow");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, executor) -> counters.dropped.increment());
+        } else {
+            this.candidateMetrics = null;
+            this.candidateRules = null;
+            this.executor = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Queues a transaction for shadow scoring once the surrounding transaction commits.
+     * Never blocks; the transaction is dropped if the queue is full.
+     *
+     * @param transaction The saved transaction
+     * @param live The result the live rules produced for it
+     */
+    public void submit(Transaction transaction, FraudDetectionResult live) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        // The worker must not touch the managed entity
+        Transaction snapshot = new Transaction();
+        snapshot.setId(transaction.getId());
+        snapshot.setUser(transaction.getUser());
+        snapshot.setAmount(transaction.getAmount());
+        snapshot.setType(transaction.getType());
+        snapshot.setCategory(transaction.getCategory());
+        snapshot.setDescription(transaction.getDescription());
+        snapshot.setLocation(transaction.getLocation());
+        snapshot.setTransactionDate(transaction.getTransactionDate());
+        snapshot.setCreatedAt(transaction.getCreatedAt() != null ? transaction.getCreatedAt() : LocalDateTime.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(snapshot, live);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(snapshot, live);
+                }
+            }
+        });
+    }
+
+    /**
+     * Re-reads the candidate rule document. Counts restart when its version changes.
+     *
+     * @throws IllegalArgumentException if shadow scoring is disabled or the document is invalid
+     */
+    public synchronized FraudRuleEngine reloadCandidate() {
+        if (!isEnabled()) {
+            throw new IllegalArgumentException("Shadow scoring is disabled");
+        }
+        String before = candidateRules.current().getVersion();
+        FraudRuleEngine candidate = candidateRules.reload();
+        if (!candidate.getVersion().equals(before)) {
+            clear();
+        }
+        return candidate;
+    }
+
+    public ShadowScoringReport getReport() {
+        ShadowScoringReport report = new ShadowScoringReport();
+        report.setEnabled(isEnabled());
+        if (!isEnabled()) {
+            return report;
+        }
+
+        Counters current = counters;
+        report.setCandidateVersion(candidateRules.current().getVersion());
+        report.setSubmitted(current.submitted.sum());
+        report.setDropped(current.dropped.sum());
+        report.setScored(current.scored.sum());
+        report.setFailed(current.failed.sum());
+        report.setDivergent(current.divergent.sum());
+
+        int high = RiskLevel.HIGH.ordinal();
+        Map<String, Map<String, Long>> riskLevels = new LinkedHashMap<>();
+        for (RiskLevel live : RiskLevel.values()) {
+            Map<String, Long> row = new LinkedHashMap<>();
+            for (RiskLevel candidate : RiskLevel.values()) {
+                long count = current.riskLevels[live.ordinal()][candidate.ordinal()].sum();
+                row.put(candidate.name(), count);
+                boolean liveFlagged = live.ordinal() == high;
+                boolean candidateFlagged = candidate.ordinal() == high;
+                if (liveFlagged && candidateFlagged) {
+                    report.setFlaggedByBoth(report.getFlaggedByBoth() + count);
+                } else if (liveFlagged) {
+                    report.setFlaggedByLiveOnly(report.getFlaggedByLiveOnly() + count);
+                } else if (candidateFlagged) {
+                    report.setFlaggedByCandidateOnly(report.getFlaggedByCandidateOnly() + count);
+                } else {
+                    report.setFlaggedByNeither(report.getFlaggedByNeither() + count);
+                }
+            }
+            riskLevels.put(live.name(), row);
+        }
+        report.setRiskLevels(riskLevels);
+        report.setCandidateRules(candidateMetrics.getStatistics().getRules());
+        return report;
+    }
+
+    /**
+     * Resets the counts. Recorded divergences are kept.
+     */
+    public void clear() {
+        counters = new Counters();
+        if (candidateMetrics != null) {
+            candidateMetrics.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void enqueue(Transaction snapshot, FraudDetectionResult live) {
+        counters.submitted.increment();
+        executor.execute(() -> compare(snapshot, live));
+    }
+
+    /**
+     * Scores the transaction with the candidate rules and records how it compares.
+     */
+    void compare(Transaction transaction, FraudDetectionResult live) {
+        Counters current = counters;
+        try {
+            FraudRuleEngine candidate = candidateRules.current();
+            TransactionHistory history = new AsOfTransactionHistory(
+                transactionRepository, transaction.getUser(), transaction.getCreatedAt());
+            FraudDetectionResult result = candidate.evaluate(transaction, history, false);
+
+            current.scored.increment();
+            current.riskLevels[live.getRiskLevel().ordinal()][result.getRiskLevel().ordinal()].increment();
+            if (result.getRiskLevel() != live.getRiskLevel()) {
+                current.divergent.increment();
+                shadowDivergenceRepository.save(toDivergence(transaction, live, result));
+            }
+        } catch (Exception e) {
+            current.failed.increment();
+            log.warn("Error in shadow scoring of transaction {}", transaction.getId(), e);
+        }
+    }
+
+    private static ShadowDivergence toDivergence(Transaction transaction, FraudDetectionResult live,
+                                                 FraudDetectionResult candidate) {
+        ShadowDivergence divergence = new ShadowDivergence();
+        divergence.setTransactionId(transaction.getId());
+        divergence.setUserId(transaction.getUser().getId());
+        divergence.setLiveVersion(live.getRuleVersion());
+        divergence.setCandidateVersion(candidate.getRuleVersion());
+        divergence.setLiveScore(live.getFraudScore());
+        divergence.setCandidateScore(candidate.getFraudScore());
+        divergence.setLiveRiskLevel(live.getRiskLevel());
+        divergence.setCandidateRiskLevel(candidate.getRiskLevel());
+        divergence.setCreatedAt(LocalDateTime.now());
+        return divergence;
+    }
+
+    private static final class Counters {
+        private final LongAdder submitted = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder scored = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder divergent = new LongAdder();
+        // [live level][candidate level]
+        private final LongAdder[][] riskLevels = new LongAdder[RiskLevel.values().length][RiskLevel.values().length];
+
+        Counters() {
+            for (LongAdder[] row : riskLevels) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = new LongAdder();
+                }
+            }
+        }
+    }
+}
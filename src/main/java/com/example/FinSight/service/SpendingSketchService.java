@@ -0,0 +1,226 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.FinSight.dto.SpendingAnalytics;
+import com.example.FinSight.model.SpendingSketch;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.SpendingSketchRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Maintains per-user, per-category spending sketches and answers analytics from them.
+ *
+ * Sketches are updated as expenses are inserted and written back as compact blobs in
+ * the same transaction, so queries never touch transaction history. Writers hold the
+ * user's {@link UserCommitLocks} lock until they commit. Deserialized sketches of
+ * recently used users are kept in memory; a user without stored sketches is built
+ * once from their transactions, and stored by the next insert rather than by a read.
+ */
+@Service
+public class SpendingSketchService {
+
+    private final SpendingSketchRepository spendingSketchRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserReferenceCache userReferenceCache;
+    private final UserCommitLocks userCommitLocks;
+    private final Cache<Long, UserSketches> cache;
+
+    public SpendingSketchService(SpendingSketchRepository spendingSketchRepository,
+                                 TransactionRepository transactionRepository,
+                                 UserReferenceCache userReferenceCache,
+                                 UserCommitLocks userCommitLocks,
+                                 @Value("${finsight.cache.sketches.maximum-size:10000}") long maximumSize,
+                                 @Value("${finsight.cache.sketches.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.spendingSketchRepository = spendingSketchRepository;
+        this.transactionRepository = transactionRepository;
+        this.userReferenceCache = userReferenceCache;
+        this.userCommitLocks = userCommitLocks;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+    }
+
+    /**
+     * Adds a saved transaction to its owner's sketches. Must be called after the
+     * transaction has been saved, in the same database transaction.
+     */
+    @Transactional
+    public void record(Transaction transaction) {
+        recordAll(List.of(transaction));
+    }
+
+    /**
+     * Adds saved transactions to their owners' sketches. Only expenses are sketched.
+     */
+    @Transactional
+    public void recordAll(List<Transaction> transactions) {
+        Map<Long, List<Transaction>> byUser = new LinkedHashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getType() == TransactionType.EXPENSE) {
+                byUser.computeIfAbsent(transaction.getUser().getId(), id -> new ArrayList<>()).add(transaction);
+            }
+        }
+
+        for (Map.Entry<Long, List<Transaction>> entry : byUser.entrySet()) {
+            Long userId = entry.getKey();
+            User user = entry.getValue().get(0).getUser();
+            userCommitLocks.lock(userId, () -> cache.invalidate(userId));
+            Loaded loaded = load(userId);
+
+            UserSketches sketches = loaded.sketches();
+            synchronized (sketches) {
+                Map<String, CategorySketches> changed = new HashMap<>();
+                // A backfill query already saw these rows
+                if (!loaded.backfilled()) {
+                    for (Transaction transaction : entry.getValue()) {
+                        CategorySketches category = sketches.byCategory
+                            .computeIfAbsent(transaction.getCategory(), c -> new CategorySketches());
+                        category.update(transaction.getAmount().doubleValue(),
+                            transaction.getDescription(), transaction.getLocation());
+                        changed.put(transaction.getCategory(), category);
+                    }
+                    sketches.merged = null;
+                }
+                if (!sketches.stored) {
+                    changed = sketches.byCategory;
+                    sketches.stored = true;
+                }
+                for (Map.Entry<String, CategorySketches> category : changed.entrySet()) {
+                    save(user, category.getKey(), category.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns spending statistics for a user, overall or for one category.
+     *
+     * @param userId The user ID
+     * @param category Optional category; null for all categories
+     * @return Sketch-based spending statistics
+     */
+    @Transactional(readOnly = true)
+    public SpendingAnalytics getAnalytics(Long userId, String category) {
+        if (!userReferenceCache.exists(userId)) {
+            throw new IllegalArgumentException("User not found with id: " + userId);
+        }
+
+        UserSketches sketches = load(userId).sketches();
+        synchronized (sketches) {
+            CategorySketches source;
+            if (category == null) {
+                if (sketches.merged == null) {
+                    sketches.merged = CategorySketches.merge(sketches.byCategory.values());
+                }
+                source = sketches.merged;
+            } else {
+                source = sketches.byCategory.get(category);
+            }
+            return toAnalytics(category, source);
+        }
+    }
+
+    /**
+     * Drops every in-memory sketch; the next access reloads from the stored blobs.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Never writes: sketches built from transactions are stored by the next insert
+    private Loaded load(Long userId) {
+        UserSketches cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return new Loaded(cached, false);
+        }
+
+        UserSketches sketches = new UserSketches();
+        boolean backfilled = false;
+        List<SpendingSketch> rows = spendingSketchRepository.findByUserId(userId);
+        if (!rows.isEmpty()) {
+            for (SpendingSketch row : rows) {
+                sketches.byCategory.put(row.getCategory(), CategorySketches.fromEntity(row));
+            }
+            sketches.stored = true;
+        } else {
+            for (Transaction transaction : transactionRepository.findByUserId(userId)) {
+                if (transaction.getType() == TransactionType.EXPENSE) {
+                    sketches.byCategory.computeIfAbsent(transaction.getCategory(), c -> new CategorySketches())
+                        .update(transaction.getAmount().doubleValue(),
+                            transaction.getDescription(), transaction.getLocation());
+                }
+            }
+            backfilled = true;
+        }
+
+        UserSketches existing = cache.asMap().putIfAbsent(userId, sketches);
+        if (existing != null) {
+            return new Loaded(existing, false);
+        }
+        return new Loaded(sketches, backfilled);
+    }
+
+    private void save(User user, String category, CategorySketches sketches) {
+        SpendingSketch entity = spendingSketchRepository.findByUserIdAndCategory(user.getId(), category)
+            .orElseGet(() -> {
+                SpendingSketch created = new SpendingSketch();
+                created.setUser(user);
+                created.setCategory(category);
+                return created;
+            });
+        sketches.writeTo(entity);
+        entity.setUpdatedAt(LocalDateTime.now());
+        spendingSketchRepository.save(entity);
+    }
+
+    private SpendingAnalytics toAnalytics(String category, CategorySketches sketches) {
+        SpendingAnalytics analytics = new SpendingAnalytics();
+        analytics.setCategory(category);
+        if (sketches == null || sketches.isEmpty()) {
+            return analytics;
+        }
+
+        analytics.setTransactionCount(sketches.getTransactionCount());
+        analytics.setMinAmount(toAmount(sketches.minAmount()));
+        analytics.setMedianAmount(toAmount(sketches.quantile(0.5)));
+        analytics.setP90Amount(toAmount(sketches.quantile(0.9)));
+        analytics.setP99Amount(toAmount(sketches.quantile(0.99)));
+        analytics.setMaxAmount(toAmount(sketches.maxAmount()));
+        analytics.setDistinctMerchants(sketches.distinctMerchants());
+        analytics.setDistinctLocations(sketches.distinctLocations());
+        return analytics;
+    }
+
+    private BigDecimal toAmount(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static final class UserSketches {
+        private final Map<String, CategorySketches> byCategory = new HashMap<>();
+        // Union of all categories, rebuilt lazily after each update
+        private CategorySketches merged;
+        // Whether spending_sketches holds every category
+        private boolean stored;
+    }
+
+    private record Loaded(UserSketches sketches, boolean backfilled) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.FinSight.service;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Installs statement inspection: wraps the application's data sources in an
+ * {@link InspectingDataSource} and adds a {@link RepositoryMethodTracker} to every Spring
+ * Data repository, so {@link SqlStatementMetrics} can attribute each statement to the
+ * repository method that ran it. Does nothing when {@code finsight.sql.inspection.enabled}
+ * is false.
+ *
+ * The metrics are looked up only once a data source or repository factory is seen, so
+ * they are created as an ordinary bean rather than while post-processors register.
+ */
+@Component
+public class SqlStatementInspector implements BeanPostProcessor {
+
+    private final ObjectProvider<SqlStatementMetrics> metrics;
+
+    public SqlStatementInspector(ObjectProvider<SqlStatementMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    // Repository factories are customized before they build their proxies
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean && metrics.getObject().isEnabled()) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                (proxyFactory, repository) -> proxyFactory.addAdvice(
+                    new RepositoryMethodTracker(repository.getRepositoryInterface()))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof InspectingDataSource)
+                && metrics.getObject().isEnabled()) {
+            return new InspectingDataSource(dataSource, metrics.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.FinSight.dto.SqlEndpointStatistics;
+import com.example.FinSight.dto.SqlMethodStatistics;
+import com.example.FinSight.dto.SqlStatementStatistics;
+
+/**
+ * Counts and times SQL statements per repository method, and logs those slower than
+ * {@code finsight.sql.slow-threshold} with the shapes of their bound parameters.
+ *
+ * A statement is attributed to the repository method running on its thread (see
+ * {@link RepositoryMethodTracker}). Statements run outside one, such as inserts Hibernate
+ * flushes at commit, are attributed to the nearest application method on the stack.
+ * Latencies are kept in a KLL sketch per method, so quantiles stay cheap however many
+ * statements run. Statements per HTTP request are also counted per endpoint, to catch
+ * endpoints whose query count grows with the data.
+ */
+@Component
+public class SqlStatementMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementMetrics.class);
+
+    private static final int KLL_K = 200;
+    private static final String PACKAGE = "com.example.FinSight.";
+    private static final Set<String> INSPECTION_CLASSES = Set.of(
+        SqlStatementMetrics.class.getName(), InspectingDataSource.class.getName(),
+        RepositoryMethodTracker.class.getName(), SqlStatementInspector.class.getName());
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final Duration slowThreshold;
+    private final Map<String, MethodCounters> methods = new ConcurrentHashMap<>();
+    private final Map<String, EndpointCounters> endpoints = new ConcurrentHashMap<>();
+
+    public SqlStatementMetrics(@Value("${finsight.sql.inspection.enabled:true}") boolean enabled,
+                               @Value("${finsight.sql.slow-threshold:100ms}") Duration slowThreshold) {
+        this.enabled = enabled;
+        this.slowThreshold = slowThreshold;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param sql Statement text as prepared
+     * @param parameters Shapes of the bound parameters, or null when none were bound
+     * @param rows Rows in a batch, 1 otherwise
+     * @param nanos Execution time
+     */
+    void record(String sql, String parameters, int rows, long nanos) {
+        String method = RepositoryMethodTracker.current();
+        if (method == null) {
+            method = caller();
+        }
+        SqlStatementCounter.increment();
+        MethodCounters counters = methods.computeIfAbsent(method, name -> new MethodCounters());
+        counters.statements.increment();
+        counters.rows.add(rows);
+        counters.nanos.add(nanos);
+        synchronized (counters) {
+            counters.millis.update(nanos / 1_000_000.0);
+        }
+
+        if (nanos >= slowThreshold.toNanos()) {
+            counters.slow.increment();
+            log.warn("Slow SQL in {} took {} ms{}: {} parameters {}", method, nanos / 1_000_000,
+                rows > 1 ? " for " + rows + " rows" : "", oneLine(sql), parameters != null ? parameters : "[]");
+        }
+    }
+
+    /**
+     * Records the statements one request ran.
+     *
+     * @param endpoint HTTP method and path pattern, e.g. {@code GET /api/transactions}
+     */
+    public void recordRequest(String endpoint, long statements) {
+        EndpointCounters counters = endpoints.computeIfAbsent(endpoint, name -> new EndpointCounters());
+        counters.requests.increment();
+        counters.statements.add(statements);
+        counters.max.accumulate(statements);
+    }
+
+    public SqlStatementStatistics getStatistics() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics();
+        statistics.setEnabled(enabled);
+        statistics.setSlowThresholdMillis(slowThreshold.toMillis());
+
+        List<SqlMethodStatistics> methodStatistics = new ArrayList<>();
+        long statements = 0;
+        long slow = 0;
+        for (Map.Entry<String, MethodCounters> entry : methods.entrySet()) {
+            MethodCounters counters = entry.getValue();
+            SqlMethodStatistics method = new SqlMethodStatistics();
+            method.setMethod(entry.getKey());
+            method.setStatements(counters.statements.sum());
+            method.setRows(counters.rows.sum());
+            method.setSlowStatements(counters.slow.sum());
+            method.setTotalMillis(counters.nanos.sum() / 1_000_000.0);
+            method.setMeanMillis(method.getStatements() == 0 ? 0 : method.getTotalMillis() / method.getStatements());
+            synchronized (counters) {
+                if (!counters.millis.isEmpty()) {
+                    method.setP50Millis(counters.millis.getQuantile(0.5));
+                    method.setP95Millis(counters.millis.getQuantile(0.95));
+                    method.setP99Millis(counters.millis.getQuantile(0.99));
+                    method.setMaxMillis(counters.millis.getMaxItem());
+                }
+            }
+            statements += method.getStatements();
+            slow += method.getSlowStatements();
+            methodStatistics.add(method);
+        }
+        methodStatistics.sort(Comparator.comparingDouble(SqlMethodStatistics::getTotalMillis).reversed());
+        statistics.setStatements(statements);
+        statistics.setSlowStatements(slow);
+        statistics.setMethods(methodStatistics);
+
+        List<SqlEndpointStatistics> endpointStatistics = new ArrayList<>();
+        endpoints.forEach((name, counters) -> {
+            SqlEndpointStatistics endpoint = new SqlEndpointStatistics();
+            endpoint.setEndpoint(name);
+            endpoint.setRequests(counters.requests.sum());
+            endpoint.setStatements(counters.statements.sum());
+            endpoint.setMeanStatements(endpoint.getRequests() == 0 ? 0
+                : (double) endpoint.getStatements() / endpoint.getRequests());
+            endpoint.setMaxStatements(counters.max.get());
+            endpointStatistics.add(endpoint);
+        });
+        endpointStatistics.sort(Comparator.comparingDouble(SqlEndpointStatistics::getMeanStatements).reversed());
+        statistics.setEndpoints(endpointStatistics);
+        return statistics;
+    }
+
+    public void clear() {
+        methods.clear();
+        endpoints.clear();
+    }
+
+    // Only walked for statements outside repository methods
+    private static String caller() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(PACKAGE)
+                && !frame.getClassName().contains("$$")
+                && !INSPECTION_CLASSES.contains(outerClass(frame.getClassName())))
+            .findFirst()
+            .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                + "." + frame.getMethodName())
+            .orElse("(unattributed)"));
+    }
+
+    private static String oneLine(String sql) {
+        return sql == null ? null : WHITESPACE.matcher(sql).replaceAll(" ").strip();
+    }
+
+    private static String outerClass(String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    private static final class EndpointCounters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    }
+
+    private static final class MethodCounters {
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final KllDoublesSketch millis = KllDoublesSketch.newHeapInstance(KLL_K);
+    }
+}
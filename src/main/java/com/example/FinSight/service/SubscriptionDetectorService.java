@@ -16,24 +16,24 @@ import org.springframework.stereotype.Service;
 import com.example.FinSight.model.Subscription;
 import com.example.FinSight.model.SubscriptionStatus;
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.SubscriptionRepository;
 import com.example.FinSight.repository.TransactionRepository;
-import com.example.FinSight.repository.UserRepository;
 
 @Service
 public class SubscriptionDetectorService {
     
     private final TransactionRepository transactionRepository;
     private final SubscriptionRepository subscriptionRepository;
-    private final UserRepository userRepository;
+    private final UserReferenceCache userReferenceCache;
     
     public SubscriptionDetectorService(TransactionRepository transactionRepository,
                                       SubscriptionRepository subscriptionRepository,
-                                      UserRepository userRepository) {
+                                      UserReferenceCache userReferenceCache) {
         this.transactionRepository = transactionRepository;
         this.subscriptionRepository = subscriptionRepository;
-        this.userRepository = userRepository;
+        this.userReferenceCache = userReferenceCache;
     }
     
     /**
@@ -44,12 +44,12 @@ public class SubscriptionDetectorService {
      * @return List of detected subscriptions
      */
     public List<Subscription> detectSubscriptions(Long userId) {
-        User user = userRepository.findById(userId)
+        User user = userReferenceCache.findById(userId)
             .orElseThrow(() -> new RuntimeException("User not found"));
         
         // Fetch all expense transactions for user
-        List<Transaction> expenses = transactionRepository.findByUser(user).stream()
-            .filter(t -> "EXPENSE".equals(t.getType()))
+        List<Transaction> expenses = transactionRepository.findByUserId(userId).stream()
+            .filter(t -> t.getType() == TransactionType.EXPENSE)
             .collect(Collectors.toList());
         
         // Group by normalized merchant
@@ -100,13 +100,14 @@ public class SubscriptionDetectorService {
      * @return List of due-soon subscriptions
      */
     public List<Subscription> findDueSoon(Long userId, int days) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        if (!userReferenceCache.exists(userId)) {
+            throw new RuntimeException("User not found");
+        }
         
         LocalDate today = LocalDate.now();
         LocalDate endDate = today.plusDays(days);
         
-        return subscriptionRepository.findDueSoon(user, today, endDate);
+        return subscriptionRepository.findDueSoon(userId, today, endDate);
     }
     
     /**
@@ -0,0 +1,79 @@
+package com.example.FinSight.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.example.FinSight.model.Transaction;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that invalidates the owner's cached dashboard whenever a
+ * {@link Transaction} is inserted, updated (e.g. re-scored) or deleted, and appends
+ * inserts to the owner's {@link DailyLedgerIndex}, in-memory columns and event
+ * timeline. Covers every writer that goes through the EntityManager, including the
+ * demo seeder; bulk JPQL updates bypass it and must invalidate the
+ * {@link DashboardSummaryCache}, {@link DailyLedgerCache}, {@link TransactionColumnStore}
+ * and {@link EventTimelineStore} themselves.
+ *
+ * The dashboard is invalidated last. After-commit callbacks run in registration order,
+ * so its generation only moves once the ledger and columns it is computed from are up
+ * to date; a summary cached under the new generation cannot be stale.
+ */
+public class TransactionCacheInvalidationListener {
+    
+    private final ObjectProvider<DashboardSummaryCache> dashboardSummaryCache;
+    private final ObjectProvider<DailyLedgerCache> dailyLedgerCache;
+    private final ObjectProvider<TransactionColumnStore> transactionColumnStore;
+    private final ObjectProvider<EventTimelineStore> eventTimelineStore;
+    
+    public TransactionCacheInvalidationListener(ObjectProvider<DashboardSummaryCache> dashboardSummaryCache,
+                                                ObjectProvider<DailyLedgerCache> dailyLedgerCache,
+                                                ObjectProvider<TransactionColumnStore> transactionColumnStore,
+                                                ObjectProvider<EventTimelineStore> eventTimelineStore) {
+        this.dashboardSummaryCache = dashboardSummaryCache;
+        this.dailyLedgerCache = dailyLedgerCache;
+        this.transactionColumnStore = transactionColumnStore;
+        this.eventTimelineStore = eventTimelineStore;
+    }
+    
+    @PostPersist
+    public void inserted(Transaction transaction) {
+        if (transaction.getUser() == null) {
+            return;
+        }
+        dailyLedgerCache.ifAvailable(cache -> cache.recordInsert(transaction));
+        transactionColumnStore.ifAvailable(store -> store.recordInsert(transaction));
+        eventTimelineStore.ifAvailable(store -> store.recordInsert(transaction));
+        dashboardSummaryCache.ifAvailable(cache -> cache.invalidate(transaction.getUser().getId()));
+    }
+    
+    @PostUpdate
+    public void updated(Transaction transaction) {
+        if (transaction.getUser() == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        invalidateCaches(userId);
+        // Re-scoring does not move a transaction in event time
+        eventTimelineStore.ifAvailable(store -> store.recordUpdate(transaction));
+        dashboardSummaryCache.ifAvailable(cache -> cache.invalidate(userId));
+    }
+    
+    @PostRemove
+    public void removed(Transaction transaction) {
+        if (transaction.getUser() == null) {
+            return;
+        }
+        Long userId = transaction.getUser().getId();
+        invalidateCaches(userId);
+        eventTimelineStore.ifAvailable(store -> store.invalidate(userId));
+        dashboardSummaryCache.ifAvailable(cache -> cache.invalidate(userId));
+    }
+    
+    private void invalidateCaches(Long userId) {
+        dailyLedgerCache.ifAvailable(cache -> cache.invalidate(userId));
+        transactionColumnStore.ifAvailable(store -> store.invalidate(userId));
+    }
+}
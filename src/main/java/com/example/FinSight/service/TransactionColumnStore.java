@@ -0,0 +1,197 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.repository.TransactionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps the histories of hot users in memory as {@link UserTransactionColumns}.
+ *
+ * A user becomes hot once their history has been asked for {@code hot-threshold}
+ * times within {@code hot-window}; colder users keep being answered by the database.
+ * The store is bounded by the total number of cached transactions. Committed inserts
+ * are appended in place; updates, deletes and racing writes evict the user, in the
+ * same way as {@link DailyLedgerCache}.
+ */
+@Component
+public class TransactionColumnStore {
+
+    private final TransactionRepository transactionRepository;
+    private final int hotThreshold;
+    private final Cache<Long, Cached> cache;
+    private final Cache<Long, AtomicInteger> accessCounts;
+    private final UserGenerations generations = new UserGenerations();
+
+    public TransactionColumnStore(TransactionRepository transactionRepository,
+                                  @Value("${finsight.store.hot-threshold:3}") int hotThreshold,
+                                  @Value("${finsight.store.hot-window:10m}") Duration hotWindow,
+                                  @Value("${finsight.store.maximum-transactions:5000000}") long maximumTransactions,
+                                  @Value("${finsight.store.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.transactionRepository = transactionRepository;
+        this.hotThreshold = hotThreshold;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maximumTransactions)
+            .weigher((Long userId, Cached cached) -> Math.max(1, cached.columns.size()))
+            .expireAfterAccess(expireAfterAccess)
+            .build();
+        this.accessCounts = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(hotWindow)
+            .build();
+    }
+
+    /**
+     * Returns a user's in-memory history if they are hot, loading it the moment they
+     * cross the threshold.
+     *
+     * @param userId The user ID
+     * @return The user's columns, or empty when the caller should query the database
+     */
+    public Optional<UserTransactionColumns> find(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        Cached cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached.columns);
+        }
+
+        int accesses = accessCounts.get(userId, id -> new AtomicInteger()).incrementAndGet();
+        if (accesses < hotThreshold) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(load(userId));
+    }
+
+    /**
+     * Returns a user's in-memory history only if it is already loaded.
+     */
+    public Optional<UserTransactionColumns> getIfPresent(Long userId) {
+        Cached cached = userId == null ? null : cache.getIfPresent(userId);
+        return cached == null ? Optional.empty() : Optional.of(cached.columns);
+    }
+
+    /**
+     * Records a newly persisted transaction; it is appended to the user's columns once
+     * the surrounding transaction commits.
+     */
+    public void recordInsert(Transaction transaction) {
+        Long userId = transaction.getUser().getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(userId);
+            return;
+        }
+
+        long before = bump(userId) - 1;
+        LocalDateTime transactionDate = transaction.getTransactionDate();
+        BigDecimal amount = transaction.getAmount();
+        TransactionType type = transaction.getType();
+        String category = transaction.getCategory();
+        String location = transaction.getLocation();
+        boolean fraudulent = transaction.isFraudulent();
+        Double fraudScore = transaction.getFraudScore();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                long after = bump(userId);
+                cache.asMap().computeIfPresent(userId, (id, cached) -> {
+                    // Only append when nothing else touched this user in between
+                    if (status == STATUS_COMMITTED && cached.generation == before && after == before + 2
+                            && cached.columns.add(transactionDate, amount, type, category, location, fraudulent, fraudScore)) {
+                        cached.generation = after;
+                        return cached;
+                    }
+                    return null;
+                });
+            }
+        });
+    }
+
+    /**
+     * Evicts a user. When called inside a transaction the user is evicted again after
+     * commit, so a concurrent load cannot cache the pre-commit state.
+     *
+     * @param userId The user ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+
+        bump(userId);
+        cache.invalidate(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    bump(userId);
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Evicts every user.
+     */
+    public void invalidateAll() {
+        generations.bumpAll();
+        cache.invalidateAll();
+    }
+
+    private UserTransactionColumns load(Long userId) {
+        long generation = generation(userId);
+        List<Object[]> rows = transactionRepository.findColumnsByUserId(userId);
+        UserTransactionColumns columns = new UserTransactionColumns(rows.size());
+        for (Object[] row : rows) {
+            if (!columns.add((LocalDateTime) row[0], (BigDecimal) row[1], (TransactionType) row[2], (String) row[3],
+                    (String) row[4], (Boolean) row[5], (Double) row[6])) {
+                // Too many distinct categories or locations for short ids
+                return null;
+            }
+        }
+
+        // A write during the load may or may not be included; use the columns once
+        // but do not cache them
+        if (generation(userId) != generation) {
+            return columns;
+        }
+        Cached existing = cache.asMap().putIfAbsent(userId, new Cached(columns, generation));
+        return existing != null ? existing.columns : columns;
+    }
+
+    private long generation(Long userId) {
+        return generations.get(userId);
+    }
+
+    private long bump(Long userId) {
+        return generations.bump(userId);
+    }
+
+    private static final class Cached {
+        private final UserTransactionColumns columns;
+        // Generation the columns are current as of
+        private long generation;
+
+        private Cached(UserTransactionColumns columns, long generation) {
+            this.columns = columns;
+            this.generation = generation;
+        }
+    }
+}
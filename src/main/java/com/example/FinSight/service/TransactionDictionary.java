@@ -0,0 +1,310 @@
+package com.example.FinSight.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.model.Transaction;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * In-process cache of the {@code categories} and {@code locations} dictionary tables.
+ *
+ * Transactions store categories and locations as small integer ids; the converters
+ * below translate at the JPA boundary, so entities, queries and DTOs keep working with
+ * names. Names are interned, so every decoded transaction shares one instance per
+ * value.
+ *
+ * Converters only look names up: a query parameter naming no dictionary entry binds
+ * {@link #UNKNOWN_ID}, which matches no row. Such misses are cached too, bounded by
+ * {@code finsight.dictionary.maximum-misses} and for {@code finsight.dictionary.miss-ttl}
+ * (after which another instance's additions are seen), so repeating an unknown filter
+ * costs no query. Entries are added by {@link Registrar} when a transaction is
+ * persisted, on the caller's connection and in its database transaction, and are only
+ * cached once that transaction commits.
+ */
+@Component
+public class TransactionDictionary {
+
+    /**
+     * Bound for names that are not in the dictionary; no row has this id.
+     */
+    public static final int UNKNOWN_ID = -1;
+
+    private final Dictionary categories;
+    private final Dictionary locations;
+
+    public TransactionDictionary(DataSource dataSource,
+                                 @Value("${finsight.dictionary.maximum-misses:10000}") long maximumMisses,
+                                 @Value("${finsight.dictionary.miss-ttl:1m}") Duration missTtl) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        this.categories = new Dictionary(dataSource, jdbcTemplate, "categories", misses(maximumMisses, missTtl));
+        this.locations = new Dictionary(dataSource, jdbcTemplate, "locations", misses(maximumMisses, missTtl));
+    }
+
+    /**
+     * @return The category's id, or {@code null} if it is not in the dictionary
+     */
+    public Integer categoryId(String name) {
+        return categories.idOf(name);
+    }
+
+    public String categoryName(Integer id) {
+        return categories.nameOf(id);
+    }
+
+    /**
+     * @return The location's id, or {@code null} if it is not in the dictionary
+     */
+    public Integer locationId(String name) {
+        return locations.idOf(name);
+    }
+
+    public String locationName(Integer id) {
+        return locations.nameOf(id);
+    }
+
+    /**
+     * Adds a transaction's category and location to the dictionary if they are new.
+     * Must be called in the database transaction that writes it.
+     */
+    public void register(Transaction transaction) {
+        categories.register(transaction.getCategory());
+        locations.register(transaction.getLocation());
+    }
+
+    /**
+     * Stores {@code Transaction.category} as a {@code categories} id.
+     */
+    public static class CategoryConverter implements AttributeConverter<String, Integer> {
+
+        private final ObjectProvider<TransactionDictionary> dictionary;
+
+        public CategoryConverter(ObjectProvider<TransactionDictionary> dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public Integer convertToDatabaseColumn(String name) {
+            return name == null ? null : orUnknown(dictionary.getObject().categoryId(name));
+        }
+
+        @Override
+        public String convertToEntityAttribute(Integer id) {
+            return dictionary.getObject().categoryName(id);
+        }
+    }
+
+    /**
+     * Stores {@code Transaction.location} as a {@code locations} id.
+     */
+    public static class LocationConverter implements AttributeConverter<String, Integer> {
+
+        private final ObjectProvider<TransactionDictionary> dictionary;
+
+        public LocationConverter(ObjectProvider<TransactionDictionary> dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @Override
+        public Integer convertToDatabaseColumn(String name) {
+            return name == null ? null : orUnknown(dictionary.getObject().locationId(name));
+        }
+
+        @Override
+        public String convertToEntityAttribute(Integer id) {
+            return dictionary.getObject().locationName(id);
+        }
+    }
+
+    /**
+     * JPA entity listener that registers a {@link Transaction}'s names before it is
+     * written, so its converters find them.
+     */
+    public static class Registrar {
+
+        private final ObjectProvider<TransactionDictionary> dictionary;
+
+        public Registrar(ObjectProvider<TransactionDictionary> dictionary) {
+            this.dictionary = dictionary;
+        }
+
+        @PrePersist
+        @PreUpdate
+        public void register(Transaction transaction) {
+            dictionary.getObject().register(transaction);
+        }
+    }
+
+    private static Integer orUnknown(Integer id) {
+        return id != null ? id : UNKNOWN_ID;
+    }
+
+    private static Cache<String, Boolean> misses(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder().maximumSize(maximumSize).expireAfterWrite(ttl).build();
+    }
+
+    private static final class Dictionary {
+        private final DataSource dataSource;
+        private final JdbcTemplate jdbcTemplate;
+        private final String table;
+        private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+        private final Map<Integer, String> names = new ConcurrentHashMap<>();
+        // Names the table did not hold when last selected
+        private final Cache<String, Boolean> misses;
+
+        private Dictionary(DataSource dataSource, JdbcTemplate jdbcTemplate, String table,
+                           Cache<String, Boolean> misses) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = jdbcTemplate;
+            this.table = table;
+            this.misses = misses;
+        }
+
+        private Integer idOf(String name) {
+            if (name == null) {
+                return null;
+            }
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = pending().get(name);
+            }
+            if (id == null && misses.getIfPresent(name) == null) {
+                // Possibly added by another instance
+                id = select(name);
+                if (id != null) {
+                    remember(id, name);
+                } else {
+                    misses.put(name, Boolean.TRUE);
+                }
+            }
+            return id;
+        }
+
+        private String nameOf(Integer id) {
+            if (id == null) {
+                return null;
+            }
+            String name = names.get(id);
+            if (name != null) {
+                return name;
+            }
+            for (Map.Entry<String, Integer> entry : pending().entrySet()) {
+                if (entry.getValue().equals(id)) {
+                    return entry.getKey();
+                }
+            }
+            List<String> found = jdbcTemplate.queryForList("SELECT name FROM " + table + " WHERE id = ?",
+                String.class, id);
+            if (found.isEmpty()) {
+                throw new IllegalStateException("Unknown " + table + " id: " + id);
+            }
+            return remember(id, found.get(0));
+        }
+
+        private void register(String name) {
+            if (name == null || idOf(name) != null) {
+                return;
+            }
+            Integer id = insert(name);
+            misses.invalidate(name);
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                remember(id, name);
+                return;
+            }
+            Map<String, Integer> pending = pending();
+            if (pending.isEmpty()) {
+                Map<String, Integer> bound = new HashMap<>();
+                TransactionSynchronizationManager.bindResource(this, bound);
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(Dictionary.this);
+                        if (status == STATUS_COMMITTED) {
+                            bound.forEach((pendingName, pendingId) -> remember(pendingId, pendingName));
+                        }
+                    }
+                });
+                pending = bound;
+            }
+            pending.put(name, id);
+        }
+
+        // Entries this thread's database transaction added and has not committed yet
+        @SuppressWarnings("unchecked")
+        private Map<String, Integer> pending() {
+            Object bound = TransactionSynchronizationManager.getResource(this);
+            return bound != null ? (Map<String, Integer>) bound : Map.of();
+        }
+
+        private Integer select(String name) {
+            List<Integer> found = jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE name = ?",
+                Integer.class, name);
+            return found.isEmpty() ? null : found.get(0);
+        }
+
+        // Under a savepoint, so a concurrent insert of the same name leaves the
+        // caller's transaction usable for the re-select
+        private Integer insert(String name) {
+            Connection connection = DataSourceUtils.getConnection(dataSource);
+            try {
+                Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+                try {
+                    KeyHolder keys = new GeneratedKeyHolder();
+                    jdbcTemplate.update(con -> {
+                        PreparedStatement statement = con.prepareStatement("INSERT INTO " + table + " (name) VALUES (?)",
+                            new String[] {"id"});
+                        statement.setString(1, name);
+                        return statement;
+                    }, keys);
+                    return keys.getKeyAs(Integer.class);
+                } catch (DataIntegrityViolationException e) {
+                    if (savepoint != null) {
+                        connection.rollback(savepoint);
+                    }
+                    Integer id = select(name);
+                    if (id == null) {
+                        throw e;
+                    }
+                    return id;
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not add " + table + " entry: " + name, e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+
+        private String remember(Integer id, String name) {
+            String interned = name.intern();
+            names.put(id, interned);
+            ids.put(interned, id);
+            misses.invalidate(interned);
+            return interned;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * The view of a user's past transactions that fraud rules score against.
+ */
+public interface TransactionHistory {
+    
+    /**
+     * @return Average amount over all of the user's transactions, or null when there are none
+     */
+    BigDecimal averageAmount();
+    
+    /**
+     * @param category Category to restrict to, or null for all transactions
+     * @param halfLife Half-life of the decayed statistics, or null for none
+     * @return Running mean and variance of the amounts, empty when there are none
+     */
+    RunningStatistics amountStatistics(String category, Duration halfLife);
+    
+    /**
+     * @return Number of transactions dated within {@code [from, to]}
+     */
+    long countBetween(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * @return Date of the most recent transaction, or null when there are none
+     */
+    LocalDateTime latestTransactionDate();
+    
+    /**
+     * @return Location of the most recent transaction, or null when unknown
+     */
+    String latestLocation();
+    
+    /**
+     * @return Whether the user has any transaction in the category
+     */
+    boolean hasCategory(String category);
+    
+    /**
+     * @return Whether the user has any transaction with the merchant (description)
+     */
+    boolean hasMerchant(String merchant);
+    
+    /**
+     * @return Whether the user has any transaction at the location
+     */
+    boolean hasLocation(String location);
+}
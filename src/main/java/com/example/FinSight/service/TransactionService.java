@@ -1,8 +1,10 @@
 package com.example.FinSight.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Optional;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,12 +14,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.example.FinSight.dto.TransactionRequest;
 import com.example.FinSight.dto.TransactionResponse;
+import com.example.FinSight.dto.TransactionRow;
 import com.example.FinSight.model.FraudAlert;
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.FraudAlertRepository;
 import com.example.FinSight.repository.TransactionRepository;
-import com.example.FinSight.repository.UserRepository;
 import com.example.FinSight.specification.TransactionSpecification;
 
 import lombok.RequiredArgsConstructor;
@@ -26,20 +29,32 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class TransactionService {
     private final TransactionRepository transactionRepository;
-    private final UserRepository userRepository;
+    private final UserReferenceCache userReferenceCache;
     private final FraudAlertRepository fraudAlertRepository;
     private final FraudDetectionService fraudDetectionService;
+    private final SpendingSketchService spendingSketchService;
+    private final NoveltyFilterStore noveltyFilterStore;
+    private final AmountStatisticsStore amountStatisticsStore;
+    private final FraudRuleLoader fraudRuleLoader;
+    private final ShadowScoringService shadowScoringService;
 
     
+    /**
+     * Scores, saves and alerts on a new transaction. Each stage is timed as a
+     * {@link TransactionStageEvent} when a flight recording is running.
+     */
     @Transactional
     public TransactionResponse createTransaction(TransactionRequest request) {
-        User user = userRepository.findById(request.getUserId())
+        TransactionStageEvent lookup =
+            TransactionStageEvent.begin(request.getUserId(), TransactionStageEvent.USER_LOOKUP);
+        User user = userReferenceCache.findById(request.getUserId())
             .orElseThrow(() -> new RuntimeException("User not found"));
+        lookup.commit(0);
         
         Transaction transaction = new Transaction();
         transaction.setUser(user);
         transaction.setAmount(request.getAmount());
-        transaction.setType(request.getType());
+        transaction.setType(parseType(request.getType()));
         transaction.setCategory(request.getCategory());
         transaction.setDescription(request.getDescription());
         transaction.setLocation(request.getLocation());
@@ -47,66 +62,56 @@ public class TransactionService {
         transaction.setCreatedAt(LocalDateTime.now());
         
         // Detect fraud
+        TransactionStageEvent scoring = TransactionStageEvent.begin(user.getId(), TransactionStageEvent.FRAUD_SCORING);
         FraudDetectionResult result = fraudDetectionService.analyzeTransaction(transaction);
         transaction.setFraudulent(result.isFraudulent());
         transaction.setFraudScore(result.getFraudScore());
+        transaction.setShortCircuited(!result.isComplete());
+        transaction.setRiskLevel(result.getRiskLevel());
+        transaction.setFraudRuleVersion(result.getRuleVersion());
+        scoring.commit(0);
         
+        TransactionStageEvent insert = TransactionStageEvent.begin(user.getId(), TransactionStageEvent.INSERT);
         Transaction saved = transactionRepository.save(transaction);
+        spendingSketchService.record(saved);
+        noveltyFilterStore.record(saved);
+        amountStatisticsStore.record(saved);
+        shadowScoringService.submit(saved, result);
+        insert.commit(1);
         
         // Create alert if fraud detected
-        if (result.isFraudulent() && result.getReasons() != null && !result.getReasons().isEmpty()) {
-            FraudAlert alert = new FraudAlert();
-            alert.setUser(user);
-            alert.setTransaction(saved);
-            
-            // Build message safely
-            String reasonsText = String.join(", ", result.getReasons());
-            String message = "Fraud detected: " + reasonsText;
-            
-            // Ensure message doesn't exceed database column length (if any)
-            if (message.length() > 255) {
-                message = message.substring(0, 252) + "...";
-            }
-            
-            alert.setMessage(message);
-            alert.setSeverity(result.getRiskLevel() != null ? result.getRiskLevel().name() : "MEDIUM");
-            alert.setResolved(false);
-            alert.setCreatedAt(LocalDateTime.now());
-            
-            try {
-                fraudAlertRepository.save(alert);
-            } catch (Exception e) {
-                // Log error but don't fail transaction creation
-                System.err.println("Failed to create fraud alert: " + e.getMessage());
-            }
+        TransactionStageEvent alert = TransactionStageEvent.begin(user.getId(), TransactionStageEvent.ALERT);
+        alert.commit(createAlert(saved, result) ? 1 : 0);
+        
+        // A backdated transaction can change the scores of the ones after it
+        TransactionStageEvent rescoring = TransactionStageEvent.begin(user.getId(), TransactionStageEvent.RESCORING);
+        List<Long> neighbourIds = fraudDetectionService.findEventTimeNeighbours(saved);
+        if (!neighbourIds.isEmpty()) {
+            rescoreNeighbours(saved, neighbourIds);
         }
+        rescoring.commit(neighbourIds.size());
 
         return mapToResponse(saved, result);
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getUserTransactions(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return transactionRepository.findByUserOrderByTransactionDateDesc(user)
-            .stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+        requireUser(userId);
+        return mapRows(transactionRepository.findRowsByUserId(userId));
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionResponse> getFraudulentTransactions(Long userId) {
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return transactionRepository.findByUserAndFraudulentTrue(user)
-            .stream()
-            .map(this::mapToResponse)
-            .collect(Collectors.toList());
+        requireUser(userId);
+        return mapRows(transactionRepository.findFraudulentRowsByUserId(userId));
     }
     
+    @Transactional(readOnly = true)
     public Page<TransactionResponse> findWithFilters(Long userId, Specification<Transaction> spec, Pageable pageable) {
-        return transactionRepository.findAll(spec, pageable)
-            .map(this::mapToResponse);
+        return findRows(spec, pageable);
     }
     
+    @Transactional(readOnly = true)
     public Page<TransactionResponse> findWithFilters(
             Long userId,
             String type,
@@ -116,30 +121,139 @@ public class TransactionService {
             Boolean fraudulent,
             Pageable pageable) {
         
-        User user = userRepository.findById(userId)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        requireUser(userId);
         
         Specification<Transaction> spec = TransactionSpecification.withFilters(
-            user, type, category, startDate, endDate, fraudulent
+            userId, parseType(type), category, startDate, endDate, fraudulent
         );
         
-        return transactionRepository.findAll(spec, pageable)
-            .map(this::mapToResponse);
+        return findRows(spec, pageable);
+    }
+    
+    // Selects TransactionRow's constructor arguments rather than whole entities
+    private Page<TransactionResponse> findRows(Specification<Transaction> spec, Pageable pageable) {
+        Page<TransactionRow> rows = transactionRepository.findBy(spec,
+            query -> query.as(TransactionRow.class).page(pageable));
+        FraudRuleEngine rules = fraudRuleLoader.current();
+        return rows.map(row -> mapToResponse(row, rules));
+    }
+    
+    private List<TransactionResponse> mapRows(List<TransactionRow> rows) {
+        FraudRuleEngine rules = fraudRuleLoader.current();
+        List<TransactionResponse> responses = new ArrayList<>(rows.size());
+        for (TransactionRow row : rows) {
+            responses.add(mapToResponse(row, rules));
+        }
+        return responses;
+    }
+    
+    private TransactionType parseType(String type) {
+        if (type == null || type.isEmpty()) {
+            return null;
+        }
+        try {
+            return TransactionType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid transaction type: " + type);
+        }
     }
     
-    private TransactionResponse mapToResponse(Transaction t) {
+    private void rescoreNeighbours(Transaction saved, List<Long> neighbourIds) {
+        for (Transaction neighbour : transactionRepository.findAllById(neighbourIds)) {
+            FraudDetectionResult result = fraudDetectionService.rescore(neighbour, saved);
+            boolean wasFraudulent = neighbour.isFraudulent();
+            if (Objects.equals(neighbour.getFraudScore(), result.getFraudScore())
+                    && neighbour.isShortCircuited() == !result.isComplete()
+                    && neighbour.getRiskLevel() == result.getRiskLevel() && wasFraudulent == result.isFraudulent()) {
+                continue;
+            }
+            
+            // Dirty checking writes the new score, and any alert change, on commit
+            neighbour.setFraudulent(result.isFraudulent());
+            neighbour.setFraudScore(result.getFraudScore());
+            neighbour.setShortCircuited(!result.isComplete());
+            neighbour.setRiskLevel(result.getRiskLevel());
+            neighbour.setFraudRuleVersion(result.getRuleVersion());
+            if (wasFraudulent != result.isFraudulent()) {
+                updateAlert(neighbour, result);
+            }
+        }
+    }
+    
+    // A transaction has at most one alert: it is opened, or reopened, while the
+    // transaction is flagged and resolved once re-scoring clears it
+    private void updateAlert(Transaction transaction, FraudDetectionResult result) {
+        Optional<FraudAlert> existing = fraudAlertRepository.findByTransactionId(transaction.getId());
+        if (existing.isEmpty()) {
+            createAlert(transaction, result);
+        } else if (!result.isFraudulent()) {
+            existing.get().setResolved(true);
+        } else if (result.getReasons() != null && !result.getReasons().isEmpty()) {
+            FraudAlert alert = existing.get();
+            alert.setMessage(alertMessage(result));
+            alert.setSeverity(result.getRiskLevel() != null ? result.getRiskLevel().name() : "MEDIUM");
+            alert.setResolved(false);
+        }
+    }
+    
+    // Returns whether an alert was saved
+    private boolean createAlert(Transaction transaction, FraudDetectionResult result) {
+        if (!result.isFraudulent() || result.getReasons() == null || result.getReasons().isEmpty()) {
+            return false;
+        }
+        
+        FraudAlert alert = new FraudAlert();
+        alert.setUser(transaction.getUser());
+        alert.setTransaction(transaction);
+        alert.setMessage(alertMessage(result));
+        alert.setSeverity(result.getRiskLevel() != null ? result.getRiskLevel().name() : "MEDIUM");
+        alert.setResolved(false);
+        alert.setCreatedAt(LocalDateTime.now());
+        
+        try {
+            fraudAlertRepository.save(alert);
+            return true;
+        } catch (Exception e) {
+            // Log error but don't fail transaction creation
+            System.err.println("Failed to create fraud alert: " + e.getMessage());
+            return false;
+        }
+    }
+    
+    private String alertMessage(FraudDetectionResult result) {
+        // Build message safely
+        String reasonsText = String.join(", ", result.getReasons());
+        String message = "Fraud detected: " + reasonsText;
+        
+        // Ensure message doesn't exceed database column length (if any)
+        if (message.length() > 255) {
+            message = message.substring(0, 252) + "...";
+        }
+        return message;
+    }
+    
+    private void requireUser(Long userId) {
+        if (!userReferenceCache.exists(userId)) {
+            throw new RuntimeException("User not found");
+        }
+    }
+    
+    // Risk levels use the rule set the caller read once for the whole listing
+    private TransactionResponse mapToResponse(TransactionRow row, FraudRuleEngine rules) {
         TransactionResponse r = new TransactionResponse();
-        r.setId(t.getId());
-        r.setAmount(t.getAmount());
-        r.setType(t.getType());
-        r.setCategory(t.getCategory());
-        r.setDescription(t.getDescription());
-        r.setLocation(t.getLocation());
-        r.setTransactionDate(t.getTransactionDate());
-        r.setFraudulent(t.isFraudulent());
-        r.setFraudScore(t.getFraudScore());
-        r.setRiskLevel(calculateRiskLevelFromScore(t.getFraudScore()));
-        r.setStatus(t.isFraudulent() ? "FLAGGED" : "COMPLETED");
+        r.setId(row.getId());
+        r.setAmount(row.getAmount());
+        r.setType(row.getType());
+        r.setCategory(row.getCategory());
+        r.setDescription(row.getDescription());
+        r.setLocation(row.getLocation());
+        r.setTransactionDate(row.getTransactionDate());
+        r.setFraudulent(row.isFraudulent());
+        r.setFraudScore(row.getFraudScore());
+        r.setShortCircuited(row.isShortCircuited());
+        r.setFraudRuleVersion(row.getFraudRuleVersion());
+        r.setRiskLevel((row.getRiskLevel() != null ? row.getRiskLevel() : rules.riskLevel(row.getFraudScore())).name());
+        r.setStatus(row.isFraudulent() ? "FLAGGED" : "COMPLETED");
         return r;
     }
     
@@ -154,21 +268,10 @@ public class TransactionService {
         r.setTransactionDate(t.getTransactionDate());
         r.setFraudulent(t.isFraudulent());
         r.setFraudScore(t.getFraudScore());
+        r.setShortCircuited(t.isShortCircuited());
+        r.setFraudRuleVersion(t.getFraudRuleVersion());
         r.setRiskLevel(result.getRiskLevel().name());
         r.setStatus(t.isFraudulent() ? "FLAGGED" : "COMPLETED");
         return r;
     }
-    
-    private String calculateRiskLevelFromScore(Double score) {
-        if (score == null) {
-            return "LOW";
-        }
-        if (score >= 70) {
-            return "HIGH";
-        } else if (score >= 40) {
-            return "MEDIUM";
-        } else {
-            return "LOW";
-        }
-    }
 }
@@ -0,0 +1,52 @@
+package com.example.FinSight.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one stage of {@link TransactionService#createTransaction}:
+ * the user lookup, fraud scoring, the insert, alert creation and event-time re-scoring.
+ * Costs next to nothing unless a recording has the event enabled.
+ */
+@Name("finsight.TransactionStage")
+@Label("Transaction Stage")
+@Category({"FinSight", "Transactions"})
+@Description("A stage of creating a transaction")
+@StackTrace(false)
+final class TransactionStageEvent extends Event {
+
+    static final String USER_LOOKUP = "user lookup";
+    static final String FRAUD_SCORING = "fraud scoring";
+    static final String INSERT = "insert";
+    static final String ALERT = "alert";
+    static final String RESCORING = "event-time rescoring";
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Rows")
+    @Description("Rows the stage wrote or re-scored")
+    long rows;
+
+    static TransactionStageEvent begin(Long userId, String stage) {
+        TransactionStageEvent event = new TransactionStageEvent();
+        event.userId = userId != null ? userId : 0;
+        event.stage = stage;
+        event.begin();
+        return event;
+    }
+
+    void commit(long rows) {
+        if (shouldCommit()) {
+            this.rows = rows;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.FinSight.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.FinSight.dto.TimeSeriesPoint;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling for spending trends.
+ * 
+ * Keeps the first and last points and, from each of the buckets in between, the
+ * point forming the largest triangle with the previously kept point and the average
+ * of the next bucket. Peaks and dips survive, which plain averaging would flatten.
+ */
+public final class TrendDownsampler {
+    
+    private TrendDownsampler() {
+    }
+    
+    /**
+     * Downsamples a date-ordered series to at most {@code maxPoints} points.
+     * 
+     * @param points Points in ascending date order
+     * @param maxPoints Maximum number of points to return; values below 3 keep the endpoints only
+     * @return The input itself when it is already small enough, otherwise a new list
+     */
+    public static List<TimeSeriesPoint> largestTriangleThreeBuckets(List<TimeSeriesPoint> points, int maxPoints) {
+        int size = points.size();
+        if (maxPoints <= 0 || size <= maxPoints) {
+            return points;
+        }
+        if (maxPoints < 3) {
+            return maxPoints == 1 ? List.of(points.get(0)) : List.of(points.get(0), points.get(size - 1));
+        }
+        
+        double[] x = new double[size];
+        double[] y = new double[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = points.get(i).getDate().toEpochDay();
+            y[i] = points.get(i).getAmount().doubleValue();
+        }
+        
+        List<TimeSeriesPoint> sampled = new ArrayList<>(maxPoints);
+        sampled.add(points.get(0));
+        
+        // Interior points are split into maxPoints - 2 buckets of equal width
+        double bucketWidth = (double) (size - 2) / (maxPoints - 2);
+        int selected = 0;
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int start = (int) Math.floor(bucket * bucketWidth) + 1;
+            int end = Math.min((int) Math.floor((bucket + 1) * bucketWidth) + 1, size - 1);
+            
+            int nextStart = end;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketWidth) + 1, size);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                averageX += x[i];
+                averageY += y[i];
+            }
+            int nextCount = nextEnd - nextStart;
+            averageX /= nextCount;
+            averageY /= nextCount;
+            
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                double area = Math.abs((x[selected] - averageX) * (y[i] - y[selected])
+                    - (x[selected] - x[i]) * (averageY - y[selected]));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+            sampled.add(points.get(maxIndex));
+            selected = maxIndex;
+        }
+        
+        sampled.add(points.get(size - 1));
+        return sampled;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.FinSight.service;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Triggers when the user has never had a transaction in the category.
+ */
+public class UnusualCategoryRule implements FraudRule {
+    
+    private final double weight;
+    
+    public UnusualCategoryRule(double weight) {
+        this.weight = weight;
+    }
+    
+    @Override
+    public String name() {
+        return "unusual category";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public int estimatedCost() {
+        // Bloom filter probe, plus an indexed existence check when it hits
+        return 1;
+    }
+    
+    @Override
+    public String reason() {
+        return "New category for user";
+    }
+    
+    @Override
+    public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+        String category = transaction.getCategory();
+        if (category == null || category.trim().isEmpty()) {
+            return false;
+        }
+        
+        return !history.hasCategory(category);
+    }
+}
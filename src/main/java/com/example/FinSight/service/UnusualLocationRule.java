@@ -0,0 +1,46 @@
+package com.example.FinSight.service;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Triggers when the user has never had a transaction at the location.
+ */
+public class UnusualLocationRule implements FraudRule {
+    
+    private final double weight;
+    
+    public UnusualLocationRule(double weight) {
+        this.weight = weight;
+    }
+    
+    @Override
+    public String name() {
+        return "unusual location";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public int estimatedCost() {
+        // Bloom filter probe, plus an indexed existence check when it hits
+        return 1;
+    }
+    
+    @Override
+    public String reason() {
+        return "New location for user";
+    }
+    
+    @Override
+    public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+        String location = transaction.getLocation();
+        if (location == null || location.trim().isEmpty()) {
+            return false;
+        }
+        
+        return !history.hasLocation(location);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.FinSight.service;
+
+import com.example.FinSight.model.Transaction;
+
+/**
+ * Triggers when the user has never had a transaction with the merchant (description).
+ */
+public class UnusualMerchantRule implements FraudRule {
+    
+    private final double weight;
+    
+    public UnusualMerchantRule(double weight) {
+        this.weight = weight;
+    }
+    
+    @Override
+    public String name() {
+        return "unusual merchant";
+    }
+    
+    @Override
+    public double weight() {
+        return weight;
+    }
+    
+    @Override
+    public int estimatedCost() {
+        // Bloom filter probe, plus an indexed existence check when it hits
+        return 1;
+    }
+    
+    @Override
+    public String reason() {
+        return "New merchant for user";
+    }
+    
+    @Override
+    public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+        String merchant = transaction.getDescription();
+        if (merchant == null || merchant.trim().isEmpty()) {
+            return false;
+        }
+        
+        return !history.hasMerchant(merchant);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.FinSight.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.example.FinSight.model.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that evicts a {@link User} from the {@link UserReferenceCache}
+ * whenever the user row is updated or deleted. Instantiated by Hibernate through
+ * the Spring bean container while the EntityManagerFactory is still being built,
+ * so the cache (which needs a repository) is resolved lazily.
+ */
+public class UserCacheInvalidationListener {
+    
+    private final ObjectProvider<UserReferenceCache> userReferenceCache;
+    
+    public UserCacheInvalidationListener(ObjectProvider<UserReferenceCache> userReferenceCache) {
+        this.userReferenceCache = userReferenceCache;
+    }
+    
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userReferenceCache.ifAvailable(cache -> cache.invalidate(user.getId()));
+    }
+}
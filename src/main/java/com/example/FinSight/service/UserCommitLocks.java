@@ -0,0 +1,108 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Serializes writers of a user's derived state (spending sketches, novelty filters,
+ * amount statistics) until the database transaction that took the lock ends.
+ *
+ * While a transaction holds a user's lock no other transaction in this process can
+ * update or write that user's stored rows, so find-or-create cannot insert a duplicate
+ * row and a row is never written from another transaction's uncommitted updates. Rollback actions registered with the lock run before it is released, so
+ * the next writer never sees in-memory state from a rolled-back transaction.
+ */
+@Component
+public class UserCommitLocks {
+
+    private final Duration timeout;
+    // Weak values: a lock is only kept while a transaction holds it or waits for it
+    private final Cache<Long, ReentrantLock> locks = Caffeine.newBuilder().weakValues().build();
+
+    public UserCommitLocks(@Value("${finsight.user-state.lock-timeout:10s}") Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Takes the user's lock until the current database transaction completes, unless
+     * it already holds it. Without transaction synchronization there is no completion
+     * to wait for, and nothing is locked.
+     *
+     * @param onRollback Run if the transaction does not commit, before the lock is released
+     * @throws CannotAcquireLockException if another transaction holds the lock for longer
+     *         than {@code finsight.user-state.lock-timeout}
+     */
+    public void lock(Long userId, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Map<Long, Held> held = held();
+        Held existing = held.get(userId);
+        if (existing != null) {
+            existing.onRollback.add(onRollback);
+            return;
+        }
+
+        ReentrantLock lock = locks.get(userId, id -> new ReentrantLock());
+        try {
+            if (!lock.tryLock(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting to update state of user " + userId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting to update state of user " + userId, e);
+        }
+        Held acquired = new Held(lock);
+        acquired.onRollback.add(onRollback);
+        held.put(userId, acquired);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Held> held() {
+        Object bound = TransactionSynchronizationManager.getResource(this);
+        if (bound != null) {
+            return (Map<Long, Held>) bound;
+        }
+        Map<Long, Held> held = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, held);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(UserCommitLocks.this);
+                for (Held userLock : held.values()) {
+                    try {
+                        if (status != STATUS_COMMITTED) {
+                            userLock.onRollback.forEach(Runnable::run);
+                        }
+                    } finally {
+                        userLock.lock.unlock();
+                    }
+                }
+            }
+        });
+        return held;
+    }
+
+    private static final class Held {
+        private final ReentrantLock lock;
+        private final List<Runnable> onRollback = new ArrayList<>();
+
+        private Held(ReentrantLock lock) {
+            this.lock = lock;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * One user's transactions ordered by event time (the transaction date), however late
+ * they arrived.
+ *
+ * Events are keyed by timestamp, ties broken by id, so the true predecessor of any
+ * point in time is one {@code lowerEntry} away. {@link #asOf} answers rule questions
+ * for a transaction at its place on the timeline: windows and the previous transaction
+ * are taken relative to its date, while the average amount and known categories,
+ * merchants and locations cover the rest of the history as before. All methods are synchronized.
+ */
+public final class UserEventTimeline {
+
+    private final NavigableMap<EventKey, Event> events = new TreeMap<>();
+    private final Map<Long, EventKey> keysById = new HashMap<>();
+    private final Map<String, Integer> categoryCounts = new HashMap<>();
+    private final Map<String, Integer> merchantCounts = new HashMap<>();
+    private final Map<String, Integer> locationCounts = new HashMap<>();
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    /**
+     * Adds a transaction, replacing any earlier version of it.
+     */
+    public synchronized void add(long id, LocalDateTime transactionDate, BigDecimal amount, String category,
+                                 String merchant, String location) {
+        remove(id);
+        Event event = new Event(id, transactionDate, amount, category, merchant, location);
+        EventKey key = new EventKey(transactionDate, id);
+        events.put(key, event);
+        keysById.put(id, key);
+        categoryCounts.merge(category, 1, Integer::sum);
+        if (merchant != null) {
+            merchantCounts.merge(merchant, 1, Integer::sum);
+        }
+        if (location != null) {
+            locationCounts.merge(location, 1, Integer::sum);
+        }
+        if (amount != null) {
+            totalAmount = totalAmount.add(amount);
+        }
+    }
+
+    public synchronized void remove(long id) {
+        EventKey key = keysById.remove(id);
+        if (key == null) {
+            return;
+        }
+        Event event = events.remove(key);
+        categoryCounts.computeIfPresent(event.category, (category, count) -> count == 1 ? null : count - 1);
+        if (event.merchant != null) {
+            merchantCounts.computeIfPresent(event.merchant, (merchant, count) -> count == 1 ? null : count - 1);
+        }
+        if (event.location != null) {
+            locationCounts.computeIfPresent(event.location, (location, count) -> count == 1 ? null : count - 1);
+        }
+        if (event.amount != null) {
+            totalAmount = totalAmount.subtract(event.amount);
+        }
+    }
+
+    public synchronized int size() {
+        return events.size();
+    }
+
+    /**
+     * @return Whether the timeline holds the transaction with exactly these fields
+     */
+    public synchronized boolean contains(long id, LocalDateTime transactionDate, BigDecimal amount, String category,
+                                         String merchant, String location) {
+        EventKey key = keysById.get(id);
+        if (key == null) {
+            return false;
+        }
+        Event event = events.get(key);
+        return event.transactionDate.equals(transactionDate)
+            && (event.amount == null ? amount == null : amount != null && event.amount.compareTo(amount) == 0)
+            && Objects.equals(event.category, category)
+            && Objects.equals(event.merchant, merchant)
+            && Objects.equals(event.location, location);
+    }
+
+    /**
+     * Finds the transactions whose score may change once a transaction is placed at
+     * {@code transactionDate}: the next one, whose predecessor it becomes, and every
+     * one within {@code window} after it, whose window counts now include it.
+     *
+     * @param id The new transaction's id
+     * @param limit Most ids to return; the nearest are kept
+     * @return Ids in event-time order
+     */
+    public synchronized List<Long> successorsWithin(long id, LocalDateTime transactionDate, Duration window, int limit) {
+        EventKey key = new EventKey(transactionDate, id);
+        EventKey until = new EventKey(transactionDate.plus(window), Long.MAX_VALUE);
+        List<Long> ids = new ArrayList<>();
+        for (Event event : events.tailMap(key, false).values()) {
+            if (ids.size() >= limit || (!ids.isEmpty() && event.key().compareTo(until) > 0)) {
+                break;
+            }
+            if (event.id != id) {
+                ids.add(event.id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * History of a transaction at its place on the timeline.
+     *
+     * @param id The transaction's id, excluded from its own history; null for a
+     *           transaction not yet saved
+     * @param transactionDate Its date
+     * @param pending A saved transaction the timeline does not hold yet, or null
+     */
+    public synchronized TransactionHistory asOf(Long id, LocalDateTime transactionDate, Event pending) {
+        return new History(id == null ? Long.MAX_VALUE : id, transactionDate, pending);
+    }
+
+    /**
+     * A transaction on the timeline.
+     */
+    public static final class Event {
+        private final long id;
+        private final LocalDateTime transactionDate;
+        private final BigDecimal amount;
+        private final String category;
+        private final String merchant;
+        private final String location;
+
+        public Event(long id, LocalDateTime transactionDate, BigDecimal amount, String category, String merchant,
+                     String location) {
+            this.id = id;
+            this.transactionDate = transactionDate;
+            this.amount = amount;
+            this.category = category;
+            this.merchant = merchant;
+            this.location = location;
+        }
+
+        private EventKey key() {
+            return new EventKey(transactionDate, id);
+        }
+    }
+
+    private static final class EventKey implements Comparable<EventKey> {
+        private final LocalDateTime transactionDate;
+        private final long id;
+
+        private EventKey(LocalDateTime transactionDate, long id) {
+            this.transactionDate = transactionDate;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(EventKey other) {
+            int byDate = transactionDate.compareTo(other.transactionDate);
+            return byDate != 0 ? byDate : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof EventKey key && compareTo(key) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(transactionDate, id);
+        }
+    }
+
+    private final class History implements TransactionHistory {
+        private final long id;
+        private final EventKey key;
+        private final Event pending;
+
+        private History(long id, LocalDateTime transactionDate, Event pending) {
+            this.id = id;
+            this.key = new EventKey(transactionDate, id);
+            // Already on the timeline, or the transaction itself
+            this.pending = pending == null || keysById.containsKey(pending.id) || pending.id == id ? null : pending;
+        }
+
+        @Override
+        public BigDecimal averageAmount() {
+            synchronized (UserEventTimeline.this) {
+                BigDecimal total = totalAmount;
+                int count = events.size();
+                Event self = event(id);
+                if (self != null && self.amount != null) {
+                    total = total.subtract(self.amount);
+                    count--;
+                }
+                if (pending != null && pending.amount != null) {
+                    total = total.add(pending.amount);
+                    count++;
+                }
+                if (count <= 0) {
+                    return null;
+                }
+                return total.divide(BigDecimal.valueOf(count), 10, RoundingMode.HALF_UP);
+            }
+        }
+
+        @Override
+        public RunningStatistics amountStatistics(String category, Duration halfLife) {
+            synchronized (UserEventTimeline.this) {
+                RunningStatistics statistics = new RunningStatistics(halfLife);
+                for (Event event : events.values()) {
+                    if (event.id != id) {
+                        add(statistics, event, category);
+                    }
+                }
+                if (pending != null) {
+                    add(statistics, pending, category);
+                }
+                return statistics;
+            }
+        }
+
+        @Override
+        public long countBetween(LocalDateTime from, LocalDateTime to) {
+            if (to.isBefore(from)) {
+                return 0;
+            }
+            synchronized (UserEventTimeline.this) {
+                long count = events.subMap(new EventKey(from, Long.MIN_VALUE), true,
+                    new EventKey(to, Long.MAX_VALUE), true).size();
+                Event self = event(id);
+                if (self != null && !self.transactionDate.isBefore(from) && !self.transactionDate.isAfter(to)) {
+                    count--;
+                }
+                if (pending != null && !pending.transactionDate.isBefore(from) && !pending.transactionDate.isAfter(to)) {
+                    count++;
+                }
+                return count;
+            }
+        }
+
+        @Override
+        public LocalDateTime latestTransactionDate() {
+            Event previous = previous();
+            return previous == null ? null : previous.transactionDate;
+        }
+
+        @Override
+        public String latestLocation() {
+            Event previous = previous();
+            return previous == null ? null : previous.location;
+        }
+
+        @Override
+        public boolean hasCategory(String category) {
+            synchronized (UserEventTimeline.this) {
+                int count = categoryCounts.getOrDefault(category, 0);
+                Event self = event(id);
+                if (self != null && Objects.equals(self.category, category)) {
+                    count--;
+                }
+                return count > 0 || (pending != null && Objects.equals(pending.category, category));
+            }
+        }
+
+        @Override
+        public boolean hasMerchant(String merchant) {
+            synchronized (UserEventTimeline.this) {
+                int count = merchantCounts.getOrDefault(merchant, 0);
+                Event self = event(id);
+                if (self != null && Objects.equals(self.merchant, merchant)) {
+                    count--;
+                }
+                return count > 0 || (pending != null && Objects.equals(pending.merchant, merchant));
+            }
+        }
+
+        @Override
+        public boolean hasLocation(String location) {
+            synchronized (UserEventTimeline.this) {
+                int count = locationCounts.getOrDefault(location, 0);
+                Event self = event(id);
+                if (self != null && Objects.equals(self.location, location)) {
+                    count--;
+                }
+                return count > 0 || (pending != null && Objects.equals(pending.location, location));
+            }
+        }
+
+        private void add(RunningStatistics statistics, Event event, String category) {
+            if (event.amount != null && (category == null || Objects.equals(event.category, category))) {
+                statistics.add(event.amount, event.transactionDate);
+            }
+        }
+
+        // The transaction immediately before this one in event time
+        private Event previous() {
+            synchronized (UserEventTimeline.this) {
+                Map.Entry<EventKey, Event> entry = events.lowerEntry(key);
+                Event previous = entry == null ? null : entry.getValue();
+                if (pending != null && pending.key().compareTo(key) < 0
+                        && (previous == null || pending.key().compareTo(previous.key()) > 0)) {
+                    return pending;
+                }
+                return previous;
+            }
+        }
+
+        private Event event(long id) {
+            EventKey existing = keysById.get(id);
+            return existing == null ? null : events.get(existing);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.FinSight.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user write generations for the caches that check whether a user was written
+ * while they loaded or appended.
+ *
+ * Counters are striped over a fixed number of slots instead of kept per user, so they
+ * take the same memory however many users ever write. Users sharing a slot see each
+ * other's bumps, which costs them a spurious reload or ETag change but never a stale
+ * hit: a slot only ever moves forward.
+ */
+final class UserGenerations {
+
+    private static final int SLOTS = 4096;
+
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+
+    long get(Long userId) {
+        return slots.get(slot(userId));
+    }
+
+    long bump(Long userId) {
+        return slots.incrementAndGet(slot(userId));
+    }
+
+    void bumpAll() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots.incrementAndGet(i);
+        }
+    }
+
+    private static int slot(Long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 52) & (SLOTS - 1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded, TTL-evicting cache of {@link User} references keyed by id.
+ * 
+ * Most read paths only need to know that a user exists, or need a reference to use
+ * as a foreign key, so repeating a primary-key select on every request is wasted work.
+ * Cached users are detached copies; missing users are never cached so that a user
+ * registered after a failed lookup is found on the next call.
+ */
+@Component
+public class UserReferenceCache {
+    
+    private final UserRepository userRepository;
+    private final Cache<Long, User> cache;
+    
+    public UserReferenceCache(UserRepository userRepository,
+                              @Value("${finsight.cache.users.maximum-size:10000}") long maximumSize,
+                              @Value("${finsight.cache.users.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .build();
+    }
+    
+    /**
+     * Resolves a user by id, loading it from the database on a cache miss.
+     * 
+     * @param userId The user ID
+     * @return The user, or empty if no such user exists
+     */
+    public Optional<User> findById(Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        
+        User cached = cache.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
+        Optional<User> loaded = userRepository.findById(userId).map(this::detachedCopy);
+        loaded.ifPresent(user -> cache.put(userId, user));
+        return loaded;
+    }
+    
+    /**
+     * Checks whether a user exists, using the cache where possible.
+     */
+    public boolean exists(Long userId) {
+        return findById(userId).isPresent();
+    }
+    
+    /**
+     * Evicts a user. When called inside a transaction the entry is evicted again
+     * after commit, so a concurrent reader cannot re-cache the pre-update state.
+     * 
+     * @param userId The user ID
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        
+        cache.invalidate(userId);
+        
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Evicts every cached user.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+    
+    private User detachedCopy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setFullName(user.getFullName());
+        copy.setCreatedAt(user.getCreatedAt());
+        return copy;
+    }
+}
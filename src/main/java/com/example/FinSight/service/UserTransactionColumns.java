@@ -0,0 +1,265 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.FinSight.model.TransactionType;
+
+/**
+ * One user's transactions as parallel primitive arrays, sorted by transaction time.
+ *
+ * Row {@code i} is {@code epochSeconds[i]} (local date-time as seconds, UTC offset),
+ * {@code amountCents[i]}, {@code categoryIds[i]} and {@code locationIds[i]} (per-user
+ * dictionary ids, -1 for no location), a packed flag byte and a {@code float} fraud
+ * score. That is 29 bytes of array payload per transaction against several hundred
+ * for a {@code Transaction} entity with its {@code BigDecimal}, date-times, strings and
+ * boxed score. All methods are synchronized; appends come from committed inserts.
+ */
+public final class UserTransactionColumns implements TransactionHistory {
+
+    static final byte INCOME = 1;
+    static final byte FRAUDULENT = 1 << 1;
+    static final byte SCORED = 1 << 2;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+    private long[] epochSeconds;
+    private long[] amountCents;
+    private short[] categoryIds;
+    private short[] locationIds;
+    private byte[] flags;
+    private float[] scores;
+
+    private long totalCents;
+
+    private final Map<String, Short> categoryDictionary = new HashMap<>();
+    private String[] categories = new String[8];
+    private final Map<String, Short> locationDictionary = new HashMap<>();
+    private String[] locations = new String[8];
+
+    public UserTransactionColumns() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public UserTransactionColumns(int capacity) {
+        capacity = Math.max(capacity, 1);
+        epochSeconds = new long[capacity];
+        amountCents = new long[capacity];
+        categoryIds = new short[capacity];
+        locationIds = new short[capacity];
+        flags = new byte[capacity];
+        scores = new float[capacity];
+    }
+
+    /**
+     * Adds a transaction, keeping rows ordered by time.
+     *
+     * @return false when a dictionary is full; the row is not added and the caller
+     *         should stop caching this user
+     */
+    public synchronized boolean add(LocalDateTime transactionDate, BigDecimal amount, TransactionType type, String category,
+                                    String location, boolean fraudulent, Double fraudScore) {
+        short categoryId = encode(category, categoryDictionary, true);
+        short locationId = location == null ? -1 : encode(location, locationDictionary, false);
+        if (categoryId < 0 || (location != null && locationId < 0)) {
+            return false;
+        }
+
+        if (size == epochSeconds.length) {
+            grow();
+        }
+        long seconds = transactionDate.toEpochSecond(ZoneOffset.UTC);
+        // Usually an append; back-dated rows shift the tail
+        int row = size;
+        if (size > 0 && seconds < epochSeconds[size - 1]) {
+            row = upperBound(seconds);
+            int tail = size - row;
+            System.arraycopy(epochSeconds, row, epochSeconds, row + 1, tail);
+            System.arraycopy(amountCents, row, amountCents, row + 1, tail);
+            System.arraycopy(categoryIds, row, categoryIds, row + 1, tail);
+            System.arraycopy(locationIds, row, locationIds, row + 1, tail);
+            System.arraycopy(flags, row, flags, row + 1, tail);
+            System.arraycopy(scores, row, scores, row + 1, tail);
+        }
+
+        long cents = Cents.toCents(amount);
+        epochSeconds[row] = seconds;
+        amountCents[row] = cents;
+        categoryIds[row] = categoryId;
+        locationIds[row] = locationId;
+        flags[row] = (byte) ((type == TransactionType.INCOME ? INCOME : 0)
+            | (fraudulent ? FRAUDULENT : 0)
+            | (fraudScore != null ? SCORED : 0));
+        scores[row] = fraudScore != null ? fraudScore.floatValue() : 0f;
+        size++;
+        totalCents += cents;
+        return true;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized BigDecimal averageAmount() {
+        if (size == 0) {
+            return null;
+        }
+        return BigDecimal.valueOf(totalCents, 2).divide(BigDecimal.valueOf(size), 10, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Scans the rows; {@link AmountStatisticsStore} keeps these up to date for hot users.
+     */
+    @Override
+    public synchronized RunningStatistics amountStatistics(String category, Duration halfLife) {
+        RunningStatistics statistics = new RunningStatistics(halfLife);
+        short categoryId = -1;
+        if (category != null) {
+            Short id = categoryDictionary.get(category);
+            if (id == null) {
+                return statistics;
+            }
+            categoryId = id;
+        }
+        for (int i = 0; i < size; i++) {
+            if (categoryId < 0 || categoryIds[i] == categoryId) {
+                statistics.add(BigDecimal.valueOf(amountCents[i], 2),
+                    LocalDateTime.ofEpochSecond(epochSeconds[i], 0, ZoneOffset.UTC));
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public synchronized long countBetween(LocalDateTime from, LocalDateTime to) {
+        long fromSeconds = from.toEpochSecond(ZoneOffset.UTC);
+        long toSeconds = to.toEpochSecond(ZoneOffset.UTC);
+        if (toSeconds < fromSeconds) {
+            return 0;
+        }
+        return upperBound(toSeconds) - lowerBound(fromSeconds);
+    }
+
+    @Override
+    public synchronized LocalDateTime latestTransactionDate() {
+        return size == 0 ? null : LocalDateTime.ofEpochSecond(epochSeconds[size - 1], 0, ZoneOffset.UTC);
+    }
+
+    @Override
+    public synchronized String latestLocation() {
+        return size == 0 || locationIds[size - 1] < 0 ? null : locations[locationIds[size - 1]];
+    }
+
+    @Override
+    public synchronized boolean hasCategory(String category) {
+        return categoryDictionary.containsKey(category);
+    }
+
+    /**
+     * Descriptions are not kept in columns: most are distinct, so they would cost more
+     * than every other column together. {@link FraudDetectionService} asks the database
+     * instead, behind {@link NoveltyFilterStore} when novelty filters are enabled.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean hasMerchant(String merchant) {
+        throw new UnsupportedOperationException("Merchants are not kept in transaction columns");
+    }
+
+    @Override
+    public synchronized boolean hasLocation(String location) {
+        return locationDictionary.containsKey(location);
+    }
+
+    /**
+     * Feeds every row into a {@link DailyLedgerIndex}, one transaction at a time.
+     */
+    public synchronized DailyLedgerIndex toLedgerIndex() {
+        DailyLedgerIndex index = new DailyLedgerIndex();
+        for (int i = 0; i < size; i++) {
+            boolean scored = (flags[i] & SCORED) != 0;
+            index.add(Math.floorDiv(epochSeconds[i], 86_400L),
+                (flags[i] & INCOME) != 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                categories[categoryIds[i]],
+                amountCents[i],
+                1,
+                (flags[i] & FRAUDULENT) != 0 ? 1 : 0,
+                scored ? scores[i] : 0.0,
+                scored ? 1 : 0);
+        }
+        return index;
+    }
+
+    // First row with epochSeconds >= seconds
+    private int lowerBound(long seconds) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochSeconds[mid] < seconds) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First row with epochSeconds > seconds
+    private int upperBound(long seconds) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochSeconds[mid] <= seconds) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private short encode(String value, Map<String, Short> dictionary, boolean category) {
+        Short id = dictionary.get(value);
+        if (id != null) {
+            return id;
+        }
+        int next = dictionary.size();
+        if (next > Short.MAX_VALUE) {
+            return -1;
+        }
+        if (category) {
+            if (next == categories.length) {
+                categories = Arrays.copyOf(categories, next * 2);
+            }
+            categories[next] = value;
+        } else {
+            if (next == locations.length) {
+                locations = Arrays.copyOf(locations, next * 2);
+            }
+            locations[next] = value;
+        }
+        dictionary.put(value, (short) next);
+        return (short) next;
+    }
+
+    private void grow() {
+        int capacity = epochSeconds.length * 2;
+        epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+        amountCents = Arrays.copyOf(amountCents, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        locationIds = Arrays.copyOf(locationIds, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+    }
+}
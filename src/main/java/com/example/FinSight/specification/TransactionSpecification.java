@@ -7,15 +7,15 @@ import java.util.List;
 import org.springframework.data.jpa.domain.Specification;
 
 import com.example.FinSight.model.Transaction;
-import com.example.FinSight.model.User;
+import com.example.FinSight.model.TransactionType;
 
 import jakarta.persistence.criteria.Predicate;
 
 public class TransactionSpecification {
     
     public static Specification<Transaction> withFilters(
-            User user,
-            String type,
+            Long userId,
+            TransactionType type,
             String category,
             LocalDateTime startDate,
             LocalDateTime endDate,
@@ -25,10 +25,10 @@ public class TransactionSpecification {
             List<Predicate> predicates = new ArrayList<>();
             
             // Always filter by user
-            predicates.add(criteriaBuilder.equal(root.get("user"), user));
+            predicates.add(criteriaBuilder.equal(root.get("user").get("id"), userId));
             
             // Filter by type
-            if (type != null && !type.isEmpty()) {
+            if (type != null) {
                 predicates.add(criteriaBuilder.equal(root.get("type"), type));
             }
             
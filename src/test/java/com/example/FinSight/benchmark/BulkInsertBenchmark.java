@@ -0,0 +1,109 @@
+package com.example.FinSight.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.FinSight.FinSightApplication;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+
+/**
+ * Bulk-insert throughput of {@code transactionRepository.saveAll}.
+ * 
+ * {@code batchSize=1} reproduces the old behaviour, where identity columns forced
+ * one statement round trip per row; the larger sizes show the pooled-lo sequence
+ * ids letting Hibernate group the inserts into JDBC batches.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate transactionTemplate;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(FinSightApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.com.example.FinSight=WARN")
+            .run();
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        
+        User benchmarkUser = new User();
+        benchmarkUser.setUsername("bench");
+        benchmarkUser.setEmail("bench@example.com");
+        benchmarkUser.setPassword("password");
+        benchmarkUser.setCreatedAt(LocalDateTime.now());
+        user = context.getBean(UserRepository.class).save(benchmarkUser);
+    }
+
+    @Setup(Level.Iteration)
+    public void clearTransactions() {
+        transactionRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int saveAll() {
+        List<Transaction> batch = new ArrayList<>(ROWS);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            Transaction txn = new Transaction();
+            txn.setUser(user);
+            txn.setAmount(BigDecimal.valueOf(10 + i % 200));
+            txn.setType(i % 20 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            txn.setCategory("groceries");
+            txn.setDescription("Bench " + i);
+            txn.setLocation("Bench Location");
+            txn.setTransactionDate(now.minusMinutes(i));
+            txn.setCreatedAt(now);
+            batch.add(txn);
+        }
+        return transactionTemplate.execute(status -> transactionRepository.saveAll(batch).size());
+    }
+}
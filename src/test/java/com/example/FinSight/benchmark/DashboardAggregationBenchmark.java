@@ -0,0 +1,200 @@
+package com.example.FinSight.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.FinSight.dto.DailyTransactionAggregate;
+import com.example.FinSight.dto.DashboardSummary;
+import com.example.FinSight.dto.TimeSeriesPoint;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.service.DailyLedgerIndex;
+
+/**
+ * Dashboard aggregation over an in-memory transaction list.
+ * 
+ * {@code streams} is the previous multi-pass implementation of
+ * {@code DashboardService.getSummary}, kept here verbatim as the baseline.
+ * {@code ledgerBuild} groups the transactions into the daily aggregates the
+ * repository query returns and builds a {@link DailyLedgerIndex} from them, as a
+ * cache miss does; {@code ledger} answers the range from an already built index, as
+ * a cache hit does. Run with {@code -prof gc} to compare allocation rates as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardAggregationBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "groceries", "dining", "transport", "utilities", "entertainment",
+        "shopping", "healthcare", "travel", "salary", "freelance"
+    };
+
+    @Param({"1000", "100000"})
+    public int transactions;
+
+    private List<Transaction> data;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<DailyTransactionAggregate> aggregates;
+    private DailyLedgerIndex index;
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        data = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            Transaction txn = new Transaction();
+            boolean income = random.nextInt(10) == 0;
+            txn.setType(income ? TransactionType.INCOME : TransactionType.EXPENSE);
+            txn.setCategory(CATEGORIES[income ? 8 + random.nextInt(2) : random.nextInt(8)]);
+            txn.setAmount(BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+            txn.setTransactionDate(now.minusMinutes(random.nextInt(365 * 24 * 60)));
+            txn.setFraudScore(random.nextInt(4) == 0 ? null : random.nextDouble() * 100);
+            txn.setFraudulent(random.nextInt(50) == 0);
+            data.add(txn);
+        }
+        startDate = now.toLocalDate().minusDays(180);
+        endDate = now.toLocalDate();
+        aggregates = dailyAggregates(data);
+        index = DailyLedgerIndex.build(aggregates);
+    }
+
+    @Benchmark
+    public DashboardSummary streams() {
+        return LegacyAggregation.summarize(data, startDate, endDate);
+    }
+
+    @Benchmark
+    public DashboardSummary ledgerBuild() {
+        return DailyLedgerIndex.build(aggregates).summarize(startDate, endDate);
+    }
+
+    @Benchmark
+    public DashboardSummary ledger() {
+        return index.summarize(startDate, endDate);
+    }
+
+    // What TransactionRepository.findDailyAggregatesByUserId groups in SQL
+    private static List<DailyTransactionAggregate> dailyAggregates(List<Transaction> transactions) {
+        Map<List<Object>, DailyTransactionAggregate> groups = new HashMap<>();
+        for (Transaction t : transactions) {
+            LocalDate day = t.getTransactionDate().toLocalDate();
+            DailyTransactionAggregate group = groups.computeIfAbsent(List.of(day, t.getType(), t.getCategory()),
+                key -> new DailyTransactionAggregate(day, t.getType(), t.getCategory(), BigDecimal.ZERO, 0L, 0L, 0.0, 0L));
+            group.setAmount(group.getAmount().add(t.getAmount()));
+            group.setTransactionCount(group.getTransactionCount() + 1);
+            if (t.isFraudulent()) {
+                group.setFlaggedCount(group.getFlaggedCount() + 1);
+            }
+            if (t.getFraudScore() != null) {
+                group.setFraudScoreSum(group.getFraudScoreSum() + t.getFraudScore());
+                group.setFraudScoreCount(group.getFraudScoreCount() + 1);
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * The stream-based aggregation DashboardService used before the daily ledger.
+     */
+    static final class LegacyAggregation {
+
+        static DashboardSummary summarize(List<Transaction> allTransactions, LocalDate startDate, LocalDate endDate) {
+            List<Transaction> transactions = filterByDateRange(allTransactions, startDate, endDate);
+            BigDecimal totalIncome = sumByType(transactions, TransactionType.INCOME);
+            BigDecimal totalExpenses = sumByType(transactions, TransactionType.EXPENSE);
+            return new DashboardSummary(
+                totalIncome,
+                totalExpenses,
+                totalIncome.subtract(totalExpenses),
+                transactions.stream().filter(Transaction::isFraudulent).count(),
+                averageFraudScore(transactions),
+                spendingByCategory(transactions),
+                transactions.stream()
+                    .filter(Transaction::isFraudulent)
+                    .collect(Collectors.groupingBy(Transaction::getCategory, Collectors.counting())),
+                spendingTrends(transactions)
+            );
+        }
+
+        private static List<Transaction> filterByDateRange(List<Transaction> transactions, LocalDate startDate, LocalDate endDate) {
+            if (startDate == null && endDate == null) {
+                return transactions;
+            }
+            LocalDateTime start = startDate != null ? startDate.atStartOfDay() : LocalDateTime.MIN;
+            LocalDateTime end = endDate != null ? endDate.atTime(23, 59, 59) : LocalDateTime.MAX;
+            return transactions.stream()
+                .filter(t -> !t.getTransactionDate().isBefore(start) && !t.getTransactionDate().isAfter(end))
+                .collect(Collectors.toList());
+        }
+
+        private static BigDecimal sumByType(List<Transaction> transactions, TransactionType type) {
+            return transactions.stream()
+                .filter(t -> t.getType() == type)
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+
+        private static Double averageFraudScore(List<Transaction> transactions) {
+            if (transactions.isEmpty()) {
+                return 0.0;
+            }
+            double sum = transactions.stream()
+                .filter(t -> t.getFraudScore() != null)
+                .mapToDouble(Transaction::getFraudScore)
+                .sum();
+            long count = transactions.stream()
+                .filter(t -> t.getFraudScore() != null)
+                .count();
+            if (count == 0) {
+                return 0.0;
+            }
+            return BigDecimal.valueOf(sum / count).setScale(2, RoundingMode.HALF_UP).doubleValue();
+        }
+
+        private static Map<String, BigDecimal> spendingByCategory(List<Transaction> transactions) {
+            Map<String, BigDecimal> spendingByCategory = new HashMap<>();
+            transactions.stream()
+                .filter(t -> t.getType() == TransactionType.EXPENSE)
+                .forEach(t -> spendingByCategory.merge(t.getCategory(), t.getAmount(), BigDecimal::add));
+            return spendingByCategory;
+        }
+
+        private static List<TimeSeriesPoint> spendingTrends(List<Transaction> transactions) {
+            Map<LocalDate, BigDecimal> trendMap = new HashMap<>();
+            transactions.stream()
+                .filter(t -> t.getType() == TransactionType.EXPENSE)
+                .forEach(t -> trendMap.merge(t.getTransactionDate().toLocalDate(), t.getAmount(), BigDecimal::add));
+            return trendMap.entrySet().stream()
+                .map(entry -> new TimeSeriesPoint(entry.getKey(), entry.getValue()))
+                .sorted((a, b) -> a.getDate().compareTo(b.getDate()))
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.FinSight.benchmark;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.datasketches.kll.KllDoublesSketch;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.example.FinSight.dto.FraudRuleStatistics;
+import com.example.FinSight.dto.TransactionRequest;
+import com.example.FinSight.model.RiskLevel;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.service.AmountStatisticsStore;
+import com.example.FinSight.service.EventTimelineStore;
+import com.example.FinSight.service.FraudDetectionResult;
+import com.example.FinSight.service.FraudDetectionService;
+import com.example.FinSight.service.FraudRuleLoader;
+import com.example.FinSight.service.FraudRuleMetrics;
+import com.example.FinSight.service.Gazetteer;
+import com.example.FinSight.service.NoveltyFilterStore;
+import com.example.FinSight.service.TransactionColumnStore;
+import com.example.FinSight.service.UserCommitLocks;
+
+/**
+ * Replays a transaction stream through {@link FraudDetectionService} end to end, with
+ * {@link InMemoryRepositories} in place of the database, and reports throughput, latency
+ * quantiles, per-rule hit rates and which transactions were flagged.
+ *
+ * Each transaction is scored, saved, and recorded by the novelty, amount statistics,
+ * column and event-time stores in a simulated database transaction that commits, as
+ * {@code TransactionService} does; with event-time scoring the transactions after a
+ * back-dated one are re-scored. Every replay starts from empty stores and the rules are
+ * evaluated in full, so the same stream and rules always flag the same transactions.
+ *
+ * At speed 0 transactions are replayed back to back; otherwise the stream's
+ * transaction dates are followed at {@code speed} times real time, and end-to-end
+ * latency is measured from when each transaction was due, so falling behind shows up
+ * in it. Run from the command line with
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.FinSight.benchmark.FraudReplay \
+ *     -Dexec.args="stream.ndjson --speed=3600 --rules=classpath:fraud-rules-candidate.yml"
+ * </pre>
+ * where the stream may also be {@code generate:seed:users:transactionsPerUser}.
+ */
+public final class FraudReplay {
+
+    private static final Gazetteer GAZETTEER =
+        new Gazetteer(new DefaultResourceLoader(), "classpath:gazetteer.csv", 50, 100_000);
+
+    private final String rulesLocation;
+    private final boolean eventTime;
+
+    /**
+     * @param rulesLocation Fraud rule document, e.g. {@code classpath:fraud-rules.yml}
+     * @param eventTime Whether to score in event time, see {@code finsight.fraud.event-time.enabled}
+     */
+    public FraudReplay(String rulesLocation, boolean eventTime) {
+        this.rulesLocation = rulesLocation;
+        this.eventTime = eventTime;
+    }
+
+    /**
+     * @param stream Transactions in arrival order
+     * @param speed Multiple of real time to follow transaction dates at, 0 for as fast as possible
+     */
+    public Report replay(List<TransactionRequest> stream, double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Speed must not be negative");
+        }
+        InMemoryRepositories repositories = new InMemoryRepositories();
+        FraudRuleMetrics metrics = new FraudRuleMetrics();
+        FraudRuleLoader loader = new FraudRuleLoader(new DefaultResourceLoader(), metrics, GAZETTEER, rulesLocation);
+        TransactionColumnStore columnStore = new TransactionColumnStore(repositories.transactions(), 3,
+            Duration.ofMinutes(10), 5_000_000, Duration.ofMinutes(30));
+        EventTimelineStore timelineStore =
+            new EventTimelineStore(repositories.transactions(), eventTime, 100, 5_000_000, Duration.ofMinutes(30));
+        UserCommitLocks userCommitLocks = new UserCommitLocks(Duration.ofSeconds(10));
+        NoveltyFilterStore noveltyFilterStore = new NoveltyFilterStore(repositories.noveltyFilters(),
+            repositories.transactions(), userCommitLocks, true, true, 0.01, 100_000, Duration.ofMinutes(30));
+        AmountStatisticsStore amountStatisticsStore = new AmountStatisticsStore(repositories.amountStatistics(),
+            repositories.transactions(), userCommitLocks, true, Duration.ofDays(30), 100_000, Duration.ofMinutes(30));
+        FraudDetectionService fraudDetectionService = new FraudDetectionService(repositories.transactions(),
+            columnStore, timelineStore, noveltyFilterStore, amountStatisticsStore, loader, true, false, 1, 1, Duration.ZERO);
+
+        Report report = new Report(loader.current().getVersion());
+        Map<Long, User> users = new HashMap<>();
+        // Ids are assigned in arrival order from 1, so a transaction's id is its position + 1
+        List<Transaction> saved = new ArrayList<>(stream.size());
+        LocalDateTime firstDate = stream.isEmpty() ? null : stream.get(0).getTransactionDate();
+
+        long started = System.nanoTime();
+        long due = started;
+        for (TransactionRequest request : stream) {
+            if (speed > 0) {
+                // Back-dated transactions are due on arrival, right after the one before
+                long offset = Duration.between(firstDate, request.getTransactionDate()).toNanos();
+                due = Math.max(due, started + (long) (offset / speed));
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                due = System.nanoTime();
+            }
+
+            Transaction transaction = toTransaction(request, users);
+            long scoring = System.nanoTime();
+            FraudDetectionResult result = fraudDetectionService.analyzeTransaction(transaction);
+            report.scoringMicros.update((System.nanoTime() - scoring) / 1_000.0);
+            apply(transaction, result);
+
+            inTransaction(() -> {
+                repositories.transactions().save(transaction);
+                noveltyFilterStore.record(transaction);
+                amountStatisticsStore.record(transaction);
+                columnStore.recordInsert(transaction);
+                timelineStore.recordInsert(transaction);
+            });
+            saved.add(transaction);
+
+            for (Long id : fraudDetectionService.findEventTimeNeighbours(transaction)) {
+                Transaction neighbour = saved.get((int) (id - 1));
+                apply(neighbour, fraudDetectionService.rescore(neighbour, transaction));
+                report.rescored++;
+            }
+            report.endToEndMicros.update((System.nanoTime() - due) / 1_000.0);
+        }
+        report.elapsedNanos = System.nanoTime() - started;
+
+        for (int i = 0; i < saved.size(); i++) {
+            Transaction transaction = saved.get(i);
+            report.riskLevels.merge(transaction.getRiskLevel(), 1L, Long::sum);
+            if (transaction.isFraudulent()) {
+                report.flagged.add(i);
+            }
+        }
+        report.rules = metrics.getStatistics().getRules();
+        return report;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: FraudReplay <stream.ndjson | generate:seed:users:perUser> "
+                + "[--speed=N] [--rules=location] [--event-time]");
+            System.exit(2);
+        }
+        double speed = 0;
+        String rules = "classpath:fraud-rules.yml";
+        boolean eventTime = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--speed=")) {
+                speed = Double.parseDouble(args[i].substring("--speed=".length()));
+            } else if (args[i].startsWith("--rules=")) {
+                rules = args[i].substring("--rules=".length());
+            } else if (args[i].equals("--event-time")) {
+                eventTime = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        List<TransactionRequest> stream;
+        if (args[0].startsWith("generate:")) {
+            String[] parts = args[0].split(":");
+            stream = ReplayStreams.generate(Long.parseLong(parts[1]), Integer.parseInt(parts[2]),
+                Integer.parseInt(parts[3]));
+        } else {
+            stream = ReplayStreams.read(Path.of(args[0]));
+        }
+        System.out.println(new FraudReplay(rules, eventTime).replay(stream, speed));
+    }
+
+    private static Transaction toTransaction(TransactionRequest request, Map<Long, User> users) {
+        User user = users.computeIfAbsent(request.getUserId(), id -> {
+            User created = new User();
+            created.setId(id);
+            created.setUsername("replay-" + id);
+            return created;
+        });
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(request.getAmount());
+        transaction.setType(request.getType() == null ? null
+            : TransactionType.valueOf(request.getType().toUpperCase(Locale.ROOT)));
+        transaction.setCategory(request.getCategory());
+        transaction.setDescription(request.getDescription());
+        transaction.setLocation(request.getLocation());
+        transaction.setTransactionDate(request.getTransactionDate());
+        // Replayed streams are deterministic, so creation follows the stream not the clock
+        transaction.setCreatedAt(request.getTransactionDate());
+        return transaction;
+    }
+
+    private static void apply(Transaction transaction, FraudDetectionResult result) {
+        transaction.setFraudulent(result.isFraudulent());
+        transaction.setFraudScore(result.getFraudScore());
+        transaction.setShortCircuited(!result.isComplete());
+        transaction.setRiskLevel(result.getRiskLevel());
+        transaction.setFraudRuleVersion(result.getRuleVersion());
+    }
+
+    // Runs the writes with transaction synchronization active, then completes it as committed
+    private static void inTransaction(Runnable writes) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writes.run();
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Outcome of one replay. Latencies are in microseconds.
+     */
+    public static final class Report {
+
+        // Histogram bucket bounds: 1, 2, 4, ... 2^20 microseconds
+        private static final double[] BUCKETS = new double[21];
+
+        static {
+            for (int i = 0; i < BUCKETS.length; i++) {
+                BUCKETS[i] = 1L << i;
+            }
+        }
+
+        private final String ruleVersion;
+        private final KllDoublesSketch scoringMicros = KllDoublesSketch.newHeapInstance(400);
+        private final KllDoublesSketch endToEndMicros = KllDoublesSketch.newHeapInstance(400);
+        private final SortedSet<Integer> flagged = new TreeSet<>();
+        private final Map<RiskLevel, Long> riskLevels = new EnumMap<>(RiskLevel.class);
+        private List<FraudRuleStatistics> rules = List.of();
+        private long elapsedNanos;
+        private long rescored;
+
+        private Report(String ruleVersion) {
+            this.ruleVersion = ruleVersion;
+        }
+
+        public String getRuleVersion() {
+            return ruleVersion;
+        }
+
+        public long getTransactions() {
+            return scoringMicros.getN();
+        }
+
+        public Duration getElapsed() {
+            return Duration.ofNanos(elapsedNanos);
+        }
+
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : getTransactions() * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * @param rank Quantile rank in [0, 1]
+         */
+        public double scoringLatency(double rank) {
+            return scoringMicros.isEmpty() ? 0 : scoringMicros.getQuantile(rank);
+        }
+
+        public double endToEndLatency(double rank) {
+            return endToEndMicros.isEmpty() ? 0 : endToEndMicros.getQuantile(rank);
+        }
+
+        /**
+         * @return Positions in the stream of the transactions left flagged as fraudulent
+         */
+        public SortedSet<Integer> getFlagged() {
+            return Collections.unmodifiableSortedSet(flagged);
+        }
+
+        public Map<RiskLevel, Long> getRiskLevels() {
+            return Collections.unmodifiableMap(riskLevels);
+        }
+
+        /**
+         * @return Evaluation counters per rule, sorted by rule name
+         */
+        public List<FraudRuleStatistics> getRules() {
+            return rules;
+        }
+
+        /**
+         * @return Share of evaluations of the rule that triggered, 0 if it never ran
+         */
+        public double hitRate(String rule) {
+            for (FraudRuleStatistics statistics : rules) {
+                if (statistics.getRule().equals(rule) && statistics.getEvaluated() > 0) {
+                    return (double) statistics.getTriggered() / statistics.getEvaluated();
+                }
+            }
+            return 0;
+        }
+
+        /**
+         * @return Re-scorings of later transactions after back-dated arrivals
+         */
+        public long getRescored() {
+            return rescored;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format(Locale.ROOT, "Rules %s: %d transactions in %d ms, %.0f/s, %d re-scored%n",
+                ruleVersion, getTransactions(), getElapsed().toMillis(), getThroughput(), rescored));
+            text.append(String.format(Locale.ROOT,
+                "Scoring latency (us):    p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                scoringLatency(0.5), scoringLatency(0.9), scoringLatency(0.99), scoringLatency(0.999),
+                scoringLatency(1.0)));
+            text.append(String.format(Locale.ROOT,
+                "End-to-end latency (us): p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                endToEndLatency(0.5), endToEndLatency(0.9), endToEndLatency(0.99), endToEndLatency(0.999),
+                endToEndLatency(1.0)));
+            if (!scoringMicros.isEmpty()) {
+                text.append("Scoring latency histogram:\n");
+                double[] shares = scoringMicros.getPMF(BUCKETS);
+                for (int i = 0; i < shares.length; i++) {
+                    long count = Math.round(shares[i] * getTransactions());
+                    if (count > 0) {
+                        String bound = i < BUCKETS.length ? "< " + (long) BUCKETS[i] : ">= " + (long) BUCKETS[i - 1];
+                        text.append(String.format(Locale.ROOT, "  %10s us %8d%n", bound, count));
+                    }
+                }
+            }
+            text.append("Rules (triggered / evaluated):\n");
+            for (FraudRuleStatistics rule : rules) {
+                text.append(String.format(Locale.ROOT, "  %-26s %7d / %7d  %5.1f%%%n", rule.getRule(),
+                    rule.getTriggered(), rule.getEvaluated(), hitRate(rule.getRule()) * 100));
+            }
+            text.append("Risk levels: ").append(riskLevels).append('\n');
+            text.append("Flagged: ").append(flagged.size()).append(' ').append(flagged);
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.FinSight.benchmark;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.FinSight.dto.FraudRuleStatistics;
+import com.example.FinSight.dto.TransactionRequest;
+
+@DisplayName("Fraud Replay Tests")
+class FraudReplayTest {
+
+    private static final String LIVE_RULES = "classpath:fraud-rules.yml";
+    private static final String CANDIDATE_RULES = "classpath:fraud-rules-candidate.yml";
+
+    @Test
+    @DisplayName("Should flag the same transactions on every replay of a stream")
+    void shouldBeDeterministic() {
+        List<TransactionRequest> stream = ReplayStreams.generate(44, 20, 60);
+
+        FraudReplay.Report first = new FraudReplay(LIVE_RULES, false).replay(stream, 0);
+        FraudReplay.Report second = new FraudReplay(LIVE_RULES, false).replay(stream, 0);
+
+        assertThat(first.getTransactions()).isEqualTo(1200);
+        assertThat(first.getFlagged()).isNotEmpty().isEqualTo(second.getFlagged());
+        assertThat(first.getRiskLevels()).isEqualTo(second.getRiskLevels());
+        assertThat(triggered(first)).isEqualTo(triggered(second));
+        assertThat(first.getThroughput()).isPositive();
+        assertThat(first.scoringLatency(0.99)).isGreaterThanOrEqualTo(first.scoringLatency(0.5));
+    }
+
+    @Test
+    @DisplayName("Should replay a recorded NDJSON stream exactly like the generated one")
+    void shouldReplayRecordedStream(@TempDir Path directory) {
+        List<TransactionRequest> stream = ReplayStreams.generate(7, 5, 40);
+        Path file = directory.resolve("stream.ndjson");
+        ReplayStreams.write(stream, file);
+
+        List<TransactionRequest> recorded = ReplayStreams.read(file);
+
+        assertThat(recorded).hasSameSizeAs(stream);
+        assertThat(recorded.get(3).getTransactionDate()).isEqualTo(stream.get(3).getTransactionDate());
+        assertThat(recorded.get(3).getAmount()).isEqualByComparingTo(stream.get(3).getAmount());
+        assertThat(new FraudReplay(LIVE_RULES, false).replay(recorded, 0).getFlagged())
+            .isEqualTo(new FraudReplay(LIVE_RULES, false).replay(stream, 0).getFlagged());
+    }
+
+    @Test
+    @DisplayName("Should report hit rates for every enabled rule")
+    void shouldReportHitRates() {
+        FraudReplay.Report report = new FraudReplay(LIVE_RULES, false).replay(ReplayStreams.generate(3, 10, 50), 0);
+
+        assertThat(report.getRuleVersion()).isEqualTo("1");
+        assertThat(report.getRules()).extracting(FraudRuleStatistics::getRule)
+            .contains("high amount anomaly", "rapid-fire activity", "geo-velocity", "unusual category");
+        for (FraudRuleStatistics rule : report.getRules()) {
+            assertThat(rule.getEvaluated()).isEqualTo(500);
+            assertThat(rule.getFailed()).isZero();
+        }
+        assertThat(report.hitRate("rapid-fire activity")).isPositive();
+        assertThat(report.hitRate("unusual category")).isPositive();
+        assertThat(report.toString()).contains("Scoring latency histogram", "rapid-fire");
+    }
+
+    @Test
+    @DisplayName("Should compare live and candidate rules on the same stream")
+    void shouldCompareRuleSets() {
+        List<TransactionRequest> stream = ReplayStreams.generate(11, 10, 50);
+
+        FraudReplay.Report live = new FraudReplay(LIVE_RULES, false).replay(stream, 0);
+        FraudReplay.Report candidate = new FraudReplay(CANDIDATE_RULES, false).replay(stream, 0);
+
+        assertThat(candidate.getRuleVersion()).isNotEqualTo(live.getRuleVersion());
+        assertThat(candidate.getRules()).extracting(FraudRuleStatistics::getRule)
+            .contains("decayed amount z-score", "unusual merchant", "unusual location")
+            .doesNotContain("high amount anomaly");
+        assertThat(live.getTransactions()).isEqualTo(candidate.getTransactions());
+    }
+
+    @Test
+    @DisplayName("Should re-score later transactions after a back-dated arrival in event time")
+    void shouldRescoreInEventTime() {
+        List<TransactionRequest> stream = ReplayStreams.generate(5, 3, 30);
+        // A late import of an old transaction
+        TransactionRequest late = stream.get(stream.size() - 1);
+        late.setTransactionDate(stream.get(0).getTransactionDate().plusMinutes(1));
+
+        FraudReplay.Report report = new FraudReplay(LIVE_RULES, true).replay(stream, 0);
+
+        assertThat(report.getRescored()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should follow transaction dates at a fixed replay speed")
+    void shouldReplayAtFixedSpeed() {
+        List<TransactionRequest> stream = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            TransactionRequest request = ReplayStreams.generate(1, 1, 1).get(0);
+            request.setTransactionDate(LocalDateTime.of(2026, 1, 1, 12, 0).plusSeconds(i * 10L));
+            stream.add(request);
+        }
+
+        // 40 seconds of stream at 400x
+        FraudReplay.Report report = new FraudReplay(LIVE_RULES, false).replay(stream, 400);
+
+        assertThat(report.getElapsed()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(report.getTransactions()).isEqualTo(5);
+    }
+
+    private static List<Long> triggered(FraudReplay.Report report) {
+        return report.getRules().stream().map(FraudRuleStatistics::getTriggered).toList();
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.FinSight.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.FinSight.model.AmountStatistics;
+import com.example.FinSight.model.NoveltyFilter;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.TransactionRepository;
+
+/**
+ * Heap-backed stand-ins for the repositories fraud scoring reads, so a stream can be
+ * scored without a database. Only the query methods scoring and its stores call are
+ * answered, with the same results the JPQL would give; anything else throws
+ * {@link UnsupportedOperationException}. Not thread-safe.
+ */
+final class InMemoryRepositories {
+
+    private final Map<Long, UserRows> transactions = new HashMap<>();
+    private final Map<Long, NoveltyFilter> noveltyFilters = new HashMap<>();
+    private final Map<Long, Map<String, AmountStatistics>> amountStatistics = new HashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    private final TransactionRepository transactionRepository =
+        proxy(TransactionRepository.class, this::transactionQuery);
+    private final NoveltyFilterRepository noveltyFilterRepository =
+        proxy(NoveltyFilterRepository.class, this::noveltyFilterQuery);
+    private final AmountStatisticsRepository amountStatisticsRepository =
+        proxy(AmountStatisticsRepository.class, this::amountStatisticsQuery);
+
+    TransactionRepository transactions() {
+        return transactionRepository;
+    }
+
+    NoveltyFilterRepository noveltyFilters() {
+        return noveltyFilterRepository;
+    }
+
+    AmountStatisticsRepository amountStatistics() {
+        return amountStatisticsRepository;
+    }
+
+    /**
+     * @return Number of transactions saved
+     */
+    long transactionCount() {
+        return ids.get();
+    }
+
+    private Object transactionQuery(String method, Object[] args) {
+        switch (method) {
+            case "save": {
+                Transaction transaction = (Transaction) args[0];
+                transaction.setId(ids.incrementAndGet());
+                rows(transaction.getUser().getId()).add(transaction);
+                return transaction;
+            }
+            case "findTopByUserOrderByTransactionDateDesc": {
+                Map.Entry<LocalDateTime, List<Transaction>> latest = rows(user(args)).byDate.lastEntry();
+                if (latest == null) {
+                    return Optional.empty();
+                }
+                return Optional.of(latest.getValue().get(latest.getValue().size() - 1));
+            }
+            case "countByUserAndTransactionDateBetween": {
+                long count = 0;
+                for (List<Transaction> sameDate : rows(user(args)).byDate
+                        .subMap((LocalDateTime) args[1], true, (LocalDateTime) args[2], true).values()) {
+                    count += sameDate.size();
+                }
+                return count;
+            }
+            case "calculateAverageAmount": {
+                UserRows rows = rows(user(args));
+                return rows.all.isEmpty() ? null
+                    : rows.total.divide(BigDecimal.valueOf(rows.all.size()), 10, RoundingMode.HALF_UP);
+            }
+            case "findDistinctCategoriesByUser":
+                return new ArrayList<>(rows(user(args)).categories.keySet());
+            case "findDistinctDescriptionsByUser":
+                return new ArrayList<>(rows(user(args)).descriptions.keySet());
+            case "findDistinctLocationsByUser":
+                return new ArrayList<>(rows(user(args)).locations.keySet());
+            case "existsByUserAndCategory":
+                return rows(user(args)).categories.containsKey((String) args[1]);
+            case "existsByUserAndDescription":
+                return rows(user(args)).descriptions.containsKey((String) args[1]);
+            case "existsByUserAndLocation":
+                return rows(user(args)).locations.containsKey((String) args[1]);
+            case "findAmountsByUser": {
+                List<Object[]> amounts = new ArrayList<>();
+                for (Transaction transaction : rows(user(args)).sorted()) {
+                    if (args[1] == null || args[1].equals(transaction.getCategory())) {
+                        amounts.add(new Object[] {transaction.getAmount(), transaction.getTransactionDate()});
+                    }
+                }
+                return amounts;
+            }
+            case "findColumnsByUserId": {
+                List<Object[]> columns = new ArrayList<>();
+                for (Transaction t : rows((Long) args[0]).sorted()) {
+                    columns.add(new Object[] {t.getTransactionDate(), t.getAmount(), t.getType(), t.getCategory(),
+                        t.getLocation(), t.isFraudulent(), t.getFraudScore()});
+                }
+                return columns;
+            }
+            case "findEventsByUserId": {
+                List<Object[]> events = new ArrayList<>();
+                for (Transaction t : rows((Long) args[0]).all) {
+                    events.add(new Object[] {t.getId(), t.getTransactionDate(), t.getAmount(), t.getCategory(),
+                        t.getDescription(), t.getLocation()});
+                }
+                return events;
+            }
+            case "findByUserId":
+                return new ArrayList<>(rows((Long) args[0]).all);
+            default:
+                throw new UnsupportedOperationException("TransactionRepository." + method);
+        }
+    }
+
+    private Object noveltyFilterQuery(String method, Object[] args) {
+        switch (method) {
+            case "findByUserId":
+                return Optional.ofNullable(noveltyFilters.get((Long) args[0]));
+            case "save": {
+                NoveltyFilter row = (NoveltyFilter) args[0];
+                noveltyFilters.put(row.getUser().getId(), row);
+                return row;
+            }
+            default:
+                throw new UnsupportedOperationException("NoveltyFilterRepository." + method);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object amountStatisticsQuery(String method, Object[] args) {
+        switch (method) {
+            case "findByUserId":
+                return new ArrayList<>(amountStatistics.getOrDefault((Long) args[0], Map.of()).values());
+            case "saveAll": {
+                for (AmountStatistics row : (Iterable<AmountStatistics>) args[0]) {
+                    amountStatistics.computeIfAbsent(row.getUser().getId(), id -> new HashMap<>())
+                        .put(row.getCategory(), row);
+                }
+                return args[0];
+            }
+            default:
+                throw new UnsupportedOperationException("AmountStatisticsRepository." + method);
+        }
+    }
+
+    private UserRows rows(Long userId) {
+        return transactions.computeIfAbsent(userId, id -> new UserRows());
+    }
+
+    private static Long user(Object[] args) {
+        return ((User) args[0]).getId();
+    }
+
+    private static <T> T proxy(Class<T> type, Query query) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, method, args, type);
+            }
+            return query.answer(method.getName(), args == null ? new Object[0] : args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object objectMethod(Object proxy, Method method, Object[] args, Class<?> type) {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            default:
+                return "InMemory" + type.getSimpleName();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Query {
+        Object answer(String method, Object[] args);
+    }
+
+    private static final class UserRows {
+        private final List<Transaction> all = new ArrayList<>();
+        private final NavigableMap<LocalDateTime, List<Transaction>> byDate = new TreeMap<>();
+        private final Map<String, Integer> categories = new HashMap<>();
+        private final Map<String, Integer> descriptions = new HashMap<>();
+        private final Map<String, Integer> locations = new HashMap<>();
+        private BigDecimal total = BigDecimal.ZERO;
+
+        private void add(Transaction transaction) {
+            all.add(transaction);
+            byDate.computeIfAbsent(transaction.getTransactionDate(), date -> new ArrayList<>()).add(transaction);
+            count(categories, transaction.getCategory());
+            count(descriptions, transaction.getDescription());
+            count(locations, transaction.getLocation());
+            total = total.add(transaction.getAmount());
+        }
+
+        private List<Transaction> sorted() {
+            List<Transaction> sorted = new ArrayList<>(all.size());
+            byDate.values().forEach(sorted::addAll);
+            return sorted;
+        }
+
+        private static void count(Map<String, Integer> counts, String value) {
+            if (value != null) {
+                counts.merge(value, 1, Integer::sum);
+            }
+        }
+    }
+}
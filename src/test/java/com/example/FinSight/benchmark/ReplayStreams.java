@@ -0,0 +1,182 @@
+package com.example.FinSight.benchmark;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import com.example.FinSight.dto.TransactionRequest;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Transaction streams for {@link FraudReplay}: NDJSON files of {@link TransactionRequest}s,
+ * one JSON object per line, and deterministic generated streams.
+ */
+final class ReplayStreams {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    // Same mix and amount ranges as DemoDataService: 40% groceries, 15% utilities,
+    // 15% entertainment, 10% transport, 10% subscriptions, 5% salary, 5% rent
+    private static final String[] CATEGORIES = {
+        "groceries", "groceries", "groceries", "groceries",
+        "utilities", "utilities", "entertainment", "entertainment",
+        "transport", "subscriptions",
+        "salary", "rent"
+    };
+
+    private static final String[] UNUSUAL_CATEGORIES = {"jewelry", "casino", "crypto"};
+
+    // Gazetteer places, so the geo-velocity rule sees real distances
+    private static final String[] HOMES = {
+        "London", "Paris", "Berlin", "Madrid", "New York", "Chicago", "Toronto", "Sydney"
+    };
+
+    private ReplayStreams() {
+    }
+
+    /**
+     * Reads an NDJSON stream; blank lines are skipped.
+     *
+     * @throws IllegalArgumentException if a line is not a transaction request
+     */
+    static List<TransactionRequest> read(Path path) {
+        List<TransactionRequest> stream = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    stream.add(JSON.readValue(line, TransactionRequest.class));
+                } catch (JacksonException e) {
+                    throw new IllegalArgumentException("Invalid transaction on line " + lineNumber + " of " + path, e);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + path, e);
+        }
+        return stream;
+    }
+
+    static void write(List<TransactionRequest> stream, Path path) {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (TransactionRequest request : stream) {
+                writer.write(JSON.writeValueAsString(request));
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + path, e);
+        }
+    }
+
+    /**
+     * Generates a stream for users {@code 1..users} over 60 to 90 days from
+     * {@link #START}, ordered by transaction date. Like the demo data, each user gets one
+     * or two amounts over 3.5x their average, a burst of six transactions two minutes
+     * apart and one or two unusual categories; the last of the burst is also five times
+     * the average and on another continent, so it is flagged. About one other
+     * transaction in fifty is made in a different city.
+     *
+     * @param seed Same seed, same stream
+     */
+    static List<TransactionRequest> generate(long seed, int users, int transactionsPerUser) {
+        List<TransactionRequest> stream = new ArrayList<>(users * transactionsPerUser);
+        for (long userId = 1; userId <= users; userId++) {
+            stream.addAll(generateUser(new Random(seed * 1_000_003L + userId), userId, transactionsPerUser));
+        }
+        // Stable, so equal dates keep user order
+        stream.sort(Comparator.comparing(TransactionRequest::getTransactionDate));
+        return stream;
+    }
+
+    private static List<TransactionRequest> generateUser(Random random, long userId, int count) {
+        String home = HOMES[random.nextInt(HOMES.length)];
+        int days = 60 + random.nextInt(31);
+        List<TransactionRequest> transactions = new ArrayList<>(count);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < count; i++) {
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            BigDecimal amount = amount(category, random);
+            total = total.add(amount);
+            String location = random.nextInt(50) == 0 ? HOMES[random.nextInt(HOMES.length)] : home;
+            transactions.add(request(userId, amount, category, category + " " + (1 + random.nextInt(5)), location,
+                START.plusMinutes(random.nextInt(days * 24 * 60))));
+        }
+        if (count < 10) {
+            return transactions;
+        }
+
+        BigDecimal average = total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+        int high = 1 + random.nextInt(2);
+        for (int i = 0; i < high; i++) {
+            BigDecimal multiple = BigDecimal.valueOf(3.5 + random.nextDouble());
+            transactions.get(random.nextInt(count))
+                .setAmount(average.multiply(multiple).setScale(2, RoundingMode.HALF_UP));
+        }
+
+        // The last of the burst is also large and far from home, like a stolen card
+        LocalDateTime burst = START.plusMinutes(random.nextInt(days * 24 * 60));
+        TransactionRequest last = null;
+        for (int i = 0; i < 6; i++) {
+            last = transactions.get(random.nextInt(count));
+            last.setTransactionDate(burst.plusMinutes(i * 2L));
+        }
+        last.setType("EXPENSE");
+        last.setAmount(average.multiply(BigDecimal.valueOf(5)));
+        last.setLocation(home.equals("Sydney") ? "London" : "Sydney");
+
+        int unusual = 1 + random.nextInt(2);
+        for (int i = 0; i < unusual; i++) {
+            TransactionRequest request = transactions.get(random.nextInt(count));
+            request.setCategory(UNUSUAL_CATEGORIES[random.nextInt(UNUSUAL_CATEGORIES.length)]);
+            request.setType("EXPENSE");
+            request.setAmount(BigDecimal.valueOf(100 + random.nextInt(401)));
+            request.setDescription(request.getCategory());
+        }
+        return transactions;
+    }
+
+    private static BigDecimal amount(String category, Random random) {
+        return switch (category) {
+            case "groceries" -> BigDecimal.valueOf(20 + random.nextInt(131));
+            case "utilities" -> BigDecimal.valueOf(50 + random.nextInt(251));
+            case "entertainment" -> BigDecimal.valueOf(10 + random.nextInt(91));
+            case "salary" -> BigDecimal.valueOf(2000 + random.nextInt(3001));
+            case "rent" -> BigDecimal.valueOf(800 + random.nextInt(1201));
+            case "subscriptions" -> BigDecimal.valueOf(5 + random.nextInt(46));
+            case "transport" -> BigDecimal.valueOf(10 + random.nextInt(71));
+            default -> BigDecimal.valueOf(50 + random.nextInt(101));
+        };
+    }
+
+    private static TransactionRequest request(long userId, BigDecimal amount, String category, String description,
+                                              String location, LocalDateTime transactionDate) {
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(userId);
+        request.setAmount(amount);
+        request.setType(category.equals("salary") ? "INCOME" : "EXPENSE");
+        request.setCategory(category);
+        request.setDescription(description);
+        request.setLocation(location);
+        request.setTransactionDate(transactionDate);
+        return request;
+    }
+}
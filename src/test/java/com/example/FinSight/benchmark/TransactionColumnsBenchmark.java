@@ -0,0 +1,123 @@
+package com.example.FinSight.benchmark;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jol.info.GraphLayout;
+
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.service.UserTransactionColumns;
+
+/**
+ * One user's history held as {@code Transaction} entities against
+ * {@link UserTransactionColumns}.
+ *
+ * Setup prints the retained heap per transaction of both representations (measured
+ * with JOL, users and Hibernate state excluded); the benchmarks compute the fraud
+ * rule inputs for one incoming transaction from each.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.attach.allowAttachSelf")
+@State(Scope.Benchmark)
+public class TransactionColumnsBenchmark {
+
+    private static final String[] CATEGORIES = {
+        "groceries", "dining", "transport", "utilities", "entertainment",
+        "shopping", "healthcare", "travel", "salary", "freelance"
+    };
+
+    private static final String[] LOCATIONS = {
+        "London", "Paris", "Berlin", "Madrid", "Rome", "Lisbon", "Vienna", "Prague"
+    };
+
+    @Param({"1000", "100000"})
+    public int transactions;
+
+    private List<Transaction> entities;
+    private UserTransactionColumns columns;
+    private LocalDateTime now;
+
+    @Setup
+    public void generate() {
+        Random random = new Random(42);
+        now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        entities = new ArrayList<>(transactions);
+        for (int i = 0; i < transactions; i++) {
+            Transaction txn = new Transaction();
+            boolean income = random.nextInt(10) == 0;
+            txn.setType(income ? TransactionType.INCOME : TransactionType.EXPENSE);
+            txn.setCategory(CATEGORIES[income ? 8 + random.nextInt(2) : random.nextInt(8)]);
+            txn.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+            txn.setDescription("Purchase " + random.nextInt(1000));
+            txn.setAmount(BigDecimal.valueOf(100 + random.nextInt(50_000), 2));
+            txn.setTransactionDate(now.minusMinutes(transactions - i));
+            txn.setCreatedAt(txn.getTransactionDate());
+            txn.setFraudScore(random.nextInt(4) == 0 ? null : random.nextDouble() * 100);
+            txn.setFraudulent(random.nextInt(50) == 0);
+            entities.add(txn);
+        }
+
+        columns = new UserTransactionColumns(transactions);
+        for (Transaction txn : entities) {
+            columns.add(txn.getTransactionDate(), txn.getAmount(), txn.getType(), txn.getCategory(),
+                txn.getLocation(), txn.isFraudulent(), txn.getFraudScore());
+        }
+
+        System.out.printf("%n%d transactions: entities %.1f bytes/transaction, columns %.1f bytes/transaction%n",
+            transactions,
+            (double) GraphLayout.parseInstance(entities).totalSize() / transactions,
+            (double) GraphLayout.parseInstance(columns).totalSize() / transactions);
+    }
+
+    @Benchmark
+    public void entities(Blackhole blackhole) {
+        LocalDateTime from = now.minusMinutes(10);
+        BigDecimal total = BigDecimal.ZERO;
+        long recent = 0;
+        Transaction latest = null;
+        boolean known = false;
+        for (Transaction txn : entities) {
+            total = total.add(txn.getAmount());
+            if (!txn.getTransactionDate().isBefore(from) && !txn.getTransactionDate().isAfter(now)) {
+                recent++;
+            }
+            if (latest == null || txn.getTransactionDate().isAfter(latest.getTransactionDate())) {
+                latest = txn;
+            }
+            known |= "travel".equals(txn.getCategory());
+        }
+        blackhole.consume(total.divide(BigDecimal.valueOf(entities.size()), 10, RoundingMode.HALF_UP));
+        blackhole.consume(recent);
+        blackhole.consume(latest.getLocation());
+        blackhole.consume(known);
+    }
+
+    @Benchmark
+    public void columns(Blackhole blackhole) {
+        blackhole.consume(columns.averageAmount());
+        blackhole.consume(columns.countBetween(now.minusMinutes(10), now));
+        blackhole.consume(columns.latestLocation());
+        blackhole.consume(columns.hasCategory("travel"));
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.FinSight.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.FinSight.FinSightApplication;
+import com.example.FinSight.dto.TransactionResponse;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+import com.example.FinSight.service.FraudRuleLoader;
+import com.example.FinSight.service.TransactionService;
+import com.example.FinSight.specification.TransactionSpecification;
+
+/**
+ * One 10,000-row page of {@code GET /api/transactions}, loaded as managed
+ * {@code Transaction} entities and copied into responses (the old listing) against
+ * {@link TransactionService#findWithFilters}, which selects {@code TransactionRow}
+ * projections.
+ *
+ * Setup prints the heap allocated loading one page each way; run with
+ * {@code -prof gc} for the same figure per benchmark operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TransactionListingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final String[] CATEGORIES = {"groceries", "utilities", "entertainment", "transport", "rent"};
+
+    private static final String[] LOCATIONS = {"London", "Paris", "Berlin", "Madrid"};
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionService transactionService;
+    private FraudRuleLoader fraudRuleLoader;
+    private TransactionTemplate transactionTemplate;
+    private Long userId;
+    private Pageable page;
+
+    @Setup(Level.Trial)
+    public void startContext() {
+        context = new SpringApplicationBuilder(FinSightApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                "logging.level.org.hibernate.SQL=WARN",
+                "logging.level.com.example.FinSight=WARN")
+            .run();
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionService = context.getBean(TransactionService.class);
+        fraudRuleLoader = context.getBean(FraudRuleLoader.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        User benchmarkUser = new User();
+        benchmarkUser.setUsername("bench");
+        benchmarkUser.setEmail("bench@example.com");
+        benchmarkUser.setPassword("password");
+        benchmarkUser.setCreatedAt(LocalDateTime.now());
+        User user = context.getBean(UserRepository.class).save(benchmarkUser);
+        userId = user.getId();
+        page = PageRequest.of(0, ROWS, Sort.by("transactionDate").descending());
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Transaction txn = new Transaction();
+            txn.setUser(user);
+            txn.setAmount(BigDecimal.valueOf(10 + i % 200));
+            txn.setType(i % 20 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            txn.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            txn.setDescription("Merchant " + i % 50);
+            txn.setLocation(LOCATIONS[i % LOCATIONS.length]);
+            txn.setTransactionDate(now.minusMinutes(i));
+            txn.setCreatedAt(now);
+            txn.setFraudScore((double) (i % 100));
+            txn.setFraudulent(i % 100 >= 70);
+            transactions.add(txn);
+        }
+        transactionTemplate.executeWithoutResult(status -> transactionRepository.saveAll(transactions));
+
+        System.out.printf("%n%d-row page: entities %,d bytes allocated, projection %,d bytes allocated%n",
+            ROWS, allocated(this::entities), allocated(this::projection));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionResponse> entities() {
+        return transactionTemplate.execute(status -> {
+            Page<Transaction> transactions = transactionRepository.findAll(
+                TransactionSpecification.withFilters(userId, null, null, null, null, null), page);
+            List<TransactionResponse> responses = new ArrayList<>(transactions.getNumberOfElements());
+            for (Transaction t : transactions) {
+                TransactionResponse r = new TransactionResponse();
+                r.setId(t.getId());
+                r.setAmount(t.getAmount());
+                r.setType(t.getType());
+                r.setCategory(t.getCategory());
+                r.setDescription(t.getDescription());
+                r.setLocation(t.getLocation());
+                r.setTransactionDate(t.getTransactionDate());
+                r.setFraudulent(t.isFraudulent());
+                r.setFraudScore(t.getFraudScore());
+                r.setShortCircuited(t.isShortCircuited());
+                r.setFraudRuleVersion(t.getFraudRuleVersion());
+                r.setRiskLevel((t.getRiskLevel() != null ? t.getRiskLevel()
+                    : fraudRuleLoader.current().riskLevel(t.getFraudScore())).name());
+                r.setStatus(t.isFraudulent() ? "FLAGGED" : "COMPLETED");
+                responses.add(r);
+            }
+            return responses;
+        });
+    }
+
+    @Benchmark
+    public List<TransactionResponse> projection() {
+        return transactionService.findWithFilters(userId, null, null, null, null, null, page).getContent();
+    }
+
+    // Bytes this thread allocates for one page, after a few warm-up loads
+    private static long allocated(Supplier<List<TransactionResponse>> load) {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 5; i++) {
+            load.get();
+        }
+        long before = threads.getCurrentThreadAllocatedBytes();
+        if (load.get().size() != ROWS) {
+            throw new IllegalStateException("Expected a full page of " + ROWS + " rows");
+        }
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.FinSight.controller;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Fails a {@code @SpringBootTest} method when any request it makes runs more SQL
+ * statements than the budget, as counted by {@link SqlStatementCountFilter}. Only
+ * statements run inside requests count, so seeding data in the test does not.
+ *
+ * Declare the data size the budget holds at and seed that much, so that an N+1
+ * regression shows up as a count that grows with the data; the test can take the
+ * annotation as a parameter to read it.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * @return Most statements any one request may run
+     */
+    int value();
+
+    /**
+     * @return Endpoint the budget applies to, e.g. {@code "GET /api/transactions"}; every
+     *         endpoint the test calls when empty. The endpoint must be called.
+     */
+    String endpoint() default "";
+
+    /**
+     * @return Rows the test seeds for the budget to hold at
+     */
+    int dataSize() default 0;
+}
@@ -0,0 +1,72 @@
+package com.example.FinSight.controller;
+
+import java.util.List;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.example.FinSight.dto.SqlEndpointStatistics;
+import com.example.FinSight.service.SqlStatementMetrics;
+
+/**
+ * Enforces {@link QueryBudget}: resets the per-endpoint statement counts before the
+ * test method runs and checks the largest request of each endpoint afterwards.
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback,
+        ParameterResolver {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        metrics(context).clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        QueryBudget budget = budget(context);
+        List<SqlEndpointStatistics> endpoints = metrics(context).getStatistics().getEndpoints().stream()
+            .filter(endpoint -> budget.endpoint().isEmpty() || budget.endpoint().equals(endpoint.getEndpoint()))
+            .toList();
+        if (endpoints.isEmpty()) {
+            throw new AssertionError("No request to " + (budget.endpoint().isEmpty() ? "any endpoint"
+                : budget.endpoint()) + " was made");
+        }
+
+        StringBuilder overBudget = new StringBuilder();
+        for (SqlEndpointStatistics endpoint : endpoints) {
+            if (endpoint.getMaxStatements() > budget.value()) {
+                overBudget.append(String.format("%n  %s ran %d statements in one request (%.1f on average over %d)",
+                    endpoint.getEndpoint(), endpoint.getMaxStatements(), endpoint.getMeanStatements(),
+                    endpoint.getRequests()));
+            }
+        }
+        if (!overBudget.isEmpty()) {
+            throw new AssertionError("Query budget of " + budget.value() + " statements per request exceeded at data size "
+                + budget.dataSize() + ":" + overBudget);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == QueryBudget.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return budget(extensionContext);
+    }
+
+    private static QueryBudget budget(ExtensionContext context) {
+        return context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+    }
+
+    private static SqlStatementMetrics metrics(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(SqlStatementMetrics.class);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.FinSight.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.FinSight.model.FraudAlert;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.FraudAlertRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.SpendingSketchRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+import com.example.FinSight.service.SqlStatementMetrics;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:finsight-query-budget-test",
+    "finsight.sql.statement-count-header=true"
+})
+@AutoConfigureMockMvc
+@DisplayName("Query Budget Tests")
+public class QueryBudgetTest {
+
+    private static final String[] CATEGORIES = {"groceries", "utilities", "entertainment", "transport", "rent"};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SqlStatementMetrics sqlStatementMetrics;
+
+    @Autowired
+    private SpendingSketchRepository spendingSketchRepository;
+
+    @Autowired
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Autowired
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Autowired
+    private FraudAlertRepository fraudAlertRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setup() {
+        spendingSketchRepository.deleteAll();
+        noveltyFilterRepository.deleteAll();
+        amountStatisticsRepository.deleteAll();
+        fraudAlertRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setUsername("budgetuser");
+        testUser.setPassword("password");
+        testUser.setEmail("budget@example.com");
+        testUser = userRepository.save(testUser);
+    }
+
+    @Test
+    @QueryBudget(value = 3, endpoint = "GET /api/transactions", dataSize = 200)
+    @DisplayName("Should list a page of transactions in a fixed number of statements")
+    void shouldListWithinBudget(QueryBudget budget) throws Exception {
+        seed(budget.dataSize());
+
+        for (int page = 0; page < 3; page++) {
+            mockMvc.perform(get("/api/transactions")
+                    .param("userId", testUser.getId().toString())
+                    .param("page", Integer.toString(page))
+                    .param("size", "50"))
+                .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    @QueryBudget(value = 3, endpoint = "GET /api/dashboard/summary", dataSize = 200)
+    @DisplayName("Should build the dashboard summary in a fixed number of statements")
+    void shouldSummarizeWithinBudget(QueryBudget budget) throws Exception {
+        seed(budget.dataSize());
+
+        mockMvc.perform(get("/api/dashboard/summary").param("userId", testUser.getId().toString()))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown granularity or too few trend points")
+    void shouldRejectInvalidSummaryParameters() throws Exception {
+        mockMvc.perform(get("/api/dashboard/summary")
+                .param("userId", testUser.getId().toString())
+                .param("granularity", "fortnightly"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/dashboard/summary")
+                .param("userId", testUser.getId().toString())
+                .param("maxPoints", "1"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/dashboard/summary")
+                .param("userId", testUser.getId().toString())
+                .param("granularity", "week")
+                .param("maxPoints", "2"))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(value = 2, endpoint = "GET /api/fraud/alerts", dataSize = 100)
+    @DisplayName("Should list alerts with their transactions without a query per alert")
+    void shouldListAlertsWithinBudget(QueryBudget budget) throws Exception {
+        List<Transaction> transactions = seed(budget.dataSize());
+        List<FraudAlert> alerts = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            FraudAlert alert = new FraudAlert();
+            alert.setUser(testUser);
+            alert.setTransaction(transaction);
+            alert.setMessage("Unusual amount");
+            alert.setSeverity("HIGH");
+            alert.setCreatedAt(transaction.getTransactionDate());
+            alerts.add(alert);
+        }
+        fraudAlertRepository.saveAll(alerts);
+
+        mockMvc.perform(get("/api/fraud/alerts").param("userId", testUser.getId().toString()))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should return each request's statement count in a header")
+    void shouldReturnStatementCountHeader() throws Exception {
+        seed(10);
+        sqlStatementMetrics.clear();
+
+        MvcResult result = mockMvc.perform(get("/api/transactions").param("userId", testUser.getId().toString()))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        String header = result.getResponse().getHeader(SqlStatementCountFilter.HEADER);
+        assertThat(header).isNotNull();
+        assertThat(Long.parseLong(header)).isPositive();
+        assertThat(sqlStatementMetrics.getStatistics().getEndpoints())
+            .singleElement()
+            .satisfies(endpoint -> {
+                assertThat(endpoint.getEndpoint()).isEqualTo("GET /api/transactions");
+                assertThat(endpoint.getRequests()).isEqualTo(1);
+                assertThat(endpoint.getMaxStatements()).isEqualTo(Long.parseLong(header));
+            });
+    }
+
+    private List<Transaction> seed(int count) {
+        LocalDateTime start = LocalDateTime.now().minusDays(90);
+        List<Transaction> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = new Transaction();
+            transaction.setUser(testUser);
+            transaction.setAmount(BigDecimal.valueOf(10 + i % 90));
+            transaction.setType(i % 10 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transaction.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            transaction.setDescription("Merchant " + i % 20);
+            transaction.setLocation("London");
+            transaction.setTransactionDate(start.plusHours(i * 10L));
+            transaction.setCreatedAt(LocalDateTime.now());
+            transaction.setFraudScore(0.0);
+            transactions.add(transaction);
+        }
+        return transactionRepository.saveAll(transactions);
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.FinSight.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.example.FinSight.dto.LoginRequest;
+import com.example.FinSight.dto.RegisterRequest;
+import com.example.FinSight.dto.TransactionRequest;
+import com.example.FinSight.dto.UserDto;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Drives the REST API over HTTP from many threads with a mix of what the dashboard
+ * does: bursts of new transactions, dashboard summaries, paged transaction listing,
+ * alert listing and subscription detection. Each user is registered and logged in
+ * first, so they start with the demo data.
+ *
+ * Latencies after the warm-up are reported per endpoint, and the test fails on any
+ * error response or on a p99 over its {@code loadtest.slo.<endpoint>} bound. Tagged
+ * {@code load}, so it only runs with {@code mvn -Pload-test test}; the user count,
+ * thread count, duration, warm-up and bounds are all {@code -Dloadtest.*} properties.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:finsight-load-test",
+    "logging.level.com.example.FinSight=INFO",
+    "logging.level.org.hibernate.SQL=INFO"
+})
+@Tag("load")
+@DisplayName("API Load Test")
+public class ApiLoadTest {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private static final String CREATE = "POST /transactions";
+    private static final String DASHBOARD = "GET /dashboard/summary";
+    private static final String LIST = "GET /transactions";
+    private static final String ALERTS = "GET /fraud/alerts";
+    private static final String DETECT = "POST /subscriptions/detect";
+
+    private static final String[] CATEGORIES = {"groceries", "utilities", "entertainment", "transport", "subscriptions"};
+    private static final String[] LOCATIONS = {"London", "Paris", "Berlin", "New York"};
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${loadtest.users:20}")
+    private int users;
+
+    @Value("${loadtest.threads:16}")
+    private int threads;
+
+    @Value("${loadtest.duration:20s}")
+    private Duration duration;
+
+    @Value("${loadtest.warmup:5s}")
+    private Duration warmup;
+
+    @Value("${loadtest.slo.create:1s}")
+    private Duration createSlo;
+
+    @Value("${loadtest.slo.dashboard:1s}")
+    private Duration dashboardSlo;
+
+    @Value("${loadtest.slo.list:750ms}")
+    private Duration listSlo;
+
+    @Value("${loadtest.slo.alerts:750ms}")
+    private Duration alertsSlo;
+
+    @Value("${loadtest.slo.detect:1s}")
+    private Duration detectSlo;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @Test
+    @DisplayName("Should serve the mixed workload within the p99 bounds")
+    void shouldMeetLatencySlos() throws Exception {
+        List<Long> userIds = seedUsers();
+
+        // Warm-up results are thrown away: JIT, connection setup and first-touch caches
+        run(userIds, warmup, new EndpointLatencies());
+        EndpointLatencies latencies = new EndpointLatencies();
+        run(userIds, duration, latencies);
+
+        System.out.printf("Load test: %d users, %d threads, %s%n%s", users, threads, duration,
+            latencies.report(duration));
+
+        Map<String, Duration> slos = new LinkedHashMap<>();
+        slos.put(CREATE, createSlo);
+        slos.put(DASHBOARD, dashboardSlo);
+        slos.put(LIST, listSlo);
+        slos.put(ALERTS, alertsSlo);
+        slos.put(DETECT, detectSlo);
+        assertThat(latencies.totalErrors()).as("error responses").isZero();
+        assertThat(latencies.sloBreaches(slos)).as("p99 SLO breaches").isEmpty();
+    }
+
+    private List<Long> seedUsers() throws IOException, InterruptedException {
+        List<Long> userIds = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            RegisterRequest register = new RegisterRequest();
+            register.setUsername("loaduser" + i);
+            register.setEmail("loaduser" + i + "@example.com");
+            register.setPassword("password");
+            register.setFullName("Load User " + i);
+            HttpResponse<String> registered = send(post("/api/auth/register", register));
+            assertThat(registered.statusCode()).as("register status").isEqualTo(201);
+            userIds.add(JSON.readValue(registered.body(), UserDto.class).getId());
+
+            // Logging in seeds the demo data
+            LoginRequest login = new LoginRequest();
+            login.setUsername(register.getUsername());
+            login.setPassword(register.getPassword());
+            assertThat(send(post("/api/auth/login", login)).statusCode()).as("login status").isEqualTo(200);
+        }
+        return userIds;
+    }
+
+    private void run(List<Long> userIds, Duration length, EndpointLatencies latencies) throws Exception {
+        long end = System.nanoTime() + length.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        step(userIds.get(ThreadLocalRandom.current().nextInt(userIds.size())), latencies);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    // 30% create bursts, 25% dashboard, 25% listing, 15% alerts, 5% subscription detection
+    private void step(Long userId, EndpointLatencies latencies) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        if (roll < 30) {
+            for (int i = 0; i < 5; i++) {
+                timed(CREATE, post("/api/transactions", transaction(userId, random)), latencies);
+            }
+        } else if (roll < 55) {
+            timed(DASHBOARD, get("/api/dashboard/summary?userId=" + userId), latencies);
+        } else if (roll < 80) {
+            timed(LIST, get("/api/transactions?userId=" + userId + "&page=" + random.nextInt(3) + "&size=20"),
+                latencies);
+        } else if (roll < 95) {
+            timed(ALERTS, get("/api/fraud/alerts?userId=" + userId), latencies);
+        } else {
+            timed(DETECT, post("/api/subscriptions/detect", Map.of("userId", userId)), latencies);
+        }
+    }
+
+    private void timed(String endpoint, HttpRequest request, EndpointLatencies latencies)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<String> response = send(request);
+            ok = response.statusCode() / 100 == 2;
+        } catch (IOException e) {
+            ok = false;
+        }
+        latencies.record(endpoint, System.nanoTime() - start, ok);
+    }
+
+    private static TransactionRequest transaction(Long userId, ThreadLocalRandom random) {
+        String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(userId);
+        request.setAmount(BigDecimal.valueOf(5 + random.nextInt(146)));
+        request.setType("EXPENSE");
+        request.setCategory(category);
+        request.setDescription(category + " " + (1 + random.nextInt(5)));
+        request.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+        request.setTransactionDate(LocalDateTime.now().minusMinutes(random.nextInt(60)));
+        return request;
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path, Object body) {
+        return HttpRequest.newBuilder(uri(path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(JSON.writeValueAsString(body)))
+            .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.FinSight.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Response times per endpoint, recorded in microseconds into HdrHistograms with three
+ * significant digits, plus a count of failed requests. Safe to record from many threads.
+ */
+final class EndpointLatencies {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+
+    /**
+     * @param ok Whether the response was a success; failures count as errors and are
+     *           not recorded as latencies
+     */
+    void record(String endpoint, long nanos, boolean ok) {
+        Endpoint counters = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        if (ok) {
+            counters.histogram.recordValue(Math.min(Math.max(nanos / 1_000, 1), HIGHEST_MICROS));
+        } else {
+            counters.errors.increment();
+        }
+    }
+
+    Histogram histogram(String endpoint) {
+        Endpoint counters = endpoints.get(endpoint);
+        return counters == null ? new Histogram(HIGHEST_MICROS, 3) : counters.histogram.copy();
+    }
+
+    long errors(String endpoint) {
+        Endpoint counters = endpoints.get(endpoint);
+        return counters == null ? 0 : counters.errors.sum();
+    }
+
+    long totalErrors() {
+        return endpoints.values().stream().mapToLong(counters -> counters.errors.sum()).sum();
+    }
+
+    /**
+     * @param p99 Upper bound on the 99th percentile per endpoint; endpoints not listed are not checked
+     * @return One line per endpoint over its bound, or with no successful requests
+     */
+    List<String> sloBreaches(Map<String, Duration> p99) {
+        List<String> breaches = new ArrayList<>();
+        p99.forEach((endpoint, bound) -> {
+            Histogram histogram = histogram(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                breaches.add(endpoint + ": no successful requests");
+                return;
+            }
+            long actual = histogram.getValueAtPercentile(99);
+            if (actual > bound.toNanos() / 1_000) {
+                breaches.add(String.format(Locale.ROOT, "%s: p99 %.1f ms exceeds %d ms",
+                    endpoint, actual / 1_000.0, bound.toMillis()));
+            }
+        });
+        return breaches;
+    }
+
+    String report(Duration elapsed) {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+            "%-26s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        endpoints.forEach((endpoint, counters) -> {
+            Histogram histogram = counters.histogram.copy();
+            text.append(String.format(Locale.ROOT, "%-26s %8d %7d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint, histogram.getTotalCount(), counters.errors.sum(),
+                histogram.getTotalCount() * 1_000.0 / Math.max(1, elapsed.toMillis()),
+                histogram.getValueAtPercentile(50) / 1_000.0,
+                histogram.getValueAtPercentile(90) / 1_000.0,
+                histogram.getValueAtPercentile(99) / 1_000.0,
+                histogram.getValueAtPercentile(99.9) / 1_000.0,
+                histogram.getMaxValue() / 1_000.0));
+        });
+        return text.toString();
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.example.FinSight.model.AmountStatistics;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AmountStatisticsStore Tests")
+class AmountStatisticsStoreTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Mock
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionHistory history;
+
+    private final UserCommitLocks userCommitLocks = new UserCommitLocks(Duration.ofSeconds(10));
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Should backfill from transactions once and answer without further queries or writes")
+    void shouldBackfillOnce() {
+        AmountStatisticsStore store = store(true);
+        List<Object[]> columns = new ArrayList<>();
+        columns.add(new Object[] {START, new BigDecimal("10.00"), TransactionType.EXPENSE, "groceries"});
+        columns.add(new Object[] {START.plusDays(1), new BigDecimal("30.00"), TransactionType.EXPENSE, "groceries"});
+        columns.add(new Object[] {START.plusDays(2), new BigDecimal("3000.00"), TransactionType.INCOME, "salary"});
+        when(amountStatisticsRepository.findByUserId(1L)).thenReturn(List.of());
+        when(transactionRepository.findColumnsByUserId(1L)).thenReturn(columns);
+
+        TransactionHistory wrapped = store.wrap(testUser, history);
+
+        assertThat(wrapped.averageAmount()).isEqualByComparingTo("1013.3333333333");
+        RunningStatistics groceries = wrapped.amountStatistics("groceries", null);
+        assertThat(groceries.getCount()).isEqualTo(2);
+        assertThat(groceries.getMean()).isEqualTo(20.0);
+        assertThat(groceries.getVariance()).isEqualTo(200.0);
+        assertThat(wrapped.amountStatistics("travel", Duration.ofDays(30)).getCount()).isZero();
+        assertThat(wrapped.amountStatistics(null, null).getCount()).isEqualTo(3);
+
+        verify(transactionRepository, times(1)).findColumnsByUserId(1L);
+        verify(amountStatisticsRepository, never()).saveAll(any());
+        verifyNoInteractions(history);
+    }
+
+    @Test
+    @DisplayName("Should persist statistics on insert and restore them without a backfill")
+    @SuppressWarnings("unchecked")
+    void shouldPersistStatistics() {
+        AmountStatisticsStore store = store(true);
+        when(amountStatisticsRepository.findByUserId(1L)).thenReturn(List.of());
+        when(transactionRepository.findColumnsByUserId(1L)).thenReturn(List.of());
+        store.wrap(testUser, history).averageAmount();
+
+        store.record(transaction("dining", "40.00", START));
+        store.record(transaction("dining", "60.00", START.plusDays(30)));
+
+        ArgumentCaptor<List<AmountStatistics>> captor = ArgumentCaptor.forClass(List.class);
+        verify(amountStatisticsRepository, times(2)).saveAll(captor.capture());
+        List<AmountStatistics> rows = new ArrayList<>();
+        for (List<AmountStatistics> saved : captor.getAllValues()) {
+            rows.addAll(saved);
+        }
+        AmountStatistics dining = rows.stream().filter(row -> row.getCategory().equals("dining"))
+            .reduce((first, second) -> second).orElseThrow();
+        assertThat(dining.getTransactionCount()).isEqualTo(2);
+        assertThat(dining.getAmountSum()).isEqualByComparingTo("100.00");
+        assertThat(dining.getHalfLifeSeconds()).isEqualTo(Duration.ofDays(30).toSeconds());
+        AmountStatistics all = rows.stream().filter(row -> row.getCategory().isEmpty())
+            .reduce((first, second) -> second).orElseThrow();
+
+        AmountStatisticsStore restarted = store(true);
+        when(amountStatisticsRepository.findByUserId(1L)).thenReturn(List.of(all, dining));
+        RunningStatistics restored = restarted.wrap(testUser, history).amountStatistics("dining", Duration.ofDays(30));
+
+        assertThat(restored.getMean()).isEqualTo(50.0);
+        // 40.00 is one half-life older than 60.00
+        assertThat(restored.getDecayedMean()).isCloseTo(160.0 / 3, within(1e-9));
+        verify(transactionRepository, times(1)).findColumnsByUserId(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should apply an insert to the statistics only once it commits")
+    @SuppressWarnings("unchecked")
+    void shouldApplyOnCommit() {
+        AmountStatisticsStore store = store(true);
+        when(amountStatisticsRepository.findByUserId(1L)).thenReturn(List.of());
+        List<Object[]> committed = new ArrayList<>();
+        committed.add(new Object[] {START.plusDays(1), new BigDecimal("40.00"), TransactionType.EXPENSE, "dining"});
+        // The rolled-back insert never reaches the table; the committed one does
+        when(transactionRepository.findColumnsByUserId(1L)).thenReturn(List.of(), committed);
+        TransactionHistory wrapped = store.wrap(testUser, history);
+        wrapped.averageAmount();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.record(transaction("dining", "500.00", START));
+            assertThat(wrapped.amountStatistics("dining", null).getCount()).isZero();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // The next writer starts from committed state, not the rolled-back 500.00
+        store.record(transaction("dining", "40.00", START.plusDays(1)));
+
+        ArgumentCaptor<List<AmountStatistics>> captor = ArgumentCaptor.forClass(List.class);
+        verify(amountStatisticsRepository, times(2)).saveAll(captor.capture());
+        AmountStatistics dining = captor.getAllValues().get(1).stream()
+            .filter(row -> row.getCategory().equals("dining")).findFirst().orElseThrow();
+        assertThat(dining.getTransactionCount()).isEqualTo(1);
+        assertThat(dining.getAmountSum()).isEqualByComparingTo("40.00");
+        assertThat(wrapped.amountStatistics("dining", null).getMean()).isEqualTo(40.0);
+    }
+
+    @Test
+    @DisplayName("Should rebuild rows kept under another half-life")
+    void shouldRebuildOnHalfLifeChange() {
+        AmountStatistics stale = new AmountStatistics();
+        stale.setUser(testUser);
+        stale.setCategory("");
+        stale.setAmountSum(BigDecimal.ZERO);
+        stale.setHalfLifeSeconds(Duration.ofDays(7).toSeconds());
+        when(amountStatisticsRepository.findByUserId(1L)).thenReturn(List.of(stale));
+        List<Object[]> columns = new ArrayList<>();
+        columns.add(new Object[] {START, new BigDecimal("80.00"), TransactionType.EXPENSE, "dining"});
+        when(transactionRepository.findColumnsByUserId(1L)).thenReturn(columns);
+
+        assertThat(store(true).wrap(testUser, history).averageAmount()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    @DisplayName("Should leave other half-lives to the history, and everything when disabled")
+    void shouldDelegate() {
+        RunningStatistics weekly = new RunningStatistics(Duration.ofDays(7));
+        when(history.amountStatistics("dining", Duration.ofDays(7))).thenReturn(weekly);
+
+        assertThat(store(true).wrap(testUser, history).amountStatistics("dining", Duration.ofDays(7))).isSameAs(weekly);
+        assertThat(store(false).wrap(testUser, history)).isSameAs(history);
+        store(false).record(transaction("dining", "10.00", START));
+        verifyNoInteractions(amountStatisticsRepository, transactionRepository);
+        verify(history, never()).averageAmount();
+    }
+
+    @Test
+    @DisplayName("Should flag amounts unusual for their category, not for the user overall")
+    void shouldScoreAgainstCategory() {
+        AmountStatisticsStore store = store(true);
+        List<Object[]> columns = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            columns.add(new Object[] {START.plusDays(i), BigDecimal.valueOf(40 + i % 5 * 5), TransactionType.EXPENSE, "groceries"});
+            if (i % 10 == 0) {
+                columns.add(new Object[] {START.plusDays(i), new BigDecimal("3000"), TransactionType.INCOME, "salary"});
+            }
+        }
+        when(amountStatisticsRepository.findByUserId(1L)).thenReturn(List.of());
+        when(transactionRepository.findColumnsByUserId(1L)).thenReturn(columns);
+        TransactionHistory wrapped = store.wrap(testUser, history);
+        AmountZScoreRule rule = new AmountZScoreRule(30, 3, 3, Duration.ofDays(30));
+
+        // Well under 3x the overall average, which salary inflates
+        assertThat(wrapped.averageAmount()).isGreaterThan(new BigDecimal("300"));
+        assertThat(rule.isTriggered(transaction("groceries", "250.00", START.plusDays(30)), wrapped)).isTrue();
+        assertThat(rule.isTriggered(transaction("groceries", "55.00", START.plusDays(30)), wrapped)).isFalse();
+        assertThat(rule.isTriggered(transaction("salary", "3000.00", START.plusDays(30)), wrapped)).isFalse();
+    }
+
+    private AmountStatisticsStore store(boolean enabled) {
+        return new AmountStatisticsStore(amountStatisticsRepository, transactionRepository, userCommitLocks, enabled,
+            Duration.ofDays(30), 100, Duration.ofMinutes(10));
+    }
+
+    private Transaction transaction(String category, String amount, LocalDateTime date) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(testUser);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setCategory(category);
+        transaction.setTransactionDate(date);
+        return transaction;
+    }
+}
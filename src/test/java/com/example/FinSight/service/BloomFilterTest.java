@@ -0,0 +1,61 @@
+package com.example.FinSight.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should never miss an added value and stay near the false-positive rate")
+    void shouldKeepFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.withCapacity(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.add("merchant-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("merchant-" + i)).isTrue();
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isLessThan(30);
+        assertThat(filter.isOverCapacity()).isFalse();
+        assertThat(filter.sizeInBytes()).isLessThan(1300);
+    }
+
+    @Test
+    @DisplayName("Should count only values that were new to the filter")
+    void shouldCountNewValues() {
+        BloomFilter filter = BloomFilter.withCapacity(2, 0.01);
+
+        assertThat(filter.add("groceries")).isTrue();
+        assertThat(filter.add("groceries")).isFalse();
+        filter.add("dining");
+        filter.add("travel");
+
+        assertThat(filter.getCount()).isEqualTo(3);
+        assertThat(filter.isOverCapacity()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should round-trip through bytes and reject garbage")
+    void shouldSerialize() {
+        BloomFilter filter = BloomFilter.withCapacity(16, 0.01);
+        filter.add("London");
+
+        BloomFilter copy = BloomFilter.fromBytes(filter.toBytes());
+
+        assertThat(copy.mightContain("London")).isTrue();
+        assertThat(copy.getCapacity()).isEqualTo(16);
+        assertThat(copy.getCount()).isEqualTo(1);
+        assertThat(copy.toBytes()).isEqualTo(filter.toBytes());
+        assertThatThrownBy(() -> BloomFilter.fromBytes(new byte[] {1, 2, 3}))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
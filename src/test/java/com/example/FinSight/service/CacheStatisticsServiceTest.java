@@ -0,0 +1,85 @@
+package com.example.FinSight.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.FinSight.dto.CacheStatistics;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:finsight-cache-test",
+    "finsight.cache.second-level.enabled=true",
+    "finsight.cache.statistics.enabled=true"
+})
+@DisplayName("CacheStatisticsService Tests")
+public class CacheStatisticsServiceTest {
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setup() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setUsername("cacheuser");
+        testUser.setPassword("password");
+        testUser.setEmail("cache@example.com");
+        testUser = userRepository.save(testUser);
+
+        cacheStatisticsService.clear();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated user lookups from the second-level cache")
+    void shouldHitSecondLevelCacheForUserLookups() {
+        userRepository.findById(testUser.getId());
+        userRepository.findById(testUser.getId());
+
+        CacheStatistics statistics = cacheStatisticsService.getStatistics();
+
+        assertThat(statistics.isStatisticsEnabled()).isTrue();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(1);
+        assertThat(statistics.getRegions()).containsKey("users");
+        assertThat(statistics.getRegions().get("users").getHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated username queries from the query cache")
+    void shouldHitQueryCacheForUsernameLookups() {
+        userRepository.findByUsername("cacheuser");
+        userRepository.findByUsername("cacheuser");
+
+        CacheStatistics statistics = cacheStatisticsService.getStatistics();
+
+        assertThat(statistics.getQueryCachePutCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reset counters when cleared")
+    void shouldResetCountersWhenCleared() {
+        userRepository.findByUsername("cacheuser");
+
+        cacheStatisticsService.clear();
+        CacheStatistics statistics = cacheStatisticsService.getStatistics();
+
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.FinSight.dto.DailyTransactionAggregate;
+import com.example.FinSight.dto.DashboardSummary;
+import com.example.FinSight.model.TransactionType;
+
+@DisplayName("DailyLedgerIndex Tests")
+public class DailyLedgerIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 10);
+
+    @Test
+    @DisplayName("Should answer range totals from daily aggregates")
+    void shouldAnswerRangeTotals() {
+        DailyLedgerIndex index = DailyLedgerIndex.build(List.of(
+            aggregate(DAY, TransactionType.INCOME, "salary", "1000.00", 1, 0),
+            aggregate(DAY.plusDays(1), TransactionType.EXPENSE, "groceries", "40.00", 2, 0),
+            aggregate(DAY.plusDays(5), TransactionType.EXPENSE, "dining", "60.00", 1, 1),
+            aggregate(DAY.plusDays(9), TransactionType.EXPENSE, "groceries", "10.00", 1, 0)
+        ));
+
+        assertThat(index.incomeCents(null, null)).isEqualTo(100_000L);
+        assertThat(index.expenseCents(null, null)).isEqualTo(11_000L);
+        assertThat(index.expenseCents(DAY.plusDays(1), DAY.plusDays(5))).isEqualTo(10_000L);
+        assertThat(index.expenseCents(DAY.plusDays(2), DAY.plusDays(4))).isZero();
+        assertThat(index.flaggedCount(DAY.plusDays(5), null)).isEqualTo(1L);
+        assertThat(index.expenseCents(DAY.minusDays(30), DAY.minusDays(1))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should summarize categories and trends within the range")
+    void shouldSummarizeRange() {
+        DailyLedgerIndex index = DailyLedgerIndex.build(List.of(
+            aggregate(DAY, TransactionType.EXPENSE, "groceries", "40.00", 2, 0),
+            aggregate(DAY.plusDays(3), TransactionType.EXPENSE, "dining", "60.00", 1, 1),
+            aggregate(DAY.plusDays(3), TransactionType.EXPENSE, "groceries", "5.00", 1, 0)
+        ));
+
+        DashboardSummary summary = index.summarize(DAY.plusDays(1), null);
+
+        assertThat(summary.getTotalExpenses()).isEqualByComparingTo("65.00");
+        assertThat(summary.getSpendingByCategory()).containsOnlyKeys("dining", "groceries");
+        assertThat(summary.getSpendingByCategory().get("groceries")).isEqualByComparingTo("5.00");
+        assertThat(summary.getFraudByCategory()).containsExactly(Map.entry("dining", 1L));
+        assertThat(summary.getSpendingTrends()).hasSize(1);
+        assertThat(summary.getSpendingTrends().get(0).getDate()).isEqualTo(DAY.plusDays(3));
+        assertThat(summary.getSpendingTrends().get(0).getAmount()).isEqualByComparingTo("65.00");
+    }
+
+    @Test
+    @DisplayName("Should append new and back-dated days")
+    void shouldAppendDays() {
+        DailyLedgerIndex index = DailyLedgerIndex.build(List.of(
+            aggregate(DAY, TransactionType.EXPENSE, "groceries", "10.00", 1, 0)
+        ));
+
+        assertThat(index.add(DAY.plusDays(200).toEpochDay(), TransactionType.EXPENSE, "travel", 50_000L, 1, 0, 0.0, 0)).isTrue();
+        assertThat(index.add(DAY.plusDays(1).toEpochDay(), TransactionType.EXPENSE, "groceries", 2_500L, 1, 0, 0.0, 0)).isTrue();
+
+        assertThat(index.expenseCents(null, null)).isEqualTo(53_500L);
+        assertThat(index.expenseCents(DAY, DAY.plusDays(1))).isEqualTo(3_500L);
+        assertThat(index.summarize(null, null).getSpendingTrends()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should reject days before the first indexed day")
+    void shouldRejectDaysBeforeFirstDay() {
+        DailyLedgerIndex index = DailyLedgerIndex.build(List.of(
+            aggregate(DAY, TransactionType.EXPENSE, "groceries", "10.00", 1, 0)
+        ));
+
+        assertThat(index.add(DAY.minusDays(1).toEpochDay(), TransactionType.EXPENSE, "groceries", 100L, 1, 0, 0.0, 0)).isFalse();
+        assertThat(index.expenseCents(null, null)).isEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("Should return zeroed summary for an empty index")
+    void shouldHandleEmptyIndex() {
+        DashboardSummary summary = DailyLedgerIndex.build(List.of()).summarize(null, null);
+
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(summary.getAverageFraudScore()).isEqualTo(0.0);
+        assertThat(summary.getSpendingTrends()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should round amounts with more than two decimals to cents")
+    void shouldRoundAmountsToCents() {
+        DailyLedgerIndex index = DailyLedgerIndex.build(List.of(
+            aggregate(DAY, TransactionType.EXPENSE, "groceries", "12.345", 1, 0),
+            aggregate(DAY, TransactionType.INCOME, "salary", "7", 1, 0)
+        ));
+
+        assertThat(index.expenseCents(null, null)).isEqualTo(1235L);
+        assertThat(index.incomeCents(null, null)).isEqualTo(700L);
+        assertThat(index.summarize(null, null).getTotalExpenses()).isEqualByComparingTo("12.35");
+    }
+
+    private DailyTransactionAggregate aggregate(LocalDate day, TransactionType type, String category, String amount,
+                                                long count, long flagged) {
+        return new DailyTransactionAggregate(day, type, category, new BigDecimal(amount),
+            count, flagged, null, 0L);
+    }
+}
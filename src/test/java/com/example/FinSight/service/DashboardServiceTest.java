@@ -1,23 +1,35 @@
 package com.example.FinSight.service;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.example.FinSight.dto.DashboardSummary;
 import com.example.FinSight.dto.TimeSeriesPoint;
+import com.example.FinSight.dto.TransactionRequest;
+import com.example.FinSight.dto.TrendGranularity;
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.FraudAlertRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.SpendingSketchRepository;
 import com.example.FinSight.repository.TransactionRepository;
 import com.example.FinSight.repository.UserRepository;
 
@@ -25,12 +37,30 @@ import com.example.FinSight.repository.UserRepository;
 @DisplayName("DashboardService Unit Tests")
 public class DashboardServiceTest {
 
+    @Autowired
+    private ApplicationContext context;
+
     @Autowired
     private DashboardService dashboardService;
 
+    @Autowired
+    private TransactionService transactionService;
+
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private SpendingSketchRepository spendingSketchRepository;
+
+    @Autowired
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Autowired
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Autowired
+    private FraudAlertRepository fraudAlertRepository;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -38,6 +68,10 @@ public class DashboardServiceTest {
 
     @BeforeEach
     public void setup() {
+        spendingSketchRepository.deleteAll();
+        noveltyFilterRepository.deleteAll();
+        amountStatisticsRepository.deleteAll();
+        fraudAlertRepository.deleteAll();
         transactionRepository.deleteAll();
         userRepository.deleteAll();
         
@@ -56,9 +90,9 @@ public class DashboardServiceTest {
         @DisplayName("Should calculate total income correctly")
         void shouldCalculateTotalIncome() {
             // Create income transactions
-            createTransaction("INCOME", "salary", new BigDecimal("5000.00"), 10);
-            createTransaction("INCOME", "bonus", new BigDecimal("1000.00"), 5);
-            createTransaction("EXPENSE", "groceries", new BigDecimal("200.00"), 3);
+            createTransaction(TransactionType.INCOME, "salary", new BigDecimal("5000.00"), 10);
+            createTransaction(TransactionType.INCOME, "bonus", new BigDecimal("1000.00"), 5);
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("200.00"), 3);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -69,9 +103,9 @@ public class DashboardServiceTest {
         @DisplayName("Should calculate total expenses correctly")
         void shouldCalculateTotalExpenses() {
             // Create expense transactions
-            createTransaction("EXPENSE", "groceries", new BigDecimal("200.00"), 10);
-            createTransaction("EXPENSE", "utilities", new BigDecimal("150.00"), 5);
-            createTransaction("INCOME", "salary", new BigDecimal("5000.00"), 3);
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("200.00"), 10);
+            createTransaction(TransactionType.EXPENSE, "utilities", new BigDecimal("150.00"), 5);
+            createTransaction(TransactionType.INCOME, "salary", new BigDecimal("5000.00"), 3);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -82,9 +116,9 @@ public class DashboardServiceTest {
         @DisplayName("Should calculate current balance correctly")
         void shouldCalculateCurrentBalance() {
             // Create mixed transactions
-            createTransaction("INCOME", "salary", new BigDecimal("5000.00"), 10);
-            createTransaction("EXPENSE", "rent", new BigDecimal("1500.00"), 8);
-            createTransaction("EXPENSE", "groceries", new BigDecimal("300.00"), 5);
+            createTransaction(TransactionType.INCOME, "salary", new BigDecimal("5000.00"), 10);
+            createTransaction(TransactionType.EXPENSE, "rent", new BigDecimal("1500.00"), 8);
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("300.00"), 5);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -109,10 +143,10 @@ public class DashboardServiceTest {
         @Test
         @DisplayName("Should aggregate spending by category")
         void shouldAggregateSpendingByCategory() {
-            createTransaction("EXPENSE", "groceries", new BigDecimal("100.00"), 10);
-            createTransaction("EXPENSE", "groceries", new BigDecimal("150.00"), 8);
-            createTransaction("EXPENSE", "utilities", new BigDecimal("200.00"), 5);
-            createTransaction("INCOME", "salary", new BigDecimal("5000.00"), 3);
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), 10);
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("150.00"), 8);
+            createTransaction(TransactionType.EXPENSE, "utilities", new BigDecimal("200.00"), 5);
+            createTransaction(TransactionType.INCOME, "salary", new BigDecimal("5000.00"), 3);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -125,10 +159,10 @@ public class DashboardServiceTest {
         @Test
         @DisplayName("Should aggregate fraud incidents by category")
         void shouldAggregateFraudByCategory() {
-            createFraudulentTransaction("EXPENSE", "groceries", new BigDecimal("100.00"), 10, 75.0);
-            createFraudulentTransaction("EXPENSE", "groceries", new BigDecimal("150.00"), 8, 80.0);
-            createFraudulentTransaction("EXPENSE", "utilities", new BigDecimal("200.00"), 5, 85.0);
-            createTransaction("EXPENSE", "entertainment", new BigDecimal("50.00"), 3);
+            createFraudulentTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), 10, 75.0);
+            createFraudulentTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("150.00"), 8, 80.0);
+            createFraudulentTransaction(TransactionType.EXPENSE, "utilities", new BigDecimal("200.00"), 5, 85.0);
+            createTransaction(TransactionType.EXPENSE, "entertainment", new BigDecimal("50.00"), 3);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -155,9 +189,9 @@ public class DashboardServiceTest {
         @Test
         @DisplayName("Should count total flagged transactions")
         void shouldCountTotalFlaggedTransactions() {
-            createFraudulentTransaction("EXPENSE", "groceries", new BigDecimal("100.00"), 10, 75.0);
-            createFraudulentTransaction("EXPENSE", "utilities", new BigDecimal("200.00"), 8, 80.0);
-            createTransaction("EXPENSE", "entertainment", new BigDecimal("50.00"), 5);
+            createFraudulentTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), 10, 75.0);
+            createFraudulentTransaction(TransactionType.EXPENSE, "utilities", new BigDecimal("200.00"), 8, 80.0);
+            createTransaction(TransactionType.EXPENSE, "entertainment", new BigDecimal("50.00"), 5);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -167,9 +201,9 @@ public class DashboardServiceTest {
         @Test
         @DisplayName("Should calculate average fraud score")
         void shouldCalculateAverageFraudScore() {
-            createTransactionWithScore("EXPENSE", "groceries", new BigDecimal("100.00"), 10, 60.0);
-            createTransactionWithScore("EXPENSE", "utilities", new BigDecimal("200.00"), 8, 80.0);
-            createTransactionWithScore("EXPENSE", "entertainment", new BigDecimal("50.00"), 5, 70.0);
+            createTransactionWithScore(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), 10, 60.0);
+            createTransactionWithScore(TransactionType.EXPENSE, "utilities", new BigDecimal("200.00"), 8, 80.0);
+            createTransactionWithScore(TransactionType.EXPENSE, "entertainment", new BigDecimal("50.00"), 5, 70.0);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -177,6 +211,23 @@ public class DashboardServiceTest {
             assertThat(summary.getAverageFraudScore()).isEqualTo(70.0);
         }
 
+        @Test
+        @DisplayName("Should keep short-circuited scores of benign transactions in the average")
+        void shouldAverageShortCircuitedScores() {
+            createScoredTransaction("groceries", "25.00");
+            createScoredTransaction("groceries", "30.00");
+            createTransactionWithScore(TransactionType.EXPENSE, "utilities", new BigDecimal("200.00"), 8, 80.0);
+
+            DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
+
+            // Benign transactions settle before every rule runs, yet keep their score
+            List<Transaction> transactions = transactionRepository.findAll();
+            assertThat(transactions).extracting(Transaction::getFraudScore).doesNotContainNull();
+            assertThat(transactions).anyMatch(Transaction::isShortCircuited);
+            double average = transactions.stream().mapToDouble(Transaction::getFraudScore).average().orElseThrow();
+            assertThat(summary.getAverageFraudScore()).isCloseTo(average, within(0.01));
+        }
+
         @Test
         @DisplayName("Should handle zero fraud score when no transactions")
         void shouldHandleZeroFraudScoreWhenNoTransactions() {
@@ -194,9 +245,9 @@ public class DashboardServiceTest {
         @Test
         @DisplayName("Should filter transactions by date range")
         void shouldFilterTransactionsByDateRange() {
-            createTransaction("INCOME", "salary", new BigDecimal("5000.00"), 30);
-            createTransaction("EXPENSE", "groceries", new BigDecimal("200.00"), 15);
-            createTransaction("EXPENSE", "utilities", new BigDecimal("150.00"), 5);
+            createTransaction(TransactionType.INCOME, "salary", new BigDecimal("5000.00"), 30);
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("200.00"), 15);
+            createTransaction(TransactionType.EXPENSE, "utilities", new BigDecimal("150.00"), 5);
 
             LocalDate startDate = LocalDate.now().minusDays(20);
             LocalDate endDate = LocalDate.now().minusDays(10);
@@ -212,8 +263,8 @@ public class DashboardServiceTest {
         @DisplayName("Should include transactions on boundary dates")
         void shouldIncludeTransactionsOnBoundaryDates() {
             LocalDate today = LocalDate.now();
-            createTransactionOnDate("EXPENSE", "groceries", new BigDecimal("100.00"), today.minusDays(10));
-            createTransactionOnDate("EXPENSE", "utilities", new BigDecimal("150.00"), today.minusDays(5));
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), today.minusDays(10));
+            createTransactionOnDate(TransactionType.EXPENSE, "utilities", new BigDecimal("150.00"), today.minusDays(5));
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), today.minusDays(10), today.minusDays(5));
 
@@ -223,9 +274,9 @@ public class DashboardServiceTest {
         @Test
         @DisplayName("Should return all transactions when no date range specified")
         void shouldReturnAllTransactionsWhenNoDateRange() {
-            createTransaction("EXPENSE", "groceries", new BigDecimal("100.00"), 30);
-            createTransaction("EXPENSE", "utilities", new BigDecimal("150.00"), 15);
-            createTransaction("EXPENSE", "entertainment", new BigDecimal("50.00"), 5);
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), 30);
+            createTransaction(TransactionType.EXPENSE, "utilities", new BigDecimal("150.00"), 15);
+            createTransaction(TransactionType.EXPENSE, "entertainment", new BigDecimal("50.00"), 5);
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -241,9 +292,9 @@ public class DashboardServiceTest {
         @DisplayName("Should aggregate spending trends by date")
         void shouldAggregateSpendingTrendsByDate() {
             LocalDate today = LocalDate.now();
-            createTransactionOnDate("EXPENSE", "groceries", new BigDecimal("100.00"), today.minusDays(2));
-            createTransactionOnDate("EXPENSE", "utilities", new BigDecimal("150.00"), today.minusDays(2));
-            createTransactionOnDate("EXPENSE", "entertainment", new BigDecimal("50.00"), today.minusDays(1));
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), today.minusDays(2));
+            createTransactionOnDate(TransactionType.EXPENSE, "utilities", new BigDecimal("150.00"), today.minusDays(2));
+            createTransactionOnDate(TransactionType.EXPENSE, "entertainment", new BigDecimal("50.00"), today.minusDays(1));
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -269,9 +320,9 @@ public class DashboardServiceTest {
         @DisplayName("Should sort spending trends by date")
         void shouldSortSpendingTrendsByDate() {
             LocalDate today = LocalDate.now();
-            createTransactionOnDate("EXPENSE", "groceries", new BigDecimal("100.00"), today.minusDays(5));
-            createTransactionOnDate("EXPENSE", "utilities", new BigDecimal("150.00"), today.minusDays(10));
-            createTransactionOnDate("EXPENSE", "entertainment", new BigDecimal("50.00"), today.minusDays(1));
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), today.minusDays(5));
+            createTransactionOnDate(TransactionType.EXPENSE, "utilities", new BigDecimal("150.00"), today.minusDays(10));
+            createTransactionOnDate(TransactionType.EXPENSE, "entertainment", new BigDecimal("50.00"), today.minusDays(1));
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -288,8 +339,8 @@ public class DashboardServiceTest {
         @DisplayName("Should exclude income from spending trends")
         void shouldExcludeIncomeFromSpendingTrends() {
             LocalDate today = LocalDate.now();
-            createTransactionOnDate("INCOME", "salary", new BigDecimal("5000.00"), today.minusDays(5));
-            createTransactionOnDate("EXPENSE", "groceries", new BigDecimal("100.00"), today.minusDays(5));
+            createTransactionOnDate(TransactionType.INCOME, "salary", new BigDecimal("5000.00"), today.minusDays(5));
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), today.minusDays(5));
 
             DashboardSummary summary = dashboardService.getSummary(testUser.getId(), null, null);
 
@@ -297,10 +348,158 @@ public class DashboardServiceTest {
             assertThat(trends).hasSize(1);
             assertThat(trends.get(0).getAmount()).isEqualByComparingTo(new BigDecimal("100.00"));
         }
+
+        @Test
+        @DisplayName("Should bucket spending trends by month")
+        void shouldBucketSpendingTrendsByMonth() {
+            LocalDate firstOfMonth = LocalDate.now().withDayOfMonth(1);
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("100.00"), firstOfMonth.minusMonths(2));
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("40.00"), firstOfMonth.minusMonths(2).plusDays(9));
+            createTransactionOnDate(TransactionType.EXPENSE, "utilities", new BigDecimal("60.00"), firstOfMonth);
+
+            DashboardSummary summary = dashboardService.getSummary(
+                testUser.getId(), null, null, TrendGranularity.MONTH, 0);
+
+            List<TimeSeriesPoint> trends = summary.getSpendingTrends();
+            assertThat(trends).hasSize(2);
+            assertThat(trends.get(0).getDate()).isEqualTo(firstOfMonth.minusMonths(2));
+            assertThat(trends.get(0).getAmount()).isEqualByComparingTo(new BigDecimal("140.00"));
+            assertThat(trends.get(1).getDate()).isEqualTo(firstOfMonth);
+            assertThat(trends.get(1).getAmount()).isEqualByComparingTo(new BigDecimal("60.00"));
+        }
+
+        @Test
+        @DisplayName("Should bucket spending trends by ISO week")
+        void shouldBucketSpendingTrendsByWeek() {
+            LocalDate monday = LocalDate.now().with(DayOfWeek.MONDAY).minusWeeks(1);
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("10.00"), monday);
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("15.00"), monday.plusDays(6));
+            createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal("20.00"), monday.plusDays(7));
+
+            DashboardSummary summary = dashboardService.getSummary(
+                testUser.getId(), null, null, TrendGranularity.WEEK, 0);
+
+            List<TimeSeriesPoint> trends = summary.getSpendingTrends();
+            assertThat(trends).extracting(TimeSeriesPoint::getDate).containsExactly(monday, monday.plusWeeks(1));
+            assertThat(trends.get(0).getAmount()).isEqualByComparingTo(new BigDecimal("25.00"));
+        }
+
+        @Test
+        @DisplayName("Should downsample daily trends to the point limit in auto mode")
+        void shouldDownsampleInAutoMode() {
+            LocalDate today = LocalDate.now();
+            for (int i = 1; i <= 30; i++) {
+                createTransactionOnDate(TransactionType.EXPENSE, "groceries", new BigDecimal(i == 15 ? "500.00" : "10.00"), today.minusDays(i));
+            }
+
+            DashboardSummary summary = dashboardService.getSummary(
+                testUser.getId(), null, null, TrendGranularity.AUTO, 10);
+
+            List<TimeSeriesPoint> trends = summary.getSpendingTrends();
+            assertThat(trends).hasSize(10);
+            assertThat(trends.get(0).getDate()).isEqualTo(today.minusDays(30));
+            assertThat(trends.get(9).getDate()).isEqualTo(today.minusDays(1));
+            assertThat(trends).extracting(TimeSeriesPoint::getDate).contains(today.minusDays(15));
+            assertThat(summary.getTotalExpenses()).isEqualByComparingTo(new BigDecimal("790.00"));
+        }
     }
 
     // Helper methods
-    private void createTransaction(String type, String category, BigDecimal amount, int daysAgo) {
+    @Nested
+    @DisplayName("Summary Cache Tests")
+    class SummaryCacheTests {
+
+        @Test
+        @DisplayName("Should serve repeated requests from the summary cache")
+        void shouldServeRepeatedRequestsFromCache() {
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("50.00"), 1);
+
+            DashboardSummary first = dashboardService.getSummary(testUser.getId(), null, null);
+            DashboardSummary second = dashboardService.getSummary(testUser.getId(), null, null);
+
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Should recompute summary and change ETag after a new transaction")
+        void shouldInvalidateOnNewTransaction() {
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("50.00"), 1);
+            DashboardSummary before = dashboardService.getSummary(testUser.getId(), null, null);
+            String eTagBefore = dashboardService.getSummaryETag(testUser.getId(), null, null);
+
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("25.00"), 1);
+            DashboardSummary after = dashboardService.getSummary(testUser.getId(), null, null);
+            String eTagAfter = dashboardService.getSummaryETag(testUser.getId(), null, null);
+
+            assertThat(before.getTotalExpenses()).isEqualByComparingTo(new BigDecimal("50.00"));
+            assertThat(after.getTotalExpenses()).isEqualByComparingTo(new BigDecimal("75.00"));
+            assertThat(eTagAfter).isNotEqualTo(eTagBefore);
+        }
+
+        @Test
+        @DisplayName("Should recompute summary after a transaction is re-scored")
+        void shouldInvalidateOnUpdatedTransaction() {
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("50.00"), 1);
+            DashboardSummary before = dashboardService.getSummary(testUser.getId(), null, null);
+
+            Transaction transaction = transactionRepository.findByUserId(testUser.getId()).get(0);
+            transaction.setFraudulent(true);
+            transaction.setFraudScore(80.0);
+            transactionRepository.save(transaction);
+            DashboardSummary after = dashboardService.getSummary(testUser.getId(), null, null);
+
+            assertThat(before.getTotalFlaggedTransactions()).isZero();
+            assertThat(after.getTotalFlaggedTransactions()).isEqualTo(1L);
+        }
+
+        @Test
+        @DisplayName("Should not cache a summary read before the ledger append under the new generation")
+        void shouldBumpGenerationAfterLedgerAppend() {
+            createTransaction(TransactionType.EXPENSE, "groceries", new BigDecimal("50.00"), 1);
+            dashboardService.getSummary(testUser.getId(), null, null);
+
+            Transaction inserted = new Transaction();
+            inserted.setId(Long.MAX_VALUE);
+            inserted.setUser(testUser);
+            inserted.setType(TransactionType.EXPENSE);
+            inserted.setCategory("groceries");
+            inserted.setAmount(new BigDecimal("25.00"));
+            inserted.setTransactionDate(LocalDateTime.now().minusDays(1));
+            TransactionCacheInvalidationListener listener = new TransactionCacheInvalidationListener(
+                context.getBeanProvider(DashboardSummaryCache.class), context.getBeanProvider(DailyLedgerCache.class),
+                context.getBeanProvider(TransactionColumnStore.class), context.getBeanProvider(EventTimelineStore.class));
+            List<TransactionSynchronization> synchronizations;
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                listener.inserted(inserted);
+                synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            // A dashboard read may land between any two after-commit steps
+            for (TransactionSynchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                dashboardService.getSummary(testUser.getId(), null, null);
+            }
+
+            assertThat(dashboardService.getSummary(testUser.getId(), null, null).getTotalExpenses())
+                .isEqualByComparingTo(new BigDecimal("75.00"));
+        }
+
+        @Test
+        @DisplayName("Should keep ETag stable while data is unchanged")
+        void shouldKeepETagStableWhileUnchanged() {
+            String first = dashboardService.getSummaryETag(testUser.getId(), LocalDate.now().minusDays(7), null);
+            String second = dashboardService.getSummaryETag(testUser.getId(), LocalDate.now().minusDays(7), null);
+            String otherRange = dashboardService.getSummaryETag(testUser.getId(), null, null);
+
+            assertThat(second).isEqualTo(first);
+            assertThat(otherRange).isNotEqualTo(first);
+        }
+    }
+
+    private void createTransaction(TransactionType type, String category, BigDecimal amount, int daysAgo) {
         Transaction transaction = new Transaction();
         transaction.setUser(testUser);
         transaction.setType(type);
@@ -314,7 +513,19 @@ public class DashboardServiceTest {
         transactionRepository.save(transaction);
     }
 
-    private void createTransactionOnDate(String type, String category, BigDecimal amount, LocalDate date) {
+    private void createScoredTransaction(String category, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(testUser.getId());
+        request.setAmount(new BigDecimal(amount));
+        request.setType("EXPENSE");
+        request.setCategory(category);
+        request.setDescription("Test transaction");
+        request.setLocation("London");
+        request.setTransactionDate(LocalDateTime.now().minusDays(1));
+        transactionService.createTransaction(request);
+    }
+
+    private void createTransactionOnDate(TransactionType type, String category, BigDecimal amount, LocalDate date) {
         Transaction transaction = new Transaction();
         transaction.setUser(testUser);
         transaction.setType(type);
@@ -328,7 +539,7 @@ public class DashboardServiceTest {
         transactionRepository.save(transaction);
     }
 
-    private void createFraudulentTransaction(String type, String category, BigDecimal amount, int daysAgo, double fraudScore) {
+    private void createFraudulentTransaction(TransactionType type, String category, BigDecimal amount, int daysAgo, double fraudScore) {
         Transaction transaction = new Transaction();
         transaction.setUser(testUser);
         transaction.setType(type);
@@ -342,7 +553,7 @@ public class DashboardServiceTest {
         transactionRepository.save(transaction);
     }
 
-    private void createTransactionWithScore(String type, String category, BigDecimal amount, int daysAgo, double fraudScore) {
+    private void createTransactionWithScore(TransactionType type, String category, BigDecimal amount, int daysAgo, double fraudScore) {
         Transaction transaction = new Transaction();
         transaction.setUser(testUser);
         transaction.setType(type);
@@ -24,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import com.example.FinSight.model.RiskLevel;
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.TransactionRepository;
 import com.example.FinSight.repository.UserRepository;
@@ -40,6 +41,15 @@ class DemoDataServiceTest {
     
     @Mock
     private FraudDetectionService fraudDetectionService;
+    
+    @Mock
+    private SpendingSketchService spendingSketchService;
+    
+    @Mock
+    private NoveltyFilterStore noveltyFilterStore;
+    
+    @Mock
+    private AmountStatisticsStore amountStatisticsStore;
         
     @InjectMocks
     private DemoDataService demoDataService;
@@ -151,9 +161,9 @@ class DemoDataServiceTest {
         
         // Check that we have both INCOME and EXPENSE types
         boolean hasIncome = savedTransactions.stream()
-            .anyMatch(t -> "INCOME".equals(t.getType()));
+            .anyMatch(t -> t.getType() == TransactionType.INCOME);
         boolean hasExpense = savedTransactions.stream()
-            .anyMatch(t -> "EXPENSE".equals(t.getType()));
+            .anyMatch(t -> t.getType() == TransactionType.EXPENSE);
         
         assertThat(hasIncome).isTrue();
         assertThat(hasExpense).isTrue();
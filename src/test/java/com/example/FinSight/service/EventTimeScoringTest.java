@@ -0,0 +1,149 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.FinSight.dto.TransactionRequest;
+import com.example.FinSight.dto.TransactionResponse;
+import com.example.FinSight.model.FraudAlert;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.FraudAlertRepository;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.SpendingSketchRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:finsight-event-time-test",
+    "finsight.fraud.event-time.enabled=true",
+    "finsight.fraud.full-explanation=true"
+})
+@DisplayName("Event-Time Scoring Tests")
+public class EventTimeScoringTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private EventTimelineStore eventTimelineStore;
+
+    @Autowired
+    private SpendingSketchRepository spendingSketchRepository;
+
+    @Autowired
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Autowired
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Autowired
+    private FraudAlertRepository fraudAlertRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setup() {
+        spendingSketchRepository.deleteAll();
+        noveltyFilterRepository.deleteAll();
+        amountStatisticsRepository.deleteAll();
+        fraudAlertRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        eventTimelineStore.invalidateAll();
+
+        testUser = new User();
+        testUser.setUsername("eventtimeuser");
+        testUser.setPassword("password");
+        testUser.setEmail("eventtime@example.com");
+        testUser = userRepository.save(testUser);
+    }
+
+    @Test
+    @DisplayName("Should score a back-dated transaction against its true predecessor")
+    void shouldUseTruePredecessor() {
+        create(START, "London");
+        create(START.plusMinutes(30), "London");
+
+        // The latest transaction is in London, but the one before 11:00 is nothing at all
+        TransactionResponse backdated = create(START.minusHours(1), "Paris");
+
+        assertThat(backdated.getFraudScore()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should re-score the transactions after a back-dated one")
+    void shouldRescoreNeighbours() {
+        TransactionResponse first = create(START.plusMinutes(1), "London");
+        create(START.plusMinutes(2), "London");
+        create(START.plusMinutes(3), "London");
+        create(START.plusMinutes(4), "London");
+        TransactionResponse last = create(START.plusMinutes(6), "London");
+        TransactionResponse later = create(START.plusHours(3), "London");
+        assertThat(last.getFraudScore()).isZero();
+
+        create(START, "Paris");
+
+        // Now five transactions precede it within ten minutes
+        assertThat(score(last)).isEqualTo(25.0);
+        // Its predecessor moved to Paris a minute before
+        assertThat(score(first)).isEqualTo(25.0);
+        assertThat(score(later)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should resolve the alert of a transaction that re-scoring clears")
+    void shouldResolveAlertOnDeescalation() {
+        for (int minute = 1; minute <= 5; minute++) {
+            create(START.plusMinutes(minute), "London");
+        }
+        // Large, fast, far away and in a new category
+        TransactionResponse flagged = create(START.plusMinutes(10), "Tokyo", "luxury", "1000.00");
+        assertThat(flagged.isFraudulent()).isTrue();
+        FraudAlert alert = fraudAlertRepository.findByTransactionId(flagged.getId()).orElseThrow();
+        assertThat(alert.isResolved()).isFalse();
+
+        // Now it follows a Tokyo transaction in the same category
+        create(START.plusMinutes(7), "Tokyo", "luxury", "10.00");
+
+        assertThat(score(flagged)).isEqualTo(55.0);
+        assertThat(transactionRepository.findById(flagged.getId()).orElseThrow().isFraudulent()).isFalse();
+        assertThat(fraudAlertRepository.findById(alert.getId()).orElseThrow().isResolved()).isTrue();
+    }
+
+    private TransactionResponse create(LocalDateTime date, String location) {
+        return create(date, location, "groceries", "10.00");
+    }
+
+    private TransactionResponse create(LocalDateTime date, String location, String category, String amount) {
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(testUser.getId());
+        request.setAmount(new BigDecimal(amount));
+        request.setType("EXPENSE");
+        request.setCategory(category);
+        request.setLocation(location);
+        request.setTransactionDate(date);
+        return transactionService.createTransaction(request);
+    }
+
+    private double score(TransactionResponse response) {
+        Transaction transaction = transactionRepository.findById(response.getId()).orElseThrow();
+        return transaction.getFraudScore();
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.FinSight.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.FinSight.dto.TransactionRequest;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.FraudAlertRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.SpendingSketchRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:finsight-jfr-test",
+    "finsight.jfr.settings=default",
+    "finsight.jfr.directory=target/jfr-test",
+    "finsight.jfr.max-dumps=2"
+})
+@DisplayName("Flight Recorder Service Tests")
+public class FlightRecorderServiceTest {
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private SpendingSketchRepository spendingSketchRepository;
+
+    @Autowired
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Autowired
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Autowired
+    private FraudAlertRepository fraudAlertRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+    private Path dump;
+
+    @BeforeEach
+    public void setup() {
+        spendingSketchRepository.deleteAll();
+        noveltyFilterRepository.deleteAll();
+        amountStatisticsRepository.deleteAll();
+        fraudAlertRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setUsername("jfruser");
+        testUser.setPassword("password");
+        testUser.setEmail("jfr@example.com");
+        testUser = userRepository.save(testUser);
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        if (flightRecorderService.getStatus().isRunning()) {
+            dump = flightRecorderService.stop();
+        }
+        if (dump != null) {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    @DisplayName("Should record transaction stages, fraud rules and dashboard steps")
+    void shouldRecordFinSightEvents() throws IOException {
+        flightRecorderService.start(null);
+        assertThat(flightRecorderService.getStatus().isRunning()).isTrue();
+        assertThat(flightRecorderService.getStatus().getSettings()).isEqualTo("default");
+
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(testUser.getId());
+        request.setAmount(new BigDecimal("42.00"));
+        request.setType("EXPENSE");
+        request.setCategory("groceries");
+        request.setDescription("Market");
+        request.setLocation("London");
+        request.setTransactionDate(LocalDateTime.now());
+        transactionService.createTransaction(request);
+        dashboardService.getSummary(testUser.getId(), null, null);
+
+        dump = flightRecorderService.stop();
+        assertThat(flightRecorderService.getStatus().isRunning()).isFalse();
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertThat(stages(events, "finsight.TransactionStage")).contains(
+            TransactionStageEvent.USER_LOOKUP, TransactionStageEvent.FRAUD_SCORING, TransactionStageEvent.INSERT,
+            TransactionStageEvent.ALERT, TransactionStageEvent.RESCORING);
+        assertThat(events.stream()
+            .filter(e -> e.getEventType().getName().equals("finsight.TransactionStage")
+                && e.getString("stage").equals(TransactionStageEvent.INSERT))
+            .allMatch(e -> e.getLong("userId") == testUser.getId() && e.getLong("rows") == 1)).isTrue();
+        assertThat(events.stream().filter(e -> e.getEventType().getName().equals("finsight.FraudRule")))
+            .isNotEmpty()
+            .allMatch(e -> e.getLong("userId") == testUser.getId() && e.getString("rule") != null);
+        assertThat(stages(events, "finsight.DashboardStage")).contains(
+            DashboardStageEvent.SUMMARY, DashboardStageEvent.LEDGER_BUILD, DashboardStageEvent.SUMMARIZE);
+    }
+
+    @Test
+    @DisplayName("Should dump a running recording and keep it running")
+    void shouldDumpWhileRunning() {
+        flightRecorderService.start("default");
+
+        dump = flightRecorderService.dump();
+
+        assertThat(dump).exists();
+        assertThat(flightRecorderService.getStatus().isRunning()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest dumps")
+    void shouldDeleteOldDumps() throws InterruptedException {
+        flightRecorderService.start("default");
+
+        List<Path> dumps = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            dumps.add(flightRecorderService.dump());
+            // Dumps are named by the millisecond
+            Thread.sleep(5);
+        }
+        dump = dumps.get(2);
+
+        assertThat(dumps.get(0)).doesNotExist();
+        assertThat(dumps.get(1)).exists();
+        assertThat(dumps.get(2)).exists();
+    }
+
+    @Test
+    @DisplayName("Should reject a second recording, unknown settings and stopping when idle")
+    void shouldRejectInvalidRequests() {
+        assertThatThrownBy(() -> flightRecorderService.stop()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> flightRecorderService.dump()).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> flightRecorderService.start("no-such-settings"))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        flightRecorderService.start("default");
+        assertThatThrownBy(() -> flightRecorderService.start("default")).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static List<String> stages(List<RecordedEvent> events, String type) {
+        return events.stream()
+            .filter(e -> e.getEventType().getName().equals(type))
+            .map(e -> e.getString("stage"))
+            .toList();
+    }
+}
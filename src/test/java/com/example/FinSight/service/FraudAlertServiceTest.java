@@ -1,6 +1,7 @@
 package com.example.FinSight.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -14,15 +15,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
 
 import com.example.FinSight.dto.FraudAlertDto;
 import com.example.FinSight.model.FraudAlert;
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.FraudAlertRepository;
 import com.example.FinSight.repository.UserRepository;
@@ -37,7 +39,6 @@ class FraudAlertServiceTest {
     private UserRepository userRepository;
     
     
-    @InjectMocks
     private FraudAlertService fraudAlertService;
     
     private User testUser;
@@ -45,6 +46,11 @@ class FraudAlertServiceTest {
     
     @BeforeEach
     void setUp() {
+        fraudAlertService = new FraudAlertService(fraudAlertRepository,
+            new UserReferenceCache(userRepository, 100, Duration.ofMinutes(10)),
+            new FraudRuleLoader(new DefaultResourceLoader(), new FraudRuleMetrics(),
+                new Gazetteer(new DefaultResourceLoader(), "classpath:gazetteer.csv", 50, 1000), "classpath:fraud-rules.yml"));
+        
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -53,7 +59,7 @@ class FraudAlertServiceTest {
         testTransaction = new Transaction();
         testTransaction.setId(100L);
         testTransaction.setAmount(new BigDecimal("500.00"));
-        testTransaction.setType("DEBIT");
+        testTransaction.setType(TransactionType.EXPENSE);
         testTransaction.setCategory("Shopping");
         testTransaction.setDescription("Suspicious purchase");
         testTransaction.setLocation("Unknown Location");
@@ -70,7 +76,7 @@ class FraudAlertServiceTest {
         FraudAlert alert3 = createFraudAlert(3L, "LOW", true, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserOrderByCreatedAtDesc(testUser))
+        when(fraudAlertRepository.findByUserIdOrderByCreatedAtDesc(1L))
             .thenReturn(Arrays.asList(alert3, alert2, alert1)); // Newest first
         
         // Act
@@ -104,7 +110,7 @@ class FraudAlertServiceTest {
         FraudAlert resolvedAlert2 = createFraudAlert(2L, "MEDIUM", true, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserAndResolvedOrderByCreatedAtDesc(testUser, true))
+        when(fraudAlertRepository.findByUserIdAndResolvedOrderByCreatedAtDesc(1L, true))
             .thenReturn(Arrays.asList(resolvedAlert2, resolvedAlert1));
         
         // Act
@@ -124,7 +130,7 @@ class FraudAlertServiceTest {
         FraudAlert unresolvedAlert2 = createFraudAlert(2L, "LOW", false, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserAndResolvedOrderByCreatedAtDesc(testUser, false))
+        when(fraudAlertRepository.findByUserIdAndResolvedOrderByCreatedAtDesc(1L, false))
             .thenReturn(Arrays.asList(unresolvedAlert2, unresolvedAlert1));
         
         // Act
@@ -156,7 +162,7 @@ class FraudAlertServiceTest {
         FraudAlert highAlert2 = createFraudAlert(2L, "HIGH", true, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserAndSeverityOrderByCreatedAtDesc(testUser, "HIGH"))
+        when(fraudAlertRepository.findByUserIdAndSeverityOrderByCreatedAtDesc(1L, "HIGH"))
             .thenReturn(Arrays.asList(highAlert2, highAlert1));
         
         // Act
@@ -175,7 +181,7 @@ class FraudAlertServiceTest {
         FraudAlert mediumAlert = createFraudAlert(1L, "MEDIUM", false, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserAndSeverityOrderByCreatedAtDesc(testUser, "MEDIUM"))
+        when(fraudAlertRepository.findByUserIdAndSeverityOrderByCreatedAtDesc(1L, "MEDIUM"))
             .thenReturn(Arrays.asList(mediumAlert));
         
         // Act
@@ -192,7 +198,7 @@ class FraudAlertServiceTest {
         FraudAlert lowAlert = createFraudAlert(1L, "LOW", true, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserAndSeverityOrderByCreatedAtDesc(testUser, "LOW"))
+        when(fraudAlertRepository.findByUserIdAndSeverityOrderByCreatedAtDesc(1L, "LOW"))
             .thenReturn(Arrays.asList(lowAlert));
         
         // Act
@@ -221,7 +227,7 @@ class FraudAlertServiceTest {
         FraudAlert unresolvedHighAlert = createFraudAlert(1L, "HIGH", false, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserAndResolvedAndSeverityOrderByCreatedAtDesc(testUser, false, "HIGH"))
+        when(fraudAlertRepository.findByUserIdAndResolvedAndSeverityOrderByCreatedAtDesc(1L, false, "HIGH"))
             .thenReturn(Arrays.asList(unresolvedHighAlert));
         
         // Act
@@ -239,7 +245,7 @@ class FraudAlertServiceTest {
         FraudAlert resolvedMediumAlert = createFraudAlert(1L, "MEDIUM", true, LocalDateTime.now());
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserAndResolvedAndSeverityOrderByCreatedAtDesc(testUser, true, "MEDIUM"))
+        when(fraudAlertRepository.findByUserIdAndResolvedAndSeverityOrderByCreatedAtDesc(1L, true, "MEDIUM"))
             .thenReturn(Arrays.asList(resolvedMediumAlert));
         
         // Act
@@ -269,7 +275,7 @@ class FraudAlertServiceTest {
         FraudAlert unresolvedAlert = createFraudAlert(1L, "HIGH", false, LocalDateTime.now());
         FraudAlert resolvedAlert = createFraudAlert(1L, "HIGH", true, LocalDateTime.now());
         
-        when(fraudAlertRepository.findById(1L)).thenReturn(Optional.of(unresolvedAlert));
+        when(fraudAlertRepository.findWithTransactionById(1L)).thenReturn(Optional.of(unresolvedAlert));
         when(fraudAlertRepository.save(any(FraudAlert.class))).thenReturn(resolvedAlert);
         
         // Act
@@ -289,7 +295,7 @@ class FraudAlertServiceTest {
     void resolveAlert_WithInvalidAlertId_ThrowsException() {
         // Arrange
         Long invalidAlertId = 999L;
-        when(fraudAlertRepository.findById(invalidAlertId)).thenReturn(Optional.empty());
+        when(fraudAlertRepository.findWithTransactionById(invalidAlertId)).thenReturn(Optional.empty());
         
         // Act & Assert
         assertThatThrownBy(() -> fraudAlertService.resolveAlert(invalidAlertId))
@@ -302,7 +308,7 @@ class FraudAlertServiceTest {
         // Arrange
         FraudAlert alreadyResolvedAlert = createFraudAlert(1L, "MEDIUM", true, LocalDateTime.now());
         
-        when(fraudAlertRepository.findById(1L)).thenReturn(Optional.of(alreadyResolvedAlert));
+        when(fraudAlertRepository.findWithTransactionById(1L)).thenReturn(Optional.of(alreadyResolvedAlert));
         when(fraudAlertRepository.save(any(FraudAlert.class))).thenReturn(alreadyResolvedAlert);
         
         // Act
@@ -320,7 +326,7 @@ class FraudAlertServiceTest {
         alertWithTransaction.setTransaction(testTransaction);
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserOrderByCreatedAtDesc(testUser))
+        when(fraudAlertRepository.findByUserIdOrderByCreatedAtDesc(1L))
             .thenReturn(Arrays.asList(alertWithTransaction));
         
         // Act
@@ -343,7 +349,7 @@ class FraudAlertServiceTest {
         alertWithoutTransaction.setTransaction(null);
         
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(fraudAlertRepository.findByUserOrderByCreatedAtDesc(testUser))
+        when(fraudAlertRepository.findByUserIdOrderByCreatedAtDesc(1L))
             .thenReturn(Arrays.asList(alertWithoutTransaction));
         
         // Act
@@ -359,7 +365,7 @@ class FraudAlertServiceTest {
         // Arrange
         FraudAlert lowSeverityAlert = createFraudAlert(1L, "LOW", false, LocalDateTime.now());
         
-        when(fraudAlertRepository.findById(1L)).thenReturn(Optional.of(lowSeverityAlert));
+        when(fraudAlertRepository.findWithTransactionById(1L)).thenReturn(Optional.of(lowSeverityAlert));
         when(fraudAlertRepository.save(any(FraudAlert.class))).thenReturn(lowSeverityAlert);
         
         // Act
@@ -1,6 +1,7 @@
 package com.example.FinSight.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -11,13 +12,19 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
 
 import com.example.FinSight.model.RiskLevel;
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.TransactionRepository;
 
@@ -34,13 +41,34 @@ class FraudDetectionServiceTest {
     @Mock
     private TransactionRepository transactionRepository;
     
-    @InjectMocks
+    @Mock
+    private TransactionColumnStore transactionColumnStore;
+    
+    @Mock
+    private EventTimelineStore eventTimelineStore;
+    
+    @Mock
+    private NoveltyFilterStore noveltyFilterStore;
+    
+    @Mock
+    private AmountStatisticsStore amountStatisticsStore;
+    
     private FraudDetectionService fraudDetectionService;
     
     private User testUser;
     
     @BeforeEach
     void setUp() {
+        // Full explanation, so every rule runs and contributes its points
+        // Novelty and amount checks go straight to the repository history, as stubbed below
+        lenient().when(noveltyFilterStore.wrap(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        lenient().when(amountStatisticsStore.wrap(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+        fraudDetectionService = new FraudDetectionService(transactionRepository, transactionColumnStore, eventTimelineStore,
+            noveltyFilterStore, amountStatisticsStore,
+            new FraudRuleLoader(new DefaultResourceLoader(), new FraudRuleMetrics(),
+                new Gazetteer(new DefaultResourceLoader(), "classpath:gazetteer.csv", 50, 1000), "classpath:fraud-rules.yml"),
+            true, false, 1, 1, Duration.ZERO);
+        
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -53,7 +81,7 @@ class FraudDetectionServiceTest {
         Transaction transaction = new Transaction();
         transaction.setUser(testUser);
         transaction.setAmount(amount);
-        transaction.setType("EXPENSE");
+        transaction.setType(TransactionType.EXPENSE);
         transaction.setCategory(category);
         transaction.setLocation(location);
         transaction.setTransactionDate(date);
@@ -71,7 +99,7 @@ class FraudDetectionServiceTest {
             // Arrange
             BigDecimal userAverage = new BigDecimal("100.00");
             BigDecimal transactionAmount = new BigDecimal("310.00"); // 3.1x average
-            Transaction transaction = createTransaction(transactionAmount, "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(transactionAmount, "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(userAverage);
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -97,7 +125,7 @@ class FraudDetectionServiceTest {
             // Arrange
             BigDecimal userAverage = new BigDecimal("100.00");
             BigDecimal transactionAmount = new BigDecimal("300.00"); // Exactly 3x average
-            Transaction transaction = createTransaction(transactionAmount, "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(transactionAmount, "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(userAverage);
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -118,7 +146,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should NOT add points when user has no average (null)")
         void shouldNotAddPointsWhenUserAverageIsNull() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("1000.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("1000.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(null);
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -140,7 +168,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should NOT add points when user average is zero")
         void shouldNotAddPointsWhenUserAverageIsZero() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("500.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("500.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(BigDecimal.ZERO);
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -166,7 +194,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should add 25 points when exactly 5 transactions in 10 minutes")
         void shouldAdd25PointsWhenExactly5TransactionsIn10Minutes() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -188,7 +216,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should add 25 points when 8 transactions in 10 minutes")
         void shouldAdd25PointsWhen8TransactionsIn10Minutes() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -209,7 +237,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should NOT add points when only 4 transactions in 10 minutes")
         void shouldNotAddPointsWhenOnly4TransactionsIn10Minutes() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -236,7 +264,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should add 20 points when category is new for user")
         void shouldAdd20PointsWhenCategoryIsNew() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("50.00"), "luxury", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("50.00"), "luxury", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -257,7 +285,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should NOT add points when category exists for user")
         void shouldNotAddPointsWhenCategoryExists() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -277,12 +305,12 @@ class FraudDetectionServiceTest {
 
     
     @Nested
-    @DisplayName("Rule 4: Geographical Anomaly Tests (different location < 2 hours adds 25 points)")
-    class GeographicalAnomalyTests {
+    @DisplayName("Rule 4: Geo-Velocity Tests (travel faster than 800 km/h adds 25 points)")
+    class GeoVelocityTests {
         
         @Test
-        @DisplayName("Should add 25 points when different location within 1 hour")
-        void shouldAdd25PointsWhenDifferentLocationWithin1Hour() {
+        @DisplayName("Should add 25 points when the previous location is too far away to reach in time")
+        void shouldAdd25PointsWhenPreviousLocationIsTooFarAway() {
             // Arrange
             LocalDateTime currentTime = LocalDateTime.now();
             Transaction currentTransaction = createTransaction(new BigDecimal("50.00"), "groceries", "New York", currentTime);
@@ -302,17 +330,17 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(25.0);
-            assertThat(result.getReasons()).contains("Different location within 2 hours");
+            assertThat(result.getReasons()).contains("Travel faster than 800 km/h since previous transaction");
         }
         
         @Test
-        @DisplayName("Should add 25 points when different location at exactly 1 hour 59 minutes")
-        void shouldAdd25PointsWhenDifferentLocationAt1Hour59Minutes() {
+        @DisplayName("Should add 25 points when the trip needs more than 800 km/h")
+        void shouldAdd25PointsWhenTripNeedsMoreThanMaximumSpeed() {
             // Arrange
             LocalDateTime currentTime = LocalDateTime.now();
             Transaction currentTransaction = createTransaction(new BigDecimal("50.00"), "groceries", "Chicago", currentTime);
             
-            LocalDateTime previousTime = currentTime.minusHours(1).minusMinutes(59);
+            LocalDateTime previousTime = currentTime.minusHours(1).minusMinutes(30);
             Transaction previousTransaction = createTransaction(new BigDecimal("30.00"), "groceries", "Houston", previousTime);
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
@@ -327,18 +355,18 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(25.0);
-            assertThat(result.getReasons()).contains("Different location within 2 hours");
+            assertThat(result.getReasons()).contains("Travel faster than 800 km/h since previous transaction");
         }
 
         
         @Test
-        @DisplayName("Should NOT add points when different location at exactly 2 hours")
-        void shouldNotAddPointsWhenDifferentLocationAt2Hours() {
+        @DisplayName("Should NOT add points when the trip is possible at 800 km/h")
+        void shouldNotAddPointsWhenTripIsPossible() {
             // Arrange
             LocalDateTime currentTime = LocalDateTime.now();
             Transaction currentTransaction = createTransaction(new BigDecimal("50.00"), "groceries", "Boston", currentTime);
             
-            LocalDateTime previousTime = currentTime.minusHours(2);
+            LocalDateTime previousTime = currentTime.minusHours(3);
             Transaction previousTransaction = createTransaction(new BigDecimal("30.00"), "groceries", "Miami", previousTime);
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
@@ -353,12 +381,12 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(0.0);
-            assertThat(result.getReasons()).doesNotContain("Different location within 2 hours");
+            assertThat(result.getReasons()).doesNotContain("Travel faster than 800 km/h since previous transaction");
         }
         
         @Test
-        @DisplayName("Should NOT add points when same location within 2 hours")
-        void shouldNotAddPointsWhenSameLocationWithin2Hours() {
+        @DisplayName("Should NOT add points when same location within 30 minutes")
+        void shouldNotAddPointsWhenSameLocationWithin30Minutes() {
             // Arrange
             LocalDateTime currentTime = LocalDateTime.now();
             Transaction currentTransaction = createTransaction(new BigDecimal("50.00"), "groceries", "Seattle", currentTime);
@@ -378,10 +406,55 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(0.0);
-            assertThat(result.getReasons()).doesNotContain("Different location within 2 hours");
+            assertThat(result.getReasons()).doesNotContain("Travel faster than 800 km/h since previous transaction");
         }
 
         
+        @Test
+        @DisplayName("Should NOT add points for coordinates in the same city")
+        void shouldNotAddPointsForCoordinatesInSameCity() {
+            // Arrange
+            LocalDateTime currentTime = LocalDateTime.now();
+            Transaction currentTransaction = createTransaction(new BigDecimal("50.00"), "groceries", "40.7580,-73.9855", currentTime);
+            
+            LocalDateTime previousTime = currentTime.minusMinutes(5);
+            Transaction previousTransaction = createTransaction(new BigDecimal("30.00"), "groceries", "New York, NY", previousTime);
+            
+            when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
+            when(transactionRepository.countByUserAndTransactionDateBetween(
+                testUser, currentTransaction.getTransactionDate().minusMinutes(10), currentTransaction.getTransactionDate()
+            )).thenReturn(0L);
+            when(transactionRepository.findTopByUserOrderByTransactionDateDesc(testUser)).thenReturn(Optional.of(previousTransaction));
+            when(transactionRepository.findDistinctCategoriesByUser(testUser)).thenReturn(List.of("groceries"));
+            
+            // Act
+            FraudDetectionResult result = fraudDetectionService.analyzeTransaction(currentTransaction);
+            
+            // Assert
+            assertThat(result.getFraudScore()).isEqualTo(0.0);
+        }
+        
+        @Test
+        @DisplayName("Should NOT add points when locations are not in the gazetteer")
+        void shouldNotAddPointsForUnknownLocations() {
+            // Arrange
+            LocalDateTime currentTime = LocalDateTime.now();
+            Transaction currentTransaction = createTransaction(new BigDecimal("50.00"), "groceries", "Demo Location 1", currentTime);
+            
+            when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
+            when(transactionRepository.countByUserAndTransactionDateBetween(
+                testUser, currentTransaction.getTransactionDate().minusMinutes(10), currentTransaction.getTransactionDate()
+            )).thenReturn(0L);
+            when(transactionRepository.findDistinctCategoriesByUser(testUser)).thenReturn(List.of("groceries"));
+            
+            // Act
+            FraudDetectionResult result = fraudDetectionService.analyzeTransaction(currentTransaction);
+            
+            // Assert
+            assertThat(result.getFraudScore()).isEqualTo(0.0);
+            verify(transactionRepository, never()).findTopByUserOrderByTransactionDateDesc(testUser);
+        }
+
         @Test
         @DisplayName("Should NOT add points when current location is null")
         void shouldNotAddPointsWhenCurrentLocationIsNull() {
@@ -399,7 +472,7 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(0.0);
-            assertThat(result.getReasons()).doesNotContain("Different location within 2 hours");
+            assertThat(result.getReasons()).doesNotContain("Travel faster than 800 km/h since previous transaction");
         }
         
         @Test
@@ -419,7 +492,7 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(0.0);
-            assertThat(result.getReasons()).doesNotContain("Different location within 2 hours");
+            assertThat(result.getReasons()).doesNotContain("Travel faster than 800 km/h since previous transaction");
         }
 
         
@@ -445,7 +518,7 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(0.0);
-            assertThat(result.getReasons()).doesNotContain("Different location within 2 hours");
+            assertThat(result.getReasons()).doesNotContain("Travel faster than 800 km/h since previous transaction");
         }
         
         @Test
@@ -466,7 +539,7 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(0.0);
-            assertThat(result.getReasons()).doesNotContain("Different location within 2 hours");
+            assertThat(result.getReasons()).doesNotContain("Travel faster than 800 km/h since previous transaction");
         }
         
         @Test
@@ -491,7 +564,7 @@ class FraudDetectionServiceTest {
             
             // Assert
             assertThat(result.getFraudScore()).isEqualTo(0.0);
-            assertThat(result.getReasons()).doesNotContain("Different location within 2 hours");
+            assertThat(result.getReasons()).doesNotContain("Travel faster than 800 km/h since previous transaction");
         }
     }
 
@@ -504,7 +577,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should map score 0 to LOW risk level")
         void shouldMapScore0ToLow() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("50.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -525,7 +598,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should map score 39 to LOW risk level")
         void shouldMapScore39ToLow() {
             // Arrange - trigger high amount anomaly (30 points)
-            Transaction transaction = createTransaction(new BigDecimal("350.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("350.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -548,7 +621,7 @@ class FraudDetectionServiceTest {
         void shouldMapScore40ToMedium() {
             // Arrange - trigger unusual category (20 points) + unusual category (20 points) = 40 points
             // We'll trigger high amount (30) + unusual category (20) = 50 points
-            Transaction transaction = createTransaction(new BigDecimal("350.00"), "luxury", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("350.00"), "luxury", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -570,7 +643,7 @@ class FraudDetectionServiceTest {
         void shouldMapScore69ToMedium() {
             // Arrange - trigger rapid-fire (25) + high amount (30) + unusual category (20) = 75, but we need 69
             // Let's trigger rapid-fire (25) + high amount (30) = 55
-            Transaction transaction = createTransaction(new BigDecimal("350.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("350.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -592,7 +665,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should map score 70 to HIGH risk level")
         void shouldMapScore70ToHigh() {
             // Arrange - trigger rapid-fire (25) + high amount (30) + unusual category (20) = 75
-            Transaction transaction = createTransaction(new BigDecimal("350.00"), "luxury", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("350.00"), "luxury", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -644,7 +717,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should set fraudulent flag to false when score is 69")
         void shouldSetFraudulentFlagToFalseWhenScore69() {
             // Arrange - trigger rapid-fire (25) + high amount (30) = 55
-            Transaction transaction = createTransaction(new BigDecimal("350.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("350.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -665,7 +738,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should set fraudulent flag to true when score is 70")
         void shouldSetFraudulentFlagToTrueWhenScore70() {
             // Arrange - trigger rapid-fire (25) + high amount (30) + unusual category (20) = 75
-            Transaction transaction = createTransaction(new BigDecimal("350.00"), "luxury", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("350.00"), "luxury", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -717,7 +790,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should handle first transaction for user (no history)")
         void shouldHandleFirstTransactionForUser() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("100.00"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("100.00"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(null);
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -764,7 +837,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should handle very small transaction amount")
         void shouldHandleVerySmallTransactionAmount() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("0.01"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("0.01"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -785,7 +858,7 @@ class FraudDetectionServiceTest {
         @DisplayName("Should handle very large transaction amount")
         void shouldHandleVeryLargeTransactionAmount() {
             // Arrange
-            Transaction transaction = createTransaction(new BigDecimal("999999.99"), "groceries", "Location A", LocalDateTime.now());
+            Transaction transaction = createTransaction(new BigDecimal("999999.99"), "groceries", "Seattle", LocalDateTime.now());
             
             when(transactionRepository.calculateAverageAmount(testUser)).thenReturn(new BigDecimal("100.00"));
             when(transactionRepository.countByUserAndTransactionDateBetween(
@@ -828,11 +901,91 @@ class FraudDetectionServiceTest {
             assertThat(result.getReasons()).containsExactlyInAnyOrder(
                 "Amount exceeds 3x user average",
                 "5+ transactions in 10 minutes",
-                "Different location within 2 hours",
+                "Travel faster than 800 km/h since previous transaction",
                 "New category for user"
             );
             assertThat(result.getRiskLevel()).isEqualTo(RiskLevel.HIGH);
             assertThat(result.isFraudulent()).isTrue();
         }
     }
+    
+    @Nested
+    @DisplayName("In-Memory History Tests")
+    class InMemoryHistoryTests {
+        
+        @Test
+        @DisplayName("Should score hot users from their columns without querying the repository")
+        void shouldScoreHotUsersFromColumns() {
+            // Arrange - same history as the all-rules case, held in memory
+            LocalDateTime currentTime = LocalDateTime.now();
+            UserTransactionColumns columns = new UserTransactionColumns();
+            columns.add(currentTime.minusDays(1), new BigDecimal("100.00"), TransactionType.EXPENSE, "groceries", "London", false, null);
+            for (int i = 6; i >= 1; i--) {
+                columns.add(currentTime.minusMinutes(i), new BigDecimal("100.00"), TransactionType.EXPENSE, "utilities", "London", false, null);
+            }
+            Transaction currentTransaction = createTransaction(new BigDecimal("500.00"), "luxury", "Tokyo", currentTime);
+            
+            when(transactionColumnStore.find(testUser.getId())).thenReturn(Optional.of(columns));
+            
+            // Act
+            FraudDetectionResult result = fraudDetectionService.analyzeTransaction(currentTransaction);
+            
+            // Assert
+            assertThat(result.getFraudScore()).isEqualTo(100.0);
+            assertThat(result.getReasons()).containsExactlyInAnyOrder(
+                "Amount exceeds 3x user average",
+                "5+ transactions in 10 minutes",
+                "Travel faster than 800 km/h since previous transaction",
+                "New category for user"
+            );
+            verifyNoInteractions(transactionRepository);
+        }
+        
+        @Test
+        @DisplayName("Should not flag a known category at the same location")
+        void shouldNotFlagKnownCategoryFromColumns() {
+            // Arrange
+            LocalDateTime currentTime = LocalDateTime.now();
+            UserTransactionColumns columns = new UserTransactionColumns();
+            columns.add(currentTime.minusHours(1), new BigDecimal("50.00"), TransactionType.EXPENSE, "groceries", "London", false, null);
+            Transaction currentTransaction = createTransaction(new BigDecimal("60.00"), "groceries", "london", currentTime);
+            
+            when(transactionColumnStore.find(testUser.getId())).thenReturn(Optional.of(columns));
+            
+            // Act
+            FraudDetectionResult result = fraudDetectionService.analyzeTransaction(currentTransaction);
+            
+            // Assert
+            assertThat(result.getFraudScore()).isEqualTo(0.0);
+            assertThat(result.getReasons()).isEmpty();
+        }
+        
+        @Test
+        @DisplayName("Should ask the repository about merchants, which columns do not keep")
+        void shouldCheckMerchantsAgainstRepository() {
+            // Arrange
+            LocalDateTime currentTime = LocalDateTime.now();
+            UserTransactionColumns columns = new UserTransactionColumns();
+            columns.add(currentTime.minusHours(1), new BigDecimal("50.00"), TransactionType.EXPENSE, "groceries", "London", false, null);
+            Transaction currentTransaction = createTransaction(new BigDecimal("60.00"), "groceries", "London", currentTime);
+            currentTransaction.setDescription("Corner Shop");
+            
+            when(transactionColumnStore.find(testUser.getId())).thenReturn(Optional.of(columns));
+            when(transactionRepository.existsByUserAndDescription(testUser, "Corner Shop")).thenReturn(false);
+            // The candidate rules enable the merchant check
+            FraudDetectionService candidateService = new FraudDetectionService(transactionRepository,
+                transactionColumnStore, eventTimelineStore, noveltyFilterStore, amountStatisticsStore,
+                new FraudRuleLoader(new DefaultResourceLoader(), new FraudRuleMetrics(),
+                    new Gazetteer(new DefaultResourceLoader(), "classpath:gazetteer.csv", 50, 1000),
+                    "classpath:fraud-rules-candidate.yml"),
+                true, false, 1, 1, Duration.ZERO);
+            
+            // Act
+            FraudDetectionResult result = candidateService.analyzeTransaction(currentTransaction);
+            
+            // Assert
+            assertThat(result.getReasons()).containsExactly("New merchant for user");
+            verify(transactionRepository).existsByUserAndDescription(testUser, "Corner Shop");
+        }
+    }
 }
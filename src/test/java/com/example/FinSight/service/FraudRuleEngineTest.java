@@ -0,0 +1,258 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.FinSight.dto.FraudRuleStatistics;
+import com.example.FinSight.model.RiskLevel;
+import com.example.FinSight.model.Transaction;
+
+@DisplayName("FraudRuleEngine Tests")
+public class FraudRuleEngineTest {
+
+    private final List<String> evaluated = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    @DisplayName("Should run rules cheapest-first")
+    void shouldRunCheapestFirst() {
+        FraudRuleEngine engine = engine(List.of(
+            rule("expensive", 30, 4, false),
+            rule("cheap", 20, 1, false),
+            rule("medium", 25, 2, false)
+        ));
+
+        engine.evaluate(new Transaction(), null, true);
+
+        assertThat(engine.getRules()).extracting(FraudRule::name).containsExactly("cheap", "medium", "expensive");
+        assertThat(evaluated).containsExactly("cheap", "medium", "expensive");
+    }
+
+    @Test
+    @DisplayName("Should stop once the transaction is already high risk")
+    void shouldStopWhenHigh() {
+        FraudRuleEngine engine = engine(List.of(
+            rule("a", 40, 1, true),
+            rule("b", 30, 2, true),
+            rule("c", 25, 3, true)
+        ));
+
+        FraudDetectionResult result = engine.evaluate(new Transaction(), null, false);
+
+        assertThat(evaluated).containsExactly("a", "b");
+        assertThat(result.isFraudulent()).isTrue();
+        assertThat(result.getRiskLevel()).isEqualTo(RiskLevel.HIGH);
+        assertThat(result.getFraudScore()).isEqualTo(70.0);
+        // c never ran, so the score is short-circuited
+        assertThat(result.isComplete()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop once the remaining rules cannot change the risk level")
+    void shouldStopWhenUnreachable() {
+        FraudRuleEngine engine = engine(List.of(
+            rule("a", 20, 1, false),
+            rule("b", 25, 2, false),
+            rule("c", 30, 3, true)
+        ));
+
+        FraudDetectionResult result = engine.evaluate(new Transaction(), null, false);
+
+        // After a, 55 points could still reach MEDIUM; after b, 30 points cannot
+        assertThat(evaluated).containsExactly("a", "b");
+        assertThat(result.getRiskLevel()).isEqualTo(RiskLevel.LOW);
+        assertThat(result.isFraudulent()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should run every rule in full explanation mode")
+    void shouldRunEveryRuleForFullExplanation() {
+        FraudRuleEngine engine = engine(List.of(
+            rule("a", 40, 1, true),
+            rule("b", 30, 2, true),
+            rule("c", 25, 3, true)
+        ));
+
+        FraudDetectionResult result = engine.evaluate(new Transaction(), null, true);
+
+        assertThat(evaluated).containsExactly("a", "b", "c");
+        assertThat(result.getFraudScore()).isEqualTo(95.0);
+        assertThat(result.getReasons()).containsExactly("a", "b", "c");
+        assertThat(result.isComplete()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat a failing rule as not triggered")
+    void shouldIgnoreFailingRules() {
+        FraudRuleEngine engine = engine(List.of(
+            rule("a", 20, 1, true),
+            new StubRule("broken", 30, 2, false) {
+                @Override
+                public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+                    throw new IllegalStateException("database unavailable");
+                }
+            }
+        ));
+
+        FraudDetectionResult result = engine.evaluate(new Transaction(), null, true);
+
+        assertThat(result.getFraudScore()).isEqualTo(20.0);
+        assertThat(result.getReasons()).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("Should score in parallel like the sequential path")
+    void shouldScoreInParallel() {
+        FraudRuleEngine engine = engine(List.of(
+            rule("a", 40, 1, true),
+            rule("b", 30, 2, false),
+            rule("c", 25, 3, true)
+        ));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        try {
+            FraudDetectionResult result = engine.evaluate(new Transaction(), null, true, executor, Duration.ofSeconds(5));
+
+            assertThat(evaluated).containsExactlyInAnyOrder("a", "b", "c");
+            assertThat(result.getFraudScore()).isEqualTo(65.0);
+            assertThat(result.getRiskLevel()).isEqualTo(RiskLevel.MEDIUM);
+            assertThat(result.getReasons()).containsExactly("a", "c");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report a rule that misses the deadline without interrupting it")
+    void shouldTimeOutSlowRules() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        FraudRuleMetrics metrics = new FraudRuleMetrics();
+        FraudRuleEngine engine = engine(List.of(
+            rule("a", 40, 1, true),
+            new StubRule("slow", 30, 2, true) {
+                @Override
+                public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interrupted.set(true);
+                        Thread.currentThread().interrupt();
+                    }
+                    return true;
+                }
+            }
+        ), metrics);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            FraudDetectionResult result = engine.evaluate(new Transaction(), null, true, executor, Duration.ofMillis(50));
+
+            assertThat(result.getFraudScore()).isEqualTo(40.0);
+            assertThat(result.getReasons()).containsExactly("a");
+            assertThat(result.getMissedRules()).containsExactly("slow");
+            assertThat(result.isComplete()).isFalse();
+            assertThat(metrics.getStatistics().getDeadlinesExceeded()).isEqualTo(1L);
+            assertThat(statistics(metrics, "slow").getTimedOut()).isEqualTo(1L);
+            assertThat(statistics(metrics, "a").getTriggered()).isEqualTo(1L);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+        // The slow rule finishes its lookup instead of being interrupted
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should run rules rejected by a saturated executor on the calling thread")
+    void shouldCountRejectedRules() {
+        FraudRuleMetrics metrics = new FraudRuleMetrics();
+        FraudRuleEngine engine = engine(List.of(
+            rule("a", 40, 1, true),
+            rule("b", 30, 2, true)
+        ), metrics);
+
+        FraudDetectionResult result = engine.evaluate(new Transaction(), null, true, command -> {
+            throw new RejectedExecutionException("saturated");
+        }, Duration.ofMillis(50));
+
+        assertThat(result.getFraudScore()).isEqualTo(70.0);
+        assertThat(result.isComplete()).isTrue();
+        assertThat(result.getMissedRules()).isEmpty();
+        assertThat(evaluated).containsExactly("a", "b");
+        assertThat(statistics(metrics, "a").getRejected()).isEqualTo(1L);
+        assertThat(statistics(metrics, "b").getRejected()).isEqualTo(1L);
+        assertThat(metrics.getStatistics().getParallelScoredTransactions()).isEqualTo(1L);
+    }
+
+    private FraudRuleEngine engine(List<FraudRule> rules) {
+        return engine(rules, new FraudRuleMetrics());
+    }
+
+    private FraudRuleEngine engine(List<FraudRule> rules, FraudRuleMetrics metrics) {
+        return new FraudRuleEngine("test", rules, 70, 40, metrics);
+    }
+
+    private FraudRuleStatistics statistics(FraudRuleMetrics metrics, String rule) {
+        return metrics.getStatistics().getRules().stream()
+            .filter(statistics -> statistics.getRule().equals(rule))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private FraudRule rule(String name, double weight, int cost, boolean triggered) {
+        return new StubRule(name, weight, cost, triggered);
+    }
+
+    private class StubRule implements FraudRule {
+        private final String name;
+        private final double weight;
+        private final int cost;
+        private final boolean triggered;
+
+        StubRule(String name, double weight, int cost, boolean triggered) {
+            this.name = name;
+            this.weight = weight;
+            this.cost = cost;
+            this.triggered = triggered;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public double weight() {
+            return weight;
+        }
+
+        @Override
+        public int estimatedCost() {
+            return cost;
+        }
+
+        @Override
+        public String reason() {
+            return name;
+        }
+
+        @Override
+        public boolean isTriggered(Transaction transaction, TransactionHistory history) {
+            evaluated.add(name);
+            return triggered;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.FinSight.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.example.FinSight.model.RiskLevel;
+import com.example.FinSight.model.Transaction;
+
+@DisplayName("FraudRuleLoader Tests")
+public class FraudRuleLoaderTest {
+
+    private static final String RULES = """
+        version: "1"
+        thresholds:
+          fraud: 70
+          medium: 40
+        rules:
+          - type: high-amount
+            weight: 30
+            multiplier: 3
+          - type: rapid-fire
+            weight: 25
+            count: 5
+            window: 10m
+          - type: geo-velocity
+            weight: 25
+            max-speed-kmh: 800
+            min-distance-km: 100
+          - type: unusual-category
+            weight: 20
+        """;
+
+    private static final Gazetteer GAZETTEER =
+        new Gazetteer(new DefaultResourceLoader(), "classpath:gazetteer.csv", 50, 1000);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should compile the bundled rule document")
+    void shouldLoadBundledRules() {
+        FraudRuleLoader loader = new FraudRuleLoader(new DefaultResourceLoader(), new FraudRuleMetrics(), GAZETTEER,
+            "classpath:fraud-rules.yml");
+
+        FraudRuleEngine engine = loader.current();
+
+        assertThat(engine.getVersion()).isEqualTo("1");
+        assertThat(engine.getFraudThreshold()).isEqualTo(70.0);
+        assertThat(engine.getMediumThreshold()).isEqualTo(40.0);
+        assertThat(engine.getRules()).extracting(FraudRule::reason).containsExactly(
+            "New category for user",
+            "Travel faster than 800 km/h since previous transaction",
+            "5+ transactions in 10 minutes",
+            "Amount exceeds 3x user average");
+    }
+
+    @Test
+    @DisplayName("Should apply configured thresholds and stamp the version")
+    void shouldApplyThresholds() {
+        FraudRuleEngine engine = FraudRuleLoader.compile("""
+            version: "strict"
+            thresholds: {fraud: 50, medium: 20}
+            rules:
+              - {type: high-amount, weight: 60, multiplier: 2.5}
+            """, new FraudRuleMetrics(), GAZETTEER);
+        Transaction transaction = new Transaction();
+        transaction.setAmount(new BigDecimal("300"));
+        transaction.setTransactionDate(LocalDateTime.now());
+
+        FraudDetectionResult result = engine.evaluate(transaction, history(new BigDecimal("100")), true);
+
+        assertThat(result.isFraudulent()).isTrue();
+        assertThat(result.getRiskLevel()).isEqualTo(RiskLevel.HIGH);
+        assertThat(result.getRuleVersion()).isEqualTo("strict");
+        assertThat(engine.riskLevel(25.0)).isEqualTo(RiskLevel.MEDIUM);
+        assertThat(engine.riskLevel(null)).isEqualTo(RiskLevel.LOW);
+    }
+
+    @Test
+    @DisplayName("Should accept JSON and skip disabled rules")
+    void shouldAcceptJson() {
+        FraudRuleEngine engine = FraudRuleLoader.compile("""
+            {"version": 2, "thresholds": {"fraud": 70, "medium": 40},
+             "rules": [{"type": "unusual-category", "weight": 20},
+                       {"type": "rapid-fire", "enabled": false, "weight": 25, "count": 5, "window": "10m"}]}
+            """, new FraudRuleMetrics(), GAZETTEER);
+
+        assertThat(engine.getVersion()).isEqualTo("2");
+        assertThat(engine.getRules()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid documents")
+    void shouldRejectInvalidDocuments() {
+        FraudRuleMetrics metrics = new FraudRuleMetrics();
+
+        assertThatThrownBy(() -> FraudRuleLoader.compile("thresholds: {fraud: 70, medium: 40}\nrules: []", metrics, GAZETTEER))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("version");
+        assertThatThrownBy(() -> FraudRuleLoader.compile(
+            "version: 1\nthresholds: {fraud: 70, medium: 40}\nrules: [{type: lottery, weight: 10}]", metrics, GAZETTEER))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Unknown fraud rule type");
+        assertThatThrownBy(() -> FraudRuleLoader.compile(
+            "version: 1\nthresholds: {fraud: 70, medium: 40}\nrules: [{type: rapid-fire, weight: 25, count: 5}]", metrics, GAZETTEER))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("window");
+        assertThatThrownBy(() -> FraudRuleLoader.compile(
+            "version: 1\nthresholds: {fraud: 40, medium: 70}\nrules: []", metrics, GAZETTEER))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should swap in edited rules and keep the old ones when the edit is invalid")
+    void shouldReloadFromDisk() throws IOException {
+        Path file = directory.resolve("rules.yml");
+        Files.writeString(file, RULES);
+        FraudRuleLoader loader = new FraudRuleLoader(new DefaultResourceLoader(), new FraudRuleMetrics(), GAZETTEER,
+            file.toUri().toString());
+        FraudRuleEngine first = loader.current();
+
+        assertThat(loader.reload()).isSameAs(first);
+
+        Files.writeString(file, RULES.replace("version: \"1\"", "version: \"2\"").replace("fraud: 70", "fraud: 60"));
+        FraudRuleEngine second = loader.reload();
+
+        assertThat(second.getVersion()).isEqualTo("2");
+        assertThat(second.getFraudThreshold()).isEqualTo(60.0);
+        assertThat(loader.current()).isSameAs(second);
+        assertThat(first.getFraudThreshold()).isEqualTo(70.0);
+
+        Files.writeString(file, "version: \"3\"\nrules: [");
+        assertThatThrownBy(loader::reload).isInstanceOf(IllegalArgumentException.class);
+        assertThat(loader.current()).isSameAs(second);
+
+        Files.writeString(file, RULES.replace("version: \"1\"", "version: \"2\"").replace("weight: 20", "weight: 10"));
+        assertThatThrownBy(loader::reload)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("already loaded");
+        assertThat(loader.current()).isSameAs(second);
+    }
+
+    private TransactionHistory history(BigDecimal average) {
+        return new TransactionHistory() {
+            @Override
+            public BigDecimal averageAmount() {
+                return average;
+            }
+
+            @Override
+            public RunningStatistics amountStatistics(String category, Duration halfLife) {
+                return new RunningStatistics(halfLife);
+            }
+
+            @Override
+            public long countBetween(LocalDateTime from, LocalDateTime to) {
+                return 0;
+            }
+
+            @Override
+            public LocalDateTime latestTransactionDate() {
+                return null;
+            }
+
+            @Override
+            public String latestLocation() {
+                return null;
+            }
+
+            @Override
+            public boolean hasCategory(String category) {
+                return true;
+            }
+
+            @Override
+            public boolean hasMerchant(String merchant) {
+                return true;
+            }
+
+            @Override
+            public boolean hasLocation(String location) {
+                return true;
+            }
+        };
+    }
+}
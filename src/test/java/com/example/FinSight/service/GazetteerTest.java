@@ -0,0 +1,78 @@
+package com.example.FinSight.service;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+
+@DisplayName("Gazetteer Tests")
+class GazetteerTest {
+
+    private final Gazetteer gazetteer =
+        new Gazetteer(new DefaultResourceLoader(), "classpath:gazetteer.csv", 50, 1000);
+
+    @Test
+    @DisplayName("Should resolve names and aliases ignoring case and spacing")
+    void shouldResolveNames() {
+        GeoPoint newYork = gazetteer.resolve("New York");
+
+        assertThat(newYork.getName()).isEqualTo("New York");
+        assertThat(gazetteer.resolve("  new   YORK ")).isSameAs(newYork);
+        assertThat(gazetteer.resolve("NYC")).isSameAs(newYork);
+        assertThat(gazetteer.resolve("New York, NY")).isSameAs(newYork);
+        assertThat(gazetteer.resolve("Paris, France").getName()).isEqualTo("Paris");
+    }
+
+    @Test
+    @DisplayName("Should snap nearby coordinates to the place and keep remote ones")
+    void shouldResolveCoordinates() {
+        assertThat(gazetteer.resolve("51.5007,-0.1246").getName()).isEqualTo("London");
+
+        GeoPoint remote = gazetteer.resolve("0.0, -140.0");
+        assertThat(remote.getName()).isNull();
+        assertThat(remote.getLatitude()).isEqualTo(0.0);
+        assertThat(remote.getLongitude()).isEqualTo(-140.0);
+    }
+
+    @Test
+    @DisplayName("Should not resolve unknown, blank or out-of-range locations")
+    void shouldNotResolveUnknownLocations() {
+        assertThat(gazetteer.resolve("Demo Location 1")).isNull();
+        assertThat(gazetteer.resolve(null)).isNull();
+        assertThat(gazetteer.resolve(" ")).isNull();
+        assertThat(gazetteer.resolve("95.0,10.0")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should measure great-circle distances")
+    void shouldMeasureDistances() {
+        GeoPoint london = gazetteer.resolve("London");
+        GeoPoint paris = gazetteer.resolve("Paris");
+        GeoPoint sydney = gazetteer.resolve("Sydney");
+
+        assertThat(london.distanceKm(paris)).isCloseTo(344, within(5.0));
+        assertThat(london.distanceKm(sydney)).isCloseTo(16994, within(50.0));
+        assertThat(london.distanceKm(london)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should find the same nearest place as a linear scan")
+    void shouldMatchLinearScan() {
+        Random random = new Random(41);
+
+        for (int i = 0; i < 1000; i++) {
+            GeoPoint point = new GeoPoint(null, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            GeoPoint expected = null;
+            for (GeoPoint place : gazetteer.places()) {
+                if (expected == null || place.distanceKm(point) < expected.distanceKm(point)) {
+                    expected = place;
+                }
+            }
+
+            assertThat(gazetteer.nearest(point).distanceKm(point)).isEqualTo(expected.distanceKm(point));
+        }
+    }
+}
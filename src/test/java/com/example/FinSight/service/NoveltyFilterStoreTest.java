@@ -0,0 +1,214 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.example.FinSight.model.NoveltyFilter;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NoveltyFilterStore Tests")
+class NoveltyFilterStoreTest {
+
+    @Mock
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionHistory history;
+
+    private final UserCommitLocks userCommitLocks = new UserCommitLocks(Duration.ofSeconds(10));
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+    }
+
+    @Test
+    @DisplayName("Should answer new values without a query and confirm known ones")
+    void shouldConfirmPositivesOnly() {
+        NoveltyFilterStore store = store(true, true);
+        when(noveltyFilterRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        when(transactionRepository.findDistinctCategoriesByUser(testUser)).thenReturn(List.of("groceries"));
+        when(transactionRepository.findDistinctDescriptionsByUser(testUser)).thenReturn(List.of("Tesco"));
+        when(transactionRepository.findDistinctLocationsByUser(testUser)).thenReturn(List.of("London"));
+        when(transactionRepository.existsByUserAndCategory(testUser, "groceries")).thenReturn(true);
+        // A deleted transaction leaves its location in the filter
+        when(transactionRepository.existsByUserAndLocation(testUser, "London")).thenReturn(false);
+
+        TransactionHistory filtered = store.wrap(testUser, history);
+
+        assertThat(filtered.hasCategory("groceries")).isTrue();
+        assertThat(filtered.hasCategory("travel")).isFalse();
+        assertThat(filtered.hasMerchant("Amazon")).isFalse();
+        assertThat(filtered.hasLocation("London")).isFalse();
+        verify(transactionRepository, never()).existsByUserAndCategory(testUser, "travel");
+        verify(transactionRepository, never()).existsByUserAndDescription(eq(testUser), anyString());
+    }
+
+    @Test
+    @DisplayName("Should persist filters on insert and load them back without queries")
+    void shouldPersistFilters() {
+        NoveltyFilterStore store = store(true, false);
+        when(noveltyFilterRepository.findByUserId(1L)).thenReturn(Optional.empty());
+
+        store.record(transaction("dining", "Bistro", "Paris"));
+
+        ArgumentCaptor<NoveltyFilter> captor = ArgumentCaptor.forClass(NoveltyFilter.class);
+        verify(noveltyFilterRepository).save(captor.capture());
+        NoveltyFilter row = captor.getValue();
+        assertThat(row.getUser()).isSameAs(testUser);
+        assertThat(row.getCategoryFilter().length + row.getMerchantFilter().length
+            + row.getLocationFilter().length).isLessThan(400);
+
+        NoveltyFilterStore restarted = store(true, false);
+        when(noveltyFilterRepository.findByUserId(1L)).thenReturn(Optional.of(row));
+        TransactionHistory filtered = restarted.wrap(testUser, history);
+
+        assertThat(filtered.hasCategory("dining")).isTrue();
+        assertThat(filtered.hasMerchant("Bistro")).isTrue();
+        assertThat(filtered.hasLocation("Paris")).isTrue();
+        assertThat(filtered.hasLocation("Rome")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should rebuild a full filter larger from the user's distinct values")
+    void shouldGrowWhenFull() {
+        NoveltyFilterStore store = store(true, false);
+        when(noveltyFilterRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        List<String> merchants = new ArrayList<>();
+        when(transactionRepository.findDistinctDescriptionsByUser(testUser)).thenAnswer(invocation -> List.copyOf(merchants));
+        int initialSize = store.sizeInBytes(testUser);
+
+        for (int i = 0; i < 500; i++) {
+            merchants.add("Shop " + i);
+            store.record(transaction("groceries", "Shop " + i, null));
+        }
+
+        TransactionHistory filtered = store.wrap(testUser, history);
+        int falsePositives = 0;
+        for (int i = 0; i < 500; i++) {
+            assertThat(filtered.hasMerchant("Shop " + i)).isTrue();
+            if (filtered.hasMerchant("Other " + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(25);
+        assertThat(store.sizeInBytes(testUser)).isGreaterThan(initialSize);
+    }
+
+    @Test
+    @DisplayName("Should hold a user's writers back until the first commits or rolls back")
+    void shouldSerializeWritersUntilCompletion() throws Exception {
+        NoveltyFilterStore store = store(true, false);
+        when(noveltyFilterRepository.findByUserId(1L)).thenReturn(Optional.empty());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            TransactionSynchronizationManager.initSynchronization();
+            store.record(transaction("dining", "Bistro", "Paris"));
+
+            Future<?> second = executor.submit(() -> inTransaction(
+                () -> store.record(transaction("groceries", "Tesco", "London"))));
+            Thread.sleep(200);
+            assertThat(second).isNotDone();
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+            TransactionSynchronizationManager.clearSynchronization();
+            second.get(5, TimeUnit.SECONDS);
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            executor.shutdownNow();
+        }
+
+        ArgumentCaptor<NoveltyFilter> captor = ArgumentCaptor.forClass(NoveltyFilter.class);
+        verify(noveltyFilterRepository, times(2)).save(captor.capture());
+        NoveltyFilter written = captor.getAllValues().get(1);
+        TransactionHistory filtered = store(true, false).wrap(testUser, history);
+        when(noveltyFilterRepository.findByUserId(1L)).thenReturn(Optional.of(written));
+
+        // The rolled-back transaction's values were evicted, not written by the second
+        assertThat(filtered.hasLocation("London")).isTrue();
+        assertThat(filtered.hasLocation("Paris")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should delegate everything else, and everything when disabled")
+    void shouldDelegate() {
+        when(history.averageAmount()).thenReturn(new BigDecimal("42.00"));
+
+        assertThat(store(true, true).wrap(testUser, history).averageAmount()).isEqualByComparingTo("42.00");
+        assertThat(store(false, true).wrap(testUser, history)).isSameAs(history);
+        store(false, true).record(transaction("dining", "Bistro", "Paris"));
+        verifyNoInteractions(noveltyFilterRepository, transactionRepository);
+        verify(history, never()).hasCategory(any());
+    }
+
+    private static void inTransaction(Runnable writes) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            writes.run();
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private NoveltyFilterStore store(boolean enabled, boolean verifyPositives) {
+        return new NoveltyFilterStore(noveltyFilterRepository, transactionRepository, userCommitLocks, enabled,
+            verifyPositives,
+            0.01, 100, Duration.ofMinutes(10));
+    }
+
+    private Transaction transaction(String category, String merchant, String location) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(testUser);
+        transaction.setAmount(new BigDecimal("25.00"));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setCategory(category);
+        transaction.setDescription(merchant);
+        transaction.setLocation(location);
+        transaction.setTransactionDate(LocalDateTime.now());
+        return transaction;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RunningStatistics Tests")
+class RunningStatisticsTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    @DisplayName("Should match a two-pass mean and variance on large, close amounts")
+    void shouldMatchTwoPass() {
+        Random random = new Random(43);
+        List<BigDecimal> amounts = new ArrayList<>();
+        RunningStatistics statistics = new RunningStatistics(null);
+        for (int i = 0; i < 10_000; i++) {
+            // Large offset, small spread: naive sums of squares lose all precision here
+            BigDecimal amount = BigDecimal.valueOf(1_000_000_000L + random.nextInt(10_000), 2);
+            amounts.add(amount);
+            statistics.add(amount, START.plusMinutes(i));
+        }
+
+        double mean = amounts.stream().mapToDouble(BigDecimal::doubleValue).average().orElseThrow();
+        double squares = amounts.stream().mapToDouble(a -> (a.doubleValue() - mean) * (a.doubleValue() - mean)).sum();
+
+        assertThat(statistics.getCount()).isEqualTo(10_000);
+        assertThat(statistics.getSum()).isEqualByComparingTo(amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+        assertThat(statistics.getMean()).isCloseTo(mean, within(1e-6));
+        assertThat(statistics.getVariance()).isCloseTo(squares / 9_999, within(1e-3));
+    }
+
+    @Test
+    @DisplayName("Should report zero variance for fewer than two amounts")
+    void shouldHandleSmallSamples() {
+        RunningStatistics statistics = new RunningStatistics(Duration.ofDays(30));
+
+        assertThat(statistics.getVariance()).isZero();
+        assertThat(statistics.getDecayedVariance()).isZero();
+
+        statistics.add(new BigDecimal("12.50"), START);
+
+        assertThat(statistics.getMean()).isEqualTo(12.5);
+        assertThat(statistics.getVariance()).isZero();
+        assertThat(statistics.getDecayedMean()).isEqualTo(12.5);
+    }
+
+    @Test
+    @DisplayName("Should halve the weight of amounts one half-life older than the latest")
+    void shouldDecayOldAmounts() {
+        RunningStatistics statistics = new RunningStatistics(Duration.ofDays(10));
+        statistics.add(new BigDecimal("100"), START);
+        statistics.add(new BigDecimal("400"), START.plusDays(10));
+
+        // Weights 0.5 and 1
+        assertThat(statistics.getDecayedWeight()).isCloseTo(1.5, within(1e-9));
+        assertThat(statistics.getDecayedMean()).isCloseTo(300, within(1e-9));
+        assertThat(statistics.getDecayedVariance()).isCloseTo((0.5 * 200 * 200 + 100 * 100) / 1.5, within(1e-6));
+        assertThat(statistics.getMean()).isEqualTo(250);
+        assertThat(statistics.getLatest()).isEqualTo(START.plusDays(10));
+    }
+
+    @Test
+    @DisplayName("Should give the same decayed statistics whatever the arrival order")
+    void shouldIgnoreArrivalOrder() {
+        Random random = new Random(7);
+        List<Integer> days = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            days.add(i);
+        }
+        RunningStatistics inOrder = new RunningStatistics(Duration.ofDays(20));
+        for (int day : days) {
+            inOrder.add(BigDecimal.valueOf(50 + day % 17), START.plusDays(day));
+        }
+        Collections.shuffle(days, random);
+        RunningStatistics shuffled = new RunningStatistics(Duration.ofDays(20));
+        for (int day : days) {
+            shuffled.add(BigDecimal.valueOf(50 + day % 17), START.plusDays(day));
+        }
+
+        assertThat(shuffled.getDecayedWeight()).isCloseTo(inOrder.getDecayedWeight(), within(1e-9));
+        assertThat(shuffled.getDecayedMean()).isCloseTo(inOrder.getDecayedMean(), within(1e-9));
+        assertThat(shuffled.getDecayedVariance()).isCloseTo(inOrder.getDecayedVariance(), within(1e-6));
+        assertThat(shuffled.getVariance()).isCloseTo(inOrder.getVariance(), within(1e-9));
+    }
+
+    @Test
+    @DisplayName("Should restore and copy without sharing state")
+    void shouldRestore() {
+        RunningStatistics statistics = new RunningStatistics(Duration.ofDays(30));
+        statistics.add(new BigDecimal("10"), START);
+        statistics.add(new BigDecimal("30"), START.plusDays(1));
+
+        RunningStatistics restored = RunningStatistics.restore(statistics.getHalfLife(), statistics.getCount(),
+            statistics.getSum(), statistics.getMean(), statistics.getM2(), statistics.getDecayedWeight(),
+            statistics.getDecayedMean(), statistics.getDecayedM2(), statistics.getLatest());
+        RunningStatistics copy = statistics.copy();
+        copy.add(new BigDecimal("1000"), START.plusDays(2));
+
+        assertThat(restored.getVariance()).isEqualTo(statistics.getVariance());
+        assertThat(restored.getDecayedMean()).isEqualTo(statistics.getDecayedMean());
+        assertThat(statistics.getCount()).isEqualTo(2);
+        assertThat(copy.getCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive half-life")
+    void shouldRejectInvalidHalfLife() {
+        assertThatThrownBy(() -> new RunningStatistics(Duration.ZERO))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import com.example.FinSight.dto.ShadowScoringReport;
+import com.example.FinSight.model.RiskLevel;
+import com.example.FinSight.model.ShadowDivergence;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.ShadowDivergenceRepository;
+import com.example.FinSight.repository.TransactionRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShadowScoringService Tests")
+class ShadowScoringServiceTest {
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private ShadowDivergenceRepository shadowDivergenceRepository;
+
+    private ShadowScoringService shadowScoringService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (shadowScoringService != null) {
+            shadowScoringService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldIgnoreWhenDisabled() {
+        shadowScoringService = service(false, 10);
+
+        shadowScoringService.submit(transaction(), live(RiskLevel.LOW, 0));
+
+        assertThat(shadowScoringService.getReport().isEnabled()).isFalse();
+        verifyNoInteractions(transactionRepository, shadowDivergenceRepository);
+    }
+
+    @Test
+    @DisplayName("Should count agreement without recording a divergence")
+    void shouldCountAgreement() {
+        shadowScoringService = service(true, 10);
+        Transaction transaction = transaction();
+        when(transactionRepository.findDistinctCategoriesByUserAsOf(testUser, transaction.getCreatedAt()))
+            .thenReturn(List.of("Shopping"));
+
+        shadowScoringService.compare(transaction, live(RiskLevel.LOW, 0));
+
+        ShadowScoringReport report = shadowScoringService.getReport();
+        assertThat(report.getCandidateVersion()).isEqualTo("3-candidate");
+        assertThat(report.getScored()).isEqualTo(1L);
+        assertThat(report.getDivergent()).isZero();
+        assertThat(report.getFlaggedByNeither()).isEqualTo(1L);
+        assertThat(report.getRiskLevels().get("LOW").get("LOW")).isEqualTo(1L);
+        verify(shadowDivergenceRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should record a divergence when the risk levels differ")
+    void shouldRecordDivergence() {
+        shadowScoringService = service(true, 10);
+        Transaction transaction = transaction();
+        when(transactionRepository.findDistinctCategoriesByUserAsOf(testUser, transaction.getCreatedAt()))
+            .thenReturn(List.of("Shopping"));
+
+        shadowScoringService.compare(transaction, live(RiskLevel.HIGH, 75));
+
+        ArgumentCaptor<ShadowDivergence> captor = ArgumentCaptor.forClass(ShadowDivergence.class);
+        verify(shadowDivergenceRepository).save(captor.capture());
+        ShadowDivergence divergence = captor.getValue();
+        assertThat(divergence.getTransactionId()).isEqualTo(100L);
+        assertThat(divergence.getUserId()).isEqualTo(1L);
+        assertThat(divergence.getLiveVersion()).isEqualTo("1");
+        assertThat(divergence.getCandidateVersion()).isEqualTo("3-candidate");
+        assertThat(divergence.getLiveRiskLevel()).isEqualTo(RiskLevel.HIGH);
+        assertThat(divergence.getCandidateRiskLevel()).isEqualTo(RiskLevel.LOW);
+
+        ShadowScoringReport report = shadowScoringService.getReport();
+        assertThat(report.getDivergent()).isEqualTo(1L);
+        assertThat(report.getFlaggedByLiveOnly()).isEqualTo(1L);
+        assertThat(report.getRiskLevels().get("HIGH").get("LOW")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should score the merchant of a submitted transaction")
+    void shouldScoreSubmittedMerchant() throws InterruptedException {
+        shadowScoringService = service(true, 10);
+        Transaction transaction = transaction();
+        transaction.setDescription("Corner Shop");
+        when(transactionRepository.findDistinctCategoriesByUserAsOf(testUser, transaction.getCreatedAt()))
+            .thenReturn(List.of("Shopping"));
+        when(transactionRepository.existsByUserAndDescriptionAndCreatedAtBefore(
+            testUser, "Corner Shop", transaction.getCreatedAt())).thenReturn(false);
+
+        shadowScoringService.submit(transaction, live(RiskLevel.LOW, 0));
+        for (int i = 0; i < 100 && shadowScoringService.getReport().getScored() == 0; i++) {
+            Thread.sleep(20);
+        }
+
+        ShadowScoringReport report = shadowScoringService.getReport();
+        assertThat(report.getScored()).isEqualTo(1L);
+        assertThat(report.getCandidateRules())
+            .filteredOn(rule -> rule.getRule().equals("unusual merchant"))
+            .singleElement()
+            .satisfies(rule -> assertThat(rule.getTriggered()).isEqualTo(1L));
+    }
+
+    @Test
+    @DisplayName("Should drop transactions when the queue is full")
+    void shouldDropOnOverflow() throws InterruptedException {
+        shadowScoringService = service(true, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionRepository.findDistinctCategoriesByUserAsOf(eq(testUser), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of("Shopping");
+        });
+
+        shadowScoringService.submit(transaction(), live(RiskLevel.LOW, 0));
+        started.await();
+        shadowScoringService.submit(transaction(), live(RiskLevel.LOW, 0));
+        shadowScoringService.submit(transaction(), live(RiskLevel.LOW, 0));
+
+        ShadowScoringReport report = shadowScoringService.getReport();
+        assertThat(report.getSubmitted()).isEqualTo(3L);
+        assertThat(report.getDropped()).isEqualTo(1L);
+        release.countDown();
+    }
+
+    private ShadowScoringService service(boolean enabled, int queueCapacity) {
+        return new ShadowScoringService(transactionRepository, shadowDivergenceRepository,
+            new DefaultResourceLoader(),
+            new Gazetteer(new DefaultResourceLoader(), "classpath:gazetteer.csv", 50, 1000), enabled, "classpath:fraud-rules-candidate.yml", queueCapacity);
+    }
+
+    private Transaction transaction() {
+        Transaction transaction = new Transaction();
+        transaction.setId(100L);
+        transaction.setUser(testUser);
+        transaction.setAmount(new BigDecimal("50.00"));
+        transaction.setType(TransactionType.EXPENSE);
+        transaction.setCategory("Shopping");
+        transaction.setLocation("London");
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setCreatedAt(LocalDateTime.now());
+        return transaction;
+    }
+
+    private FraudDetectionResult live(RiskLevel riskLevel, double score) {
+        return new FraudDetectionResult(riskLevel == RiskLevel.HIGH, score, riskLevel, List.of(), "1");
+    }
+}
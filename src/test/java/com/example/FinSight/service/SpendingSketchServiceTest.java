@@ -0,0 +1,220 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.FinSight.dto.SpendingAnalytics;
+import com.example.FinSight.dto.TransactionRequest;
+import com.example.FinSight.model.AmountStatistics;
+import com.example.FinSight.model.SpendingSketch;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.FraudAlertRepository;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.SpendingSketchRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:finsight-sketch-test")
+@DisplayName("SpendingSketchService Tests")
+public class SpendingSketchServiceTest {
+
+    @Autowired
+    private SpendingSketchService spendingSketchService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SpendingSketchRepository spendingSketchRepository;
+
+    @Autowired
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Autowired
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Autowired
+    private FraudAlertRepository fraudAlertRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setup() {
+        spendingSketchRepository.deleteAll();
+        noveltyFilterRepository.deleteAll();
+        amountStatisticsRepository.deleteAll();
+        fraudAlertRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        spendingSketchService.invalidateAll();
+
+        testUser = new User();
+        testUser.setUsername("sketchuser");
+        testUser.setPassword("password");
+        testUser.setEmail("sketch@example.com");
+        testUser = userRepository.save(testUser);
+    }
+
+    @Test
+    @DisplayName("Should estimate quantiles and distinct counts from inserted expenses")
+    void shouldEstimateFromInsertedExpenses() {
+        for (int i = 1; i <= 100; i++) {
+            createTransaction("EXPENSE", "groceries", BigDecimal.valueOf(i), "Store " + (i % 10), "City " + (i % 3), i);
+        }
+        createTransaction("INCOME", "salary", new BigDecimal("5000.00"), "Employer", "City 0", 0);
+
+        SpendingAnalytics analytics = spendingSketchService.getAnalytics(testUser.getId(), null);
+
+        assertThat(analytics.getTransactionCount()).isEqualTo(100L);
+        assertThat(analytics.getMinAmount()).isEqualByComparingTo("1.00");
+        assertThat(analytics.getMaxAmount()).isEqualByComparingTo("100.00");
+        assertThat(analytics.getMedianAmount().doubleValue()).isBetween(48.0, 52.0);
+        assertThat(analytics.getP90Amount().doubleValue()).isBetween(88.0, 92.0);
+        assertThat(analytics.getDistinctMerchants()).isEqualTo(10L);
+        assertThat(analytics.getDistinctLocations()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should merge per-category sketches into the user-wide figures")
+    void shouldMergeCategories() {
+        createTransaction("EXPENSE", "groceries", new BigDecimal("10.00"), "Store A", "City A", 3);
+        createTransaction("EXPENSE", "dining", new BigDecimal("30.00"), "Cafe B", "City B", 2);
+        createTransaction("EXPENSE", "dining", new BigDecimal("50.00"), "Cafe B", "City A", 1);
+
+        SpendingAnalytics dining = spendingSketchService.getAnalytics(testUser.getId(), "dining");
+        SpendingAnalytics overall = spendingSketchService.getAnalytics(testUser.getId(), null);
+
+        assertThat(dining.getTransactionCount()).isEqualTo(2L);
+        assertThat(dining.getDistinctMerchants()).isEqualTo(1L);
+        assertThat(overall.getTransactionCount()).isEqualTo(3L);
+        assertThat(overall.getDistinctMerchants()).isEqualTo(2L);
+        assertThat(overall.getDistinctLocations()).isEqualTo(2L);
+        assertThat(overall.getMaxAmount()).isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("Should reload sketches from stored blobs after eviction")
+    void shouldReloadFromStoredBlobs() {
+        createTransaction("EXPENSE", "groceries", new BigDecimal("10.00"), "Store A", "City A", 2);
+        createTransaction("EXPENSE", "groceries", new BigDecimal("20.00"), "Store B", "City A", 1);
+        assertThat(spendingSketchRepository.findByUserId(testUser.getId())).hasSize(1);
+
+        spendingSketchService.invalidateAll();
+        createTransaction("EXPENSE", "groceries", new BigDecimal("30.00"), "Store C", "City B", 0);
+        SpendingAnalytics analytics = spendingSketchService.getAnalytics(testUser.getId(), "groceries");
+
+        assertThat(analytics.getTransactionCount()).isEqualTo(3L);
+        assertThat(analytics.getDistinctMerchants()).isEqualTo(3L);
+        assertThat(analytics.getMaxAmount()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    @DisplayName("Should answer a read without stored sketches and store them on the next insert")
+    void shouldNotWriteOnRead() {
+        createTransaction("EXPENSE", "groceries", new BigDecimal("10.00"), "Store A", "City A", 2);
+        createTransaction("EXPENSE", "dining", new BigDecimal("20.00"), "Cafe B", "City A", 1);
+        spendingSketchRepository.deleteAll();
+        spendingSketchService.invalidateAll();
+
+        SpendingAnalytics analytics = spendingSketchService.getAnalytics(testUser.getId(), null);
+
+        assertThat(analytics.getTransactionCount()).isEqualTo(2L);
+        assertThat(spendingSketchRepository.findByUserId(testUser.getId())).isEmpty();
+
+        createTransaction("EXPENSE", "groceries", new BigDecimal("30.00"), "Store C", "City B", 0);
+
+        assertThat(spendingSketchRepository.findByUserId(testUser.getId()))
+            .extracting(SpendingSketch::getCategory)
+            .containsExactlyInAnyOrder("groceries", "dining");
+        spendingSketchService.invalidateAll();
+        assertThat(spendingSketchService.getAnalytics(testUser.getId(), null).getTransactionCount()).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Should record a user's concurrent first expenses in one category")
+    void shouldRecordConcurrentFirstExpenses() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int hoursAgo = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    createTransaction("EXPENSE", "groceries", new BigDecimal("10.00"), "Store", "City", hoursAgo);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(spendingSketchRepository.findByUserId(testUser.getId()))
+            .singleElement()
+            .extracting(SpendingSketch::getTransactionCount)
+            .isEqualTo((long) threads);
+        assertThat(noveltyFilterRepository.findByUserId(testUser.getId())).isPresent();
+        assertThat(amountStatisticsRepository.findByUserId(testUser.getId()))
+            .filteredOn(row -> row.getCategory().equals("groceries"))
+            .singleElement()
+            .extracting(AmountStatistics::getTransactionCount)
+            .isEqualTo((long) threads);
+    }
+
+    @Test
+    @DisplayName("Should return empty analytics for a user without spending")
+    void shouldReturnEmptyAnalyticsWithoutSpending() {
+        SpendingAnalytics analytics = spendingSketchService.getAnalytics(testUser.getId(), null);
+
+        assertThat(analytics.getTransactionCount()).isZero();
+        assertThat(analytics.getMedianAmount()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject unknown users")
+    void shouldRejectUnknownUsers() {
+        assertThatThrownBy(() -> spendingSketchService.getAnalytics(999_999L, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("User not found");
+    }
+
+    private void createTransaction(String type, String category, BigDecimal amount, String description,
+                                   String location, int hoursAgo) {
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(testUser.getId());
+        request.setType(type);
+        request.setCategory(category);
+        request.setAmount(amount);
+        request.setDescription(description);
+        request.setLocation(location);
+        request.setTransactionDate(LocalDateTime.now().minusHours(hoursAgo));
+        transactionService.createTransaction(request);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.example.FinSight.dto.SqlMethodStatistics;
+import com.example.FinSight.dto.SqlStatementStatistics;
+import com.example.FinSight.dto.TransactionRequest;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.FraudAlertRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.SpendingSketchRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:finsight-sql-test",
+    "finsight.sql.slow-threshold=0ms"
+})
+@DisplayName("SQL Statement Metrics Tests")
+public class SqlStatementMetricsTest {
+
+    @Autowired
+    private SqlStatementMetrics sqlStatementMetrics;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SpendingSketchRepository spendingSketchRepository;
+
+    @Autowired
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Autowired
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Autowired
+    private FraudAlertRepository fraudAlertRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setup() {
+        spendingSketchRepository.deleteAll();
+        noveltyFilterRepository.deleteAll();
+        amountStatisticsRepository.deleteAll();
+        fraudAlertRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setUsername("sqluser");
+        testUser.setPassword("password");
+        testUser.setEmail("sql@example.com");
+        testUser = userRepository.save(testUser);
+        sqlStatementMetrics.clear();
+    }
+
+    @Test
+    @DisplayName("Should wrap the data source")
+    void shouldWrapDataSource() {
+        assertThat(dataSource).isInstanceOf(InspectingDataSource.class);
+    }
+
+    @Test
+    @DisplayName("Should attribute statements to the repository method that ran them")
+    void shouldAttributeToRepositoryMethod() {
+        transactionRepository.findByUserIdOrderByTransactionDateDesc(testUser.getId());
+        transactionRepository.findByUserIdOrderByTransactionDateDesc(testUser.getId());
+        userRepository.findByUsername("sqluser");
+
+        SqlMethodStatistics listing = method("TransactionRepository.findByUserIdOrderByTransactionDateDesc").orElseThrow();
+        assertThat(listing.getStatements()).isEqualTo(2);
+        assertThat(listing.getRows()).isEqualTo(2);
+        assertThat(listing.getTotalMillis()).isGreaterThan(0);
+        assertThat(listing.getMaxMillis()).isGreaterThanOrEqualTo(listing.getP50Millis());
+        // Every statement is over a zero threshold
+        assertThat(listing.getSlowStatements()).isEqualTo(2);
+        assertThat(method("UserRepository.findByUsername")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should attribute statements outside repository methods to the calling application method")
+    void shouldAttributeFlushesToCaller() {
+        TransactionRequest request = new TransactionRequest();
+        request.setUserId(testUser.getId());
+        request.setAmount(new BigDecimal("25.00"));
+        request.setType("EXPENSE");
+        request.setCategory("groceries");
+        request.setDescription("Market");
+        request.setLocation("London");
+        request.setTransactionDate(LocalDateTime.now());
+        transactionService.createTransaction(request);
+
+        SqlStatementStatistics statistics = sqlStatementMetrics.getStatistics();
+        assertThat(statistics.getStatements()).isEqualTo(statistics.getMethods().stream()
+            .mapToLong(SqlMethodStatistics::getStatements).sum());
+        // The insert is flushed at commit, after TransactionRepository.save has returned
+        assertThat(statistics.getMethods()).extracting(SqlMethodStatistics::getMethod)
+            .contains("SqlStatementMetricsTest.shouldAttributeFlushesToCaller")
+            .noneMatch(name -> name.equals("(unattributed)"));
+    }
+
+    @Test
+    @DisplayName("Should inspect statements created through a statement's connection")
+    void shouldInspectStatementConnection() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            assertThat(statement.getConnection()).isSameAs(connection);
+            try (PreparedStatement query = statement.getConnection().prepareStatement("SELECT 1")) {
+                query.executeQuery().close();
+            }
+        }
+
+        assertThat(sqlStatementMetrics.getStatistics().getStatements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reset statistics")
+    void shouldClear() {
+        userRepository.findByUsername("sqluser");
+
+        sqlStatementMetrics.clear();
+
+        assertThat(sqlStatementMetrics.getStatistics().getStatements()).isZero();
+        assertThat(sqlStatementMetrics.getStatistics().getMethods()).isEmpty();
+    }
+
+    private Optional<SqlMethodStatistics> method(String name) {
+        return sqlStatementMetrics.getStatistics().getMethods().stream()
+            .filter(method -> method.getMethod().equals(name))
+            .findFirst();
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.FinSight.service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -14,7 +15,6 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -22,6 +22,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import com.example.FinSight.model.Subscription;
 import com.example.FinSight.model.SubscriptionStatus;
 import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
 import com.example.FinSight.model.User;
 import com.example.FinSight.repository.SubscriptionRepository;
 import com.example.FinSight.repository.TransactionRepository;
@@ -46,13 +47,15 @@ class SubscriptionDetectorServiceTest {
     @Mock
     private UserRepository userRepository;
     
-    @InjectMocks
     private SubscriptionDetectorService subscriptionDetectorService;
     
     private User testUser;
     
     @BeforeEach
     void setUp() {
+        subscriptionDetectorService = new SubscriptionDetectorService(transactionRepository, subscriptionRepository,
+            new UserReferenceCache(userRepository, 100, Duration.ofMinutes(10)));
+        
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testuser");
@@ -69,7 +72,7 @@ class SubscriptionDetectorServiceTest {
         Transaction transaction = new Transaction();
         transaction.setUser(testUser);
         transaction.setAmount(amount);
-        transaction.setType("EXPENSE");
+        transaction.setType(TransactionType.EXPENSE);
         transaction.setCategory("subscription");
         transaction.setDescription(merchant);
         transaction.setLocation("Online");
@@ -100,7 +103,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, amount, secondDate));
             transactions.add(createTransaction(merchant, amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -132,7 +135,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, amount, secondDate));
             transactions.add(createTransaction(merchant, amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -159,7 +162,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, amount, secondDate));
             transactions.add(createTransaction(merchant, amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -191,7 +194,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, amount, secondDate));
             transactions.add(createTransaction(merchant, amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -217,7 +220,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, amount, secondDate));
             transactions.add(createTransaction(merchant, amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -243,7 +246,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, amount, secondDate));
             transactions.add(createTransaction(merchant, amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -273,7 +276,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction("NETFLIX", amount, secondDate));
             transactions.add(createTransaction("netflix", amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -299,7 +302,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction("Spotify-Inc", amount, secondDate));
             transactions.add(createTransaction("Spotify_Inc", amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -325,7 +328,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction("AmazonPrime", amount, secondDate));
             transactions.add(createTransaction("Amazon  Prime", amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -357,7 +360,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, amount, secondDate));
             transactions.add(createTransaction(merchant, amount, thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -383,7 +386,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, new BigDecimal("10.99"), secondDate));
             transactions.add(createTransaction(merchant, new BigDecimal("11.99"), thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -410,7 +413,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction(merchant, new BigDecimal("10.00"), secondDate));
             transactions.add(createTransaction(merchant, new BigDecimal("10.01"), thirdDate));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -441,7 +444,7 @@ class SubscriptionDetectorServiceTest {
             
             List<Subscription> expectedResults = List.of(sub1, sub2);
             
-            when(subscriptionRepository.findDueSoon(testUser, today, endDate))
+            when(subscriptionRepository.findDueSoon(1L, today, endDate))
                 .thenReturn(expectedResults);
             
             // Act
@@ -462,7 +465,7 @@ class SubscriptionDetectorServiceTest {
             Subscription sub = createSubscription("Amazon Prime", new BigDecimal("12.99"), 
                 today, SubscriptionStatus.ACTIVE);
             
-            when(subscriptionRepository.findDueSoon(testUser, today, endDate))
+            when(subscriptionRepository.findDueSoon(1L, today, endDate))
                 .thenReturn(List.of(sub));
             
             // Act
@@ -481,7 +484,7 @@ class SubscriptionDetectorServiceTest {
             LocalDate endDate = today.plusDays(7);
             
             // Subscription due in 8 days (outside range)
-            when(subscriptionRepository.findDueSoon(testUser, today, endDate))
+            when(subscriptionRepository.findDueSoon(1L, today, endDate))
                 .thenReturn(List.of());
             
             // Act
@@ -502,7 +505,7 @@ class SubscriptionDetectorServiceTest {
             Subscription activeSub = createSubscription("Netflix", new BigDecimal("15.99"), 
                 today.plusDays(3), SubscriptionStatus.ACTIVE);
             
-            when(subscriptionRepository.findDueSoon(testUser, today, endDate))
+            when(subscriptionRepository.findDueSoon(1L, today, endDate))
                 .thenReturn(List.of(activeSub));
             
             // Act
@@ -525,7 +528,7 @@ class SubscriptionDetectorServiceTest {
             Subscription sub2 = createSubscription("Spotify", new BigDecimal("9.99"), 
                 today.plusDays(25), SubscriptionStatus.ACTIVE);
             
-            when(subscriptionRepository.findDueSoon(testUser, today, endDate))
+            when(subscriptionRepository.findDueSoon(1L, today, endDate))
                 .thenReturn(List.of(sub1, sub2));
             
             // Act
@@ -544,7 +547,7 @@ class SubscriptionDetectorServiceTest {
         @DisplayName("Should handle user with no transactions")
         void shouldHandleUserWithNoTransactions() {
             // Arrange
-            when(transactionRepository.findByUser(testUser)).thenReturn(List.of());
+            when(transactionRepository.findByUserId(1L)).thenReturn(List.of());
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -562,7 +565,7 @@ class SubscriptionDetectorServiceTest {
                 createTransaction("Netflix", new BigDecimal("15.99"), LocalDateTime.now())
             );
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -585,17 +588,17 @@ class SubscriptionDetectorServiceTest {
             
             List<Transaction> transactions = new ArrayList<>();
             Transaction income1 = createTransaction(merchant, amount, firstDate);
-            income1.setType("INCOME");
+            income1.setType(TransactionType.INCOME);
             Transaction income2 = createTransaction(merchant, amount, secondDate);
-            income2.setType("INCOME");
+            income2.setType(TransactionType.INCOME);
             Transaction income3 = createTransaction(merchant, amount, thirdDate);
-            income3.setType("INCOME");
+            income3.setType(TransactionType.INCOME);
             
             transactions.add(income1);
             transactions.add(income2);
             transactions.add(income3);
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -625,7 +628,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(txn2);
             transactions.add(txn3);
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -653,7 +656,7 @@ class SubscriptionDetectorServiceTest {
             transactions.add(createTransaction("Spotify", new BigDecimal("9.99"), baseDate.plusDays(30)));
             transactions.add(createTransaction("Spotify", new BigDecimal("9.99"), baseDate.plusDays(60)));
             
-            when(transactionRepository.findByUser(testUser)).thenReturn(transactions);
+            when(transactionRepository.findByUserId(1L)).thenReturn(transactions);
             when(subscriptionRepository.saveAll(any(List.class))).thenAnswer(invocation -> invocation.getArgument(0));
             
             // Act
@@ -0,0 +1,200 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.FinSight.dto.TransactionResponse;
+import com.example.FinSight.model.Transaction;
+import com.example.FinSight.model.TransactionType;
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.FraudAlertRepository;
+import com.example.FinSight.repository.AmountStatisticsRepository;
+import com.example.FinSight.repository.NoveltyFilterRepository;
+import com.example.FinSight.repository.SpendingSketchRepository;
+import com.example.FinSight.repository.TransactionRepository;
+import com.example.FinSight.repository.UserRepository;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:finsight-dictionary-test")
+@DisplayName("TransactionDictionary Tests")
+public class TransactionDictionaryTest {
+
+    @Autowired
+    private TransactionDictionary transactionDictionary;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private SpendingSketchRepository spendingSketchRepository;
+
+    @Autowired
+    private NoveltyFilterRepository noveltyFilterRepository;
+
+    @Autowired
+    private AmountStatisticsRepository amountStatisticsRepository;
+
+    @Autowired
+    private FraudAlertRepository fraudAlertRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqlStatementMetrics sqlStatementMetrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User testUser;
+
+    @BeforeEach
+    public void setup() {
+        spendingSketchRepository.deleteAll();
+        noveltyFilterRepository.deleteAll();
+        amountStatisticsRepository.deleteAll();
+        fraudAlertRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setUsername("dictionaryuser");
+        testUser.setPassword("password");
+        testUser.setEmail("dictionary@example.com");
+        testUser = userRepository.save(testUser);
+    }
+
+    @Test
+    @DisplayName("Should store categories and locations as dictionary ids")
+    void shouldStoreIds() {
+        Transaction saved = save(TransactionType.EXPENSE, "groceries", "London");
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+            "SELECT category_id, location_id, type FROM transactions WHERE id = ?", saved.getId());
+
+        assertThat(row.get("CATEGORY_ID")).isEqualTo(transactionDictionary.categoryId("groceries"));
+        assertThat(row.get("LOCATION_ID")).isEqualTo(transactionDictionary.locationId("London"));
+        assertThat(row.get("TYPE")).isEqualTo("EXPENSE");
+        assertThat(jdbcTemplate.queryForObject("SELECT name FROM categories WHERE id = ?", String.class,
+            row.get("CATEGORY_ID"))).isEqualTo("groceries");
+    }
+
+    @Test
+    @DisplayName("Should decode names on load and in queries")
+    void shouldDecodeNames() {
+        save(TransactionType.EXPENSE, "groceries", "London");
+        save(TransactionType.EXPENSE, "groceries", null);
+        save(TransactionType.INCOME, "salary", "Paris");
+
+        List<Transaction> loaded = transactionRepository.findByUserIdOrderByTransactionDateDesc(testUser.getId());
+        List<String> categories = transactionRepository.findDistinctCategoriesByUser(testUser);
+        Page<TransactionResponse> expenses = transactionService.findWithFilters(
+            testUser.getId(), "expense", "groceries", null, null, null, PageRequest.of(0, 10));
+
+        assertThat(loaded).extracting(Transaction::getLocation).containsExactlyInAnyOrder("London", null, "Paris");
+        assertThat(loaded.get(0).getCategory()).isSameAs(transactionDictionary.categoryName(
+            transactionDictionary.categoryId(loaded.get(0).getCategory())));
+        assertThat(categories).containsExactlyInAnyOrder("groceries", "salary");
+        assertThat(expenses.getTotalElements()).isEqualTo(2L);
+        assertThat(expenses.getContent()).allMatch(t -> t.getType() == TransactionType.EXPENSE);
+    }
+
+    @Test
+    @DisplayName("Should match nothing for unknown names without adding them")
+    void shouldNotAddNamesFromQueries() {
+        save(TransactionType.EXPENSE, "groceries", "London");
+        Long categoryCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class);
+        Long locationCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM locations", Long.class);
+
+        Page<TransactionResponse> unknown = transactionService.findWithFilters(
+            testUser.getId(), null, "not-a-category", null, null, null, PageRequest.of(0, 10));
+        Page<TransactionResponse> tooLong = transactionService.findWithFilters(
+            testUser.getId(), null, "x".repeat(80), null, null, null, PageRequest.of(0, 10));
+        boolean knownLocation = transactionRepository.existsByUserAndLocation(testUser, "Atlantis");
+
+        assertThat(unknown.getTotalElements()).isZero();
+        assertThat(tooLong.getTotalElements()).isZero();
+        assertThat(knownLocation).isFalse();
+        assertThat(transactionDictionary.categoryId("not-a-category")).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class))
+            .isEqualTo(categoryCount);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM locations", Long.class))
+            .isEqualTo(locationCount);
+    }
+
+    @Test
+    @DisplayName("Should look an unknown name up once, until it is added")
+    void shouldCacheMisses() {
+        sqlStatementMetrics.clear();
+        assertThat(transactionDictionary.categoryId("not-yet-a-category")).isNull();
+        assertThat(transactionDictionary.categoryId("not-yet-a-category")).isNull();
+        assertThat(sqlStatementMetrics.getStatistics().getStatements()).isEqualTo(1L);
+
+        sqlStatementMetrics.clear();
+        Page<TransactionResponse> unknown = transactionService.findWithFilters(
+            testUser.getId(), null, "not-yet-a-category", null, null, null, PageRequest.of(0, 10));
+
+        assertThat(unknown.getTotalElements()).isZero();
+        // Only the page query; binding the unknown name looks nothing up
+        assertThat(sqlStatementMetrics.getStatistics().getMethods())
+            .filteredOn(method -> method.getMethod().equals("TransactionRepository.findBy"))
+            .singleElement()
+            .satisfies(method -> assertThat(method.getStatements()).isEqualTo(1L));
+
+        save(TransactionType.EXPENSE, "not-yet-a-category", "London");
+
+        assertThat(transactionDictionary.categoryId("not-yet-a-category")).isNotNull();
+        assertThat(transactionService.findWithFilters(testUser.getId(), null, "not-yet-a-category", null, null,
+            null, PageRequest.of(0, 10)).getTotalElements()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should not keep names added by a rolled-back transaction")
+    void shouldForgetRolledBackNames() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            save(TransactionType.EXPENSE, "rolled-back", "Nowhere");
+            assertThat(transactionDictionary.categoryId("rolled-back")).isNotNull();
+            status.setRollbackOnly();
+        });
+
+        assertThat(transactionDictionary.categoryId("rolled-back")).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories WHERE name = 'rolled-back'",
+            Long.class)).isZero();
+
+        Transaction saved = save(TransactionType.EXPENSE, "rolled-back", "Nowhere");
+        assertThat(transactionRepository.findById(saved.getId())).get()
+            .extracting(Transaction::getCategory).isEqualTo("rolled-back");
+    }
+
+    private Transaction save(TransactionType type, String category, String location) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(testUser);
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setLocation(location);
+        transaction.setAmount(new BigDecimal("10.00"));
+        transaction.setTransactionDate(LocalDateTime.now());
+        transaction.setCreatedAt(LocalDateTime.now());
+        return transactionRepository.save(transaction);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.FinSight.dto.TimeSeriesPoint;
+
+@DisplayName("TrendDownsampler Tests")
+public class TrendDownsamplerTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+    @Test
+    @DisplayName("Should return series unchanged when under the limit")
+    void shouldReturnSmallSeriesUnchanged() {
+        List<TimeSeriesPoint> points = series(5, -1);
+
+        assertThat(TrendDownsampler.largestTriangleThreeBuckets(points, 10)).isSameAs(points);
+        assertThat(TrendDownsampler.largestTriangleThreeBuckets(points, 0)).isSameAs(points);
+    }
+
+    @Test
+    @DisplayName("Should keep endpoints and the requested number of points")
+    void shouldKeepEndpointsAndPointCount() {
+        List<TimeSeriesPoint> points = series(1000, -1);
+
+        List<TimeSeriesPoint> sampled = TrendDownsampler.largestTriangleThreeBuckets(points, 50);
+
+        assertThat(sampled).hasSize(50);
+        assertThat(sampled.get(0)).isSameAs(points.get(0));
+        assertThat(sampled.get(49)).isSameAs(points.get(999));
+        assertThat(sampled).isSortedAccordingTo((a, b) -> a.getDate().compareTo(b.getDate()));
+    }
+
+    @Test
+    @DisplayName("Should preserve a spike")
+    void shouldPreserveSpike() {
+        List<TimeSeriesPoint> points = series(1000, 517);
+
+        List<TimeSeriesPoint> sampled = TrendDownsampler.largestTriangleThreeBuckets(points, 20);
+
+        assertThat(sampled).contains(points.get(517));
+    }
+
+    private List<TimeSeriesPoint> series(int size, int spikeAt) {
+        List<TimeSeriesPoint> points = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BigDecimal amount = i == spikeAt ? new BigDecimal("10000.00") : BigDecimal.valueOf(100 + i % 7);
+            points.add(new TimeSeriesPoint(START.plusDays(i), amount));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UserEventTimeline Tests")
+public class UserEventTimelineTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+    @Test
+    @DisplayName("Should find the true predecessor of a back-dated transaction")
+    void shouldFindPredecessor() {
+        UserEventTimeline timeline = new UserEventTimeline();
+        timeline.add(1L, NOW.minusHours(5), new BigDecimal("10.00"), "groceries", null, "London");
+        timeline.add(2L, NOW, new BigDecimal("20.00"), "dining", null, "Paris");
+
+        TransactionHistory backdated = timeline.asOf(null, NOW.minusHours(4), null);
+        TransactionHistory latest = timeline.asOf(null, NOW.plusMinutes(1), null);
+
+        assertThat(backdated.latestTransactionDate()).isEqualTo(NOW.minusHours(5));
+        assertThat(backdated.latestLocation()).isEqualTo("London");
+        assertThat(latest.latestLocation()).isEqualTo("Paris");
+        assertThat(timeline.asOf(null, NOW.minusHours(6), null).latestTransactionDate()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave a transaction out of its own history")
+    void shouldExcludeItself() {
+        UserEventTimeline timeline = new UserEventTimeline();
+        timeline.add(1L, NOW.minusMinutes(5), new BigDecimal("10.00"), "groceries", "Tesco", "London");
+        timeline.add(2L, NOW, new BigDecimal("30.00"), "dining", "Bistro", "Paris");
+
+        TransactionHistory history = timeline.asOf(2L, NOW, null);
+
+        assertThat(history.countBetween(NOW.minusMinutes(10), NOW)).isEqualTo(1L);
+        assertThat(history.averageAmount()).isEqualByComparingTo("10.00");
+        assertThat(history.hasCategory("dining")).isFalse();
+        assertThat(history.hasCategory("groceries")).isTrue();
+        assertThat(history.hasMerchant("Bistro")).isFalse();
+        assertThat(history.hasMerchant("Tesco")).isTrue();
+        assertThat(history.hasLocation("Paris")).isFalse();
+        assertThat(history.hasLocation("London")).isTrue();
+        assertThat(history.latestLocation()).isEqualTo("London");
+    }
+
+    @Test
+    @DisplayName("Should count a pending transaction before it reaches the timeline")
+    void shouldIncludePending() {
+        UserEventTimeline timeline = new UserEventTimeline();
+        timeline.add(1L, NOW.minusHours(5), new BigDecimal("10.00"), "groceries", null, "London");
+        timeline.add(2L, NOW, new BigDecimal("20.00"), "groceries", null, "London");
+        UserEventTimeline.Event pending = new UserEventTimeline.Event(3L, NOW.minusMinutes(30),
+            new BigDecimal("30.00"), "travel", null, "Madrid");
+
+        TransactionHistory history = timeline.asOf(2L, NOW, pending);
+
+        assertThat(history.latestLocation()).isEqualTo("Madrid");
+        assertThat(history.countBetween(NOW.minusHours(1), NOW)).isEqualTo(1L);
+        assertThat(history.averageAmount()).isEqualByComparingTo("20.00");
+        assertThat(history.hasCategory("travel")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should find the successor and those within the window")
+    void shouldFindSuccessors() {
+        UserEventTimeline timeline = new UserEventTimeline();
+        timeline.add(1L, NOW.minusHours(1), BigDecimal.ONE, "a", null, null);
+        timeline.add(2L, NOW.plusMinutes(3), BigDecimal.ONE, "a", null, null);
+        timeline.add(3L, NOW.plusMinutes(9), BigDecimal.ONE, "a", null, null);
+        timeline.add(4L, NOW.plusMinutes(20), BigDecimal.ONE, "a", null, null);
+
+        assertThat(timeline.successorsWithin(5L, NOW, Duration.ofMinutes(10), 100)).containsExactly(2L, 3L);
+        // The successor is always affected, since its predecessor changes
+        assertThat(timeline.successorsWithin(5L, NOW.plusMinutes(10), Duration.ofMinutes(5), 100)).containsExactly(4L);
+        assertThat(timeline.successorsWithin(5L, NOW.plusHours(1), Duration.ofMinutes(10), 100)).isEmpty();
+        assertThat(timeline.successorsWithin(5L, NOW, Duration.ofMinutes(10), 1)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Should move a transaction whose date changes")
+    void shouldReplaceTransaction() {
+        UserEventTimeline timeline = new UserEventTimeline();
+        timeline.add(1L, NOW, new BigDecimal("10.00"), "groceries", null, "London");
+        timeline.add(1L, NOW.minusDays(1), new BigDecimal("10.00"), "groceries", null, "Paris");
+
+        assertThat(timeline.size()).isEqualTo(1);
+        assertThat(timeline.contains(1L, NOW.minusDays(1), new BigDecimal("10.0"), "groceries", null, "Paris")).isTrue();
+        assertThat(timeline.contains(1L, NOW, new BigDecimal("10.00"), "groceries", null, "London")).isFalse();
+        assertThat(timeline.asOf(null, NOW, null).latestLocation()).isEqualTo("Paris");
+        assertThat(timeline.asOf(null, NOW, null).hasLocation("London")).isFalse();
+    }
+}
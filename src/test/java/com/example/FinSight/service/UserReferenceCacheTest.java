@@ -0,0 +1,94 @@
+package com.example.FinSight.service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.FinSight.model.User;
+import com.example.FinSight.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserReferenceCache Unit Tests")
+class UserReferenceCacheTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    private UserReferenceCache userReferenceCache;
+    
+    private User testUser;
+    
+    @BeforeEach
+    void setUp() {
+        userReferenceCache = new UserReferenceCache(userRepository, 100, Duration.ofMinutes(10));
+        
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setEmail("test@example.com");
+    }
+    
+    @Test
+    @DisplayName("Should load a user once and serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        
+        Optional<User> first = userReferenceCache.findById(1L);
+        Optional<User> second = userReferenceCache.findById(1L);
+        
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(second.get().getUsername()).isEqualTo("testuser");
+        verify(userRepository, times(1)).findById(1L);
+    }
+    
+    @Test
+    @DisplayName("Should return a detached copy rather than the loaded instance")
+    void shouldReturnDetachedCopy() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        
+        User cached = userReferenceCache.findById(1L).orElseThrow();
+        
+        assertThat(cached).isNotSameAs(testUser);
+        assertThat(cached.getId()).isEqualTo(1L);
+    }
+    
+    @Test
+    @DisplayName("Should not cache missing users")
+    void shouldNotCacheMissingUsers() {
+        when(userRepository.findById(2L)).thenReturn(Optional.empty());
+        
+        assertThat(userReferenceCache.exists(2L)).isFalse();
+        assertThat(userReferenceCache.exists(2L)).isFalse();
+        
+        verify(userRepository, times(2)).findById(2L);
+    }
+    
+    @Test
+    @DisplayName("Should reload a user after invalidation")
+    void shouldReloadAfterInvalidation() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        
+        userReferenceCache.findById(1L);
+        userReferenceCache.invalidate(1L);
+        userReferenceCache.findById(1L);
+        
+        verify(userRepository, times(2)).findById(1L);
+    }
+    
+    @Test
+    @DisplayName("Should treat a null id as a missing user")
+    void shouldTreatNullIdAsMissing() {
+        assertThat(userReferenceCache.findById(null)).isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.FinSight.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.FinSight.model.TransactionType;
+
+@DisplayName("UserTransactionColumns Tests")
+public class UserTransactionColumnsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+    @Test
+    @DisplayName("Should answer history questions from the columns")
+    void shouldAnswerHistory() {
+        UserTransactionColumns columns = new UserTransactionColumns(2);
+        columns.add(NOW.minusHours(3), new BigDecimal("10.00"), TransactionType.EXPENSE, "groceries", "London", false, null);
+        columns.add(NOW.minusMinutes(5), new BigDecimal("20.00"), TransactionType.EXPENSE, "dining", "Paris", false, 12.5);
+        columns.add(NOW, new BigDecimal("0.01"), TransactionType.INCOME, "salary", null, false, null);
+
+        assertThat(columns.size()).isEqualTo(3);
+        assertThat(columns.averageAmount()).isEqualByComparingTo("10.0033333333");
+        assertThat(columns.countBetween(NOW.minusMinutes(10), NOW)).isEqualTo(2L);
+        assertThat(columns.countBetween(NOW.minusHours(3), NOW.minusHours(3))).isEqualTo(1L);
+        assertThat(columns.countBetween(NOW, NOW.minusHours(1))).isZero();
+        assertThat(columns.latestTransactionDate()).isEqualTo(NOW);
+        assertThat(columns.latestLocation()).isNull();
+        assertThat(columns.hasCategory("dining")).isTrue();
+        assertThat(columns.hasCategory("travel")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep back-dated rows in time order")
+    void shouldInsertBackDatedRows() {
+        UserTransactionColumns columns = new UserTransactionColumns();
+        columns.add(NOW, new BigDecimal("10.00"), TransactionType.EXPENSE, "groceries", "London", false, null);
+        columns.add(NOW.minusDays(2), new BigDecimal("30.00"), TransactionType.EXPENSE, "groceries", "Paris", false, null);
+
+        assertThat(columns.latestTransactionDate()).isEqualTo(NOW);
+        assertThat(columns.latestLocation()).isEqualTo("London");
+        assertThat(columns.countBetween(NOW.minusDays(3), NOW.minusDays(1))).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Should be empty without transactions")
+    void shouldBeEmpty() {
+        UserTransactionColumns columns = new UserTransactionColumns();
+
+        assertThat(columns.averageAmount()).isNull();
+        assertThat(columns.latestTransactionDate()).isNull();
+        assertThat(columns.latestLocation()).isNull();
+        assertThat(columns.countBetween(NOW.minusDays(1), NOW)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should build the same ledger index as the daily aggregates")
+    void shouldBuildLedgerIndex() {
+        UserTransactionColumns columns = new UserTransactionColumns();
+        columns.add(NOW.minusDays(1), new BigDecimal("1000.00"), TransactionType.INCOME, "salary", null, false, null);
+        columns.add(NOW, new BigDecimal("40.00"), TransactionType.EXPENSE, "groceries", "London", false, 10.0);
+        columns.add(NOW.plusHours(1), new BigDecimal("60.00"), TransactionType.EXPENSE, "dining", "London", true, 80.0);
+
+        DailyLedgerIndex index = columns.toLedgerIndex();
+        LocalDate today = NOW.toLocalDate();
+
+        assertThat(index.incomeCents(null, null)).isEqualTo(100_000L);
+        assertThat(index.expenseCents(today, today)).isEqualTo(10_000L);
+        assertThat(index.flaggedCount(null, null)).isEqualTo(1L);
+        assertThat(index.summarize(today, today).getAverageFraudScore()).isEqualTo(45.0);
+    }
+}